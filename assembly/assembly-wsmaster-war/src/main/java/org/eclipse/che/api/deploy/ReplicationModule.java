@@ -14,6 +14,7 @@ import com.google.inject.AbstractModule;
 import com.google.inject.name.Names;
 import java.util.Map;
 import org.eclipse.che.api.core.notification.RemoteSubscriptionStorage;
+import org.eclipse.che.multiuser.api.permission.server.DistributedPermissionsCacheInvalidator;
 import org.eclipse.che.multiuser.api.subscription.DistributedRemoteSubscriptionStorage;
 import org.eclipse.persistence.config.CacheCoordinationProtocol;
 import org.eclipse.persistence.config.PersistenceUnitProperties;
@@ -38,5 +39,6 @@ public class ReplicationModule extends AbstractModule {
         PersistenceUnitProperties.COORDINATION_JGROUPS_CONFIG, JGROUPS_CONF_FILE);
     bindConstant().annotatedWith(Names.named("jgroups.config.file")).to(JGROUPS_CONF_FILE);
     bind(RemoteSubscriptionStorage.class).to(DistributedRemoteSubscriptionStorage.class);
+    bind(DistributedPermissionsCacheInvalidator.class).asEagerSingleton();
   }
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes tasks on a fixed set of partitions, each partition is a single thread with a bounded
+ * queue. Tasks submitted with equal keys go to the same partition, so they are executed in the
+ * order of submission. When partition queue is full the submitter is blocked until there is room in
+ * the queue. Tasks that can't wait for room, i.e. submitted by the partition thread itself or by an
+ * interrupted thread, are put into the same queue over its capacity, so the order is kept.
+ */
+class AsyncEventDispatcher {
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncEventDispatcher.class);
+
+  private final Partition[] partitions;
+
+  AsyncEventDispatcher(int partitionsNumber, int queueCapacity) {
+    if (partitionsNumber < 1 || queueCapacity < 1) {
+      throw new IllegalArgumentException(
+          "Amount of partitions and queue capacity must be positive, but were "
+              + partitionsNumber
+              + " and "
+              + queueCapacity);
+    }
+    ThreadFactory factory =
+        new ThreadFactoryBuilder()
+            .setNameFormat("EventServiceAsync-%d")
+            .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+            .setDaemon(true)
+            .build();
+    partitions = new Partition[partitionsNumber];
+    for (int i = 0; i < partitionsNumber; i++) {
+      partitions[i] = new Partition(queueCapacity);
+      partitions[i].thread = factory.newThread(partitions[i]);
+      partitions[i].thread.start();
+    }
+  }
+
+  /**
+   * Submits task for execution after all the tasks previously submitted with the same key.
+   *
+   * @param key ordering key, may be null
+   * @param task task to execute
+   */
+  void dispatch(Object key, Runnable task) {
+    Partition partition = partitions[(key == null ? 0 : smear(key.hashCode())) % partitions.length];
+    if (partition.thread == Thread.currentThread()) {
+      // blocking here would never end, as the only consumer of the queue is the current thread
+      if (partition.permits.tryAcquire()) {
+        partition.queue.add(new Task(task, true));
+      } else {
+        LOG.warn("Async events queue is full, event is queued over its capacity");
+        partition.queue.add(new Task(task, false));
+      }
+      return;
+    }
+    try {
+      partition.permits.acquire();
+      partition.queue.add(new Task(task, true));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.warn("Interrupted while dispatching event, event is queued over queue capacity");
+      partition.queue.add(new Task(task, false));
+    }
+  }
+
+  /** Returns amount of tasks waiting for execution in all partitions. */
+  int getQueueSize() {
+    int size = 0;
+    for (Partition partition : partitions) {
+      size += partition.queue.size();
+    }
+    return size;
+  }
+
+  /** Stops partitions, waits up to given timeout for already submitted tasks to be executed. */
+  void shutdown(long timeoutMs) throws InterruptedException {
+    for (Partition partition : partitions) {
+      partition.running = false;
+    }
+    long deadline = System.currentTimeMillis() + timeoutMs;
+    for (Partition partition : partitions) {
+      partition.thread.join(Math.max(1, deadline - System.currentTimeMillis()));
+      partition.thread.interrupt();
+    }
+  }
+
+  private static int smear(int hashCode) {
+    return (hashCode ^ (hashCode >>> 16)) & Integer.MAX_VALUE;
+  }
+
+  /** Submitted task, remembers whether it occupies a place in the queue capacity. */
+  private static class Task {
+    private final Runnable runnable;
+    private final boolean permitted;
+
+    private Task(Runnable runnable, boolean permitted) {
+      this.runnable = runnable;
+      this.permitted = permitted;
+    }
+  }
+
+  private static class Partition implements Runnable {
+    /** Queue of tasks, may exceed the capacity only by the tasks that are not permitted. */
+    private final BlockingQueue<Task> queue = new LinkedBlockingQueue<>();
+
+    private final Semaphore permits;
+
+    private volatile boolean running = true;
+    private Thread thread;
+
+    private Partition(int capacity) {
+      this.permits = new Semaphore(capacity);
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (running || !queue.isEmpty()) {
+          Task task = queue.poll(100, MILLISECONDS);
+          if (task != null) {
+            if (task.permitted) {
+              permits.release();
+            }
+            try {
+              task.runnable.run();
+            } catch (Throwable t) {
+              // keep partition alive, otherwise the events of its keys are never processed
+              LOG.error(t.getMessage(), t);
+            }
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
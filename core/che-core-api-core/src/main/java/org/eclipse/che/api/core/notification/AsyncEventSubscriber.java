@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Subscriber that passes events to the delegate subscriber asynchronously, using {@link
+ * AsyncEventDispatcher}, and collects dispatching statistics.
+ */
+class AsyncEventSubscriber<T> implements EventSubscriber<T> {
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncEventSubscriber.class);
+
+  private final EventSubscriber<T> delegate;
+  private final Function<? super T, ?> keyExtractor;
+  private final AsyncEventDispatcher dispatcher;
+
+  private final AtomicLong dispatched = new AtomicLong();
+  private final AtomicLong pending = new AtomicLong();
+  private final AtomicLong queueTimeNanos = new AtomicLong();
+  private final AtomicLong processingTimeNanos = new AtomicLong();
+  private final AtomicLong maxProcessingTimeNanos = new AtomicLong();
+
+  AsyncEventSubscriber(
+      EventSubscriber<T> delegate,
+      Function<? super T, ?> keyExtractor,
+      AsyncEventDispatcher dispatcher) {
+    this.delegate = delegate;
+    this.keyExtractor = keyExtractor;
+    this.dispatcher = dispatcher;
+  }
+
+  @Override
+  public void onEvent(T event) {
+    long submitted = System.nanoTime();
+    pending.incrementAndGet();
+    dispatcher.dispatch(keyExtractor.apply(event), () -> process(event, submitted));
+  }
+
+  private void process(T event, long submitted) {
+    long started = System.nanoTime();
+    try {
+      delegate.onEvent(event);
+    } catch (RuntimeException e) {
+      LOG.error(e.getMessage(), e);
+    } finally {
+      long processing = System.nanoTime() - started;
+      pending.decrementAndGet();
+      dispatched.incrementAndGet();
+      queueTimeNanos.addAndGet(started - submitted);
+      processingTimeNanos.addAndGet(processing);
+      maxProcessingTimeNanos.accumulateAndGet(processing, Math::max);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "AsyncEventSubscriber{delegate=" + delegate + '}';
+  }
+
+  AsyncSubscriberStatistics getStatistics() {
+    return new AsyncSubscriberStatistics(
+        delegate.toString(),
+        dispatched.get(),
+        pending.get(),
+        queueTimeNanos.get(),
+        processingTimeNanos.get(),
+        maxProcessingTimeNanos.get());
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Statistics of events dispatching to a subscriber registered with {@link
+ * EventService#subscribeAsync}.
+ */
+public class AsyncSubscriberStatistics {
+  private final String subscriber;
+  private final long dispatched;
+  private final long pending;
+  private final long queueTimeNanos;
+  private final long processingTimeNanos;
+  private final long maxProcessingTimeNanos;
+
+  AsyncSubscriberStatistics(
+      String subscriber,
+      long dispatched,
+      long pending,
+      long queueTimeNanos,
+      long processingTimeNanos,
+      long maxProcessingTimeNanos) {
+    this.subscriber = subscriber;
+    this.dispatched = dispatched;
+    this.pending = pending;
+    this.queueTimeNanos = queueTimeNanos;
+    this.processingTimeNanos = processingTimeNanos;
+    this.maxProcessingTimeNanos = maxProcessingTimeNanos;
+  }
+
+  /** Returns string representation of the subscriber. */
+  public String getSubscriber() {
+    return subscriber;
+  }
+
+  /** Returns amount of events processed by the subscriber. */
+  public long getDispatched() {
+    return dispatched;
+  }
+
+  /** Returns amount of events waiting for processing by the subscriber. */
+  public long getPending() {
+    return pending;
+  }
+
+  /** Returns average time in milliseconds events spend in the queue before processing. */
+  public double getAverageQueueTimeMs() {
+    return average(queueTimeNanos);
+  }
+
+  /** Returns average time in milliseconds the subscriber spends on a single event. */
+  public double getAverageProcessingTimeMs() {
+    return average(processingTimeNanos);
+  }
+
+  /** Returns max time in milliseconds the subscriber spent on a single event. */
+  public long getMaxProcessingTimeMs() {
+    return NANOSECONDS.toMillis(maxProcessingTimeNanos);
+  }
+
+  private double average(long totalNanos) {
+    return dispatched == 0 ? 0 : (double) totalNanos / dispatched / 1_000_000;
+  }
+
+  @Override
+  public String toString() {
+    return "AsyncSubscriberStatistics{"
+        + "subscriber='"
+        + subscriber
+        + '\''
+        + ", dispatched="
+        + dispatched
+        + ", pending="
+        + pending
+        + ", averageQueueTimeMs="
+        + getAverageQueueTimeMs()
+        + ", averageProcessingTimeMs="
+        + getAverageProcessingTimeMs()
+        + ", maxProcessingTimeMs="
+        + getMaxProcessingTimeMs()
+        + '}';
+  }
+}
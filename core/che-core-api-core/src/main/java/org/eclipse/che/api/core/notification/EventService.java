@@ -13,15 +13,22 @@ package org.eclipse.che.api.core.notification;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.inject.Inject;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +47,11 @@ import org.slf4j.LoggerFactory;
  *     bus.publish(new MyEvent());
  * </pre>
  *
+ * <p>Subscribers are called synchronously on the publisher's thread. Slow subscribers may be
+ * registered with {@link #subscribeAsync(EventSubscriber, Class, Function)}, then their events are
+ * put into one of ordered queues drained by a small pool of threads, events with equal keys (e.g.
+ * of the same workspace) are processed in the order of publishing.
+ *
  * @author andrew00x
  */
 @Singleton
@@ -52,10 +64,22 @@ public class EventService {
 
   private final LoadingCache<Class<?>, Set<Class<?>>>[] typeCache;
   private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+  private final ConcurrentMap<AsyncSubscriberKey, AsyncEventSubscriber<?>> asyncSubscribers;
+
+  @Inject(optional = true)
+  @Named("che.core.event_service.async_partitions")
+  private int asyncPartitions = 4;
+
+  @Inject(optional = true)
+  @Named("che.core.event_service.async_queue_capacity")
+  private int asyncQueueCapacity = 10_000;
+
+  private volatile AsyncEventDispatcher asyncDispatcher;
 
   @SuppressWarnings("unchecked")
   public EventService() {
     subscribersByEventType = new ConcurrentHashMap<>();
+    asyncSubscribers = new ConcurrentHashMap<>();
     typeCache = new LoadingCache[CACHE_NUM];
     for (int i = 0; i < CACHE_NUM; i++) {
       typeCache[i] =
@@ -136,6 +160,64 @@ public class EventService {
     doSubscribe(subscriber, eventType);
   }
 
+  /**
+   * Subscribe to an event asynchronously. The given subscriber will be called on one of event
+   * service threads whenever an instance of the specified event is published. Events that have
+   * equal keys are passed to the subscriber in the order of publishing, events with different keys
+   * may be processed concurrently. If there are too many events waiting for processing the
+   * publisher is blocked until there is room in the queue.
+   *
+   * @param subscriber The subscriber to call when an event is published.
+   * @param eventType The event to subscribe to.
+   * @param keyExtractor function that returns ordering key of the event, e.g. workspace id
+   */
+  public <T> void subscribeAsync(
+      EventSubscriber<T> subscriber, Class<T> eventType, Function<? super T, ?> keyExtractor) {
+    AsyncEventSubscriber<T> asyncSubscriber =
+        new AsyncEventSubscriber<>(subscriber, keyExtractor, getAsyncDispatcher());
+    if (asyncSubscribers.putIfAbsent(new AsyncSubscriberKey(subscriber, eventType), asyncSubscriber)
+        == null) {
+      doSubscribe(asyncSubscriber, eventType);
+    }
+  }
+
+  /** Returns statistics of events dispatching to asynchronous subscribers. */
+  public List<AsyncSubscriberStatistics> getAsyncStatistics() {
+    return asyncSubscribers.values().stream()
+        .map(AsyncEventSubscriber::getStatistics)
+        .collect(Collectors.toList());
+  }
+
+  /** Returns amount of events waiting for processing by asynchronous subscribers. */
+  public int getAsyncQueueSize() {
+    AsyncEventDispatcher dispatcher = asyncDispatcher;
+    return dispatcher == null ? 0 : dispatcher.getQueueSize();
+  }
+
+  private AsyncEventDispatcher getAsyncDispatcher() {
+    if (asyncDispatcher == null) {
+      synchronized (this) {
+        if (asyncDispatcher == null) {
+          asyncDispatcher =
+              new AsyncEventDispatcher(
+                  Math.max(1, asyncPartitions), Math.max(1, asyncQueueCapacity));
+        }
+      }
+    }
+    return asyncDispatcher;
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException {
+    AsyncEventDispatcher dispatcher = asyncDispatcher;
+    if (dispatcher != null) {
+      if (LOG.isDebugEnabled()) {
+        getAsyncStatistics().forEach(statistics -> LOG.debug("{}", statistics));
+      }
+      dispatcher.shutdown(5_000);
+    }
+  }
+
   private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
     Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
     if (entries == null) {
@@ -163,6 +245,11 @@ public class EventService {
   }
 
   private void doUnsubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
+    final AsyncEventSubscriber<?> asyncSubscriber =
+        asyncSubscribers.remove(new AsyncSubscriberKey(subscriber, eventType));
+    if (asyncSubscriber != null) {
+      subscriber = asyncSubscriber;
+    }
     final Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
     if (entries != null && !entries.isEmpty()) {
       boolean changed = entries.remove(subscriber);
@@ -200,4 +287,36 @@ public class EventService {
     }
     return eventType;
   }
+
+  /** Identifies asynchronous subscriber of the events of a certain type. */
+  private static final class AsyncSubscriberKey {
+    private final EventSubscriber<?> subscriber;
+    private final Class<?> eventType;
+
+    private AsyncSubscriberKey(EventSubscriber<?> subscriber, Class<?> eventType) {
+      this.subscriber = subscriber;
+      this.eventType = eventType;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof AsyncSubscriberKey)) {
+        return false;
+      }
+      final AsyncSubscriberKey other = (AsyncSubscriberKey) obj;
+      return Objects.equals(subscriber, other.subscriber)
+          && Objects.equals(eventType, other.eventType);
+    }
+
+    @Override
+    public int hashCode() {
+      int hash = 7;
+      hash = hash * 31 + Objects.hashCode(subscriber);
+      hash = hash * 31 + Objects.hashCode(eventType);
+      return hash;
+    }
+  }
 }
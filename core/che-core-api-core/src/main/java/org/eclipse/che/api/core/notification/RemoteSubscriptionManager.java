@@ -15,6 +15,7 @@ import com.google.inject.Singleton;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.notification.dto.EventSubscription;
@@ -55,14 +56,30 @@ public class RemoteSubscriptionManager {
 
   public <T> void register(
       String method, Class<T> eventType, BiPredicate<T, Map<String, String>> biPredicate) {
-    eventService.subscribe(
-        event ->
-            remoteSubscriptionStorage
-                .getByMethod(method)
-                .stream()
-                .filter(context -> biPredicate.test(event, context.getScope()))
-                .forEach(context -> transmit(context.getEndpointId(), method, event)),
-        eventType);
+    eventService.subscribe(event -> transmitToSubscribers(method, biPredicate, event), eventType);
+  }
+
+  /**
+   * Same as {@link #register(String, Class, BiPredicate)} but events are transmitted
+   * asynchronously, so publishers are not blocked by transmission. Events with equal keys are
+   * transmitted in the order of publishing.
+   *
+   * @see EventService#subscribeAsync(EventSubscriber, Class, Function)
+   */
+  public <T> void registerAsync(
+      String method,
+      Class<T> eventType,
+      BiPredicate<T, Map<String, String>> biPredicate,
+      Function<? super T, ?> keyExtractor) {
+    eventService.subscribeAsync(
+        event -> transmitToSubscribers(method, biPredicate, event), eventType, keyExtractor);
+  }
+
+  private <T> void transmitToSubscribers(
+      String method, BiPredicate<T, Map<String, String>> biPredicate, T event) {
+    remoteSubscriptionStorage.getByMethod(method).stream()
+        .filter(context -> biPredicate.test(event, context.getScope()))
+        .forEach(context -> transmit(context.getEndpointId(), method, event));
   }
 
   private void consumeSubscriptionRequest(String endpointId, EventSubscription eventSubscription) {
@@ -247,7 +247,7 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
         }
       }
       final int responseCode = conn.getResponseCode();
-      if ((responseCode / 100) != 2) {
+      if ((responseCode / 100) != 2 && responseCode != HttpURLConnection.HTTP_NOT_MODIFIED) {
         InputStream in = conn.getErrorStream();
         if (in == null) {
           in = conn.getInputStream();
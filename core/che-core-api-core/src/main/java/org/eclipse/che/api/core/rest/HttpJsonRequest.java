@@ -144,6 +144,9 @@ public interface HttpJsonRequest {
    * Makes http request with content type "application/json" and authorization headers based on
    * current {@link EnvironmentContext#getCurrent() context}.
    *
+   * <p>Response with 304 (Not Modified) code, which is sent on conditional requests, is returned
+   * with empty content.
+   *
    * @return {@link HttpJsonResponse} instance which represents response of this request
    * @throws IOException when server response content type is different from "application/json"(Not
    *     acceptable)
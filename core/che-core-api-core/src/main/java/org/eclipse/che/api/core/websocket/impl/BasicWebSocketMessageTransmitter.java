@@ -10,14 +10,32 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.slf4j.LoggerFactory.getLogger;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Utf8;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.websocket.Session;
 import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 
 /**
@@ -25,24 +43,70 @@ import org.slf4j.Logger;
  * session is not opened adds messages to re-sender to try to send them when session will be opened
  * again.
  *
+ * <p>Each open session has its own outbound queue which is bounded by the size of the queued
+ * messages encoded in UTF-8, as they are sent over the wire, and is drained by a single task, so a
+ * slow client blocks neither other sessions nor producers of other sessions. When the queue of a
+ * session is full producers wait until there is enough space, the message is dropped if the space
+ * is not freed in time. Clients that open the session with {@code batch=true} query parameter
+ * receive queued JSON-RPC messages coalesced into JSON-RPC batch arrays.
+ *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmitter {
   private static final Logger LOG = getLogger(BasicWebSocketMessageTransmitter.class);
 
+  static final String BATCH_PARAMETER = "batch";
+
+  private static final long MAX_QUEUE_BYTES = 1024 * 1024;
+  private static final long MAX_FRAME_BYTES = 64 * 1024;
+  private static final int MAX_BATCH_MESSAGES = 100;
+  private static final long OFFER_TIMEOUT_MS = 2_000;
+
   private final WebSocketSessionRegistry registry;
   private final MessagesReSender reSender;
+  private final ExecutorService executor;
+  private final long maxQueueBytes;
+  private final long offerTimeoutMs;
+  private final Map<Session, SessionOutbox> outboxes = new ConcurrentHashMap<>();
+
+  private final AtomicLong sentMessages = new AtomicLong();
+  private final AtomicLong sentFrames = new AtomicLong();
+  private final AtomicLong droppedMessages = new AtomicLong();
+  private final AtomicLong sendTimeNanos = new AtomicLong();
 
   @Inject
   public BasicWebSocketMessageTransmitter(
       WebSocketSessionRegistry registry, MessagesReSender reSender) {
+    this(
+        registry,
+        reSender,
+        newCachedThreadPool(
+            new ThreadFactoryBuilder()
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setNameFormat("WebSocketTransmitter-%d")
+                .setDaemon(true)
+                .build()),
+        MAX_QUEUE_BYTES,
+        OFFER_TIMEOUT_MS);
+  }
+
+  @VisibleForTesting
+  BasicWebSocketMessageTransmitter(
+      WebSocketSessionRegistry registry,
+      MessagesReSender reSender,
+      ExecutorService executor,
+      long maxQueueBytes,
+      long offerTimeoutMs) {
     this.registry = registry;
     this.reSender = reSender;
+    this.executor = executor;
+    this.maxQueueBytes = maxQueueBytes;
+    this.offerTimeoutMs = offerTimeoutMs;
   }
 
   @Override
-  public synchronized void transmit(String endpointId, String message) {
+  public void transmit(String endpointId, String message) {
     Optional<Session> sessionOptional = registry.get(endpointId);
 
     if (!sessionOptional.isPresent()) {
@@ -54,13 +118,209 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
 
       reSender.add(endpointId, message);
     } else {
-      LOG.debug("Session registered and open, sending message");
+      LOG.debug("Session registered and open, queueing message");
 
+      Session session = sessionOptional.get();
       try {
-        sessionOptional.get().getBasicRemote().sendText(message);
-      } catch (IOException e) {
-        LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
+        while (!outboxes
+            .computeIfAbsent(session, s -> new SessionOutbox(endpointId, s))
+            .offer(message)) {
+          // outbox was retired concurrently, the next one is created
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        droppedMessages.incrementAndGet();
       }
     }
   }
+
+  /** Returns number of messages which are queued for sending to open sessions. */
+  public long getQueuedMessages() {
+    return outboxes.values().stream().mapToLong(SessionOutbox::size).sum();
+  }
+
+  /** Returns size in bytes of messages which are queued for sending to open sessions. */
+  public long getQueuedBytes() {
+    return outboxes.values().stream().mapToLong(SessionOutbox::bytes).sum();
+  }
+
+  /** Returns number of messages sent to open sessions. */
+  public long getSentMessages() {
+    return sentMessages.get();
+  }
+
+  /** Returns number of WEB SOCKET frames sent, a frame contains one or several messages. */
+  public long getSentFrames() {
+    return sentFrames.get();
+  }
+
+  /** Returns number of messages dropped because the queue of a session was full. */
+  public long getDroppedMessages() {
+    return droppedMessages.get();
+  }
+
+  /** Returns average time in milliseconds of sending a single frame. */
+  public double getAverageSendLatencyMs() {
+    long frames = sentFrames.get();
+    return frames == 0 ? 0 : (double) NANOSECONDS.toMillis(sendTimeNanos.get()) / frames;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(5, SECONDS)) {
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static boolean isBatchSupported(Session session) {
+    Map<String, List<String>> parameters = session.getRequestParameterMap();
+    return parameters != null
+        && parameters.getOrDefault(BATCH_PARAMETER, emptyList()).contains("true");
+  }
+
+  private static boolean isJsonObject(String message) {
+    return !message.isEmpty() && message.charAt(0) == '{';
+  }
+
+  /** Returns size of the message encoded in UTF-8. */
+  private static long encodedLength(String message) {
+    try {
+      return Utf8.encodedLength(message);
+    } catch (IllegalArgumentException e) {
+      // unpaired surrogates are replaced on encoding, so the upper bound is used
+      return 3L * message.length();
+    }
+  }
+
+  /** Outbound queue of a single session, drained by at most one task at a time. */
+  private class SessionOutbox {
+    private final String endpointId;
+    private final Session session;
+    private final boolean batchSupported;
+    private final Deque<QueuedMessage> queue = new ArrayDeque<>();
+
+    private long queuedBytes;
+    private boolean draining;
+    private boolean retired;
+
+    private SessionOutbox(String endpointId, Session session) {
+      this.endpointId = endpointId;
+      this.session = session;
+      this.batchSupported = isBatchSupported(session);
+    }
+
+    /**
+     * Queues the message waiting for free space if the queue is full.
+     *
+     * @return false if this outbox is retired and the message must be offered to a new one
+     */
+    private synchronized boolean offer(String message) throws InterruptedException {
+      long deadline = System.nanoTime() + MILLISECONDS.toNanos(offerTimeoutMs);
+      long messageBytes = encodedLength(message);
+      while (!retired && !queue.isEmpty() && queuedBytes + messageBytes > maxQueueBytes) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          droppedMessages.incrementAndGet();
+          LOG.warn(
+              "Outbound queue of endpoint '{}' is full, {} messages are waiting, message dropped",
+              endpointId,
+              queue.size());
+          return true;
+        }
+        NANOSECONDS.timedWait(this, remaining);
+      }
+      if (retired) {
+        return false;
+      }
+      queue.add(new QueuedMessage(message, messageBytes));
+      queuedBytes += messageBytes;
+      if (!draining) {
+        draining = true;
+        executor.execute(this::drain);
+      }
+      return true;
+    }
+
+    private synchronized long size() {
+      return queue.size();
+    }
+
+    private synchronized long bytes() {
+      return queuedBytes;
+    }
+
+    private void drain() {
+      List<String> frame;
+      while ((frame = poll()) != null) {
+        if (!session.isOpen()) {
+          LOG.debug("Session closed, adding {} messages to pending", frame.size());
+          frame.forEach(message -> reSender.add(endpointId, message));
+          continue;
+        }
+        String text = frame.size() == 1 ? frame.get(0) : '[' + String.join(",", frame) + ']';
+        long started = System.nanoTime();
+        try {
+          session.getBasicRemote().sendText(text);
+        } catch (IOException e) {
+          LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
+        } finally {
+          long sendTime = System.nanoTime() - started;
+          sendTimeNanos.addAndGet(sendTime);
+          sentFrames.incrementAndGet();
+          sentMessages.addAndGet(frame.size());
+          LOG.debug(
+              "Sent {} messages to endpoint '{}' in {}ms",
+              frame.size(),
+              endpointId,
+              NANOSECONDS.toMillis(sendTime));
+        }
+      }
+    }
+
+    /**
+     * Takes the next frame from the queue, several JSON objects are taken at once if the client
+     * supports batches. Retires the outbox when the queue is empty.
+     */
+    private synchronized List<String> poll() {
+      if (queue.isEmpty()) {
+        draining = false;
+        retired = true;
+        outboxes.remove(session, this);
+        notifyAll();
+        return null;
+      }
+      List<String> frame = new ArrayList<>();
+      long frameBytes = 0;
+      do {
+        QueuedMessage message = queue.poll();
+        frame.add(message.text);
+        frameBytes += message.bytes;
+      } while (batchSupported
+          && isJsonObject(frame.get(0))
+          && !queue.isEmpty()
+          && isJsonObject(queue.peek().text)
+          && frame.size() < MAX_BATCH_MESSAGES
+          && frameBytes + queue.peek().bytes <= MAX_FRAME_BYTES);
+      queuedBytes -= frameBytes;
+      notifyAll();
+      return frame;
+    }
+  }
+
+  /** Message queued for sending along with its encoded size. */
+  private static class QueuedMessage {
+    private final String text;
+    private final long bytes;
+
+    private QueuedMessage(String text, long bytes) {
+      this.text = text;
+      this.bytes = bytes;
+    }
+  }
 }
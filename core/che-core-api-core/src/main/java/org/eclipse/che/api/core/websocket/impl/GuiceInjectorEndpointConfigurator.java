@@ -12,17 +12,31 @@ package org.eclipse.che.api.core.websocket.impl;
 
 import com.google.inject.Injector;
 import javax.inject.Inject;
+import javax.websocket.HandshakeResponse;
+import javax.websocket.server.HandshakeRequest;
 import javax.websocket.server.ServerEndpointConfig;
+import org.eclipse.che.commons.env.EnvironmentContext;
 
 /**
  * Allows inject Guice instances on WEB SOCKET endpoint creation.
  *
+ * <p>Also keeps the subject which opened the connection in the user properties of the session under
+ * the {@link #SUBJECT_PROPERTY} key, so JSON-RPC handlers can check its permissions.
+ *
  * @author Dmitry Kuleshov
  */
 public class GuiceInjectorEndpointConfigurator extends ServerEndpointConfig.Configurator {
+  public static final String SUBJECT_PROPERTY = "che.subject";
+
   @Inject private static Injector injector;
 
   public <T> T getEndpointInstance(Class<T> endpointClass) {
     return injector.getInstance(endpointClass);
   }
+
+  @Override
+  public void modifyHandshake(
+      ServerEndpointConfig sec, HandshakeRequest request, HandshakeResponse response) {
+    sec.getUserProperties().put(SUBJECT_PROPERTY, EnvironmentContext.getCurrent().getSubject());
+  }
 }
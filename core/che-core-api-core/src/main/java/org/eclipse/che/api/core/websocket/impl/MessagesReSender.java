@@ -10,10 +10,12 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
-import com.google.common.collect.EvictingQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -25,17 +27,19 @@ import org.eclipse.che.commons.schedule.ScheduleDelay;
  * SOCKET session was closed. If session is closed during re-send process it stops and left messages
  * will be re-sent as WEB SOCKET session becomes open again.
  *
+ * <p>Pending messages of an endpoint are bounded by their total size, the oldest messages are
+ * evicted when the limit is exceeded.
+ *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class MessagesReSender {
 
-  private static final int MAX_MESSAGES = 100;
+  static final long MAX_BYTES = 1024 * 1024;
 
   private final WebSocketSessionRegistry registry;
 
-  private final Map<String, Queue<DelayedMessage>> delayedMessageRegistry =
-      new ConcurrentHashMap<>();
+  private final Map<String, DelayedMessages> delayedMessageRegistry = new ConcurrentHashMap<>();
 
   @Inject
   public MessagesReSender(WebSocketSessionRegistry registry) {
@@ -46,22 +50,19 @@ public class MessagesReSender {
   void cleanStaleMessages() {
     long currentTimeMillis = System.currentTimeMillis();
 
-    delayedMessageRegistry
-        .values()
-        .forEach(it -> it.removeIf(m -> currentTimeMillis - m.timeMillis > 60_000));
+    delayedMessageRegistry.values().forEach(it -> it.removeOlderThan(currentTimeMillis - 60_000));
 
-    delayedMessageRegistry.values().removeIf(Queue::isEmpty);
+    delayedMessageRegistry.values().removeIf(DelayedMessages::isEmpty);
   }
 
   public void add(String endpointId, String message) {
-
     delayedMessageRegistry
-        .computeIfAbsent(endpointId, k -> EvictingQueue.create(MAX_MESSAGES))
-        .offer(new DelayedMessage(message));
+        .computeIfAbsent(endpointId, k -> new DelayedMessages())
+        .add(new DelayedMessage(message));
   }
 
   public void resend(String endpointId) {
-    Queue<DelayedMessage> delayedMessages = delayedMessageRegistry.remove(endpointId);
+    DelayedMessages delayedMessages = delayedMessageRegistry.remove(endpointId);
 
     if (delayedMessages == null || delayedMessages.isEmpty()) {
       return;
@@ -73,13 +74,8 @@ public class MessagesReSender {
       return;
     }
 
-    Queue<DelayedMessage> backingQueue = EvictingQueue.create(delayedMessages.size());
-    while (!delayedMessages.isEmpty()) {
-      backingQueue.offer(delayedMessages.poll());
-    }
-
     Session session = sessionOptional.get();
-    for (DelayedMessage delayedMessage : backingQueue) {
+    for (DelayedMessage delayedMessage : delayedMessages.removeAll()) {
       if (session.isOpen()) {
         session.getAsyncRemote().sendText(delayedMessage.message);
       } else {
@@ -92,6 +88,39 @@ public class MessagesReSender {
     }
   }
 
+  /** Pending messages of a single endpoint, bounded by {@link #MAX_BYTES}. */
+  private static class DelayedMessages {
+
+    private final Deque<DelayedMessage> messages = new ArrayDeque<>();
+
+    private long bytes;
+
+    private synchronized void add(DelayedMessage message) {
+      messages.add(message);
+      bytes += message.message.length();
+      while (bytes > MAX_BYTES && messages.size() > 1) {
+        bytes -= messages.poll().message.length();
+      }
+    }
+
+    private synchronized void removeOlderThan(long timeMillis) {
+      while (!messages.isEmpty() && messages.peek().timeMillis < timeMillis) {
+        bytes -= messages.poll().message.length();
+      }
+    }
+
+    private synchronized List<DelayedMessage> removeAll() {
+      List<DelayedMessage> all = new ArrayList<>(messages);
+      messages.clear();
+      bytes = 0;
+      return all;
+    }
+
+    private synchronized boolean isEmpty() {
+      return messages.isEmpty();
+    }
+  }
+
   private static class DelayedMessage {
 
     private final long timeMillis;
@@ -10,10 +10,16 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import static java.util.Collections.synchronizedList;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -26,6 +32,11 @@ public class EventServiceTest {
     bus = new EventService();
   }
 
+  @AfterMethod
+  public void tearDown() throws Exception {
+    bus.stop();
+  }
+
   @Test
   public void testSimpleEvent() {
     final List<Object> events = new ArrayList<>();
@@ -192,6 +203,131 @@ public class EventServiceTest {
     bus.unsubscribe(sb, CustomEventImpl.class);
   }
 
+  @Test
+  public void shouldDeliverEventsWithTheSameKeyToAsyncSubscriberInOrder() throws Exception {
+    final List<String> events = synchronizedList(new ArrayList<>());
+    final CountDownLatch latch = new CountDownLatch(200);
+    bus.subscribeAsync(
+        event -> {
+          events.add(event);
+          latch.countDown();
+        },
+        String.class,
+        event -> event.substring(0, event.indexOf(':')));
+
+    for (int i = 0; i < 100; i++) {
+      bus.publish("a:" + i);
+      bus.publish("b:" + i);
+    }
+
+    Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+    List<String> a = new ArrayList<>();
+    List<String> b = new ArrayList<>();
+    for (String event : events) {
+      (event.startsWith("a:") ? a : b).add(event);
+    }
+    for (int i = 0; i < 100; i++) {
+      Assert.assertEquals(a.get(i), "a:" + i);
+      Assert.assertEquals(b.get(i), "b:" + i);
+    }
+  }
+
+  @Test
+  public void shouldCollectStatisticsOfAsyncSubscriber() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(3);
+    bus.subscribeAsync(event -> latch.countDown(), String.class, event -> event);
+
+    bus.publish("a");
+    bus.publish("b");
+    bus.publish("c");
+
+    Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+    bus.stop();
+    List<AsyncSubscriberStatistics> statistics = bus.getAsyncStatistics();
+    Assert.assertEquals(statistics.size(), 1);
+    Assert.assertEquals(statistics.get(0).getDispatched(), 3);
+  }
+
+  @Test
+  public void shouldUnsubscribeAsyncSubscriber() throws Exception {
+    final List<String> events = synchronizedList(new ArrayList<>());
+    EventSubscriber<String> subscriber = events::add;
+    bus.subscribeAsync(subscriber, String.class, event -> event);
+    bus.unsubscribe(subscriber, String.class);
+
+    bus.publish("a");
+    bus.stop();
+
+    Assert.assertTrue(events.isEmpty());
+    Assert.assertTrue(bus.getAsyncStatistics().isEmpty());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldSubscribeAsyncSubscriberToSeveralEventTypes() throws Exception {
+    final List<Object> events = synchronizedList(new ArrayList<>());
+    EventSubscriber subscriber = events::add;
+    bus.subscribeAsync(subscriber, String.class, event -> "key");
+    bus.subscribeAsync(subscriber, Long.class, event -> "key");
+
+    bus.publish("a");
+    bus.publish(1L);
+    bus.unsubscribe(subscriber, String.class);
+    bus.publish("b");
+    bus.publish(2L);
+    bus.stop();
+
+    Assert.assertEquals(events, Arrays.asList("a", 1L, 2L));
+  }
+
+  @Test
+  public void shouldProcessEventsAfterAsyncSubscriberFailure() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(1);
+    bus.subscribeAsync(
+        event -> {
+          if (event.equals("fail")) {
+            throw new AssertionError("fail");
+          }
+          latch.countDown();
+        },
+        String.class,
+        event -> "key");
+
+    bus.publish("fail");
+    bus.publish("ok");
+
+    Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void shouldKeepOrderOfReentrantDispatchesWhenQueueIsFull() throws Exception {
+    final List<String> tasks = synchronizedList(new ArrayList<>());
+    final CountDownLatch latch = new CountDownLatch(1);
+    AsyncEventDispatcher dispatcher = new AsyncEventDispatcher(1, 1);
+    try {
+      dispatcher.dispatch(
+          "key",
+          () -> {
+            for (int i = 0; i < 3; i++) {
+              String task = "task:" + i;
+              dispatcher.dispatch("key", () -> tasks.add(task));
+            }
+            dispatcher.dispatch("key", latch::countDown);
+            tasks.add("parent");
+          });
+
+      Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+      Assert.assertEquals(tasks, Arrays.asList("parent", "task:0", "task:1", "task:2"));
+    } finally {
+      dispatcher.shutdown(1_000);
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldNotCreateDispatcherWithoutPartitions() throws Exception {
+    new AsyncEventDispatcher(0, 10);
+  }
+
   static class CustomEventSubscriber<T extends CustomEvent> implements EventSubscriber<T> {
     final List<String> events = new ArrayList<>();
 
@@ -11,17 +11,26 @@
 package org.eclipse.che.api.core.websocket.impl;
 
 import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import javax.websocket.RemoteEndpoint;
 import javax.websocket.Session;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -37,10 +46,13 @@ import org.testng.annotations.Test;
 public class BasicWebSocketMessageTransmitterTest {
   private static final String MESSAGE = "message";
   private static final String ENDPOINT_ID = "id";
+  private static final String NOTIFICATION = "{\"jsonrpc\":\"2.0\",\"method\":\"m\"}";
 
   @Mock private WebSocketSessionRegistry registry;
   @Mock private MessagesReSender reSender;
-  @InjectMocks private BasicWebSocketMessageTransmitter transmitter;
+  @Mock private ExecutorService executor;
+  @Captor private ArgumentCaptor<Runnable> drainCaptor;
+  private BasicWebSocketMessageTransmitter transmitter;
 
   @Mock private Session session;
   @Mock private RemoteEndpoint.Basic remote;
@@ -52,6 +64,10 @@ public class BasicWebSocketMessageTransmitterTest {
 
     when(registry.get(ENDPOINT_ID)).thenReturn(Optional.of(session));
     when(registry.getSessions()).thenReturn(emptySet());
+
+    transmitter =
+        new BasicWebSocketMessageTransmitter(
+            registry, reSender, MoreExecutors.newDirectExecutorService(), 1024, 2_000);
   }
 
   @Test
@@ -73,4 +89,80 @@ public class BasicWebSocketMessageTransmitterTest {
     verify(remote, never()).sendText(MESSAGE);
     verify(reSender).add(ENDPOINT_ID, MESSAGE);
   }
+
+  @Test
+  public void shouldCoalesceQueuedMessagesIntoBatchWhenClientSupportsIt() throws IOException {
+    when(session.getRequestParameterMap()).thenReturn(singletonMap("batch", singletonList("true")));
+    transmitter = new BasicWebSocketMessageTransmitter(registry, reSender, executor, 1024, 2_000);
+
+    transmitter.transmit(ENDPOINT_ID, NOTIFICATION);
+    transmitter.transmit(ENDPOINT_ID, NOTIFICATION);
+    transmitter.transmit(ENDPOINT_ID, NOTIFICATION);
+    verify(executor).execute(drainCaptor.capture());
+    assertEquals(transmitter.getQueuedMessages(), 3);
+    drainCaptor.getValue().run();
+
+    verify(remote).sendText('[' + NOTIFICATION + ',' + NOTIFICATION + ',' + NOTIFICATION + ']');
+    assertEquals(transmitter.getQueuedMessages(), 0);
+    assertEquals(transmitter.getSentMessages(), 3);
+    assertEquals(transmitter.getSentFrames(), 1);
+  }
+
+  @Test
+  public void shouldSendQueuedMessagesOneByOneWhenClientDoesNotSupportBatches() throws IOException {
+    transmitter = new BasicWebSocketMessageTransmitter(registry, reSender, executor, 1024, 2_000);
+
+    transmitter.transmit(ENDPOINT_ID, NOTIFICATION);
+    transmitter.transmit(ENDPOINT_ID, MESSAGE);
+    verify(executor).execute(drainCaptor.capture());
+    drainCaptor.getValue().run();
+
+    InOrder inOrder = inOrder(remote);
+    inOrder.verify(remote).sendText(NOTIFICATION);
+    inOrder.verify(remote).sendText(MESSAGE);
+    assertEquals(transmitter.getSentFrames(), 2);
+  }
+
+  @Test
+  public void shouldDropMessageWhenQueueIsNotDrainedInTime() throws IOException {
+    transmitter =
+        new BasicWebSocketMessageTransmitter(
+            registry, reSender, executor, NOTIFICATION.length(), 10);
+
+    transmitter.transmit(ENDPOINT_ID, NOTIFICATION);
+    transmitter.transmit(ENDPOINT_ID, NOTIFICATION);
+    verify(executor).execute(drainCaptor.capture());
+    drainCaptor.getValue().run();
+
+    verify(remote).sendText(NOTIFICATION);
+    assertEquals(transmitter.getDroppedMessages(), 1);
+  }
+
+  @Test
+  public void shouldLimitQueueByEncodedSizeOfMessages() throws IOException {
+    String message = "{\"jsonrpc\":\"2.0\",\"method\":\"\u00e9\u00e9\u00e9\u00e9\"}";
+    transmitter =
+        new BasicWebSocketMessageTransmitter(
+            registry, reSender, executor, MESSAGE.length() + message.length(), 10);
+
+    transmitter.transmit(ENDPOINT_ID, MESSAGE);
+    transmitter.transmit(ENDPOINT_ID, message);
+
+    assertEquals(transmitter.getDroppedMessages(), 1);
+    assertEquals(transmitter.getQueuedBytes(), MESSAGE.length());
+  }
+
+  @Test
+  public void shouldAddQueuedMessagesToPendingIfSessionIsClosedBeforeSending() throws IOException {
+    transmitter = new BasicWebSocketMessageTransmitter(registry, reSender, executor, 1024, 2_000);
+
+    transmitter.transmit(ENDPOINT_ID, MESSAGE);
+    transmitter.transmit(ENDPOINT_ID, MESSAGE);
+    verify(executor).execute(drainCaptor.capture());
+    when(session.isOpen()).thenReturn(false);
+    drainCaptor.getValue().run();
+
+    verify(remote, never()).sendText(anyString());
+    verify(reSender, times(2)).add(ENDPOINT_ID, MESSAGE);
+  }
 }
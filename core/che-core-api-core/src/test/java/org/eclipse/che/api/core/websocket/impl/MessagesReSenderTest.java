@@ -145,4 +145,17 @@ public class MessagesReSenderTest {
     verify(session, times(2)).getAsyncRemote();
     verify(endpoint, times(2)).sendText(MESSAGE);
   }
+
+  @Test
+  public void shouldEvictOldestMessagesWhenSizeLimitIsExceeded() {
+    String first = "first";
+    String large = new String(new char[(int) MessagesReSender.MAX_BYTES]).replace('\0', 'a');
+    reSender.add(ENDPOINT_ID, first);
+    reSender.add(ENDPOINT_ID, large);
+
+    reSender.resend(ENDPOINT_ID);
+
+    verify(endpoint, never()).sendText(first);
+    verify(endpoint).sendText(large);
+  }
 }
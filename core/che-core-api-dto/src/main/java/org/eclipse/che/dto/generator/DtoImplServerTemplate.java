@@ -22,6 +22,9 @@ import java.util.Set;
 import org.eclipse.che.dto.server.JsonArrayImpl;
 import org.eclipse.che.dto.server.JsonSerializable;
 import org.eclipse.che.dto.server.JsonStringMapImpl;
+import org.eclipse.che.dto.server.StreamingDtoTypeAdapter;
+import org.eclipse.che.dto.server.StreamingJsonSerializable;
+import org.eclipse.che.dto.shared.DTO;
 import org.eclipse.che.dto.shared.DTOImpl;
 import org.eclipse.che.dto.shared.DelegateRule;
 import org.eclipse.che.dto.shared.DelegateTo;
@@ -32,6 +35,7 @@ import org.eclipse.che.dto.shared.JsonStringMap;
 public class DtoImplServerTemplate extends DtoImpl {
   private static final String JSON_ARRAY_IMPL = JsonArrayImpl.class.getCanonicalName();
   private static final String JSON_MAP_IMPL = JsonStringMapImpl.class.getCanonicalName();
+  private static final String STREAMING_ADAPTER = StreamingDtoTypeAdapter.class.getCanonicalName();
   private static final String SERVER_DTO_MARKER =
       "  @" + DTOImpl.class.getCanonicalName() + "(\"server\")\n";
 
@@ -66,6 +70,16 @@ public class DtoImplServerTemplate extends DtoImpl {
     // equals, hashCode, serialization and copy constructor
     emitEqualsAndHashCode(methods, builder);
     emitSerializer(methods, builder);
+    if (isStreamingSupported(dtoInterface)) {
+      List<Method> declaredGetters = new ArrayList<>();
+      for (Method getter : getters) {
+        if (!superGetterNames.contains(getter.getName())
+            && getJavaFieldName(getter.getName()) != null) {
+          declaredGetters.add(getter);
+        }
+      }
+      emitStreamingSerializer(declaredGetters, hasSuperImpl(dtoInterface), builder);
+    }
     emitDeserializer(methods, builder);
     emitDeserializerShortcut(builder);
     emitCopyConstructor(methods, builder);
@@ -349,6 +363,199 @@ public class DtoImplServerTemplate extends DtoImpl {
     builder.append("    }\n\n");
   }
 
+  /**
+   * Returns true if the implementation of the given DTO can write and read its fields without
+   * reflection, that is when it doesn't extend another implementation or extends the one which can.
+   */
+  private boolean isStreamingSupported(Class<?> dto) {
+    if (!hasSuperImpl(dto)) {
+      return true;
+    }
+    Class<?> superType = getSuperDtoInterface(dto);
+    Class<?> superTypeImpl = getEnclosingTemplate().getDtoImplementation(superType);
+    if (superTypeImpl != null) {
+      return StreamingJsonSerializable.class.isAssignableFrom(superTypeImpl);
+    }
+    return isStreamingSupported(superType);
+  }
+
+  private boolean hasSuperImpl(Class<?> dto) {
+    Class<?> superType = getSuperDtoInterface(dto);
+    return superType != null && superType != JsonSerializable.class;
+  }
+
+  /**
+   * Emits methods of {@link StreamingJsonSerializable} that write and read the fields declared in
+   * this implementation, fields of the super implementation are delegated to it. Strings and
+   * integral primitives are handled directly, the other values use Gson adapters of the field types
+   * which are looked up once. DTO values are written with the adapter of their runtime type to
+   * produce the same JSON as Gson reflective adapter does.
+   */
+  private void emitStreamingSerializer(
+      List<Method> getters, boolean callSuper, StringBuilder builder) {
+    for (Method getter : getters) {
+      if (getKind(getter) == FieldKind.ADAPTER || getKind(getter) == FieldKind.DTO) {
+        emitFieldAdapter(getter, builder);
+      }
+    }
+    builder.append("    @Override\n");
+    builder.append(
+        "    public void writeJsonFields(com.google.gson.stream.JsonWriter out) throws java.io.IOException {\n");
+    for (Method getter : getters) {
+      String fieldName = "this." + getJavaFieldName(getter.getName());
+      builder.append("      out.name(").append(quoteStringLiteral(getJsonFieldName(getter)));
+      switch (getKind(getter)) {
+        case VALUE:
+          builder.append(").value(").append(fieldName).append(");\n");
+          break;
+        case DTO:
+          builder.append(");\n");
+          builder
+              .append("      ")
+              .append(STREAMING_ADAPTER)
+              .append(".writeDto(gson, out, ")
+              .append(fieldName)
+              .append(");\n");
+          break;
+        default:
+          builder.append(");\n");
+          builder
+              .append("      ")
+              .append(getAdapterName(getJavaFieldName(getter.getName())))
+              .append("().write(out, ")
+              .append(fieldName)
+              .append(");\n");
+      }
+    }
+    if (callSuper) {
+      builder.append("      super.writeJsonFields(out);\n");
+    }
+    builder.append("    }\n\n");
+
+    builder.append("    @Override\n");
+    builder.append(
+        "    public boolean readJsonField(String name, com.google.gson.stream.JsonReader in) throws java.io.IOException {\n");
+    builder.append("      switch (name) {\n");
+    for (Method getter : getters) {
+      String fieldName = "this." + getJavaFieldName(getter.getName());
+      Class<?> type = getter.getReturnType();
+      builder.append("        case ").append(quoteStringLiteral(getJsonFieldName(getter)));
+      builder.append(":\n");
+      builder.append("          ");
+      if (getKind(getter) == FieldKind.VALUE) {
+        builder.append(fieldName).append(" = ");
+        if (type == String.class) {
+          builder.append(STREAMING_ADAPTER).append(".readString(in);\n");
+        } else {
+          if (type == short.class || type == byte.class) {
+            builder.append('(').append(type.getName()).append(") ");
+          }
+          builder
+              .append(STREAMING_ADAPTER)
+              .append(
+                  type == boolean.class
+                      ? ".readBoolean"
+                      : type == long.class ? ".readLong" : ".readInt")
+              .append("(in, ")
+              .append(fieldName)
+              .append(");\n");
+        }
+      } else if (type.isPrimitive()) {
+        // null keeps the default value of primitive as Gson reflective adapter does
+        builder
+            .append(fieldName)
+            .append(" = ")
+            .append(STREAMING_ADAPTER)
+            .append(".read(")
+            .append(getAdapterName(getJavaFieldName(getter.getName())))
+            .append("(), in, ")
+            .append(fieldName)
+            .append(");\n");
+      } else {
+        builder
+            .append(fieldName)
+            .append(" = ")
+            .append(getAdapterName(getJavaFieldName(getter.getName())))
+            .append("().read(in);\n");
+      }
+      builder.append("          return true;\n");
+    }
+    builder.append("        default:\n");
+    builder
+        .append("          return ")
+        .append(callSuper ? "super.readJsonField(name, in)" : "false")
+        .append(";\n");
+    builder.append("      }\n");
+    builder.append("    }\n\n");
+  }
+
+  /** Emits a static field and its lazy initializer keeping Gson adapter of the field type. */
+  private void emitFieldAdapter(Method getter, StringBuilder builder) {
+    String adapterName = getAdapterName(getJavaFieldName(getter.getName()));
+    Type type = getter.getGenericReturnType();
+    Class<?> rawType = getter.getReturnType();
+    String typeName =
+        rawType.isPrimitive()
+            ? Primitives.wrap(rawType).getCanonicalName()
+            : getImplName(type, false);
+    String adapterType = "com.google.gson.TypeAdapter<" + typeName + ">";
+    builder
+        .append("    private static ")
+        .append(adapterType)
+        .append(" ")
+        .append(adapterName)
+        .append(";\n\n");
+    builder
+        .append("    private static ")
+        .append(adapterType)
+        .append(" ")
+        .append(adapterName)
+        .append("() {\n");
+    // adapters are looked up lazily as DTO providers are not registered yet
+    // when the generated class is initialized
+    builder.append("      if (").append(adapterName).append(" == null) {\n");
+    builder.append("        ").append(adapterName).append(" = gson.getAdapter(");
+    if (type instanceof Class<?>) {
+      builder.append(typeName).append(".class");
+    } else {
+      builder.append("new com.google.gson.reflect.TypeToken<").append(typeName).append(">() {}");
+    }
+    builder.append(");\n");
+    builder.append("      }\n");
+    builder.append("      return ").append(adapterName).append(";\n");
+    builder.append("    }\n\n");
+  }
+
+  private static String getAdapterName(String fieldName) {
+    return "$" + fieldName + "Adapter";
+  }
+
+  private static FieldKind getKind(Method getter) {
+    Class<?> type = getter.getReturnType();
+    if (type == String.class
+        || type == int.class
+        || type == long.class
+        || type == short.class
+        || type == byte.class
+        || type == boolean.class) {
+      return FieldKind.VALUE;
+    }
+    if (type.isInterface() && type.isAnnotationPresent(DTO.class)) {
+      return FieldKind.DTO;
+    }
+    return FieldKind.ADAPTER;
+  }
+
+  /** The way a field is written and read by generated streaming methods. */
+  private enum FieldKind {
+    /** String or integral primitive which is written and read directly. */
+    VALUE,
+    /** DTO which is written with the adapter of its runtime type. */
+    DTO,
+    /** Any other value which is written and read with Gson adapter of its type. */
+    ADAPTER
+  }
+
   /** Generates a static factory method that creates a new instance based on a JsonElement. */
   private void emitDeserializer(List<Method> getters, StringBuilder builder) {
     // The default fromJsonElement(json) works in unsafe mode and clones the JSON's for 'any'
@@ -405,6 +612,9 @@ public class DtoImplServerTemplate extends DtoImpl {
     builder.append(" implements ");
     builder.append(dtoInterface.getCanonicalName());
     builder.append(", JsonSerializable ");
+    if (isStreamingSupported(dtoInterface)) {
+      builder.append(", ").append(StreamingJsonSerializable.class.getCanonicalName());
+    }
     builder.append(" {\n\n");
     emitFactoryMethod(builder);
     emitDefaultConstructor(builder);
@@ -106,7 +106,8 @@ public final class DtoFactory {
           ServiceLoader.load(TypeAdapterFactory.class).iterator(),
           new NullAsEmptyTAF<>(Collection.class, Collections.emptyList()),
           new NullAsEmptyTAF<>(Map.class, Collections.emptyMap()),
-          new DtoInterfaceTAF());
+          new DtoInterfaceTAF(),
+          new DtoImplTAF());
 
   /**
    * Created deep copy of DTO object.
@@ -447,6 +448,24 @@ public final class DtoFactory {
     }
   }
 
+  /**
+   * Provides {@link StreamingDtoTypeAdapter} for generated DTO implementations which serialize
+   * their fields without reflection. Implementations that are not registered with a provider, e.g.
+   * subclasses of generated implementations, are handled by Gson's reflective adapter.
+   */
+  private class DtoImplTAF implements TypeAdapterFactory {
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+      DtoProvider<?> prov = dtoImpl2Providers.get(type.getRawType());
+      if (prov != null && StreamingJsonSerializable.class.isAssignableFrom(type.getRawType())) {
+        return (TypeAdapter<T>)
+            new StreamingDtoTypeAdapter<>(() -> (StreamingJsonSerializable) prov.newInstance());
+      }
+      return null;
+    }
+  }
+
   /**
    * Wraps Gson's default List/Map adapter factories serialize null List/Map fields as empty
    * instead.
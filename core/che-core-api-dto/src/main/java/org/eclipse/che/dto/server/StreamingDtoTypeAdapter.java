@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.dto.server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * Gson type adapter of DTO implementations generated with field by field serialization, see {@link
+ * StreamingJsonSerializable}. Produces the same JSON as Gson reflective adapter does, but without
+ * reflection.
+ *
+ * <p>Static methods are used by generated DTO implementations to read and write values of fields.
+ */
+public final class StreamingDtoTypeAdapter<T extends StreamingJsonSerializable>
+    extends TypeAdapter<T> {
+
+  private final Supplier<T> factory;
+
+  public StreamingDtoTypeAdapter(Supplier<T> factory) {
+    this.factory = factory;
+  }
+
+  @Override
+  public void write(JsonWriter out, T value) throws IOException {
+    if (value == null) {
+      out.nullValue();
+      return;
+    }
+    out.beginObject();
+    value.writeJsonFields(out);
+    out.endObject();
+  }
+
+  @Override
+  public T read(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    T dto = factory.get();
+    in.beginObject();
+    while (in.hasNext()) {
+      if (!dto.readJsonField(in.nextName(), in)) {
+        in.skipValue();
+      }
+    }
+    in.endObject();
+    return dto;
+  }
+
+  /** Writes DTO using the adapter of its runtime type, as Gson does for DTO fields. */
+  @SuppressWarnings("unchecked")
+  public static void writeDto(Gson gson, JsonWriter out, Object dto) throws IOException {
+    if (dto == null) {
+      out.nullValue();
+    } else {
+      ((TypeAdapter<Object>) gson.getAdapter(dto.getClass())).write(out, dto);
+    }
+  }
+
+  /** Reads value with the given adapter, returns the current value if JSON value is null. */
+  public static <V> V read(TypeAdapter<V> adapter, JsonReader in, V current) throws IOException {
+    V value = adapter.read(in);
+    return value != null ? value : current;
+  }
+
+  public static String readString(JsonReader in) throws IOException {
+    JsonToken token = in.peek();
+    if (token == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    if (token == JsonToken.BOOLEAN) {
+      return Boolean.toString(in.nextBoolean());
+    }
+    return in.nextString();
+  }
+
+  public static boolean readBoolean(JsonReader in, boolean current) throws IOException {
+    JsonToken token = in.peek();
+    if (token == JsonToken.NULL) {
+      in.nextNull();
+      return current;
+    }
+    if (token == JsonToken.STRING) {
+      return Boolean.parseBoolean(in.nextString());
+    }
+    return in.nextBoolean();
+  }
+
+  public static int readInt(JsonReader in, int current) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return current;
+    }
+    try {
+      return in.nextInt();
+    } catch (NumberFormatException e) {
+      throw new JsonSyntaxException(e);
+    }
+  }
+
+  public static long readLong(JsonReader in, long current) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return current;
+    }
+    try {
+      return in.nextLong();
+    } catch (NumberFormatException e) {
+      throw new JsonSyntaxException(e);
+    }
+  }
+}
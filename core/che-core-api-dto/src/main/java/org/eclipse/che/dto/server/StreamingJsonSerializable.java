@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.dto.server;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+
+/**
+ * DTO implementation which writes and reads its fields directly to and from JSON stream, generated
+ * server DTO implementations implement this interface.
+ *
+ * @see StreamingDtoTypeAdapter
+ */
+public interface StreamingJsonSerializable extends JsonSerializable {
+
+  /** Writes all the fields of this DTO as members of the current JSON object. */
+  void writeJsonFields(JsonWriter out) throws IOException;
+
+  /**
+   * Reads the value of the field with the given JSON name.
+   *
+   * @return false if this DTO doesn't have such field and the value was not consumed
+   */
+  boolean readJsonField(String name, JsonReader in) throws IOException;
+}
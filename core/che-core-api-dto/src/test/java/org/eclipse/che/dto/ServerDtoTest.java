@@ -35,6 +35,7 @@ import org.eclipse.che.dto.definitions.model.Model;
 import org.eclipse.che.dto.definitions.model.ModelComponentDto;
 import org.eclipse.che.dto.definitions.model.ModelDto;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.StreamingDtoTypeAdapter;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -370,6 +371,39 @@ public class ServerDtoTest {
         complicatedDto.getArrayOfArrayOfEnum().get(0).get(2), ComplicatedDto.SimpleEnum.THREE);
   }
 
+  @Test
+  public void shouldSerializeGeneratedImplementationsWithoutReflection() {
+    SimpleDto dto = dtoFactory.createDto(SimpleDto.class);
+
+    assertTrue(dtoFactory.getGson().getAdapter(dto.getClass()) instanceof StreamingDtoTypeAdapter);
+    assertTrue(
+        dtoFactory.getGson().getAdapter(dtoFactory.createDto(GrandchildDto.class).getClass())
+            instanceof StreamingDtoTypeAdapter);
+  }
+
+  @Test
+  public void shouldSkipUnknownFieldsAndKeepDefaultsOfNullPrimitives() {
+    SimpleDto dto =
+        dtoFactory.createDtoFromJson(
+            "{\"unknown\":{\"a\":[1,2]},\"id\":null,\"name\":\"foo\",\"default\":true}",
+            SimpleDto.class);
+
+    checkSimpleDto(dto, "foo", 0, "true");
+  }
+
+  @Test
+  public void shouldSerializeSuperImplementationFields() {
+    GrandchildDto dto = dtoFactory.createDto(GrandchildDto.class);
+    dto.setParentField("parent");
+    dto.setDtoField("dto");
+    dto.setShadowedField(dtoFactory.createDto(GrandchildDto.class).withChildField("child"));
+
+    GrandchildDto copy = dtoFactory.createDtoFromJson(dtoFactory.toJson(dto), GrandchildDto.class);
+
+    assertEquals(dtoFactory.toJson(copy), dtoFactory.toJson(dto));
+    assertEquals(copy.getParentField(), "parent");
+  }
+
   private void checkSimpleDto(
       SimpleDto dto, String expectedName, int expectedId, String expectedDefault) {
     assertEquals(dto.getName(), expectedName);
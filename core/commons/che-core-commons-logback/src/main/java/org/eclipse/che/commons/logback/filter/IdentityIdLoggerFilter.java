@@ -18,15 +18,14 @@ import javax.servlet.FilterConfig;
 import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
-import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpSession;
+import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.subject.Subject;
 import org.slf4j.MDC;
 
 /**
- * A servlet filter that retrieves the identity_id from the servlet context and put it in the MDC
- * context. Logback can be configured to display this value in each log message when available. MDC
- * property name is `identity_id`.
+ * A servlet filter that retrieves the identity_id from the environment context and put it in the
+ * MDC context. Logback can be configured to display this value in each log message when available.
+ * MDC property name is `identity_id`.
  */
 @Singleton
 public class IdentityIdLoggerFilter implements Filter {
@@ -40,11 +39,9 @@ public class IdentityIdLoggerFilter implements Filter {
   public final void doFilter(
       ServletRequest request, ServletResponse response, FilterChain filterChain)
       throws IOException, ServletException {
-    final HttpServletRequest httpRequest = (HttpServletRequest) request;
-    final HttpSession session = httpRequest.getSession();
-    Subject subject = (Subject) session.getAttribute("che_subject");
+    Subject subject = EnvironmentContext.getCurrent().getSubject();
 
-    if (subject != null && subject.getUserId() != null) {
+    if (!subject.isAnonymous() && subject.getUserId() != null) {
       MDC.put(IDENTITY_ID_MDC_KEY, subject.getUserId());
     }
 
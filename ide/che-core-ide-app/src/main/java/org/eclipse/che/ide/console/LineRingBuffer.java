@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.ide.console;
+
+/**
+ * Bounded buffer of console lines. When the buffer is full the oldest line is dropped on adding a
+ * new one.
+ *
+ * <p>Lines are addressed by their position in the whole output since the last {@link #clear()}, so
+ * the index of a line doesn't change when older lines are dropped. Lines in the buffer have indexes
+ * from {@link #getFirstIndex()} inclusive to {@link #getEndIndex()} exclusive.
+ */
+class LineRingBuffer<T> {
+
+  private final Object[] lines;
+
+  /** Index of the next added line in the whole output. */
+  private int endIndex;
+
+  private int size;
+
+  LineRingBuffer(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+    }
+    this.lines = new Object[capacity];
+  }
+
+  /** Adds the line to the end of the buffer dropping the oldest line if the buffer is full. */
+  void add(T line) {
+    lines[endIndex % lines.length] = line;
+    endIndex++;
+    if (size < lines.length) {
+      size++;
+    }
+  }
+
+  /** Replaces the last line of the buffer or adds the line if the buffer is empty. */
+  void replaceLast(T line) {
+    if (size == 0) {
+      add(line);
+    } else {
+      lines[(endIndex - 1) % lines.length] = line;
+    }
+  }
+
+  /**
+   * Returns the line with the given index.
+   *
+   * @throws IndexOutOfBoundsException when the line is not in the buffer
+   */
+  @SuppressWarnings("unchecked")
+  T get(int index) {
+    if (index < getFirstIndex() || index >= endIndex) {
+      throw new IndexOutOfBoundsException(
+          "Line " + index + " is out of [" + getFirstIndex() + ", " + endIndex + ")");
+    }
+    return (T) lines[index % lines.length];
+  }
+
+  /** Returns the index of the oldest line in the buffer. */
+  int getFirstIndex() {
+    return endIndex - size;
+  }
+
+  /** Returns the index next to the index of the last line in the buffer. */
+  int getEndIndex() {
+    return endIndex;
+  }
+
+  int size() {
+    return size;
+  }
+
+  int getCapacity() {
+    return lines.length;
+  }
+
+  /** Removes all the lines and resets the indexes. */
+  void clear() {
+    for (int i = 0; i < lines.length; i++) {
+      lines[i] = null;
+    }
+    endIndex = 0;
+    size = 0;
+  }
+}
@@ -16,12 +16,13 @@ import static org.eclipse.che.ide.ui.menu.PositionController.HorizontalAlign.MID
 import static org.eclipse.che.ide.ui.menu.PositionController.VerticalAlign.BOTTOM;
 
 import com.google.common.base.Strings;
+import com.google.gwt.animation.client.AnimationScheduler;
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.dom.client.Element;
 import com.google.gwt.dom.client.Node;
-import com.google.gwt.dom.client.NodeList;
 import com.google.gwt.dom.client.PreElement;
+import com.google.gwt.dom.client.Style;
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
 import com.google.gwt.event.dom.client.ScrollEvent;
@@ -44,6 +45,7 @@ import com.google.inject.Inject;
 import java.util.List;
 import org.eclipse.che.ide.CoreLocalizationConstant;
 import org.eclipse.che.ide.FontAwesome;
+import org.eclipse.che.ide.api.preferences.PreferencesManager;
 import org.eclipse.che.ide.machine.MachineResources;
 import org.eclipse.che.ide.ui.Tooltip;
 import org.eclipse.che.ide.util.Pair;
@@ -57,6 +59,17 @@ import org.vectomatic.dom.svg.ui.SVGImage;
  */
 public class OutputConsoleViewImpl extends Composite implements OutputConsoleView, ScrollHandler {
 
+  /** Preference which defines the maximum count of lines kept in the console. */
+  static final String MAX_LINES_PREFERENCE = "consoleMaxLines";
+
+  static final int DEFAULT_MAX_LINES = 5000;
+
+  /** Count of lines rendered above and below the visible part of the console. */
+  private static final int OVERSCAN_LINES = 50;
+
+  /** Count of the last lines rendered while the height of a line is unknown. */
+  private static final int INITIAL_RENDERED_LINES = 200;
+
   private final List<Pair<RegExp, String>> output2Color =
       newArrayList(
           new Pair<>(compile("\\[\\s*(DOCKER)\\s*\\]"), "#4EABFF"),
@@ -109,10 +122,35 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
   /** Scroll to the bottom immediately when view become visible. */
   private boolean followScheduled = false;
 
+  /** The last lines of the output, only the visible part of them is rendered. */
+  private final LineRingBuffer<OutputLine> lines;
+
+  /** Indexes of the first and next to the last rendered lines, rendered lines are consecutive. */
+  private int renderedFrom;
+
+  private int renderedTo;
+
+  /** Index of the first line changed since the last rendering. */
+  private int changedFrom = Integer.MAX_VALUE;
+
+  /** Rendering of the lines is scheduled to the next animation frame. */
+  private boolean renderScheduled;
+
+  /** Wrapped lines have different heights, so all the lines are rendered. */
+  private boolean wrapped;
+
+  /** Height of a not wrapped line in pixels, {@code 0} if it is not measured yet. */
+  private int lineHeight;
+
   @Inject
-  public OutputConsoleViewImpl(MachineResources resources, CoreLocalizationConstant localization) {
+  public OutputConsoleViewImpl(
+      MachineResources resources,
+      CoreLocalizationConstant localization,
+      PreferencesManager preferencesManager) {
     initWidget(UI_BINDER.createAndBindUi(this));
 
+    lines = new LineRingBuffer<>(getMaxLines(preferencesManager));
+
     reRunProcessButton.add(new SVGImage(resources.reRunIcon()));
     stopProcessButton.add(new SVGImage(resources.stopIcon()));
     clearOutputsButton.add(new SVGImage(resources.clearOutputsIcon()));
@@ -244,17 +282,25 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
     } else {
       consoleLines.getElement().removeAttribute("wrap");
     }
+    wrapped = wrap;
+    scheduleRender();
   }
 
   @Override
   public void enableAutoScroll(boolean enable) {
     followOutput = enable;
-    followOutput();
+    scheduleRender();
   }
 
   @Override
   public void clearConsole() {
+    lines.clear();
     consoleLines.getElement().setInnerHTML("");
+    consoleLines.getElement().getStyle().clearPaddingTop();
+    consoleLines.getElement().getStyle().clearPaddingBottom();
+    renderedFrom = 0;
+    renderedTo = 0;
+    changedFrom = Integer.MAX_VALUE;
   }
 
   @Override
@@ -319,82 +365,34 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
 
   @Override
   public void print(final String text, boolean carriageReturn, String color) {
-
-    if (consoleLines.getElement().getChildCount() > 500) {
-      consoleLines.getElement().getFirstChild().removeFromParent();
-    }
-
+    OutputLine line = new OutputLine(text, color);
     if (this.carriageReturn) {
-      Node lastChild = consoleLines.getElement().getLastChild();
-      if (lastChild != null) {
-        lastChild.removeFromParent();
-      }
+      lines.replaceLast(line);
+    } else {
+      lines.add(line);
     }
+    changedFrom = Math.min(changedFrom, lines.getEndIndex() - 1);
 
     this.carriageReturn = carriageReturn;
 
-    final SafeHtml colorOutput =
-        new SafeHtml() {
-          @Override
-          public String asString() {
-
-            if (Strings.isNullOrEmpty(text)) {
-              return " ";
-            }
-
-            String encoded = SafeHtmlUtils.htmlEscape(text);
-            if (delegate != null) {
-              if (delegate.getCustomizer() != null) {
-                if (delegate.getCustomizer().canCustomize(encoded)) {
-                  encoded = delegate.getCustomizer().customize(encoded);
-                }
-              }
-            }
-
-            for (final Pair<RegExp, String> pair : output2Color) {
-              final MatchResult matcher = pair.first.exec(encoded);
-
-              if (matcher != null) {
-                return encoded.replaceAll(
-                    matcher.getGroup(1),
-                    "<span style=\"color: "
-                        + pair.second
-                        + "\">"
-                        + matcher.getGroup(1)
-                        + "</span>");
-              }
-            }
-
-            return encoded;
-          }
-        };
-
-    PreElement pre = DOM.createElement("pre").cast();
-    pre.setInnerSafeHtml(colorOutput);
-    if (color != null) {
-      pre.getStyle().setColor(color);
-    }
-    consoleLines.getElement().appendChild(pre);
-
-    followOutput();
+    scheduleRender();
   }
 
   @Override
   public String getText() {
-    String text = "";
-    NodeList<Node> nodes = consoleLines.getElement().getChildNodes();
-
-    for (int i = 0; i < nodes.getLength(); i++) {
-      Node node = nodes.getItem(i);
-      Element element = node.cast();
-      text += element.getInnerText() + "\r\n";
+    StringBuilder text = new StringBuilder();
+    for (int i = lines.getFirstIndex(); i < lines.getEndIndex(); i++) {
+      text.append(Strings.nullToEmpty(lines.get(i).text)).append("\r\n");
     }
-
-    return text;
+    return text.toString();
   }
 
   @Override
   public void onScroll(ScrollEvent event) {
+    if (!wrapped) {
+      scheduleRender();
+    }
+
     // Do nothing if content height less scroll area height
     if (scrollPanel.getElement().getScrollHeight() < scrollPanel.getElement().getOffsetHeight()) {
       followOutput = true;
@@ -417,6 +415,143 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
     }
   }
 
+  /** Renders the changed lines on the next animation frame, so DOM is updated once per frame. */
+  private void scheduleRender() {
+    if (renderScheduled) {
+      return;
+    }
+    renderScheduled = true;
+    AnimationScheduler.get()
+        .requestAnimationFrame(
+            timestamp -> {
+              renderScheduled = false;
+              render();
+            });
+  }
+
+  /**
+   * Renders the visible part of the buffered lines. The lines above and below it are replaced with
+   * paddings of the same height, so the scroll bar reflects the whole buffer.
+   */
+  private void render() {
+    final Element container = consoleLines.getElement();
+    final int first = lines.getFirstIndex();
+    final int end = lines.getEndIndex();
+
+    int from;
+    int to;
+    if (wrapped) {
+      from = first;
+      to = end;
+    } else if (lineHeight == 0) {
+      from = Math.max(first, end - INITIAL_RENDERED_LINES);
+      to = end;
+    } else {
+      final Element scroll = scrollPanel.getElement();
+      final int visibleLines = scroll.getClientHeight() / lineHeight + 1;
+      final int top =
+          followOutput ? end - visibleLines : first + scroll.getScrollTop() / lineHeight;
+      from = Math.max(first, top - OVERSCAN_LINES);
+      to = Math.min(end, Math.max(from, top + visibleLines + OVERSCAN_LINES));
+    }
+
+    // keep rendered lines which are still in the window and are not changed
+    int keepFrom = Math.max(renderedFrom, from);
+    int keepTo = Math.min(Math.min(renderedTo, to), changedFrom);
+    if (keepFrom >= keepTo) {
+      container.setInnerHTML("");
+      keepFrom = from;
+      keepTo = from;
+    } else {
+      for (int i = renderedFrom; i < keepFrom; i++) {
+        container.getFirstChild().removeFromParent();
+      }
+      for (int i = keepTo; i < renderedTo; i++) {
+        container.getLastChild().removeFromParent();
+      }
+    }
+
+    final Node firstKept = container.getFirstChild();
+    for (int i = from; i < keepFrom; i++) {
+      container.insertBefore(createLine(lines.get(i)), firstKept);
+    }
+    for (int i = keepTo; i < to; i++) {
+      container.appendChild(createLine(lines.get(i)));
+    }
+
+    renderedFrom = from;
+    renderedTo = to;
+    changedFrom = Integer.MAX_VALUE;
+
+    if (!wrapped && lineHeight == 0 && container.getFirstChildElement() != null) {
+      lineHeight = container.getFirstChildElement().getOffsetHeight();
+    }
+
+    if (wrapped || lineHeight == 0) {
+      container.getStyle().clearPaddingTop();
+      container.getStyle().clearPaddingBottom();
+    } else {
+      container.getStyle().setPaddingTop((from - first) * lineHeight, Style.Unit.PX);
+      container.getStyle().setPaddingBottom((end - to) * lineHeight, Style.Unit.PX);
+    }
+
+    followOutput();
+  }
+
+  private PreElement createLine(OutputLine line) {
+    if (line.html == null) {
+      line.html = colorize(line.text);
+    }
+
+    PreElement pre = DOM.createElement("pre").cast();
+    pre.setInnerSafeHtml(line.html);
+    if (line.color != null) {
+      pre.getStyle().setColor(line.color);
+    }
+    return pre;
+  }
+
+  /** Applies the output customizer and highlights the known prefixes of the text. */
+  private SafeHtml colorize(String text) {
+    if (Strings.isNullOrEmpty(text)) {
+      return SafeHtmlUtils.fromSafeConstant(" ");
+    }
+
+    String encoded = SafeHtmlUtils.htmlEscape(text);
+    if (delegate != null) {
+      if (delegate.getCustomizer() != null) {
+        if (delegate.getCustomizer().canCustomize(encoded)) {
+          encoded = delegate.getCustomizer().customize(encoded);
+        }
+      }
+    }
+
+    for (final Pair<RegExp, String> pair : output2Color) {
+      final MatchResult matcher = pair.first.exec(encoded);
+
+      if (matcher != null) {
+        return SafeHtmlUtils.fromTrustedString(
+            encoded.replaceAll(
+                matcher.getGroup(1),
+                "<span style=\"color: " + pair.second + "\">" + matcher.getGroup(1) + "</span>"));
+      }
+    }
+
+    return SafeHtmlUtils.fromTrustedString(encoded);
+  }
+
+  private static int getMaxLines(PreferencesManager preferencesManager) {
+    final String maxLines = preferencesManager.getValue(MAX_LINES_PREFERENCE);
+    if (!Strings.isNullOrEmpty(maxLines)) {
+      try {
+        return Math.max(1, Integer.parseInt(maxLines));
+      } catch (NumberFormatException ignored) {
+        // use default
+      }
+    }
+    return DEFAULT_MAX_LINES;
+  }
+
   /** Scrolls to the bottom if following the output is enabled. */
   private void followOutput() {
     if (!followOutput) {
@@ -457,4 +592,16 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
               500);
     }
   }
+
+  /** Printed line, its HTML is built when the line is rendered for the first time. */
+  private static class OutputLine {
+    private final String text;
+    private final String color;
+    private SafeHtml html;
+
+    private OutputLine(String text, String color) {
+      this.text = text;
+      this.color = color;
+    }
+  }
 }
@@ -105,7 +105,9 @@ public class WsAgentJsonRpcInitializer {
               String separator = wsAgentWebSocketUrl.contains("?") ? "&" : "?";
               Optional<String> applicationWebSocketId = appContext.getApplicationId();
               String queryParams =
-                  applicationWebSocketId.map(id -> separator + "clientId=" + id).orElse("");
+                  separator
+                      + "batch=true"
+                      + applicationWebSocketId.map(id -> "&clientId=" + id).orElse("");
               Set<Runnable> initActions =
                   applicationWebSocketId.isPresent() ? emptySet() : singleton(this::processWsId);
 
@@ -113,6 +113,7 @@ public class WsMasterJsonRpcInitializer {
                   separator
                       + "token="
                       + token
+                      + "&batch=true"
                       + appWebSocketId.map(id -> "&clientId=" + id).orElse("");
               String wsMasterEndpointURL = url + queryParams;
 
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.ide.console;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/** Tests for {@link LineRingBuffer} */
+public class LineRingBufferTest {
+
+  private LineRingBuffer<String> buffer;
+
+  @Before
+  public void setUp() {
+    buffer = new LineRingBuffer<>(3);
+  }
+
+  @Test
+  public void shouldKeepAddedLines() {
+    buffer.add("a");
+    buffer.add("b");
+
+    assertEquals(2, buffer.size());
+    assertEquals(0, buffer.getFirstIndex());
+    assertEquals(2, buffer.getEndIndex());
+    assertEquals("a", buffer.get(0));
+    assertEquals("b", buffer.get(1));
+  }
+
+  @Test
+  public void shouldDropOldestLinesWhenBufferIsFull() {
+    for (String line : new String[] {"a", "b", "c", "d", "e"}) {
+      buffer.add(line);
+    }
+
+    assertEquals(3, buffer.size());
+    assertEquals(2, buffer.getFirstIndex());
+    assertEquals(5, buffer.getEndIndex());
+    assertEquals("c", buffer.get(2));
+    assertEquals("e", buffer.get(4));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void shouldNotReturnDroppedLine() {
+    for (String line : new String[] {"a", "b", "c", "d"}) {
+      buffer.add(line);
+    }
+
+    buffer.get(0);
+  }
+
+  @Test
+  public void shouldReplaceLastLine() {
+    buffer.replaceLast("a");
+    buffer.add("b");
+    buffer.replaceLast("c");
+
+    assertEquals(2, buffer.size());
+    assertEquals("a", buffer.get(0));
+    assertEquals("c", buffer.get(1));
+  }
+
+  @Test
+  public void shouldResetIndexesOnClear() {
+    for (String line : new String[] {"a", "b", "c", "d"}) {
+      buffer.add(line);
+    }
+
+    buffer.clear();
+    buffer.add("e");
+
+    assertEquals(1, buffer.size());
+    assertEquals(0, buffer.getFirstIndex());
+    assertEquals("e", buffer.get(0));
+  }
+}
@@ -29,6 +29,13 @@ public class NodeDescriptor {
   private List<NodeDescriptor> children = new ArrayList<>();
   private boolean root;
 
+  /** Count of all the descendants, it is updated on changes of children of the subtree. */
+  private int descendantsCount;
+  /** True if the descriptor is in the children of its parent. */
+  private boolean attached;
+  /** Index of the descriptor in the children of its parent, may be outdated. */
+  private int index = -1;
+
   private String domId;
 
   private boolean childrenRendered;
@@ -68,24 +75,34 @@ public class NodeDescriptor {
 
     children.add(actualIndex, child);
     child.parent = this;
+    child.attached = true;
+    changeDescendantsCount(1 + child.descendantsCount);
   }
 
   public void addChildren(int index, List<NodeDescriptor> children) {
     if (nodeStorage.isSorted()) {
-      getChildren().addAll(children);
-      Collections.sort(getChildren(), nodeStorage.buildFullComparator());
+      this.children.addAll(children);
+      Collections.sort(this.children, nodeStorage.buildFullComparator());
     } else {
-      int actualIndex = index == 0 ? 0 : (getChildren().indexOf(getChildren().get(index - 1)) + 1);
-      getChildren().addAll(actualIndex, children);
+      int actualIndex = index == 0 ? 0 : (indexOf(this.children.get(index - 1)) + 1);
+      this.children.addAll(actualIndex, children);
     }
 
+    int delta = 0;
     for (NodeDescriptor child : children) {
       child.parent = this;
+      child.attached = true;
+      delta += 1 + child.descendantsCount;
     }
+    changeDescendantsCount(delta);
   }
 
   public void clear() {
+    for (NodeDescriptor child : children) {
+      child.attached = false;
+    }
     children.clear();
+    changeDescendantsCount(-descendantsCount);
   }
 
   public List<NodeDescriptor> getChildren() {
@@ -113,7 +130,46 @@ public class NodeDescriptor {
   }
 
   public void remove(NodeDescriptor descriptor) {
-    children.remove(descriptor);
+    if (children.remove(descriptor)) {
+      descriptor.attached = false;
+      changeDescendantsCount(-(1 + descriptor.descendantsCount));
+    }
+  }
+
+  /**
+   * Returns the index of the given descriptor in the children or {@code -1} if it is not a child.
+   * Indexes of all the children are cached on the first call after children are changed, so
+   * subsequent calls don't search the children.
+   */
+  public int indexOf(NodeDescriptor child) {
+    if (!isChildAt(child, child.index)) {
+      for (int i = 0; i < children.size(); i++) {
+        children.get(i).index = i;
+      }
+      if (!isChildAt(child, child.index)) {
+        return -1;
+      }
+    }
+    return child.index;
+  }
+
+  /** Returns the count of all the descendants of the node, not only the direct children. */
+  public int getDescendantsCount() {
+    return descendantsCount;
+  }
+
+  private boolean isChildAt(NodeDescriptor child, int index) {
+    return index >= 0 && index < children.size() && children.get(index) == child;
+  }
+
+  /** Updates the count of descendants of this descriptor and of its attached ancestors. */
+  private void changeDescendantsCount(int delta) {
+    NodeDescriptor descriptor = this;
+    descriptor.descendantsCount += delta;
+    while (descriptor.attached && descriptor.parent != null) {
+      descriptor = descriptor.parent;
+      descriptor.descendantsCount += delta;
+    }
   }
 
   public void reset() {
@@ -21,7 +21,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import javax.validation.constraints.NotNull;
@@ -174,11 +173,7 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
    * @return
    */
   public List<Node> getAll() {
-    List<NodeDescriptor> allChildren = new LinkedList<>(roots.getChildren());
-    for (int i = 0; i < allChildren.size(); i++) {
-      allChildren.addAll(allChildren.get(i).getChildren());
-    }
-    return unwrap(allChildren);
+    return unwrap(getAllDescendants(roots));
   }
 
   /**
@@ -188,11 +183,7 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
    * @return
    */
   public List<Node> getAllChildren(Node parent) {
-    List<NodeDescriptor> allChildren = new LinkedList<>(getWrapper(parent).getChildren());
-    for (int i = 0; i < allChildren.size(); i++) {
-      allChildren.addAll(allChildren.get(i).getChildren());
-    }
-    return unwrap(allChildren);
+    return unwrap(getAllDescendants(getWrapper(parent)));
   }
 
   /**
@@ -201,12 +192,7 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
    * @return
    */
   public int getAllItemsCount() {
-    List<NodeDescriptor> allChildren = new LinkedList<>(roots.getChildren());
-    for (int i = 0; i < allChildren.size(); i++) {
-      allChildren.addAll(allChildren.get(i).getChildren());
-    }
-
-    return allChildren.size();
+    return roots.getDescendantsCount();
   }
 
   /**
@@ -216,7 +202,7 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
    * @return
    */
   public Node getChild(int index) {
-    return getRootItems().get(index);
+    return roots.getChildren().get(index).getNode();
   }
 
   /**
@@ -291,11 +277,14 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
    * @return
    */
   public Node getNextSibling(Node item) {
-    Node parent = getParent(item);
-    List<Node> children = parent == null ? getRootItems() : getChildren(parent);
-    int index = children.indexOf(item);
-    if (children.size() > (index + 1)) {
-      return children.get(index + 1);
+    NodeDescriptor descriptor = getWrapper(item);
+    if (descriptor == null || descriptor.getParent() == null) {
+      return null;
+    }
+    List<NodeDescriptor> siblings = descriptor.getParent().getChildren();
+    int index = descriptor.getParent().indexOf(descriptor);
+    if (index != -1 && siblings.size() > (index + 1)) {
+      return siblings.get(index + 1).getNode();
     }
     return null;
   }
@@ -307,11 +296,13 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
    * @return
    */
   public Node getPreviousSibling(Node item) {
-    Node parent = getParent(item);
-    List<Node> children = parent == null ? getRootItems() : getChildren(parent);
-    int index = children.indexOf(item);
+    NodeDescriptor descriptor = getWrapper(item);
+    if (descriptor == null || descriptor.getParent() == null) {
+      return null;
+    }
+    int index = descriptor.getParent().indexOf(descriptor);
     if (index > 0) {
-      return children.get(index - 1);
+      return descriptor.getParent().getChildren().get(index - 1).getNode();
     }
     return null;
   }
@@ -352,12 +343,11 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
    * @return
    */
   public int indexOf(Node item) {
-    Node parent = getParent(item);
-    if (parent == null) {
-      return getRootItems().indexOf(item);
-    } else {
-      return getChildren(parent).indexOf(item);
+    NodeDescriptor descriptor = getWrapper(item);
+    if (descriptor == null || descriptor.getParent() == null) {
+      return -1;
     }
+    return descriptor.getParent().indexOf(descriptor);
   }
 
   /**
@@ -462,12 +452,12 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
     if (nodeDescriptor != null) {
       Node parent = getParent(node);
       List<Node> children = getAllChildren(node);
-      int visibleIndex = nodeDescriptor.getParent().getChildren().indexOf(nodeDescriptor);
+      int visibleIndex = nodeDescriptor.getParent().indexOf(nodeDescriptor);
       nodeDescriptor.getParent().remove(nodeDescriptor);
       if (visibleIndex != -1) {
         fireEvent(new StoreRemoveEvent(visibleIndex, node, parent, children));
       } else {
-        List<NodeDescriptor> descriptors = new LinkedList<>();
+        List<NodeDescriptor> descriptors = new ArrayList<>();
         descriptors.add(nodeDescriptor);
         for (int i = 0; i < descriptors.size(); i++) {
           nodeDescriptor = descriptors.get(i);
@@ -487,17 +477,16 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
 
   private void removeChildren(NodeDescriptor parent) {
     if (parent.getChildren().size() != 0) {
-      List<NodeDescriptor> models = new LinkedList<>();
+      List<NodeDescriptor> models = new ArrayList<>();
       models.addAll(parent.getChildren());
       parent.clear();
       for (int i = 0; i < models.size(); i++) {
         NodeDescriptor wrapper = models.get(i);
         models.addAll(wrapper.getChildren());
 
-        List<Node> children = getAllChildren(wrapper.getNode());
-
         idToNodeMap.remove(getKeyProvider().getKey(wrapper.getNode()));
         if (wrapper.getParent() == parent) {
+          List<Node> children = unwrap(getAllDescendants(wrapper));
           fireEvent(new StoreRemoveEvent(0, wrapper.getNode(), parent.getNode(), children));
         }
       }
@@ -512,7 +501,7 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
       roots.addChildren(0, wrap(children));
     } else {
       NodeDescriptor parentNodeDescriptor = getWrapper(parent);
-      List<NodeDescriptor> models = new LinkedList<>();
+      List<NodeDescriptor> models = new ArrayList<>();
       models.addAll(parentNodeDescriptor.getChildren());
       for (int i = 0; i < models.size(); i++) {
         NodeDescriptor wrapper = models.get(i);
@@ -707,8 +696,18 @@ public class NodeStorage implements StoreHandlers.HasStoreHandlers {
     return nodeDescriptors;
   }
 
+  /** Returns all the descendants of the given descriptor in the breadth-first order. */
+  private List<NodeDescriptor> getAllDescendants(NodeDescriptor parent) {
+    List<NodeDescriptor> allChildren = new ArrayList<>(parent.getDescendantsCount());
+    allChildren.addAll(parent.getChildren());
+    for (int i = 0; i < allChildren.size(); i++) {
+      allChildren.addAll(allChildren.get(i).getChildren());
+    }
+    return allChildren;
+  }
+
   protected List<Node> unwrap(List<NodeDescriptor> nodeDescriptors) {
-    List<Node> nodes = new ArrayList<>();
+    List<Node> nodes = new ArrayList<>(nodeDescriptors.size());
     for (NodeDescriptor nodeDescriptor : nodeDescriptors) {
       nodes.add(nodeDescriptor.getNode());
     }
@@ -26,8 +26,10 @@ import com.google.gwt.dom.client.Style;
 import com.google.gwt.user.client.ui.HorizontalPanel;
 import com.google.gwt.user.client.ui.Label;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.eclipse.che.ide.DelayedTask;
 import org.eclipse.che.ide.FontAwesome;
 import org.eclipse.che.ide.ui.smartTree.converter.NodeConverter;
@@ -213,40 +215,46 @@ class SpeedSearch {
     searchRender.setSearchRequest(searchRequest.toString());
     searchRender.setRequestPattern(getSearchPattern());
     tree.getSelectionModel().deselectAll();
-    List<Node> filteredChildNodes =
-        savedNodes.stream().filter(matchesToSearchRequest()::apply).collect(toList());
-    filteredNodes =
-        savedNodes
-            .stream()
-            .filter(
-                savedNode ->
-                    matchesToSearchRequest().apply(savedNode)
-                        || filteredChildNodes
-                            .stream()
-                            .anyMatch(filteredNode -> nestedNodeOf(filteredNode, savedNode)))
-            .collect(toList());
+
+    // matching nodes and all their parents
+    Set<Node> filteredNodesSet = new HashSet<>();
+    for (Node savedNode : savedNodes) {
+      if (matchesToSearchRequest().apply(savedNode)) {
+        Node node = savedNode;
+        while (node != null && filteredNodesSet.add(node)) {
+          node = node.getParent();
+        }
+      }
+    }
+    filteredNodes = savedNodes.stream().filter(filteredNodesSet::contains).collect(toList());
 
     if (filterNodes) {
+      Set<Node> visibleNodes = new HashSet<>(getVisibleNodes());
       for (Node savedNode : savedNodes) {
-        if (!filteredNodes.contains(savedNode)) {
-          if (getVisibleNodes().contains(savedNode)) {
+        if (!filteredNodesSet.contains(savedNode)) {
+          if (visibleNodes.contains(savedNode)) {
+            nodeStorage.getAllChildren(savedNode).forEach(visibleNodes::remove);
+            visibleNodes.remove(savedNode);
             nodeStorage.remove(savedNode);
           }
-        } else if (!getVisibleNodes().contains(savedNode)) {
+        } else if (!visibleNodes.contains(savedNode)) {
           Node parent = savedNode.getParent();
           if (parent == null) {
             nodeStorage.add(savedNode);
-          } else if (getVisibleNodes().contains(parent)) {
+            visibleNodes.add(savedNode);
+          } else if (visibleNodes.contains(parent)) {
             List<Node> filteredChildren = getFilteredChildren(parent);
             if (filteredChildren.contains(savedNode)) {
               nodeStorage.insert(parent, filteredChildren.indexOf(savedNode), savedNode);
+              visibleNodes.add(savedNode);
             }
           }
         }
       }
       tree.expandAll();
     }
-    getVisibleNodes().forEach(tree::refresh);
+    // only the rows in the view are refreshed, the other ones are refreshed on scrolling
+    tree.update();
 
     setSelection();
   }
@@ -293,17 +301,6 @@ class SpeedSearch {
         .collect(toList());
   }
 
-  /** Returns {@code true} if given node is nested in given parent. */
-  private boolean nestedNodeOf(Node node, Node parent) {
-    while (node != null) {
-      node = node.getParent();
-      if (parent.equals(node)) {
-        return true;
-      }
-    }
-    return false;
-  }
-
   private List<Node> getVisibleNodes() {
     List<Node> rootNodes = tree.getRootNodes();
     return tree.getAllChildNodes(rootNodes, true);
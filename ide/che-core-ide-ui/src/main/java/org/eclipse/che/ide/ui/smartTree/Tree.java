@@ -178,6 +178,12 @@ public class Tree extends FocusWidget
   private static final String NULL_NODE_MSG = "Node should not be a null";
   private static final String NULL_NODE_STORAGE_MSG = "Node should not be a null";
 
+  /**
+   * Minimum count of children rendered on expanding a node, the rest of children are rendered as
+   * empty rows of the fixed height and are filled when they are scrolled into the view.
+   */
+  private static final int MIN_RENDERED_CHILDREN = 50;
+
   /** Flag that instruct tree widget always expand non-leaf nodes. */
   private boolean autoExpand = false;
 
@@ -1041,6 +1047,9 @@ public class Tree extends FocusWidget
                 int[] vr = getVisibleRows(visible, count);
 
                 for (int i = vr[0]; i <= vr[1]; i++) {
+                  // renders the rows which were rendered as empty ones as well
+                  refresh(visible.get(i));
+
                   if (goInto.isActive()) {
                     // constraint node indention
                     int goIntoDirDepth = nodeStorage.getDepth(goInto.getLastUsed());
@@ -1049,15 +1058,6 @@ public class Tree extends FocusWidget
                     view.onDepthUpdated(
                         getNodeDescriptor(visible.get(i)), currentNodeDepth - goIntoDirDepth);
                   }
-                  if (!isRowRendered(i, visible)) {
-                    Node parent = nodeStorage.getParent(visible.get(i));
-                    Element html = renderNode(visible.get(i), nodeStorage.getDepth(parent));
-                    Element rootContainer =
-                        view.getRootContainer(getNodeDescriptor(visible.get(i)));
-                    rootContainer.replaceChild(rootContainer.getFirstChildElement(), html);
-                  } else {
-                    refresh(visible.get(i));
-                  }
                 }
               }
 
@@ -1242,8 +1242,11 @@ public class Tree extends FocusWidget
       return;
     }
 
-    for (Node child : children) {
-      Element element = renderNode(child, depth);
+    // only the children which may be visible are rendered, the other ones are rendered on update
+    int renderedCount = Math.max(getVisibleRowCount(), MIN_RENDERED_CHILDREN);
+    for (int i = 0; i < children.size(); i++) {
+      Node child = children.get(i);
+      Element element = i < renderedCount ? renderNode(child, depth) : renderEmptyNode(child);
       container.appendChild(element);
     }
 
@@ -1373,9 +1376,15 @@ public class Tree extends FocusWidget
     DOM.sinkEvents((Element) focusEl.cast(), bits | Event.FOCUSEVENTS);
   }
 
-  private boolean isRowRendered(int i, List<Node> visible) {
-    Element e = view.getRootContainer(getNodeDescriptor(visible.get(i)));
-    return e != null && e.getFirstChild().hasChildNodes();
+  /**
+   * Renders the containers of the node without its presentation. Node container has the fixed row
+   * height, so the empty node takes the same place as the rendered one.
+   */
+  private Element renderEmptyNode(Node node) {
+    Element rootContainer = getPresentationRenderer().getRootContainer(register(node));
+    rootContainer.appendChild(getPresentationRenderer().getNodeContainer());
+    rootContainer.appendChild(getPresentationRenderer().getDescendantsContainer());
+    return rootContainer;
   }
 
   private int getVisibleRowCount() {
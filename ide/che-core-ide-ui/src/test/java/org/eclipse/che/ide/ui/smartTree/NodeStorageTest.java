@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.ide.ui.smartTree;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+
+import org.eclipse.che.ide.ui.smartTree.data.Node;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Tests for {@link NodeStorage} */
+public class NodeStorageTest {
+
+  private NodeStorage nodeStorage;
+
+  private Node root;
+  private Node first;
+  private Node second;
+  private Node third;
+  private Node nested;
+
+  @Before
+  public void setUp() {
+    nodeStorage = new NodeStorage();
+
+    root = mock(Node.class);
+    first = mock(Node.class);
+    second = mock(Node.class);
+    third = mock(Node.class);
+    nested = mock(Node.class);
+
+    nodeStorage.add(root);
+    nodeStorage.add(root, asList(first, second, third));
+    nodeStorage.add(second, nested);
+  }
+
+  @Test
+  public void shouldReturnAllNodesInBreadthFirstOrder() {
+    assertEquals(asList(root, first, second, third, nested), nodeStorage.getAll());
+    assertEquals(asList(first, second, third, nested), nodeStorage.getAllChildren(root));
+    assertEquals(5, nodeStorage.getAllItemsCount());
+  }
+
+  @Test
+  public void shouldUpdateCountOfItemsOnRemoval() {
+    nodeStorage.remove(second);
+
+    assertEquals(3, nodeStorage.getAllItemsCount());
+    assertEquals(asList(root, first, third), nodeStorage.getAll());
+
+    nodeStorage.removeChildren(root);
+
+    assertEquals(1, nodeStorage.getAllItemsCount());
+  }
+
+  @Test
+  public void shouldUpdateCountOfItemsWhenChildrenAreReplaced() {
+    nodeStorage.replaceChildren(second, asList(mock(Node.class), mock(Node.class)));
+
+    assertEquals(6, nodeStorage.getAllItemsCount());
+
+    nodeStorage.clear();
+
+    assertEquals(0, nodeStorage.getAllItemsCount());
+  }
+
+  @Test
+  public void shouldReturnIndexesAndSiblings() {
+    assertEquals(0, nodeStorage.indexOf(root));
+    assertEquals(1, nodeStorage.indexOf(second));
+    assertEquals(third, nodeStorage.getNextSibling(second));
+    assertEquals(first, nodeStorage.getPreviousSibling(second));
+    assertNull(nodeStorage.getNextSibling(third));
+    assertNull(nodeStorage.getPreviousSibling(first));
+  }
+
+  @Test
+  public void shouldReturnActualIndexesAfterChildrenAreChanged() {
+    assertEquals(2, nodeStorage.indexOf(third));
+
+    nodeStorage.remove(first);
+    Node inserted = mock(Node.class);
+    nodeStorage.insert(root, 1, inserted);
+
+    assertEquals(0, nodeStorage.indexOf(second));
+    assertEquals(1, nodeStorage.indexOf(inserted));
+    assertEquals(2, nodeStorage.indexOf(third));
+    assertEquals(inserted, nodeStorage.getNextSibling(second));
+  }
+}
@@ -16,6 +16,7 @@ import java.io.InputStream;
 /** @author andrew00x */
 public class ChunkedInputStream extends InputStream {
   private final InputStream input;
+  private final byte[] singleByte = new byte[1];
   private StringBuilder chunkSizeBuf;
   private int chunkSize;
   private int chunkPos;
@@ -28,11 +29,10 @@ public class ChunkedInputStream extends InputStream {
 
   @Override
   public synchronized int read() throws IOException {
-    final byte[] b = new byte[1];
-    if (doRead(b, 0, 1) == -1) {
+    if (doRead(singleByte, 0, 1) == -1) {
       return -1;
     }
-    return b[0];
+    return singleByte[0] & 0xFF;
   }
 
   @Override
@@ -63,6 +63,11 @@ public class ChunkedInputStream extends InputStream {
     return (chunkSize - chunkPos);
   }
 
+  /** Returns true when the last chunk is read. */
+  synchronized boolean isConsumed() {
+    return eof;
+  }
+
   private int doRead(byte[] b, int off, int len) throws IOException {
     if (eof) {
       return -1;
@@ -12,22 +12,30 @@ package org.eclipse.che.infrastructure.docker.client.connection;
 
 import com.google.inject.Inject;
 import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
+import javax.inject.Singleton;
 import org.eclipse.che.infrastructure.docker.client.DockerCertificates;
 import org.eclipse.che.infrastructure.docker.client.DockerConnectorConfiguration;
 
 /**
  * Factory for connections to docker API.
  *
- * <p>Detects connection implementation by checking docker daemon URI.
+ * <p>Detects connection implementation by checking docker daemon URI. Connections over unix socket
+ * are kept alive and reused for the following requests to the same daemon.
  *
  * @author Alexander Garagatyi
  */
+@Singleton
 public class DockerConnectionFactory {
   public static final String CONNECTION_TIMEOUT_MS_PROPERTY =
       "che.docker.tcp_connection_timeout_ms";
   public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY =
       "che.docker.tcp_connection_read_timeout_ms";
+  public static final String UNIX_SOCKET_MAX_IDLE_CONNECTIONS_PROPERTY =
+      "che.docker.unix_socket_max_idle_connections";
 
   @Inject(optional = true)
   @Named(CONNECTION_TIMEOUT_MS_PROPERTY)
@@ -37,7 +45,12 @@ public class DockerConnectionFactory {
   @Named(CONNECTION_READ_TIMEOUT_MS_PROPERTY)
   private int connectionReadTimeoutMs = 60000;
 
+  @Inject(optional = true)
+  @Named(UNIX_SOCKET_MAX_IDLE_CONNECTIONS_PROPERTY)
+  private int unixSocketMaxIdleConnections = 16;
+
   private final DockerCertificates dockerCertificates;
+  private final ConcurrentMap<String, UnixSocketPool> unixSocketPools = new ConcurrentHashMap<>();
 
   @Inject
   public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration) {
@@ -46,10 +59,18 @@ public class DockerConnectionFactory {
 
   public DockerConnection openConnection(URI dockerDaemonUri) {
     if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
-      return new UnixSocketConnection(dockerDaemonUri.getPath());
+      return new UnixSocketConnection(
+          unixSocketPools.computeIfAbsent(
+              dockerDaemonUri.getPath(),
+              path -> new UnixSocketPool(path, unixSocketMaxIdleConnections)));
     } else {
       return new TcpConnection(
           dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
     }
   }
+
+  @PreDestroy
+  void closeIdleConnections() {
+    unixSocketPools.values().forEach(UnixSocketPool::close);
+  }
 }
@@ -17,6 +17,7 @@ import java.io.InputStream;
 public class LimitedInputStream extends InputStream {
   private final InputStream input;
   private final int limit;
+  private final byte[] singleByte = new byte[1];
 
   private int pos;
 
@@ -27,11 +28,10 @@ public class LimitedInputStream extends InputStream {
 
   @Override
   public synchronized int read() throws IOException {
-    final byte[] b = new byte[1];
-    if (doRead(b, 0, 1) == -1) {
+    if (doRead(singleByte, 0, 1) == -1) {
       return -1;
     }
-    return b[0];
+    return singleByte[0] & 0xFF;
   }
 
   @Override
@@ -62,7 +62,15 @@ public class LimitedInputStream extends InputStream {
       return -1;
     }
     int n = input.read(b, 0, Math.min(len - off, limit - pos));
+    if (n == -1) {
+      return -1;
+    }
     pos += n;
     return n;
   }
+
+  /** Returns true when all the limited bytes are read. */
+  synchronized boolean isConsumed() {
+    return pos >= limit;
+  }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.infrastructure.docker.client.connection;
+
+import static org.eclipse.che.infrastructure.docker.client.CLibrary.AF_UNIX;
+import static org.eclipse.che.infrastructure.docker.client.CLibrary.EAGAIN;
+import static org.eclipse.che.infrastructure.docker.client.CLibrary.MSG_DONTWAIT;
+import static org.eclipse.che.infrastructure.docker.client.CLibrary.MSG_PEEK;
+import static org.eclipse.che.infrastructure.docker.client.CLibrary.SOCK_STREAM;
+import static org.eclipse.che.infrastructure.docker.client.CLibraryFactory.getCLibrary;
+
+import com.sun.jna.Native;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import org.eclipse.che.infrastructure.docker.client.CLibrary;
+
+/**
+ * Connected unix socket with buffered streams, which may be used for several HTTP requests one
+ * after another.
+ */
+class UnixSocket {
+  private final int fd;
+  private final InputStream input;
+  private final OutputStream output;
+  private final byte[] peekBuffer = new byte[1];
+
+  static UnixSocket connect(String socketPath) throws IOException {
+    final CLibrary cLib = getCLibrary();
+    int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
+    if (fd == -1) {
+      throw new ConnectException(String.format("Unable connect to unix socket: '%s'", socketPath));
+    }
+    final CLibrary.SockAddrUn sockAddr = new CLibrary.SockAddrUn(socketPath);
+    int c = cLib.connect(fd, sockAddr, sockAddr.size());
+    if (c == -1) {
+      cLib.close(fd);
+      throw new ConnectException(String.format("Unable connect to unix socket: '%s'", socketPath));
+    }
+    return new UnixSocket(fd);
+  }
+
+  private UnixSocket(int fd) {
+    this.fd = fd;
+    this.input = new BufferedInputStream(new UnixSocketInputStream(fd));
+    this.output = new BufferedOutputStream(new UnixSocketOutputStream(fd));
+  }
+
+  InputStream getInputStream() {
+    return input;
+  }
+
+  OutputStream getOutputStream() {
+    return output;
+  }
+
+  /**
+   * Checks without blocking that the socket is not closed by the other side and there is no
+   * unexpected data to read, so the socket may be used for the next request.
+   */
+  boolean isIdle() {
+    try {
+      if (input.available() > 0) {
+        return false;
+      }
+    } catch (IOException e) {
+      return false;
+    }
+    final int n = getCLibrary().recv(fd, peekBuffer, 1, MSG_PEEK | MSG_DONTWAIT);
+    return n == -1 && Native.getLastError() == EAGAIN;
+  }
+
+  void close() {
+    getCLibrary().close(fd);
+  }
+}
@@ -10,73 +10,63 @@
  */
 package org.eclipse.che.infrastructure.docker.client.connection;
 
-import static org.eclipse.che.infrastructure.docker.client.CLibrary.AF_UNIX;
-import static org.eclipse.che.infrastructure.docker.client.CLibrary.SOCK_STREAM;
-import static org.eclipse.che.infrastructure.docker.client.CLibrary.SockAddrUn;
-import static org.eclipse.che.infrastructure.docker.client.CLibraryFactory.getCLibrary;
-
 import com.google.common.base.Strings;
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
-import java.net.ConnectException;
 import java.util.List;
 import org.eclipse.che.commons.lang.Pair;
-import org.eclipse.che.infrastructure.docker.client.CLibrary;
 
 /**
+ * Connection to docker API over unix socket.
+ *
+ * <p>Uses keep-alive connections of the given pool. The underlying connection is returned to the
+ * pool on close if the response is fully read, otherwise it is closed.
+ *
  * @author andrew00x
  * @author Alexander Garagatyi
  */
 public class UnixSocketConnection extends DockerConnection {
-  private final String dockerSocketPath;
+  private final UnixSocketPool pool;
 
-  private int fd = -1;
+  private UnixSocket socket;
+  private UnixSocketDockerResponse response;
 
   public UnixSocketConnection(String dockerSocketPath) {
-    this.dockerSocketPath = dockerSocketPath;
+    this(new UnixSocketPool(dockerSocketPath, 0));
+  }
+
+  UnixSocketConnection(UnixSocketPool pool) {
+    this.pool = pool;
   }
 
   @Override
   protected DockerResponse request(
       String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
       throws IOException {
-    fd = connect();
-    final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
+    socket = pool.acquire();
+    final OutputStream output = socket.getOutputStream();
     writeHttpHeaders(output, method, path, query, headers);
     if (entity != null) {
       entity.writeTo(output);
     }
-    return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
+    return response = new UnixSocketDockerResponse(socket.getInputStream());
   }
 
   @Override
   public void close() {
-    if (fd != -1) {
-      getCLibrary().close(fd);
+    if (socket != null) {
+      if (response != null && response.drain()) {
+        pool.release(socket);
+      } else {
+        socket.close();
+      }
+      socket = null;
+      response = null;
     }
   }
 
-  private int connect() throws IOException {
-    final CLibrary cLib = getCLibrary();
-    int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
-    if (fd == -1) {
-      throw new ConnectException(
-          String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
-    }
-    final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
-    int c = cLib.connect(fd, sockAddr, sockAddr.size());
-    if (c == -1) {
-      throw new ConnectException(
-          String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
-    }
-    return fd;
-  }
-
   private void writeHttpHeaders(
       OutputStream output, String method, String path, String query, List<Pair<String, ?>> headers)
       throws IOException {
@@ -99,12 +89,4 @@ public class UnixSocketConnection extends DockerConnection {
     writer.write("Host: \r\n\r\n");
     writer.flush();
   }
-
-  private InputStream openInputStream(int fd) {
-    return new UnixSocketInputStream(fd);
-  }
-
-  private OutputStream openOutputStream(int fd) {
-    return new UnixSocketOutputStream(fd);
-  }
 }
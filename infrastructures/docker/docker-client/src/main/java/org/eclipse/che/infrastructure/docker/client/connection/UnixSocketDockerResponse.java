@@ -17,6 +17,8 @@ import java.util.List;
 
 /** @author andrew00x */
 public class UnixSocketDockerResponse implements DockerResponse {
+  private static final int MAX_DRAINED_BYTES = 64 * 1024;
+
   private static final InputStream EMPTY =
       new InputStream() {
         @Override
@@ -143,7 +145,9 @@ public class UnixSocketDockerResponse implements DockerResponse {
     }
     this.headersFields = headerFields.toArray(new String[headerFields.size()]);
     final int contentLength = getContentLength();
-    if (contentLength == 0) {
+    final int statusCode = getStatus();
+    // responses with 'No Content' and 'Not Modified' statuses never have body
+    if (contentLength == 0 || statusCode == 204 || statusCode == 304) {
       return data = EMPTY;
     }
     if (contentLength > 0) {
@@ -154,4 +158,49 @@ public class UnixSocketDockerResponse implements DockerResponse {
             ? new ChunkedInputStream(rawData)
             : rawData;
   }
+
+  /**
+   * Reads the rest of the response body if it is already received, so the connection may be used
+   * for the next request.
+   *
+   * @return true if the whole response is read and the connection may be reused, false otherwise
+   */
+  synchronized boolean drain() {
+    try {
+      if (headersFields == null
+          || getStatus() == 101
+          || "close".equalsIgnoreCase(getHeader("Connection"))) {
+        return false;
+      }
+      if (data == EMPTY) {
+        return true;
+      }
+      if (!(data instanceof LimitedInputStream) && !(data instanceof ChunkedInputStream)) {
+        // the end of the body is the end of the stream
+        return false;
+      }
+      final byte[] buffer = new byte[1024];
+      int drained = 0;
+      while (!isConsumed(data)) {
+        // don't wait for the rest of the body, e.g. if streaming response is closed
+        if (drained > MAX_DRAINED_BYTES || rawData.available() <= 0) {
+          return false;
+        }
+        int n = data.read(buffer);
+        if (n == -1) {
+          break;
+        }
+        drained += n;
+      }
+      return isConsumed(data);
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private static boolean isConsumed(InputStream data) {
+    return data instanceof LimitedInputStream
+        ? ((LimitedInputStream) data).isConsumed()
+        : ((ChunkedInputStream) data).isConsumed();
+  }
 }
@@ -10,6 +10,8 @@
  */
 package org.eclipse.che.infrastructure.docker.client.connection;
 
+import static org.eclipse.che.infrastructure.docker.client.CLibrary.MSG_DONTWAIT;
+import static org.eclipse.che.infrastructure.docker.client.CLibrary.MSG_PEEK;
 import static org.eclipse.che.infrastructure.docker.client.CLibraryFactory.getCLibrary;
 
 import com.sun.jna.LastErrorException;
@@ -19,8 +21,13 @@ import org.eclipse.che.infrastructure.docker.client.CLibrary;
 
 /** @author andrew00x */
 public class UnixSocketInputStream extends InputStream {
+  private static final int PEEK_BUFFER_SIZE = 8192;
+
   private final int fd;
   private final CLibrary cLib = getCLibrary();
+  private final byte[] singleByte = new byte[1];
+
+  private byte[] peekBuffer;
 
   UnixSocketInputStream(int fd) {
     this.fd = fd;
@@ -28,11 +35,10 @@ public class UnixSocketInputStream extends InputStream {
 
   @Override
   public int read() throws IOException {
-    final byte[] bytes = new byte[1];
-    if (read(bytes) == 0) {
+    if (read(singleByte, 0, 1) == -1) {
       return -1;
     }
-    return bytes[0];
+    return singleByte[0] & 0xFF;
   }
 
   @Override
@@ -62,4 +68,14 @@ public class UnixSocketInputStream extends InputStream {
     }
     return n;
   }
+
+  /** Returns amount of bytes which can be read from socket without blocking. */
+  @Override
+  public int available() {
+    if (peekBuffer == null) {
+      peekBuffer = new byte[PEEK_BUFFER_SIZE];
+    }
+    final int n = cLib.recv(fd, peekBuffer, peekBuffer.length, MSG_PEEK | MSG_DONTWAIT);
+    return n > 0 ? n : 0;
+  }
 }
@@ -22,13 +22,16 @@ public class UnixSocketOutputStream extends OutputStream {
   private final int fd;
   private final CLibrary cLib = getCLibrary();
 
+  private final byte[] singleByte = new byte[1];
+
   UnixSocketOutputStream(int fd) {
     this.fd = fd;
   }
 
   @Override
   public void write(int b) throws IOException {
-    write(new byte[] {(byte) b}, 0, 1);
+    singleByte[0] = (byte) b;
+    write(singleByte, 0, 1);
   }
 
   public void write(byte[] b) throws IOException {
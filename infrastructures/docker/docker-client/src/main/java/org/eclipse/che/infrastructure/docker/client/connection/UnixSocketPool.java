@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.infrastructure.docker.client.connection;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Keeps idle keep-alive connections to a docker daemon unix socket, so the following requests to
+ * the daemon don't open new connections.
+ *
+ * <p>Amount of idle connections is bounded, connections which are released when the pool is full
+ * are closed. The amount of connections in use is not limited.
+ */
+class UnixSocketPool {
+  private final String socketPath;
+  private final int maxIdle;
+  private final Deque<UnixSocket> idle;
+
+  UnixSocketPool(String socketPath, int maxIdle) {
+    this.socketPath = socketPath;
+    this.maxIdle = maxIdle;
+    this.idle = new ArrayDeque<>();
+  }
+
+  /** Returns an idle connection if there is one which is still alive, otherwise connects. */
+  UnixSocket acquire() throws IOException {
+    UnixSocket socket;
+    while ((socket = pollIdle()) != null) {
+      if (socket.isIdle()) {
+        return socket;
+      }
+      socket.close();
+    }
+    return UnixSocket.connect(socketPath);
+  }
+
+  /** Returns connection to the pool, the response to its last request must be fully read. */
+  void release(UnixSocket socket) {
+    synchronized (idle) {
+      if (idle.size() < maxIdle) {
+        idle.push(socket);
+        return;
+      }
+    }
+    socket.close();
+  }
+
+  /** Closes all the idle connections. */
+  void close() {
+    UnixSocket socket;
+    while ((socket = pollIdle()) != null) {
+      socket.close();
+    }
+  }
+
+  private UnixSocket pollIdle() {
+    synchronized (idle) {
+      return idle.poll();
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.infrastructure.docker.client.connection;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import org.testng.annotations.Test;
+
+/** Tests for {@link UnixSocketDockerResponse} */
+public class UnixSocketDockerResponseTest {
+
+  @Test
+  public void shouldDrainRestOfResponseWithContentLength() throws Exception {
+    InputStream input = input("HTTP/1.1 200 OK\r\nContent-Length: 3\r\n\r\n{}\nNEXT");
+    UnixSocketDockerResponse response = new UnixSocketDockerResponse(input);
+
+    assertEquals(response.getInputStream().read(), '{');
+
+    assertTrue(response.drain());
+    assertEquals(input.read(), 'N');
+  }
+
+  @Test
+  public void shouldDrainRestOfChunkedResponse() throws Exception {
+    InputStream input =
+        input("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n3\r\n{}\n\r\n0\r\n\r\nNEXT");
+    UnixSocketDockerResponse response = new UnixSocketDockerResponse(input);
+
+    assertEquals(response.getInputStream().read(), '{');
+
+    assertTrue(response.drain());
+    assertEquals(input.read(), 'N');
+  }
+
+  @Test
+  public void shouldReuseConnectionOfResponseWithNoContent() throws Exception {
+    InputStream input = input("HTTP/1.1 204 No Content\r\n\r\nNEXT");
+    UnixSocketDockerResponse response = new UnixSocketDockerResponse(input);
+
+    assertEquals(response.getInputStream().read(), -1);
+
+    assertTrue(response.drain());
+    assertEquals(input.read(), 'N');
+  }
+
+  @Test
+  public void shouldNotReuseConnectionIfRestOfResponseIsNotReceived() throws Exception {
+    UnixSocketDockerResponse response =
+        new UnixSocketDockerResponse(
+            input("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n3\r\n{}\n\r\n"));
+
+    assertEquals(response.getInputStream().read(), '{');
+
+    assertFalse(response.drain());
+  }
+
+  @Test
+  public void shouldNotReuseConnectionIfServerClosesIt() throws Exception {
+    UnixSocketDockerResponse response =
+        new UnixSocketDockerResponse(
+            input("HTTP/1.1 200 OK\r\nContent-Length: 3\r\nConnection: close\r\n\r\n{}\n"));
+
+    response.getInputStream();
+
+    assertFalse(response.drain());
+  }
+
+  @Test
+  public void shouldNotReuseConnectionIfResponseBodyHasNoLength() throws Exception {
+    UnixSocketDockerResponse response =
+        new UnixSocketDockerResponse(input("HTTP/1.1 200 OK\r\n\r\n{}\n"));
+
+    response.getInputStream();
+
+    assertFalse(response.drain());
+  }
+
+  @Test
+  public void shouldReadBytesOfBodyAsUnsignedValues() throws Exception {
+    UnixSocketDockerResponse response =
+        new UnixSocketDockerResponse(
+            new ByteArrayInputStream(
+                concat("HTTP/1.1 200 OK\r\nContent-Length: 1\r\n\r\n".getBytes(UTF_8), -1)));
+
+    assertEquals(response.getInputStream().read(), 0xFF);
+    assertEquals(response.getInputStream().read(), -1);
+  }
+
+  private static InputStream input(String content) {
+    return new ByteArrayInputStream(content.getBytes(UTF_8));
+  }
+
+  private static byte[] concat(byte[] bytes, int b) {
+    byte[] result = new byte[bytes.length + 1];
+    System.arraycopy(bytes, 0, result, 0, bytes.length);
+    result[bytes.length] = (byte) b;
+    return result;
+  }
+}
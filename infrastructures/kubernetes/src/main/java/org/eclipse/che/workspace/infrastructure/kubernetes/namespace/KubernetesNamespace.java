@@ -54,6 +54,7 @@ public class KubernetesNamespace {
    */
   private static final String DEFAULT_SERVICE_ACCOUNT_NAME = "default";
 
+  private final String name;
   private final String workspaceId;
 
   private final KubernetesPods pods;
@@ -63,11 +64,13 @@ public class KubernetesNamespace {
 
   @VisibleForTesting
   protected KubernetesNamespace(
+      String name,
       String workspaceId,
       KubernetesPods pods,
       KubernetesServices services,
       KubernetesPersistentVolumeClaims pvcs,
       KubernetesIngresses kubernetesIngresses) {
+    this.name = name;
     this.workspaceId = workspaceId;
     this.pods = pods;
     this.services = services;
@@ -75,16 +78,25 @@ public class KubernetesNamespace {
     this.ingresses = kubernetesIngresses;
   }
 
-  public KubernetesNamespace(KubernetesClientFactory clientFactory, String name, String workspaceId)
+  public KubernetesNamespace(
+      KubernetesClientFactory clientFactory,
+      KubernetesPodsInformer podsInformer,
+      String name,
+      String workspaceId)
       throws InfrastructureException {
-    this(clientFactory, name, workspaceId, true);
+    this(clientFactory, podsInformer, name, workspaceId, true);
   }
 
   protected KubernetesNamespace(
-      KubernetesClientFactory clientFactory, String name, String workspaceId, boolean doPrepare)
+      KubernetesClientFactory clientFactory,
+      KubernetesPodsInformer podsInformer,
+      String name,
+      String workspaceId,
+      boolean doPrepare)
       throws InfrastructureException {
+    this.name = name;
     this.workspaceId = workspaceId;
-    this.pods = new KubernetesPods(name, workspaceId, clientFactory);
+    this.pods = new KubernetesPods(name, workspaceId, clientFactory, podsInformer);
     this.services = new KubernetesServices(name, workspaceId, clientFactory);
     this.pvcs = new KubernetesPersistentVolumeClaims(name, workspaceId, clientFactory);
     this.ingresses = new KubernetesIngresses(name, workspaceId, clientFactory);
@@ -99,6 +111,11 @@ public class KubernetesNamespace {
     }
   }
 
+  /** Returns the name of namespace. */
+  public String getName() {
+    return name;
+  }
+
   /** Returns object for managing {@link Pod} instances inside namespace. */
   public KubernetesPods pods() {
     return pods;
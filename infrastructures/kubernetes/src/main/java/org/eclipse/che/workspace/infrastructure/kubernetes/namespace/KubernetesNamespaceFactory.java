@@ -14,6 +14,7 @@ import static com.google.common.base.Strings.isNullOrEmpty;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.commons.annotation.Nullable;
@@ -29,6 +30,7 @@ public class KubernetesNamespaceFactory {
 
   private final String namespaceName;
   private final KubernetesClientFactory clientFactory;
+  private final KubernetesPodsInformer podsInformer;
 
   @Inject
   public KubernetesNamespaceFactory(
@@ -36,11 +38,22 @@ public class KubernetesNamespaceFactory {
       KubernetesClientFactory clientFactory) {
     this.namespaceName = namespaceName;
     this.clientFactory = clientFactory;
+    this.podsInformer = new KubernetesPodsInformer(clientFactory);
   }
 
   public KubernetesNamespace create(String workspaceId) throws InfrastructureException {
     final String namespaceName =
         isNullOrEmpty(this.namespaceName) ? workspaceId : this.namespaceName;
-    return new KubernetesNamespace(clientFactory, namespaceName, workspaceId);
+    return new KubernetesNamespace(clientFactory, podsInformer, namespaceName, workspaceId);
+  }
+
+  /** Returns informer that is shared by all the created namespaces. */
+  protected KubernetesPodsInformer getPodsInformer() {
+    return podsInformer;
+  }
+
+  @PreDestroy
+  void stop() {
+    podsInformer.stop();
   }
 }
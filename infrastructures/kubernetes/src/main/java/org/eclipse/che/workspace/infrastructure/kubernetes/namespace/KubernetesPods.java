@@ -16,12 +16,8 @@ import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.CHE_
 import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesObjectUtil.putLabel;
 
 import io.fabric8.kubernetes.api.model.DoneablePod;
-import io.fabric8.kubernetes.api.model.Event;
-import io.fabric8.kubernetes.api.model.ObjectReference;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.client.KubernetesClientException;
-import io.fabric8.kubernetes.client.Watch;
-import io.fabric8.kubernetes.client.Watcher;
 import io.fabric8.kubernetes.client.dsl.ExecListener;
 import io.fabric8.kubernetes.client.dsl.ExecWatch;
 import io.fabric8.kubernetes.client.dsl.PodResource;
@@ -33,21 +29,17 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import okhttp3.Response;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesClientFactory;
 import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesInfrastructureException;
-import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.event.ContainerEvent;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.event.ContainerEventHandler;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.event.PodActionHandler;
 import org.slf4j.Logger;
@@ -64,16 +56,9 @@ public class KubernetesPods {
 
   private static final Logger LOG = LoggerFactory.getLogger(KubernetesPods.class);
 
-  private static final String CONTAINER_NAME_GROUP = "name";
-  // when event is related to container `fieldPath` field contains
-  // information in the following format: `spec.container{web}`, where `web` is container name
-  private static final Pattern CONTAINER_FIELD_PATH_PATTERN =
-      Pattern.compile("spec.containers\\{(?<" + CONTAINER_NAME_GROUP + ">.*)}");
-
   // TODO https://github.com/eclipse/che/issues/7656
   public static final int POD_REMOVAL_TIMEOUT_MIN = 5;
 
-  private static final String POD_OBJECT_KIND = "Pod";
   // error stream data initial capacity
   public static final int ERROR_BUFF_INITIAL_CAP = 2048;
   public static final String STDOUT = "stdout";
@@ -81,18 +66,18 @@ public class KubernetesPods {
 
   private final String namespace;
   private final KubernetesClientFactory clientFactory;
-  private final ConcurrentLinkedQueue<PodActionHandler> podActionHandlers;
-  private final ConcurrentLinkedQueue<ContainerEventHandler> containerEventsHandlers;
+  private final KubernetesPodsInformer informer;
   private final String workspaceId;
-  private Watch podWatch;
-  private Watch containerWatch;
 
-  KubernetesPods(String namespace, String workspaceId, KubernetesClientFactory clientFactory) {
+  KubernetesPods(
+      String namespace,
+      String workspaceId,
+      KubernetesClientFactory clientFactory,
+      KubernetesPodsInformer informer) {
     this.namespace = namespace;
     this.workspaceId = workspaceId;
     this.clientFactory = clientFactory;
-    this.containerEventsHandlers = new ConcurrentLinkedQueue<>();
-    this.podActionHandlers = new ConcurrentLinkedQueue<>();
+    this.informer = informer;
   }
 
   /**
@@ -111,6 +96,26 @@ public class KubernetesPods {
     }
   }
 
+  /**
+   * Creates specified pod that is shared by the workspaces of the namespace.
+   *
+   * <p>The pod is labeled with its own name instead of the workspace id, so it is not removed
+   * together with the pods of the workspace that created it, but it is still observed as any other
+   * Che pod.
+   *
+   * @param pod pod to create
+   * @return created pod
+   * @throws InfrastructureException when any exception occurs
+   */
+  public Pod createShared(Pod pod) throws InfrastructureException {
+    putLabel(pod, CHE_WORKSPACE_ID_LABEL, pod.getMetadata().getName());
+    try {
+      return clientFactory.create(workspaceId).pods().inNamespace(namespace).create(pod);
+    } catch (KubernetesClientException e) {
+      throw new KubernetesInfrastructureException(e);
+    }
+  }
+
   /**
    * Returns all existing pods.
    *
@@ -157,54 +162,18 @@ public class KubernetesPods {
    */
   public Pod wait(String name, int timeoutMin, Predicate<Pod> predicate)
       throws InfrastructureException {
-    CompletableFuture<Pod> future = new CompletableFuture<>();
-    Watch watch = null;
+    CompletableFuture<Pod> future = informer.waitPod(namespace, name, predicate);
     try {
-
-      PodResource<Pod, DoneablePod> podResource =
-          clientFactory.create(workspaceId).pods().inNamespace(namespace).withName(name);
-
-      watch =
-          podResource.watch(
-              new Watcher<Pod>() {
-                @Override
-                public void eventReceived(Action action, Pod pod) {
-                  if (predicate.test(pod)) {
-                    future.complete(pod);
-                  }
-                }
-
-                @Override
-                public void onClose(KubernetesClientException cause) {
-                  future.completeExceptionally(
-                      new InfrastructureException(
-                          "Waiting for pod '" + name + "' was interrupted"));
-                }
-              });
-
-      Pod actualPod = podResource.get();
-      if (actualPod == null) {
-        throw new InfrastructureException("Specified pod " + name + " doesn't exist");
-      }
-      if (predicate.test(actualPod)) {
-        return actualPod;
-      }
-      try {
-        return future.get(timeoutMin, TimeUnit.MINUTES);
-      } catch (ExecutionException e) {
-        throw new InfrastructureException(e.getCause().getMessage(), e);
-      } catch (TimeoutException e) {
-        throw new InfrastructureException("Waiting for pod '" + name + "' reached timeout");
-      } catch (InterruptedException e) {
-        Thread.currentThread().interrupt();
-        throw new InfrastructureException("Waiting for pod '" + name + "' was interrupted");
-      }
-    } catch (KubernetesClientException e) {
-      throw new KubernetesInfrastructureException(e);
+      return future.get(timeoutMin, TimeUnit.MINUTES);
+    } catch (ExecutionException e) {
+      throw new InfrastructureException(e.getCause().getMessage(), e);
+    } catch (TimeoutException e) {
+      throw new InfrastructureException("Waiting for pod '" + name + "' reached timeout");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InfrastructureException("Waiting for pod '" + name + "' was interrupted");
     } finally {
-      if (watch != null) {
-        watch.close();
-      }
+      future.cancel(false);
     }
   }
 
@@ -226,76 +195,24 @@ public class KubernetesPods {
    *     otherwise, it must be explicitly closed
    */
   public CompletableFuture<Void> waitAsync(String name, Predicate<Pod> predicate) {
-    final CompletableFuture<Void> podRunningFuture = new CompletableFuture<>();
     try {
-      final PodResource<Pod, DoneablePod> podResource =
-          clientFactory.create().pods().inNamespace(namespace).withName(name);
-      final Watch watch =
-          podResource.watch(
-              new Watcher<Pod>() {
-                @Override
-                public void eventReceived(Action action, Pod pod) {
-                  if (predicate.test(pod)) {
-                    podRunningFuture.complete(null);
-                  }
-                }
-
-                @Override
-                public void onClose(KubernetesClientException cause) {
-                  podRunningFuture.completeExceptionally(
-                      new InfrastructureException(
-                          "Waiting for pod '" + name + "' was interrupted"));
-                }
-              });
-
-      podRunningFuture.whenComplete((ok, ex) -> watch.close());
-      final Pod pod = podResource.get();
-      if (pod == null) {
-        podRunningFuture.completeExceptionally(
-            new InfrastructureException("Specified pod " + name + " doesn't exist"));
-      }
-      if (predicate.test(pod)) {
-        podRunningFuture.complete(null);
-      }
-    } catch (KubernetesClientException | InfrastructureException ex) {
+      return toVoidFuture(informer.waitPod(namespace, name, predicate));
+    } catch (InfrastructureException ex) {
+      final CompletableFuture<Void> podRunningFuture = new CompletableFuture<>();
       podRunningFuture.completeExceptionally(ex);
+      return podRunningFuture;
     }
-    return podRunningFuture;
   }
 
   /**
-   * Starts watching the pods inside Kubernetes namespace and registers a specified handler for such
-   * events. Note that watcher can be started only once so two times invocation of this method will
-   * not produce new watcher and just register the event handlers.
+   * Registers a specified handler for handling events about changes in pods of the workspace.
+   * Events are received from the watcher shared by all the workspaces of the namespace.
    *
    * @param handler pod action events handler
    * @throws InfrastructureException if any error occurs while watcher starting
    */
   public void watch(PodActionHandler handler) throws InfrastructureException {
-    if (podWatch == null) {
-      final Watcher<Pod> watcher =
-          new Watcher<Pod>() {
-            @Override
-            public void eventReceived(Action action, Pod pod) {
-              podActionHandlers.forEach(h -> h.handle(action, pod));
-            }
-
-            @Override
-            public void onClose(KubernetesClientException ignored) {}
-          };
-      try {
-        podWatch =
-            clientFactory
-                .create(workspaceId)
-                .pods()
-                .inNamespace(namespace)
-                .withLabel(CHE_WORKSPACE_ID_LABEL, workspaceId)
-                .watch(watcher);
-      } catch (KubernetesClientException ex) {
-        throw new KubernetesInfrastructureException(ex);
-      }
-    }
-    podActionHandlers.add(handler);
+    informer.addPodHandler(namespace, workspaceId, handler);
   }
 
   /**
@@ -305,69 +222,12 @@ public class KubernetesPods {
    * @throws InfrastructureException if any error occurs while watcher starting
    */
   public void watchContainers(ContainerEventHandler handler) throws InfrastructureException {
-    if (containerWatch == null) {
-      final Watcher<Event> watcher =
-          new Watcher<Event>() {
-            @Override
-            public void eventReceived(Action action, Event event) {
-              ObjectReference involvedObject = event.getInvolvedObject();
-              String fieldPath = involvedObject.getFieldPath();
-
-              // check that event related to
-              if (POD_OBJECT_KIND.equals(involvedObject.getKind()) && fieldPath != null) {
-                Matcher containerFieldMatcher = CONTAINER_FIELD_PATH_PATTERN.matcher(fieldPath);
-                if (containerFieldMatcher.matches()) {
-
-                  String podName = involvedObject.getName();
-                  String containerName = containerFieldMatcher.group(CONTAINER_NAME_GROUP);
-
-                  ContainerEvent containerEvent =
-                      new ContainerEvent(
-                          podName,
-                          containerName,
-                          event.getMessage(),
-                          event.getMetadata().getCreationTimestamp());
-                  containerEventsHandlers.forEach(h -> h.handle(containerEvent));
-                }
-              }
-            }
-
-            @Override
-            public void onClose(KubernetesClientException ignored) {}
-          };
-      try {
-        containerWatch =
-            clientFactory.create(workspaceId).events().inNamespace(namespace).watch(watcher);
-      } catch (KubernetesClientException ex) {
-        throw new KubernetesInfrastructureException(ex);
-      }
-    }
-    containerEventsHandlers.add(handler);
+    informer.addContainerEventHandler(namespace, workspaceId, handler);
   }
 
   /** Stops watching the pods inside Kubernetes namespace. */
   void stopWatch() {
-    try {
-      if (podWatch != null) {
-        podWatch.close();
-      }
-    } catch (KubernetesClientException ex) {
-      LOG.error(
-          "Failed to stop pod watcher for namespace '{}' cause '{}'", namespace, ex.getMessage());
-    }
-    podActionHandlers.clear();
-
-    try {
-      if (containerWatch != null) {
-        containerWatch.close();
-      }
-    } catch (KubernetesClientException ex) {
-      LOG.error(
-          "Failed to stop pods containers watcher for namespace '{}' cause '{}'",
-          namespace,
-          ex.getMessage());
-    }
-    containerEventsHandlers.clear();
+    informer.removeHandlers(namespace, workspaceId);
   }
 
   /**
@@ -469,8 +329,9 @@ public class KubernetesPods {
    * @throws InfrastructureException when any other exception occurs
    */
   public void delete(String name) throws InfrastructureException {
+    final CompletableFuture<Void> deleteFuture = doDelete(name);
     try {
-      doDelete(name).get(POD_REMOVAL_TIMEOUT_MIN, TimeUnit.MINUTES);
+      deleteFuture.get(POD_REMOVAL_TIMEOUT_MIN, TimeUnit.MINUTES);
     } catch (InterruptedException ex) {
       Thread.currentThread().interrupt();
       throw new InfrastructureException(
@@ -480,6 +341,8 @@ public class KubernetesPods {
           "Error occurred while waiting for pod removal. " + ex.getMessage());
     } catch (TimeoutException ex) {
       throw new InfrastructureException("Pod removal timeout reached " + ex.getMessage());
+    } finally {
+      deleteFuture.cancel(false);
     }
   }
 
@@ -521,6 +384,8 @@ public class KubernetesPods {
             "Error occurred while waiting for pod removing. " + e.getMessage());
       } catch (TimeoutException ex) {
         throw new InfrastructureException("Pods removal timeout reached " + ex.getMessage());
+      } finally {
+        deleteFutures.forEach(future -> future.cancel(false));
       }
     } catch (KubernetesClientException e) {
       throw new KubernetesInfrastructureException(e);
@@ -531,22 +396,43 @@ public class KubernetesPods {
     try {
       final PodResource<Pod, DoneablePod> podResource =
           clientFactory.create(workspaceId).pods().inNamespace(namespace).withName(name);
-      final CompletableFuture<Void> deleteFuture = new CompletableFuture<>();
-      final Watch watch = podResource.watch(new DeleteWatcher(deleteFuture));
+      final CompletableFuture<Void> deleteFuture =
+          toVoidFuture(informer.waitPodRemoved(namespace, name));
 
-      podResource.delete();
-      return deleteFuture.whenComplete(
+      if (!Boolean.TRUE.equals(podResource.delete())) {
+        // pod doesn't exist, so there is nothing to wait for
+        deleteFuture.complete(null);
+      }
+      deleteFuture.whenComplete(
           (v, e) -> {
             if (e != null) {
               LOG.warn("Failed to remove pod {} cause {}", name, e.getMessage());
             }
-            watch.close();
           });
+      return deleteFuture;
     } catch (KubernetesClientException ex) {
       throw new KubernetesInfrastructureException(ex);
     }
   }
 
+  /**
+   * Returns future that is completed when the informer future is completed. Completion of the
+   * returned future, including cancellation, releases the informer future.
+   */
+  private static CompletableFuture<Void> toVoidFuture(CompletableFuture<Pod> informerFuture) {
+    final CompletableFuture<Void> future = new CompletableFuture<>();
+    informerFuture.whenComplete(
+        (pod, ex) -> {
+          if (ex != null) {
+            future.completeExceptionally(ex);
+          } else {
+            future.complete(null);
+          }
+        });
+    future.whenComplete((v, ex) -> informerFuture.cancel(false));
+    return future;
+  }
+
   private String[] encode(String[] toEncode) throws InfrastructureException {
     String[] encoded = new String[toEncode.length];
     for (int i = 0; i < toEncode.length; i++) {
@@ -559,30 +445,6 @@ public class KubernetesPods {
     return encoded;
   }
 
-  private static class DeleteWatcher implements Watcher<Pod> {
-
-    private final CompletableFuture<Void> future;
-
-    private DeleteWatcher(CompletableFuture<Void> future) {
-      this.future = future;
-    }
-
-    @Override
-    public void eventReceived(Action action, Pod hasMetadata) {
-      if (action == Action.DELETED) {
-        future.complete(null);
-      }
-    }
-
-    @Override
-    public void onClose(KubernetesClientException e) {
-      // if event about removing is received then this completion has no effect
-      future.completeExceptionally(
-          new RuntimeException(
-              "Webscoket connection is closed. But event about removing is not received.", e));
-    }
-  }
-
   private class ExecWatchdog implements ExecListener {
 
     private final CountDownLatch latch;
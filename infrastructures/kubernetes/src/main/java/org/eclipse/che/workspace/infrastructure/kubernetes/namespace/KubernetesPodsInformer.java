@@ -0,0 +1,578 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.namespace;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.CHE_WORKSPACE_ID_LABEL;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.fabric8.kubernetes.api.model.Event;
+import io.fabric8.kubernetes.api.model.ObjectReference;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.Watcher.Action;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesClientFactory;
+import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesInfrastructureException;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.event.ContainerEvent;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.event.ContainerEventHandler;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.event.PodActionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps a local cache of workspaces pods and dispatches pods and containers events to handlers
+ * registered for particular workspaces.
+ *
+ * <p>Each namespace is observed with a single pods watch, filtered by the workspace id label, and a
+ * single events watch. Both are shared by all the workspaces that run in the namespace, so the
+ * number of connections to the Kubernetes API server doesn't grow with the number of workspaces.
+ * Namespace is observed while there are registered handlers or waiters and is released after
+ * staying idle for a resync period.
+ *
+ * <p>The pods watch is resumed from the resource version of the last received pod. When the API
+ * server reports that the version is too old (HTTP 410), pods are listed again and the difference
+ * with the cache is dispatched as regular events. Waiters are periodically re-checked against the
+ * cache, so a missed notification can't leave a waiter hanging until its timeout.
+ *
+ * <p>Container events may arrive before the pod they are related to, e.g. right after the watches
+ * are started. Such events are kept until the pod appears in the cache, but not longer than a
+ * resync period.
+ */
+public class KubernetesPodsInformer {
+
+  private static final Logger LOG = LoggerFactory.getLogger(KubernetesPodsInformer.class);
+
+  static final long RESYNC_PERIOD_MS = SECONDS.toMillis(60);
+  static final long RETRY_DELAY_MS = SECONDS.toMillis(5);
+  static final int MAX_PENDING_PODS = 1000;
+  static final int MAX_PENDING_EVENTS_PER_POD = 100;
+
+  private static final int HTTP_GONE = 410;
+  private static final String CONTAINER_NAME_GROUP = "name";
+  // when event is related to container `fieldPath` field contains
+  // information in the following format: `spec.container{web}`, where `web` is container name
+  private static final Pattern CONTAINER_FIELD_PATH_PATTERN =
+      Pattern.compile("spec.containers\\{(?<" + CONTAINER_NAME_GROUP + ">.*)}");
+  private static final String POD_OBJECT_KIND = "Pod";
+
+  private final KubernetesClientFactory clientFactory;
+  private final long resyncPeriodMs;
+  private final ConcurrentHashMap<String, NamespaceInformer> informers;
+  private final ScheduledExecutorService executor;
+
+  public KubernetesPodsInformer(KubernetesClientFactory clientFactory) {
+    this(clientFactory, RESYNC_PERIOD_MS);
+  }
+
+  @VisibleForTesting
+  KubernetesPodsInformer(KubernetesClientFactory clientFactory, long resyncPeriodMs) {
+    this.clientFactory = clientFactory;
+    this.resyncPeriodMs = resyncPeriodMs;
+    this.informers = new ConcurrentHashMap<>();
+    this.executor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("KubernetesPodsInformer-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+    executor.scheduleWithFixedDelay(this::resync, resyncPeriodMs, resyncPeriodMs, MILLISECONDS);
+  }
+
+  /**
+   * Returns a future that is completed with the pod as soon as its state satisfies the predicate.
+   * The current state is taken from the cache, or from the API server when the pod is not cached
+   * yet. The future is completed exceptionally when the pod doesn't exist.
+   *
+   * <p>The waiter is released when the future is completed in any way, so the caller must cancel
+   * the future when the result is no longer needed.
+   *
+   * @param namespace namespace of the pod
+   * @param name name of the pod
+   * @param predicate predicate to perform state check
+   * @throws InfrastructureException when namespace can't be observed
+   */
+  public CompletableFuture<Pod> waitPod(String namespace, String name, Predicate<Pod> predicate)
+      throws InfrastructureException {
+    NamespaceInformer informer = acquire(namespace);
+    CompletableFuture<Pod> future = informer.addWaiter(name, (action, pod) -> predicate.test(pod));
+
+    Pod pod = informer.pods.get(name);
+    if (pod == null) {
+      try {
+        pod = clientFactory.create().pods().inNamespace(namespace).withName(name).get();
+      } catch (KubernetesClientException e) {
+        future.cancel(false);
+        throw new KubernetesInfrastructureException(e);
+      }
+      if (pod == null) {
+        future.completeExceptionally(
+            new InfrastructureException("Specified pod " + name + " doesn't exist"));
+        return future;
+      }
+    }
+    if (predicate.test(pod)) {
+      future.complete(pod);
+    }
+    return future;
+  }
+
+  /**
+   * Returns a future that is completed when an event about removal of the pod is received.
+   *
+   * @param namespace namespace of the pod
+   * @param name name of the pod
+   * @throws InfrastructureException when namespace can't be observed
+   */
+  public CompletableFuture<Pod> waitPodRemoved(String namespace, String name)
+      throws InfrastructureException {
+    return acquire(namespace).addWaiter(name, (action, pod) -> action == Action.DELETED);
+  }
+
+  /**
+   * Registers handler of actions with the pods of the given workspace.
+   *
+   * @throws InfrastructureException when namespace can't be observed
+   */
+  public void addPodHandler(String namespace, String workspaceId, PodActionHandler handler)
+      throws InfrastructureException {
+    acquire(namespace)
+        .podHandlers
+        .computeIfAbsent(workspaceId, id -> new ConcurrentLinkedQueue<>())
+        .add(handler);
+  }
+
+  /**
+   * Registers handler of events about containers of the given workspace pods.
+   *
+   * @throws InfrastructureException when namespace can't be observed
+   */
+  public void addContainerEventHandler(
+      String namespace, String workspaceId, ContainerEventHandler handler)
+      throws InfrastructureException {
+    acquire(namespace)
+        .containerHandlers
+        .computeIfAbsent(workspaceId, id -> new ConcurrentLinkedQueue<>())
+        .add(handler);
+  }
+
+  /** Removes all the pods and containers handlers of the given workspace. */
+  public void removeHandlers(String namespace, String workspaceId) {
+    NamespaceInformer informer = informers.get(namespace);
+    if (informer != null) {
+      informer.podHandlers.remove(workspaceId);
+      informer.containerHandlers.remove(workspaceId);
+    }
+  }
+
+  /** Returns the number of namespaces that are currently observed. */
+  public int getObservedNamespaces() {
+    return informers.size();
+  }
+
+  /** Stops observing of all the namespaces. */
+  public void stop() {
+    executor.shutdownNow();
+    informers.values().forEach(NamespaceInformer::stop);
+    informers.clear();
+  }
+
+  private NamespaceInformer acquire(String namespace) throws InfrastructureException {
+    while (true) {
+      NamespaceInformer informer = informers.computeIfAbsent(namespace, NamespaceInformer::new);
+      if (informer.start()) {
+        return informer;
+      }
+      // informer has just been released, retry with a new one
+      informers.remove(namespace, informer);
+    }
+  }
+
+  private void resync() {
+    for (NamespaceInformer informer : informers.values()) {
+      if (informer.releaseIfIdle()) {
+        informers.remove(informer.namespace, informer);
+      } else {
+        informer.checkWaiters();
+        informer.expirePendingEvents();
+      }
+    }
+  }
+
+  /** Observes pods and events of a single namespace. */
+  private class NamespaceInformer {
+    private final String namespace;
+    private final Map<String, Pod> pods;
+    private final Map<String, Queue<PodActionHandler>> podHandlers;
+    private final Map<String, Queue<ContainerEventHandler>> containerHandlers;
+    private final Queue<PodWaiter> waiters;
+    /** Container events of the pods that are not cached yet, guarded by itself. */
+    private final Map<String, PendingEvents> pendingEvents;
+
+    private volatile String podsVersion;
+    private volatile String eventsVersion;
+    private volatile long lastAcquired;
+    private Watch podWatch;
+    private Watch eventWatch;
+    private boolean started;
+    private boolean stopped;
+
+    private NamespaceInformer(String namespace) {
+      this.namespace = namespace;
+      this.pods = new ConcurrentHashMap<>();
+      this.podHandlers = new ConcurrentHashMap<>();
+      this.containerHandlers = new ConcurrentHashMap<>();
+      this.waiters = new ConcurrentLinkedQueue<>();
+      this.pendingEvents = new HashMap<>();
+    }
+
+    /** Lists pods and starts watches if it is not done yet, returns false if already stopped. */
+    synchronized boolean start() throws InfrastructureException {
+      if (stopped) {
+        return false;
+      }
+      lastAcquired = System.currentTimeMillis();
+      if (!started) {
+        try {
+          relist();
+          watchPods();
+          watchEvents();
+          started = true;
+        } catch (KubernetesClientException e) {
+          throw new KubernetesInfrastructureException(e);
+        } finally {
+          if (!started) {
+            closeWatches();
+          }
+        }
+      }
+      return true;
+    }
+
+    synchronized void stop() {
+      stopped = true;
+      closeWatches();
+      waiters.forEach(
+          waiter ->
+              waiter.future.completeExceptionally(
+                  new InfrastructureException(
+                      "Waiting for pod '" + waiter.podName + "' was interrupted")));
+    }
+
+    synchronized boolean releaseIfIdle() {
+      if (podHandlers.isEmpty()
+          && containerHandlers.isEmpty()
+          && waiters.isEmpty()
+          && System.currentTimeMillis() - lastAcquired > resyncPeriodMs) {
+        stop();
+        return true;
+      }
+      return false;
+    }
+
+    CompletableFuture<Pod> addWaiter(String podName, BiPredicate<Action, Pod> predicate) {
+      PodWaiter waiter = new PodWaiter(podName, predicate);
+      waiters.add(waiter);
+      waiter.future.whenComplete((pod, ex) -> waiters.remove(waiter));
+      return waiter.future;
+    }
+
+    void checkWaiters() {
+      for (PodWaiter waiter : waiters) {
+        Pod pod = pods.get(waiter.podName);
+        if (pod != null) {
+          waiter.test(Action.MODIFIED, pod);
+        }
+      }
+    }
+
+    void expirePendingEvents() {
+      long expired = System.currentTimeMillis() - resyncPeriodMs;
+      synchronized (pendingEvents) {
+        pendingEvents.values().removeIf(pending -> pending.created < expired);
+      }
+    }
+
+    /** Replaces cached pods with the actual ones and dispatches the difference as events. */
+    private void relist() throws InfrastructureException {
+      PodList list =
+          clientFactory
+              .create()
+              .pods()
+              .inNamespace(namespace)
+              .withLabel(CHE_WORKSPACE_ID_LABEL)
+              .list();
+      Map<String, Pod> removed = new HashMap<>(pods);
+      for (Pod pod : list.getItems()) {
+        String name = pod.getMetadata().getName();
+        Pod cached = removed.remove(name);
+        pods.put(name, pod);
+        if (cached == null) {
+          dispatch(Action.ADDED, pod);
+        } else if (!pod.getMetadata()
+            .getResourceVersion()
+            .equals(cached.getMetadata().getResourceVersion())) {
+          dispatch(Action.MODIFIED, pod);
+        }
+      }
+      for (Pod pod : removed.values()) {
+        pods.remove(pod.getMetadata().getName());
+        dispatch(Action.DELETED, pod);
+      }
+      podsVersion = list.getMetadata().getResourceVersion();
+    }
+
+    private void watchPods() throws InfrastructureException {
+      podWatch =
+          clientFactory
+              .create()
+              .pods()
+              .inNamespace(namespace)
+              .withLabel(CHE_WORKSPACE_ID_LABEL)
+              .watch(
+                  podsVersion,
+                  new Watcher<Pod>() {
+                    @Override
+                    public void eventReceived(Action action, Pod pod) {
+                      onPodEvent(action, pod);
+                    }
+
+                    @Override
+                    public void onClose(KubernetesClientException cause) {
+                      if (cause != null) {
+                        executor.execute(() -> restartPodsWatch(cause));
+                      }
+                    }
+                  });
+    }
+
+    private void watchEvents() throws InfrastructureException {
+      Watcher<Event> watcher =
+          new Watcher<Event>() {
+            @Override
+            public void eventReceived(Action action, Event event) {
+              onEvent(event);
+            }
+
+            @Override
+            public void onClose(KubernetesClientException cause) {
+              if (cause != null) {
+                executor.execute(() -> restartEventsWatch(cause));
+              }
+            }
+          };
+      if (eventsVersion == null) {
+        eventWatch = clientFactory.create().events().inNamespace(namespace).watch(watcher);
+      } else {
+        eventWatch =
+            clientFactory.create().events().inNamespace(namespace).watch(eventsVersion, watcher);
+      }
+    }
+
+    private synchronized void restartPodsWatch(KubernetesClientException cause) {
+      if (stopped) {
+        return;
+      }
+      LOG.debug("Pods watch in namespace '{}' is closed, restarting", namespace, cause);
+      try {
+        if (cause.getCode() == HTTP_GONE) {
+          relist();
+        }
+        watchPods();
+      } catch (KubernetesClientException | InfrastructureException e) {
+        LOG.warn(
+            "Failed to restart pods watch in namespace '{}' cause '{}'", namespace, e.getMessage());
+        executor.schedule(() -> restartPodsWatch(cause), RETRY_DELAY_MS, MILLISECONDS);
+      }
+    }
+
+    private synchronized void restartEventsWatch(KubernetesClientException cause) {
+      if (stopped) {
+        return;
+      }
+      LOG.debug("Events watch in namespace '{}' is closed, restarting", namespace, cause);
+      if (cause.getCode() == HTTP_GONE) {
+        // missed events are not important, continue with the actual ones
+        eventsVersion = null;
+      }
+      try {
+        watchEvents();
+      } catch (KubernetesClientException | InfrastructureException e) {
+        LOG.warn(
+            "Failed to restart events watch in namespace '{}' cause '{}'",
+            namespace,
+            e.getMessage());
+        executor.schedule(() -> restartEventsWatch(cause), RETRY_DELAY_MS, MILLISECONDS);
+      }
+    }
+
+    private void closeWatches() {
+      for (Watch watch : new Watch[] {podWatch, eventWatch}) {
+        if (watch != null) {
+          try {
+            watch.close();
+          } catch (KubernetesClientException e) {
+            LOG.error(
+                "Failed to stop watcher for namespace '{}' cause '{}'", namespace, e.getMessage());
+          }
+        }
+      }
+      podWatch = null;
+      eventWatch = null;
+    }
+
+    private void onPodEvent(Action action, Pod pod) {
+      String name = pod.getMetadata().getName();
+      switch (action) {
+        case ADDED:
+        case MODIFIED:
+          pods.put(name, pod);
+          break;
+        case DELETED:
+          pods.remove(name);
+          break;
+        default:
+          return;
+      }
+      podsVersion = pod.getMetadata().getResourceVersion();
+      dispatch(action, pod);
+    }
+
+    private void dispatch(Action action, Pod pod) {
+      Queue<PodActionHandler> handlers = podHandlers.get(getWorkspaceId(pod));
+      if (handlers != null) {
+        handlers.forEach(h -> h.handle(action, pod));
+      }
+      String name = pod.getMetadata().getName();
+      for (PodWaiter waiter : waiters) {
+        if (waiter.podName.equals(name)) {
+          waiter.test(action, pod);
+        }
+      }
+
+      // pod is already put into or removed from the cache, so no more events are kept for it
+      PendingEvents pending;
+      synchronized (pendingEvents) {
+        pending = pendingEvents.remove(name);
+      }
+      if (pending != null && action != Action.DELETED) {
+        pending.events.forEach(event -> dispatch(pod, event));
+      }
+    }
+
+    private void onEvent(Event event) {
+      eventsVersion = event.getMetadata().getResourceVersion();
+      ObjectReference involvedObject = event.getInvolvedObject();
+      String fieldPath = involvedObject.getFieldPath();
+
+      // check that event related to
+      if (POD_OBJECT_KIND.equals(involvedObject.getKind()) && fieldPath != null) {
+        Matcher containerFieldMatcher = CONTAINER_FIELD_PATH_PATTERN.matcher(fieldPath);
+        if (containerFieldMatcher.matches()) {
+          String podName = involvedObject.getName();
+          String containerName = containerFieldMatcher.group(CONTAINER_NAME_GROUP);
+
+          ContainerEvent containerEvent =
+              new ContainerEvent(
+                  podName,
+                  containerName,
+                  event.getMessage(),
+                  event.getMetadata().getCreationTimestamp());
+          Pod pod = pods.get(podName);
+          if (pod == null) {
+            synchronized (pendingEvents) {
+              // check again, as pending events of the pod might have been just dispatched
+              pod = pods.get(podName);
+              if (pod == null) {
+                // pod is not cached yet or event is not related to workspaces pods
+                addPendingEvent(containerEvent);
+                return;
+              }
+            }
+          }
+          dispatch(pod, containerEvent);
+        }
+      }
+    }
+
+    private void dispatch(Pod pod, ContainerEvent event) {
+      Queue<ContainerEventHandler> handlers = containerHandlers.get(getWorkspaceId(pod));
+      if (handlers != null) {
+        handlers.forEach(h -> h.handle(event));
+      }
+    }
+
+    private void addPendingEvent(ContainerEvent event) {
+      PendingEvents pending = pendingEvents.get(event.getPodName());
+      if (pending == null) {
+        if (pendingEvents.size() >= MAX_PENDING_PODS) {
+          LOG.debug("Too many pending container events in namespace '{}'", namespace);
+          return;
+        }
+        pending = new PendingEvents();
+        pendingEvents.put(event.getPodName(), pending);
+      }
+      if (pending.events.size() < MAX_PENDING_EVENTS_PER_POD) {
+        pending.events.add(event);
+      }
+    }
+
+    private String getWorkspaceId(Pod pod) {
+      Map<String, String> labels = pod.getMetadata().getLabels();
+      return labels == null ? "" : labels.getOrDefault(CHE_WORKSPACE_ID_LABEL, "");
+    }
+  }
+
+  /** Container events received before their pod. */
+  private static class PendingEvents {
+    private final long created = System.currentTimeMillis();
+    private final List<ContainerEvent> events = new ArrayList<>();
+  }
+
+  private static class PodWaiter {
+    private final String podName;
+    private final BiPredicate<Action, Pod> predicate;
+    private final CompletableFuture<Pod> future;
+
+    private PodWaiter(String podName, BiPredicate<Action, Pod> predicate) {
+      this.podName = podName;
+      this.predicate = predicate;
+      this.future = new CompletableFuture<>();
+    }
+
+    private void test(Action action, Pod pod) {
+      if (!future.isDone() && predicate.test(action, pod)) {
+        future.complete(pod);
+      }
+    }
+  }
+}
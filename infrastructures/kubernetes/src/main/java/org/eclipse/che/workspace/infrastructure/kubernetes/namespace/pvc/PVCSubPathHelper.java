@@ -25,8 +25,9 @@ import io.fabric8.kubernetes.api.model.PodBuilder;
 import io.fabric8.kubernetes.api.model.Quantity;
 import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Stream;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
@@ -48,6 +49,10 @@ import org.slf4j.LoggerFactory;
  * command (either {@code mkdir -p <path>} or {@code rm -rf <path>}). Reports back whether the pod
  * succeeded or failed. Supports multiple paths for one command.
  *
+ * <p>When the helper pod mode is enabled, commands are sent in batches to a long-lived pod which
+ * mounts the PVC, see {@link PVCSubPathHelperPod}. A short-lived pod is still used for commands
+ * that can't be executed in the helper pod.
+ *
  * <p>Note that the commands execution is needed only for {@link CommonPVCStrategy}.
  *
  * @author amisevsk
@@ -70,12 +75,14 @@ public class PVCSubPathHelper {
   static final String POD_PHASE_SUCCEEDED = "Succeeded";
   static final String POD_PHASE_FAILED = "Failed";
   static final String JOB_MOUNT_PATH = "/tmp/job_mount";
+  static final String HELPER_POD_NAME = "pvc-helper";
 
   private final String pvcName;
   private final String jobImage;
   private final String jobMemoryLimit;
   private final KubernetesNamespaceFactory factory;
-  private final ExecutorService executor;
+  private final ScheduledExecutorService executor;
+  private final PVCSubPathHelperPod helperPod;
 
   private final SecurityContextProvisioner securityContextProvisioner;
 
@@ -84,6 +91,9 @@ public class PVCSubPathHelper {
       @Named("che.infra.kubernetes.pvc.name") String pvcName,
       @Named("che.infra.kubernetes.pvc.jobs.memorylimit") String jobMemoryLimit,
       @Named("che.infra.kubernetes.pvc.jobs.image") String jobImage,
+      @Named("che.infra.kubernetes.pvc.jobs.helper_pod.enabled") boolean helperPodEnabled,
+      @Named("che.infra.kubernetes.pvc.jobs.helper_pod.batch_max_size") int batchMaxSize,
+      @Named("che.infra.kubernetes.pvc.jobs.helper_pod.batch_max_wait_ms") long batchMaxWaitMs,
       KubernetesNamespaceFactory factory,
       SecurityContextProvisioner securityContextProvisioner) {
     this.pvcName = pvcName;
@@ -92,13 +102,23 @@ public class PVCSubPathHelper {
     this.factory = factory;
     this.securityContextProvisioner = securityContextProvisioner;
     this.executor =
-        Executors.newFixedThreadPool(
+        Executors.newScheduledThreadPool(
             COUNT_THREADS,
             new ThreadFactoryBuilder()
                 .setNameFormat("PVCSubPathHelper-ThreadPool-%d")
                 .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
                 .setDaemon(false)
                 .build());
+    this.helperPod =
+        helperPodEnabled
+            ? new PVCSubPathHelperPod(
+                HELPER_POD_NAME,
+                this::newHelperPod,
+                factory,
+                executor,
+                batchMaxSize,
+                batchMaxWaitMs)
+            : null;
   }
 
   /**
@@ -106,8 +126,22 @@ public class PVCSubPathHelper {
    *
    * @param workspaceId workspace identifier
    * @param dirs workspace directories to create
+   * @throws InfrastructureException when the thread is interrupted while waiting for the helper pod
    */
-  void createDirs(String workspaceId, String... dirs) {
+  void createDirs(String workspaceId, String... dirs) throws InfrastructureException {
+    if (helperPod != null) {
+      try {
+        helperPod.submit(workspaceId, MKDIR_COMMAND_BASE, dirs).get();
+        return;
+      } catch (ExecutionException ex) {
+        LOG.debug(
+            "Falling back to job pod for creating directories of workspace '{}'", workspaceId);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new InfrastructureException(
+            "Interrupted while creating directories of workspace '" + workspaceId + "'");
+      }
+    }
     execute(workspaceId, MKDIR_COMMAND_BASE, dirs);
   }
 
@@ -118,9 +152,19 @@ public class PVCSubPathHelper {
    * @param dirs workspace directories to remove
    */
   CompletableFuture<Void> removeDirsAsync(String workspaceId, String... dirs) {
-    return CompletableFuture.runAsync(
-        ThreadLocalPropagateContext.wrap(() -> execute(workspaceId, RM_COMMAND_BASE, dirs)),
-        executor);
+    final Runnable job =
+        ThreadLocalPropagateContext.wrap(() -> execute(workspaceId, RM_COMMAND_BASE, dirs));
+    if (helperPod == null) {
+      return CompletableFuture.runAsync(job, executor);
+    }
+    return helperPod
+        .submit(workspaceId, RM_COMMAND_BASE, dirs)
+        .handle(
+            (ignored, ex) ->
+                ex == null
+                    ? CompletableFuture.<Void>completedFuture(null)
+                    : CompletableFuture.runAsync(job, executor))
+        .thenCompose(future -> future);
   }
 
   /**
@@ -198,6 +242,14 @@ public class PVCSubPathHelper {
     }
   }
 
+  /** Returns new instance of the helper {@link Pod} that keeps running until it is removed. */
+  private Pod newHelperPod() {
+    final Pod pod = newPod(HELPER_POD_NAME, new String[] {"tail", "-f", "/dev/null"});
+    pod.getSpec().setRestartPolicy("Always");
+    securityContextProvisioner.provision(pod);
+    return pod;
+  }
+
   /** Returns new instance of {@link Pod} with given name and command. */
   private Pod newPod(String podName, String[] command) {
     final Container container =
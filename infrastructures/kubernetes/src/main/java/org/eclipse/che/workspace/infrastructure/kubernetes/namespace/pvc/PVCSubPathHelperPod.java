@@ -0,0 +1,368 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesPods.STDERR;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.JOB_MOUNT_PATH;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.POD_PHASE_FAILED;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.POD_PHASE_SUCCEEDED;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.WAIT_POD_TIMEOUT_MIN;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesNamespaceFactory;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesPods;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes PVC sub-path commands in a long-lived helper pod, one pod per namespace.
+ *
+ * <p>Commands that are submitted close in time are coalesced into a batch which is executed with a
+ * single exec call. A batch is executed when it reaches the maximum size or when the first command
+ * of the batch has been waiting for the maximum wait time. Batches of the same namespace are
+ * executed one after another in the order of submission, so {@code mkdir} and {@code rm} of the
+ * same path are never reordered. A failed command doesn't stop the batch, the script reports its
+ * number to the error stream and only the futures of the commands that depend on it are failed.
+ *
+ * @see PVCSubPathHelper
+ */
+class PVCSubPathHelperPod {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PVCSubPathHelperPod.class);
+
+  static final String POD_PHASE_RUNNING = "Running";
+  static final int EXEC_TIMEOUT_MIN = 5;
+  static final String FAILED_LINE_MARKER = "pvc-helper-failed-line";
+
+  private static final Pattern FAILED_LINE_PATTERN =
+      Pattern.compile("^" + FAILED_LINE_MARKER + " (\\d+)$", Pattern.MULTILINE);
+
+  private final String podName;
+  private final Supplier<Pod> podFactory;
+  private final KubernetesNamespaceFactory factory;
+  private final ScheduledExecutorService executor;
+  private final int maxBatchSize;
+  private final long maxBatchWaitMs;
+  private final Map<String, NamespaceQueue> queues;
+
+  private final AtomicLong executedCommands = new AtomicLong();
+  private final AtomicLong executedBatches = new AtomicLong();
+  private final AtomicLong failedBatches = new AtomicLong();
+  private final AtomicLong queueTimeNanos = new AtomicLong();
+  private final AtomicLong executionTimeNanos = new AtomicLong();
+
+  /**
+   * @param podName name of the helper pod
+   * @param podFactory creates the helper pod definition, the pod must keep running
+   * @param factory factory of namespaces where commands are executed
+   * @param executor executor that runs batches
+   * @param maxBatchSize maximum number of commands in a single batch
+   * @param maxBatchWaitMs maximum time a command waits for its batch to be started
+   */
+  PVCSubPathHelperPod(
+      String podName,
+      Supplier<Pod> podFactory,
+      KubernetesNamespaceFactory factory,
+      ScheduledExecutorService executor,
+      int maxBatchSize,
+      long maxBatchWaitMs) {
+    this.podName = podName;
+    this.podFactory = podFactory;
+    this.factory = factory;
+    this.executor = executor;
+    this.maxBatchSize = maxBatchSize;
+    this.maxBatchWaitMs = maxBatchWaitMs;
+    this.queues = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Submits the command to be executed in the helper pod of the workspace namespace.
+   *
+   * @param workspaceId workspace identifier
+   * @param commandBase the command base to execute, e.g. {@code mkdir -p}
+   * @param dirs workspace directories that are used as command arguments
+   * @return future that is completed when the batch containing the command is executed, the future
+   *     is completed exceptionally when helper pod is not available or the batch failed
+   */
+  CompletableFuture<Void> submit(String workspaceId, String[] commandBase, String... dirs) {
+    final String namespace;
+    try {
+      namespace = factory.create(workspaceId).getName();
+    } catch (InfrastructureException ex) {
+      CompletableFuture<Void> failed = new CompletableFuture<>();
+      failed.completeExceptionally(ex);
+      return failed;
+    }
+    final NamespaceQueue queue = queues.computeIfAbsent(namespace, NamespaceQueue::new);
+    final Command command = new Command(workspaceId, commandBase, dirs);
+    synchronized (queue) {
+      queue.pending.add(command);
+      if (queue.pending.size() >= maxBatchSize) {
+        executor.execute(() -> flush(queue));
+      } else if (!queue.flushScheduled) {
+        queue.flushScheduled = true;
+        executor.schedule(() -> flush(queue), maxBatchWaitMs, MILLISECONDS);
+      }
+    }
+    return command.future;
+  }
+
+  /** Returns number of commands executed in helper pods. */
+  long getExecutedCommands() {
+    return executedCommands.get();
+  }
+
+  /** Returns number of executed batches, including the failed ones. */
+  long getExecutedBatches() {
+    return executedBatches.get();
+  }
+
+  /** Returns number of batches which failed, commands of such batches are executed in job pods. */
+  long getFailedBatches() {
+    return failedBatches.get();
+  }
+
+  /** Returns average time in milliseconds commands spend waiting for their batch. */
+  double getAverageQueueTimeMs() {
+    long commands = executedCommands.get();
+    return commands == 0 ? 0 : (double) NANOSECONDS.toMillis(queueTimeNanos.get()) / commands;
+  }
+
+  /** Returns average time in milliseconds of a batch execution. */
+  double getAverageExecutionTimeMs() {
+    long batches = executedBatches.get();
+    return batches == 0 ? 0 : (double) NANOSECONDS.toMillis(executionTimeNanos.get()) / batches;
+  }
+
+  private void flush(NamespaceQueue queue) {
+    final List<Command> batch;
+    synchronized (queue) {
+      queue.flushScheduled = false;
+      if (queue.running || queue.pending.isEmpty()) {
+        // a running batch flushes the rest of the queue when it is finished
+        return;
+      }
+      int size = Math.min(maxBatchSize, queue.pending.size());
+      List<Command> head = queue.pending.subList(0, size);
+      batch = new ArrayList<>(head);
+      head.clear();
+      queue.running = true;
+    }
+    try {
+      execute(queue, batch);
+    } finally {
+      synchronized (queue) {
+        queue.running = false;
+        if (!queue.pending.isEmpty() && !queue.flushScheduled) {
+          queue.flushScheduled = true;
+          executor.execute(() -> flush(queue));
+        }
+      }
+    }
+  }
+
+  private void execute(NamespaceQueue queue, List<Command> batch) {
+    final long started = System.nanoTime();
+    for (Command command : batch) {
+      queueTimeNanos.addAndGet(started - command.submitted);
+    }
+    final String script = buildScript(batch);
+    final StringBuilder errors = new StringBuilder();
+    try {
+      final KubernetesPods pods = factory.create(batch.get(0).workspaceId).pods();
+      if (!queue.podReady) {
+        ensureRunning(pods);
+        queue.podReady = true;
+      }
+      pods.exec(
+          podName,
+          podName,
+          EXEC_TIMEOUT_MIN,
+          new String[] {"sh", "-c", script},
+          (stream, text) -> {
+            LOG.debug("PVC helper pod {}: {}", stream, text);
+            if (STDERR.equals(stream)) {
+              errors.append(text);
+            }
+          });
+      batch.forEach(command -> command.future.complete(null));
+    } catch (InfrastructureException ex) {
+      if (errors.length() > 0) {
+        // the script is executed, but some of its commands may have failed
+        completeWithErrors(queue, batch, errors.toString());
+        return;
+      }
+      queue.podReady = false;
+      failedBatches.incrementAndGet();
+      LOG.warn(
+          "Unable to execute batch of {} commands in PVC helper pod in namespace '{}' cause: '{}'",
+          batch.size(),
+          queue.namespace,
+          ex.getMessage());
+      batch.forEach(command -> command.future.completeExceptionally(ex));
+    } finally {
+      long execution = System.nanoTime() - started;
+      executionTimeNanos.addAndGet(execution);
+      executedBatches.incrementAndGet();
+      executedCommands.addAndGet(batch.size());
+      LOG.debug(
+          "Executed batch of {} commands in PVC helper pod in namespace '{}' in {}ms",
+          batch.size(),
+          queue.namespace,
+          NANOSECONDS.toMillis(execution));
+    }
+  }
+
+  /** Fails the commands that depend on the script lines reported as failed in the error output. */
+  private void completeWithErrors(NamespaceQueue queue, List<Command> batch, String errors) {
+    final Set<Integer> failedLines = new HashSet<>();
+    final Matcher matcher = FAILED_LINE_PATTERN.matcher(errors);
+    while (matcher.find()) {
+      failedLines.add(Integer.parseInt(matcher.group(1)));
+    }
+    for (Command command : batch) {
+      if (command.lines.stream().anyMatch(failedLines::contains)) {
+        LOG.warn(
+            "Command '{}' of workspace '{}' failed in PVC helper pod in namespace '{}' cause: '{}'",
+            String.join(" ", command.base),
+            command.workspaceId,
+            queue.namespace,
+            errors);
+        command.future.completeExceptionally(
+            new InfrastructureException(
+                "Command '" + String.join(" ", command.base) + "' failed: " + errors));
+      } else {
+        command.future.complete(null);
+      }
+    }
+  }
+
+  /** Creates the helper pod if it doesn't exist and waits until it is running. */
+  private void ensureRunning(KubernetesPods pods) throws InfrastructureException {
+    Optional<Pod> existing = pods.get(podName);
+    if (existing.isPresent() && isTerminated(existing.get())) {
+      pods.delete(podName);
+      existing = Optional.empty();
+    }
+    if (!existing.isPresent()) {
+      pods.createShared(podFactory.get());
+    }
+    Pod pod = pods.wait(podName, WAIT_POD_TIMEOUT_MIN, p -> isRunning(p) || isTerminated(p));
+    if (!isRunning(pod)) {
+      throw new InfrastructureException("PVC helper pod '" + podName + "' is terminated");
+    }
+  }
+
+  /**
+   * Builds a shell script that executes the commands of the batch one by one, each command is a
+   * separate line which reports its number to the error stream when the command fails. A command is
+   * skipped when the previous command that affects the same path is the same, e.g. when several
+   * removals of the same workspace directory are requested, then it depends on the line of that
+   * previous command.
+   */
+  private String buildScript(List<Command> batch) {
+    final Map<String, String> lastCommands = new HashMap<>();
+    final Map<String, Integer> lastLines = new HashMap<>();
+    final StringBuilder script = new StringBuilder();
+    int line = 0;
+    for (Command command : batch) {
+      final String base = String.join(" ", command.base);
+      final StringBuilder args = new StringBuilder();
+      for (String dir : command.dirs) {
+        String path = JOB_MOUNT_PATH + (dir.startsWith("/") ? dir : '/' + dir);
+        if (base.equals(lastCommands.put(path, base))) {
+          command.lines.add(lastLines.get(path));
+        } else {
+          args.append(' ').append(quote(path));
+          lastLines.put(path, line);
+        }
+      }
+      if (args.length() > 0) {
+        command.lines.add(line);
+        script
+            .append(base)
+            .append(args)
+            .append(" || echo '")
+            .append(FAILED_LINE_MARKER)
+            .append(' ')
+            .append(line)
+            .append("' >&2\n");
+        line++;
+      }
+    }
+    return script.toString();
+  }
+
+  private static String quote(String argument) {
+    return '\'' + argument.replace("'", "'\\''") + '\'';
+  }
+
+  private static boolean isRunning(Pod pod) {
+    return pod.getStatus() != null && POD_PHASE_RUNNING.equals(pod.getStatus().getPhase());
+  }
+
+  private static boolean isTerminated(Pod pod) {
+    if (pod.getStatus() == null) {
+      return false;
+    }
+    String phase = pod.getStatus().getPhase();
+    return POD_PHASE_FAILED.equals(phase) || POD_PHASE_SUCCEEDED.equals(phase);
+  }
+
+  /** Commands waiting for execution in the helper pod of a single namespace. */
+  private static class NamespaceQueue {
+    private final String namespace;
+    private final List<Command> pending = new ArrayList<>();
+
+    private boolean flushScheduled;
+    private boolean running;
+    private volatile boolean podReady;
+
+    private NamespaceQueue(String namespace) {
+      this.namespace = namespace;
+    }
+  }
+
+  private static class Command {
+    private final String workspaceId;
+    private final String[] base;
+    private final String[] dirs;
+    private final long submitted;
+    private final CompletableFuture<Void> future;
+    /** Lines of the batch script the command depends on. */
+    private final Set<Integer> lines = new HashSet<>();
+
+    private Command(String workspaceId, String[] base, String[] dirs) {
+      this.workspaceId = workspaceId;
+      this.base = base;
+      this.dirs = dirs;
+      this.submitted = System.nanoTime();
+      this.future = new CompletableFuture<>();
+    }
+  }
+}
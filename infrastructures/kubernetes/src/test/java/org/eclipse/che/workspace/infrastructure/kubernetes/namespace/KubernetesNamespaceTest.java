@@ -55,6 +55,7 @@ public class KubernetesNamespaceTest {
   public static final String WORKSPACE_ID = "workspace123";
 
   @Mock private KubernetesPods pods;
+  @Mock private KubernetesPodsInformer podsInformer;
   @Mock private KubernetesServices services;
   @Mock private KubernetesIngresses ingresses;
   @Mock private KubernetesPersistentVolumeClaims pvcs;
@@ -79,7 +80,8 @@ public class KubernetesNamespaceTest {
     when(namespaceOperation.withName(anyString())).thenReturn(serviceAccountResource);
     when(serviceAccountResource.get()).thenReturn(mock(ServiceAccount.class));
 
-    k8sNamespace = new KubernetesNamespace(WORKSPACE_ID, pods, services, pvcs, ingresses);
+    k8sNamespace =
+        new KubernetesNamespace(NAMESPACE, WORKSPACE_ID, pods, services, pvcs, ingresses);
   }
 
   @Test
@@ -88,7 +90,7 @@ public class KubernetesNamespaceTest {
     prepareNamespace(NAMESPACE);
 
     // when
-    new KubernetesNamespace(clientFactory, NAMESPACE, WORKSPACE_ID);
+    new KubernetesNamespace(clientFactory, podsInformer, NAMESPACE, WORKSPACE_ID);
   }
 
   @Test
@@ -100,7 +102,8 @@ public class KubernetesNamespaceTest {
     doThrow(new KubernetesClientException("error", 403, null)).when(resource).get();
 
     // when
-    KubernetesNamespace namespace = new KubernetesNamespace(clientFactory, NAMESPACE, WORKSPACE_ID);
+    KubernetesNamespace namespace =
+        new KubernetesNamespace(clientFactory, podsInformer, NAMESPACE, WORKSPACE_ID);
 
     // then
     verify(namespaceMeta).withName(NAMESPACE);
@@ -145,7 +148,7 @@ public class KubernetesNamespaceTest {
     doThrow(new KubernetesClientException("error", 403, null)).when(resource).get();
     doThrow(KubernetesClientException.class).when(kubernetesClient).serviceAccounts();
 
-    new KubernetesNamespace(clientFactory, NAMESPACE, WORKSPACE_ID);
+    new KubernetesNamespace(clientFactory, podsInformer, NAMESPACE, WORKSPACE_ID);
   }
 
   @Test(expectedExceptions = InfrastructureException.class)
@@ -156,7 +159,7 @@ public class KubernetesNamespaceTest {
     doThrow(new KubernetesClientException("error", 403, null)).when(resource).get();
     when(serviceAccountResource.get()).thenReturn(null);
 
-    new KubernetesNamespace(clientFactory, NAMESPACE, WORKSPACE_ID);
+    new KubernetesNamespace(clientFactory, podsInformer, NAMESPACE, WORKSPACE_ID);
   }
 
   @Test(expectedExceptions = InfrastructureException.class)
@@ -175,7 +178,7 @@ public class KubernetesNamespaceTest {
         .when(serviceAccountResource)
         .watch(any());
 
-    new KubernetesNamespace(clientFactory, NAMESPACE, WORKSPACE_ID);
+    new KubernetesNamespace(clientFactory, podsInformer, NAMESPACE, WORKSPACE_ID);
   }
 
   @Test
@@ -194,7 +197,7 @@ public class KubernetesNamespaceTest {
         .when(serviceAccountResource)
         .watch(any());
 
-    new KubernetesNamespace(clientFactory, NAMESPACE, WORKSPACE_ID);
+    new KubernetesNamespace(clientFactory, podsInformer, NAMESPACE, WORKSPACE_ID);
 
     verify(serviceAccountResource).get();
     verify(serviceAccountResource).watch(any());
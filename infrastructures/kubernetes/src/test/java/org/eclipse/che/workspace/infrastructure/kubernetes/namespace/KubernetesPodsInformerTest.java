@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.namespace;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.CHE_WORKSPACE_ID_LABEL;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import io.fabric8.kubernetes.api.model.Event;
+import io.fabric8.kubernetes.api.model.EventBuilder;
+import io.fabric8.kubernetes.api.model.ListMeta;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.client.KubernetesClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.Watcher.Action;
+import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
+import io.fabric8.kubernetes.client.dsl.MixedOperation;
+import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
+import io.fabric8.kubernetes.client.dsl.PodResource;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesClientFactory;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.event.ContainerEvent;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.event.ContainerEventHandler;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.event.PodActionHandler;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link KubernetesPodsInformer}. */
+@Listeners(MockitoTestNGListener.class)
+public class KubernetesPodsInformerTest {
+
+  private static final String NAMESPACE = "che";
+  private static final String WORKSPACE_1 = "workspace1";
+  private static final String WORKSPACE_2 = "workspace2";
+
+  @Mock private KubernetesClientFactory clientFactory;
+  @Mock private KubernetesClient client;
+  @Mock private FilterWatchListDeletable podsOperation;
+  @Mock private NonNamespaceOperation eventsOperation;
+  @Mock private PodResource podResource;
+  @Mock private PodList podList;
+  @Mock private Watch watch;
+
+  @Captor private ArgumentCaptor<Watcher<Pod>> podWatcherCaptor;
+  @Captor private ArgumentCaptor<Watcher<Event>> eventWatcherCaptor;
+
+  private KubernetesPodsInformer informer;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    when(clientFactory.create()).thenReturn(client);
+
+    MixedOperation pods = mock(MixedOperation.class);
+    NonNamespaceOperation namespacedPods = mock(NonNamespaceOperation.class);
+    doReturn(pods).when(client).pods();
+    when(pods.inNamespace(NAMESPACE)).thenReturn(namespacedPods);
+    when(namespacedPods.withLabel(CHE_WORKSPACE_ID_LABEL)).thenReturn(podsOperation);
+    when(namespacedPods.withName(anyString())).thenReturn(podResource);
+    when(podsOperation.list()).thenReturn(podList);
+    when(podList.getItems()).thenReturn(emptyList());
+    when(podList.getMetadata()).thenReturn(new ListMeta("1", null));
+    when(podsOperation.watch(anyString(), any())).thenReturn(watch);
+
+    MixedOperation events = mock(MixedOperation.class);
+    doReturn(events).when(client).events();
+    when(events.inNamespace(NAMESPACE)).thenReturn(eventsOperation);
+    when(eventsOperation.watch(any(Watcher.class))).thenReturn(watch);
+
+    informer = new KubernetesPodsInformer(clientFactory, 100_000);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    informer.stop();
+  }
+
+  @Test
+  public void shouldShareWatchesBetweenWorkspacesOfNamespace() throws Exception {
+    PodActionHandler handler1 = mock(PodActionHandler.class);
+    PodActionHandler handler2 = mock(PodActionHandler.class);
+
+    informer.addPodHandler(NAMESPACE, WORKSPACE_1, handler1);
+    informer.addPodHandler(NAMESPACE, WORKSPACE_2, handler2);
+
+    verify(podsOperation).watch(anyString(), any());
+    verify(eventsOperation).watch(any(Watcher.class));
+    assertEquals(informer.getObservedNamespaces(), 1);
+  }
+
+  @Test
+  public void shouldDispatchPodEventsToHandlersOfPodWorkspace() throws Exception {
+    PodActionHandler handler1 = mock(PodActionHandler.class);
+    PodActionHandler handler2 = mock(PodActionHandler.class);
+    informer.addPodHandler(NAMESPACE, WORKSPACE_1, handler1);
+    informer.addPodHandler(NAMESPACE, WORKSPACE_2, handler2);
+    Pod pod = pod("pod1", WORKSPACE_1, "2", "Running");
+
+    podWatcher().eventReceived(Action.MODIFIED, pod);
+
+    verify(handler1).handle(Action.MODIFIED, pod);
+    verify(handler2, never()).handle(any(), any());
+  }
+
+  @Test
+  public void shouldNotDispatchPodEventsAfterHandlersRemoval() throws Exception {
+    PodActionHandler handler = mock(PodActionHandler.class);
+    informer.addPodHandler(NAMESPACE, WORKSPACE_1, handler);
+    informer.removeHandlers(NAMESPACE, WORKSPACE_1);
+
+    podWatcher().eventReceived(Action.MODIFIED, pod("pod1", WORKSPACE_1, "2", "Running"));
+
+    verify(handler, never()).handle(any(), any());
+  }
+
+  @Test
+  public void shouldDispatchContainerEventsToHandlersOfPodWorkspace() throws Exception {
+    ContainerEventHandler handler1 = mock(ContainerEventHandler.class);
+    ContainerEventHandler handler2 = mock(ContainerEventHandler.class);
+    informer.addContainerEventHandler(NAMESPACE, WORKSPACE_1, handler1);
+    informer.addContainerEventHandler(NAMESPACE, WORKSPACE_2, handler2);
+    podWatcher().eventReceived(Action.ADDED, pod("pod1", WORKSPACE_1, "2", "Pending"));
+
+    eventWatcher().eventReceived(Action.ADDED, containerEvent("pod1", "3"));
+
+    ArgumentCaptor<ContainerEvent> captor = ArgumentCaptor.forClass(ContainerEvent.class);
+    verify(handler1).handle(captor.capture());
+    assertEquals(captor.getValue().getPodName(), "pod1");
+    assertEquals(captor.getValue().getContainerName(), "web");
+    verify(handler2, never()).handle(any());
+  }
+
+  @Test
+  public void shouldDispatchContainerEventsReceivedBeforePod() throws Exception {
+    ContainerEventHandler handler = mock(ContainerEventHandler.class);
+    informer.addContainerEventHandler(NAMESPACE, WORKSPACE_1, handler);
+
+    eventWatcher().eventReceived(Action.ADDED, containerEvent("pod1", "2"));
+    verify(handler, never()).handle(any());
+    podWatcher().eventReceived(Action.ADDED, pod("pod1", WORKSPACE_1, "3", "Pending"));
+
+    ArgumentCaptor<ContainerEvent> captor = ArgumentCaptor.forClass(ContainerEvent.class);
+    verify(handler).handle(captor.capture());
+    assertEquals(captor.getValue().getPodName(), "pod1");
+    assertEquals(captor.getValue().getMessage(), "Pulling image");
+  }
+
+  @Test
+  public void shouldCompleteWaitingWithCachedPod() throws Exception {
+    Pod pod = pod("pod1", WORKSPACE_1, "2", "Running");
+    when(podList.getItems()).thenReturn(singletonList(pod));
+
+    CompletableFuture<Pod> future =
+        informer.waitPod(NAMESPACE, "pod1", p -> "Running".equals(p.getStatus().getPhase()));
+
+    assertEquals(future.get(), pod);
+    verify(podResource, never()).get();
+  }
+
+  @Test
+  public void shouldCompleteWaitingWhenPodStateSatisfiesPredicate() throws Exception {
+    when(podResource.get()).thenReturn(pod("pod1", WORKSPACE_1, "2", "Pending"));
+
+    CompletableFuture<Pod> future =
+        informer.waitPod(NAMESPACE, "pod1", p -> "Running".equals(p.getStatus().getPhase()));
+    assertFalse(future.isDone());
+
+    Pod running = pod("pod1", WORKSPACE_1, "3", "Running");
+    podWatcher().eventReceived(Action.MODIFIED, running);
+
+    assertEquals(future.get(), running);
+  }
+
+  @Test(expectedExceptions = ExecutionException.class)
+  public void shouldFailWaitingWhenPodDoesNotExist() throws Exception {
+    informer.waitPod(NAMESPACE, "pod1", p -> true).get();
+  }
+
+  @Test
+  public void shouldCompleteWaitingForRemovalWhenPodIsDeleted() throws Exception {
+    CompletableFuture<Pod> future = informer.waitPodRemoved(NAMESPACE, "pod1");
+
+    podWatcher().eventReceived(Action.MODIFIED, pod("pod1", WORKSPACE_1, "2", "Running"));
+    assertFalse(future.isDone());
+    podWatcher().eventReceived(Action.DELETED, pod("pod1", WORKSPACE_1, "3", "Running"));
+
+    assertTrue(future.isDone());
+  }
+
+  @Test
+  public void shouldRelistPodsAndDispatchDifferenceWhenWatchIsGone() throws Exception {
+    PodActionHandler handler = mock(PodActionHandler.class);
+    Pod pod = pod("pod1", WORKSPACE_1, "2", "Running");
+    when(podList.getItems()).thenReturn(singletonList(pod));
+    informer.addPodHandler(NAMESPACE, WORKSPACE_1, handler);
+    when(podList.getItems()).thenReturn(emptyList());
+
+    podWatcher().onClose(new KubernetesClientException("too old resource version", 410, null));
+
+    verify(handler, timeout(5_000)).handle(Action.DELETED, pod);
+    verify(podsOperation, timeout(5_000).times(2)).watch(anyString(), any());
+    verify(podsOperation, times(2)).list();
+  }
+
+  @Test
+  public void shouldResumePodsWatchFromLastReceivedVersion() throws Exception {
+    informer.addPodHandler(NAMESPACE, WORKSPACE_1, mock(PodActionHandler.class));
+    podWatcher().eventReceived(Action.ADDED, pod("pod1", WORKSPACE_1, "5", "Pending"));
+
+    podWatcher().onClose(new KubernetesClientException("connection lost", 500, null));
+
+    verify(podsOperation, timeout(5_000)).watch(eq("5"), any());
+    verify(podsOperation).list();
+  }
+
+  private Watcher<Pod> podWatcher() {
+    verify(podsOperation, atLeastOnce()).watch(anyString(), podWatcherCaptor.capture());
+    return podWatcherCaptor.getValue();
+  }
+
+  private Watcher<Event> eventWatcher() {
+    verify(eventsOperation).watch(eventWatcherCaptor.capture());
+    return eventWatcherCaptor.getValue();
+  }
+
+  private static Event containerEvent(String podName, String version) {
+    return new EventBuilder()
+        .withNewMetadata()
+        .withResourceVersion(version)
+        .withCreationTimestamp("2018-01-01T00:00:00Z")
+        .endMetadata()
+        .withNewInvolvedObject()
+        .withKind("Pod")
+        .withName(podName)
+        .withFieldPath("spec.containers{web}")
+        .endInvolvedObject()
+        .withMessage("Pulling image")
+        .build();
+  }
+
+  private static Pod pod(String name, String workspaceId, String version, String phase) {
+    return new PodBuilder()
+        .withNewMetadata()
+        .withName(name)
+        .withResourceVersion(version)
+        .withLabels(singletonMap(CHE_WORKSPACE_ID_LABEL, workspaceId))
+        .endMetadata()
+        .withNewStatus()
+        .withPhase(phase)
+        .endStatus()
+        .build();
+  }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesPods.STDERR;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.MKDIR_COMMAND_BASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.RM_COMMAND_BASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelperPod.POD_PHASE_RUNNING;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.BiConsumer;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesNamespace;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesNamespaceFactory;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesPods;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link PVCSubPathHelperPod}. */
+@Listeners(MockitoTestNGListener.class)
+public class PVCSubPathHelperPodTest {
+
+  private static final String POD_NAME = "pvc-helper";
+  private static final String NAMESPACE = "che";
+
+  @Mock private KubernetesNamespaceFactory factory;
+  @Mock private KubernetesNamespace namespace;
+  @Mock private KubernetesPods pods;
+
+  @Captor private ArgumentCaptor<String[]> commandCaptor;
+
+  private ScheduledExecutorService executor;
+  private PVCSubPathHelperPod helperPod;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    when(factory.create(anyString())).thenReturn(namespace);
+    when(namespace.getName()).thenReturn(NAMESPACE);
+    when(namespace.pods()).thenReturn(pods);
+    when(pods.get(POD_NAME)).thenReturn(Optional.empty());
+    when(pods.wait(eq(POD_NAME), anyInt(), any())).thenReturn(pod(POD_PHASE_RUNNING));
+
+    executor = Executors.newScheduledThreadPool(2);
+    helperPod = new PVCSubPathHelperPod(POD_NAME, this::newPod, factory, executor, 3, 200);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldExecuteCommandsSubmittedTogetherInSingleBatch() throws Exception {
+    CompletableFuture<Void> first = helperPod.submit("ws1", MKDIR_COMMAND_BASE, "ws1/projects");
+    CompletableFuture<Void> second = helperPod.submit("ws2", RM_COMMAND_BASE, "ws2");
+
+    first.get(5, SECONDS);
+    second.get(5, SECONDS);
+
+    verify(pods).createShared(any());
+    verify(pods).exec(eq(POD_NAME), eq(POD_NAME), anyInt(), commandCaptor.capture(), any());
+    assertEquals(
+        commandCaptor.getValue()[2],
+        "mkdir -p '/tmp/job_mount/ws1/projects' || echo 'pvc-helper-failed-line 0' >&2\n"
+            + "rm -rf '/tmp/job_mount/ws2' || echo 'pvc-helper-failed-line 1' >&2\n");
+    assertEquals(helperPod.getExecutedBatches(), 1);
+    assertEquals(helperPod.getExecutedCommands(), 2);
+  }
+
+  @Test
+  public void shouldCoalesceSameCommandsForSamePath() throws Exception {
+    CompletableFuture<Void> first = helperPod.submit("ws1", RM_COMMAND_BASE, "ws1");
+    CompletableFuture<Void> second = helperPod.submit("ws1", RM_COMMAND_BASE, "ws1");
+
+    first.get(5, SECONDS);
+    second.get(5, SECONDS);
+
+    verify(pods).exec(anyString(), anyString(), anyInt(), commandCaptor.capture(), any());
+    assertEquals(
+        commandCaptor.getValue()[2],
+        "rm -rf '/tmp/job_mount/ws1' || echo 'pvc-helper-failed-line 0' >&2\n");
+  }
+
+  @Test
+  public void shouldSplitCommandsIntoBatchesOfMaxSize() throws Exception {
+    CompletableFuture<?>[] futures = new CompletableFuture<?>[4];
+    for (int i = 0; i < futures.length; i++) {
+      futures[i] = helperPod.submit("ws" + i, MKDIR_COMMAND_BASE, "ws" + i);
+    }
+
+    CompletableFuture.allOf(futures).get(5, SECONDS);
+
+    verify(pods, times(2)).exec(anyString(), anyString(), anyInt(), any(String[].class), any());
+    assertEquals(helperPod.getExecutedBatches(), 2);
+    assertEquals(helperPod.getExecutedCommands(), 4);
+  }
+
+  @Test
+  public void shouldNotRecreateRunningHelperPod() throws Exception {
+    when(pods.get(POD_NAME)).thenReturn(Optional.of(pod(POD_PHASE_RUNNING)));
+
+    helperPod.submit("ws1", MKDIR_COMMAND_BASE, "ws1").get(5, SECONDS);
+    helperPod.submit("ws2", MKDIR_COMMAND_BASE, "ws2").get(5, SECONDS);
+
+    verify(pods, never()).createShared(any());
+    verify(pods).get(POD_NAME);
+  }
+
+  @Test
+  public void shouldFailCommandsAndCheckHelperPodAgainWhenBatchFailed() throws Exception {
+    doThrow(new InfrastructureException("exec failed"))
+        .when(pods)
+        .exec(anyString(), anyString(), anyInt(), any(String[].class), any());
+
+    try {
+      helperPod.submit("ws1", MKDIR_COMMAND_BASE, "ws1").get(5, SECONDS);
+    } catch (ExecutionException ex) {
+      assertTrue(ex.getCause() instanceof InfrastructureException);
+    }
+    try {
+      helperPod.submit("ws1", MKDIR_COMMAND_BASE, "ws1").get(5, SECONDS);
+    } catch (ExecutionException ignored) {
+    }
+
+    verify(pods, times(2)).get(POD_NAME);
+    assertEquals(helperPod.getFailedBatches(), 2);
+  }
+
+  @Test
+  public void shouldFailOnlyCommandsWhoseLinesFailed() throws Exception {
+    doAnswer(
+            invocation -> {
+              BiConsumer<String, String> output = invocation.getArgument(4);
+              output.accept(STDERR, "mkdir: cannot create directory\npvc-helper-failed-line 1\n");
+              throw new InfrastructureException("mkdir: cannot create directory");
+            })
+        .when(pods)
+        .exec(anyString(), anyString(), anyInt(), any(String[].class), any());
+
+    CompletableFuture<Void> first = helperPod.submit("ws1", MKDIR_COMMAND_BASE, "ws1");
+    CompletableFuture<Void> second = helperPod.submit("ws2", MKDIR_COMMAND_BASE, "ws2");
+    CompletableFuture<Void> third = helperPod.submit("ws2", MKDIR_COMMAND_BASE, "ws2");
+
+    first.get(5, SECONDS);
+    assertFailed(second);
+    // the same command for the same path is skipped and depends on the failed line
+    assertFailed(third);
+    assertEquals(helperPod.getFailedBatches(), 0);
+  }
+
+  private static void assertFailed(CompletableFuture<Void> future) throws Exception {
+    try {
+      future.get(5, SECONDS);
+      fail("Command of the failed line must fail");
+    } catch (ExecutionException ex) {
+      assertTrue(ex.getCause() instanceof InfrastructureException);
+    }
+  }
+
+  private Pod newPod() {
+    return new PodBuilder().withNewMetadata().withName(POD_NAME).endMetadata().build();
+  }
+
+  private static Pod pod(String phase) {
+    return new PodBuilder()
+        .withNewMetadata()
+        .withName(POD_NAME)
+        .endMetadata()
+        .withNewStatus()
+        .withPhase(phase)
+        .endStatus()
+        .build();
+  }
+}
@@ -73,7 +73,14 @@ public class PVCSubPathHelperTest {
   public void setup() throws Exception {
     pvcSubPathHelper =
         new PVCSubPathHelper(
-            PVC_NAME, jobMemoryLimit, jobImage, k8sNamespaceFactory, securityContextProvisioner);
+            PVC_NAME,
+            jobMemoryLimit,
+            jobImage,
+            false,
+            20,
+            500,
+            k8sNamespaceFactory,
+            securityContextProvisioner);
     when(k8sNamespaceFactory.create(anyString())).thenReturn(k8sNamespace);
     when(k8sNamespace.pods()).thenReturn(osPods);
     when(pod.getStatus()).thenReturn(podStatus);
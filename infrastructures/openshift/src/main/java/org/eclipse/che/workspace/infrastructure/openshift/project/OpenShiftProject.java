@@ -22,6 +22,7 @@ import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesI
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesNamespace;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesPersistentVolumeClaims;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesPods;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesPodsInformer;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesServices;
 import org.eclipse.che.workspace.infrastructure.openshift.OpenShiftClientFactory;
 
@@ -36,19 +37,24 @@ public class OpenShiftProject extends KubernetesNamespace {
 
   @VisibleForTesting
   OpenShiftProject(
+      String name,
       String workspaceId,
       KubernetesPods pods,
       KubernetesServices services,
       OpenShiftRoutes routes,
       KubernetesPersistentVolumeClaims pvcs,
       KubernetesIngresses ingresses) {
-    super(workspaceId, pods, services, pvcs, ingresses);
+    super(name, workspaceId, pods, services, pvcs, ingresses);
     this.routes = routes;
   }
 
-  public OpenShiftProject(OpenShiftClientFactory clientFactory, String name, String workspaceId)
+  public OpenShiftProject(
+      OpenShiftClientFactory clientFactory,
+      KubernetesPodsInformer podsInformer,
+      String name,
+      String workspaceId)
       throws InfrastructureException {
-    super(clientFactory, name, workspaceId, false);
+    super(clientFactory, podsInformer, name, workspaceId, false);
     this.routes = new OpenShiftRoutes(name, workspaceId, clientFactory);
     doPrepare(name, clientFactory.create(workspaceId), clientFactory.createOC(workspaceId));
   }
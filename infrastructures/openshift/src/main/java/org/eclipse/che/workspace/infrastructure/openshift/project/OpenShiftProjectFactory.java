@@ -42,6 +42,6 @@ public class OpenShiftProjectFactory extends KubernetesNamespaceFactory {
 
   public OpenShiftProject create(String workspaceId) throws InfrastructureException {
     final String projectName = isNullOrEmpty(this.projectName) ? workspaceId : this.projectName;
-    return new OpenShiftProject(clientFactory, projectName, workspaceId);
+    return new OpenShiftProject(clientFactory, getPodsInformer(), projectName, workspaceId);
   }
 }
@@ -35,6 +35,7 @@ import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesIngresses;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesPersistentVolumeClaims;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesPods;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesPodsInformer;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesServices;
 import org.eclipse.che.workspace.infrastructure.openshift.OpenShiftClientFactory;
 import org.mockito.Mock;
@@ -55,6 +56,7 @@ public class OpenShiftProjectTest {
   public static final String WORKSPACE_ID = "workspace123";
 
   @Mock private KubernetesPods pods;
+  @Mock private KubernetesPodsInformer podsInformer;
   @Mock private KubernetesServices services;
   @Mock private OpenShiftRoutes routes;
   @Mock private KubernetesPersistentVolumeClaims pvcs;
@@ -81,7 +83,8 @@ public class OpenShiftProjectTest {
     when(namespaceOperation.withName(anyString())).thenReturn(serviceAccountResource);
     when(serviceAccountResource.get()).thenReturn(mock(ServiceAccount.class));
 
-    openShiftProject = new OpenShiftProject(WORKSPACE_ID, pods, services, routes, pvcs, ingresses);
+    openShiftProject =
+        new OpenShiftProject(PROJECT_NAME, WORKSPACE_ID, pods, services, routes, pvcs, ingresses);
   }
 
   @Test
@@ -90,7 +93,7 @@ public class OpenShiftProjectTest {
     prepareProject(PROJECT_NAME);
 
     // when
-    new OpenShiftProject(clientFactory, PROJECT_NAME, WORKSPACE_ID);
+    new OpenShiftProject(clientFactory, podsInformer, PROJECT_NAME, WORKSPACE_ID);
   }
 
   @Test
@@ -103,7 +106,7 @@ public class OpenShiftProjectTest {
 
     // when
     OpenShiftProject openShiftProject =
-        new OpenShiftProject(clientFactory, PROJECT_NAME, WORKSPACE_ID);
+        new OpenShiftProject(clientFactory, podsInformer, PROJECT_NAME, WORKSPACE_ID);
 
     // then
     verify(projectMetadata).withName(PROJECT_NAME);
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.permission.server;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.multiuser.api.permission.shared.event.PermissionsEvent;
+import org.eclipse.che.multiuser.api.permission.shared.model.Permissions;
+import org.jgroups.JChannel;
+import org.jgroups.Message;
+import org.jgroups.ReceiverAdapter;
+import org.slf4j.Logger;
+
+/**
+ * Propagates changes of permissions made on this che server to the other che servers of the
+ * cluster, so they invalidate the actions cached by {@link PermissionCheckerImpl}.
+ */
+@Singleton
+public class DistributedPermissionsCacheInvalidator implements EventSubscriber<PermissionsEvent> {
+
+  private static final Logger LOG = getLogger(DistributedPermissionsCacheInvalidator.class);
+
+  private static final String CHANNEL_NAME = "PermissionsCacheChannel";
+
+  private final EventService eventService;
+  private final JChannel channel;
+
+  @Inject
+  public DistributedPermissionsCacheInvalidator(
+      @Named("jgroups.config.file") String confFile,
+      EventService eventService,
+      PermissionCheckerImpl permissionChecker)
+      throws Exception {
+    this.eventService = eventService;
+    try {
+      channel = new JChannel(confFile);
+      channel.setDiscardOwnMessages(true);
+      channel.setReceiver(
+          new ReceiverAdapter() {
+            @Override
+            public void receive(Message msg) {
+              final String[] key = (String[]) msg.getObject();
+              permissionChecker.invalidate(key[0], key[1], key[2]);
+            }
+          });
+      channel.connect(CHANNEL_NAME);
+    } catch (Exception e) {
+      LOG.error("Unable to create channel for permissions cache invalidation.", e);
+      throw e;
+    }
+  }
+
+  @PostConstruct
+  void subscribe() {
+    eventService.subscribe(this, PermissionsEvent.class);
+  }
+
+  @PreDestroy
+  void unsubscribe() {
+    eventService.unsubscribe(this, PermissionsEvent.class);
+    channel.close();
+  }
+
+  @Override
+  public void onEvent(PermissionsEvent event) {
+    final Permissions permissions = event.getPermissions();
+    try {
+      channel.send(
+          new Message(
+              null,
+              new String[] {
+                permissions.getUserId(), permissions.getDomainId(), permissions.getInstanceId()
+              }));
+    } catch (Exception e) {
+      LOG.error(
+          "Unable to propagate change of permissions of user '{}' for instance '{}' of domain '{}'",
+          permissions.getUserId(),
+          permissions.getInstanceId(),
+          permissions.getDomainId(),
+          e);
+    }
+  }
+}
@@ -10,28 +10,157 @@
  */
 package org.eclipse.che.multiuser.api.permission.server;
 
+import static java.util.Collections.emptySet;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.multiuser.api.permission.shared.event.PermissionsEvent;
+import org.eclipse.che.multiuser.api.permission.shared.model.Permissions;
 
 /**
  * Implementation of {@link PermissionChecker} that use {@link PermissionsManager} for checking.
  *
+ * <p>Actions of users are cached for the configured time, so the permissions of a user for an
+ * instance are fetched once for all the checks of a request. Cached actions are invalidated when
+ * permissions are added, updated or removed with {@link PermissionsManager}, changes made on other
+ * che servers are propagated by {@link DistributedPermissionsCacheInvalidator}.
+ *
  * @author Sergii Leschenko
  */
+@Singleton
 public class PermissionCheckerImpl implements PermissionChecker {
+  private static final long CACHE_MAX_SIZE = 10_000;
+
   private final PermissionsManager permissionsManager;
+  private final EventService eventService;
+  private final Cache<Key, Set<String>> actionsCache;
+  private final AtomicLong invalidations;
+  private final EventSubscriber<PermissionsEvent> invalidator;
 
   @Inject
-  public PermissionCheckerImpl(PermissionsManager permissionsManager) {
+  public PermissionCheckerImpl(
+      PermissionsManager permissionsManager,
+      EventService eventService,
+      @Named("che.system.permissions_cache_ttl_sec") long cacheTtlSec) {
     this.permissionsManager = permissionsManager;
+    this.eventService = eventService;
+    this.actionsCache =
+        CacheBuilder.newBuilder()
+            .maximumSize(CACHE_MAX_SIZE)
+            .expireAfterWrite(cacheTtlSec, TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+    this.invalidations = new AtomicLong();
+    this.invalidator = event -> invalidate(event.getPermissions());
+  }
+
+  @PostConstruct
+  void subscribe() {
+    eventService.subscribe(invalidator, PermissionsEvent.class);
+  }
+
+  @PreDestroy
+  void unsubscribe() {
+    eventService.unsubscribe(invalidator, PermissionsEvent.class);
   }
 
   @Override
   public boolean hasPermission(String user, String domain, String instance, String action)
       throws ServerException, NotFoundException, ConflictException {
-    return permissionsManager.exists(user, domain, instance, action)
-        || permissionsManager.exists("*", domain, instance, action);
+    if (!permissionsManager.getDomain(domain).getAllowedActions().contains(action)) {
+      return false;
+    }
+    return getActions(user, domain, instance).contains(action)
+        || getActions("*", domain, instance).contains(action);
+  }
+
+  /** Returns statistics of the cache of users actions, such as hit and miss counts. */
+  public CacheStats getCacheStats() {
+    return actionsCache.stats();
+  }
+
+  private Set<String> getActions(String user, String domain, String instance)
+      throws ServerException, NotFoundException, ConflictException {
+    Key key = new Key(user, domain, instance);
+    Set<String> actions = actionsCache.getIfPresent(key);
+    if (actions != null) {
+      return actions;
+    }
+
+    long invalidationsBefore = invalidations.get();
+    try {
+      actions = ImmutableSet.copyOf(permissionsManager.get(user, domain, instance).getActions());
+    } catch (NotFoundException e) {
+      actions = emptySet();
+    }
+    // don't cache actions which might be fetched before concurrent modification of permissions
+    if (invalidations.get() == invalidationsBefore) {
+      actionsCache.put(key, actions);
+    }
+    return actions;
+  }
+
+  /**
+   * Invalidates cached actions of the given user for the given instance, it is used when
+   * permissions are changed on another che server.
+   */
+  public void invalidate(String user, String domain, String instance) {
+    invalidations.incrementAndGet();
+    actionsCache.invalidate(new Key(user, domain, instance));
+  }
+
+  private void invalidate(Permissions permissions) {
+    invalidate(permissions.getUserId(), permissions.getDomainId(), permissions.getInstanceId());
+  }
+
+  private static final class Key {
+    private final String user;
+    private final String domain;
+    private final String instance;
+
+    private Key(String user, String domain, String instance) {
+      this.user = user;
+      this.domain = domain;
+      this.instance = instance;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key other = (Key) obj;
+      return Objects.equals(user, other.user)
+          && Objects.equals(domain, other.domain)
+          && Objects.equals(instance, other.instance);
+    }
+
+    @Override
+    public int hashCode() {
+      int hash = 7;
+      hash = hash * 31 + Objects.hashCode(user);
+      hash = hash * 31 + Objects.hashCode(domain);
+      hash = hash * 31 + Objects.hashCode(instance);
+      return hash;
+    }
   }
 }
@@ -10,49 +10,158 @@
  */
 package org.eclipse.che.multiuser.api.permission.server;
 
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 
-import org.mockito.InjectMocks;
+import java.util.List;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.multiuser.api.permission.server.event.PermissionsUpdatedEvent;
+import org.eclipse.che.multiuser.api.permission.server.model.impl.AbstractPermissions;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 @Listeners(MockitoTestNGListener.class)
 public class PermissionCheckerImplTest {
   @Mock private PermissionsManager permissionsManager;
+  @Mock private AbstractPermissionsDomain<AbstractPermissions> domain;
 
-  @InjectMocks private PermissionCheckerImpl permissionChecker;
+  private EventService eventService;
+  private PermissionCheckerImpl permissionChecker;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    doReturn(domain).when(permissionsManager).getDomain("domain123");
+    when(domain.getAllowedActions()).thenReturn(singletonList("test"));
+    when(permissionsManager.get(anyString(), anyString(), anyString()))
+        .thenThrow(new NotFoundException("not found"));
+
+    eventService = new EventService();
+    permissionChecker = new PermissionCheckerImpl(permissionsManager, eventService, 60);
+    permissionChecker.subscribe();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    permissionChecker.unsubscribe();
+  }
 
   @Test
   public void shouldCheckExistingDirectUsersPermissions() throws Exception {
-    when(permissionsManager.exists(anyString(), anyString(), anyString(), anyString()))
-        .thenReturn(true);
+    doReturn(permissions("user123", singletonList("test")))
+        .when(permissionsManager)
+        .get("user123", "domain123", "instance123");
 
     boolean hasPermission =
         permissionChecker.hasPermission("user123", "domain123", "instance123", "test");
 
     assertEquals(hasPermission, true);
-    verify(permissionsManager).exists("user123", "domain123", "instance123", "test");
+    verify(permissionsManager).get("user123", "domain123", "instance123");
   }
 
   @Test
   public void shouldCheckExistingPublicPermissionsIfThereIsNoDirectUsersPermissions()
       throws Exception {
-    when(permissionsManager.exists(eq("user123"), anyString(), anyString(), anyString()))
-        .thenReturn(false);
-    when(permissionsManager.exists(eq("*"), anyString(), anyString(), anyString()))
-        .thenReturn(true);
+    doReturn(permissions("*", singletonList("test")))
+        .when(permissionsManager)
+        .get("*", "domain123", "instance123");
+
+    boolean hasPermission =
+        permissionChecker.hasPermission("user123", "domain123", "instance123", "test");
+
+    assertEquals(hasPermission, true);
+    verify(permissionsManager).get("user123", "domain123", "instance123");
+    verify(permissionsManager).get("*", "domain123", "instance123");
+  }
+
+  @Test
+  public void shouldNotCheckPermissionsIfActionIsNotAllowedByDomain() throws Exception {
+    boolean hasPermission =
+        permissionChecker.hasPermission("user123", "domain123", "instance123", "unknown");
+
+    assertEquals(hasPermission, false);
+    verify(permissionsManager, times(0)).get(anyString(), anyString(), anyString());
+  }
+
+  @Test
+  public void shouldReuseCachedPermissions() throws Exception {
+    doReturn(permissions("user123", singletonList("test")))
+        .when(permissionsManager)
+        .get("user123", "domain123", "instance123");
+
+    permissionChecker.hasPermission("user123", "domain123", "instance123", "test");
+    boolean hasPermission =
+        permissionChecker.hasPermission("user123", "domain123", "instance123", "test");
 
+    assertEquals(hasPermission, true);
+    verify(permissionsManager).get("user123", "domain123", "instance123");
+    assertEquals(permissionChecker.getCacheStats().hitCount(), 1);
+  }
+
+  @Test
+  public void shouldReuseCachedAbsenceOfPermissions() throws Exception {
+    permissionChecker.hasPermission("user123", "domain123", "instance123", "test");
+    boolean hasPermission =
+        permissionChecker.hasPermission("user123", "domain123", "instance123", "test");
+
+    assertEquals(hasPermission, false);
+    verify(permissionsManager).get("user123", "domain123", "instance123");
+    verify(permissionsManager).get("*", "domain123", "instance123");
+  }
+
+  @Test
+  public void shouldInvalidateCachedPermissionsWhenPermissionsAreChanged() throws Exception {
+    AbstractPermissions permissions = permissions("user123", emptyList());
+    doReturn(permissions).when(permissionsManager).get("user123", "domain123", "instance123");
+    permissionChecker.hasPermission("user123", "domain123", "instance123", "test");
+
+    doReturn(permissions("user123", singletonList("test")))
+        .when(permissionsManager)
+        .get("user123", "domain123", "instance123");
+    eventService.publish(new PermissionsUpdatedEvent("admin", permissions));
     boolean hasPermission =
         permissionChecker.hasPermission("user123", "domain123", "instance123", "test");
 
     assertEquals(hasPermission, true);
-    verify(permissionsManager).exists("user123", "domain123", "instance123", "test");
-    verify(permissionsManager).exists("*", "domain123", "instance123", "test");
+    verify(permissionsManager, times(2)).get(eq("user123"), anyString(), anyString());
+  }
+
+  @Test
+  public void shouldInvalidateCachedPermissionsChangedOnAnotherServer() throws Exception {
+    doReturn(permissions("user123", emptyList()))
+        .when(permissionsManager)
+        .get("user123", "domain123", "instance123");
+    permissionChecker.hasPermission("user123", "domain123", "instance123", "test");
+
+    doReturn(permissions("user123", singletonList("test")))
+        .when(permissionsManager)
+        .get("user123", "domain123", "instance123");
+    permissionChecker.invalidate("user123", "domain123", "instance123");
+    boolean hasPermission =
+        permissionChecker.hasPermission("user123", "domain123", "instance123", "test");
+
+    assertEquals(hasPermission, true);
+    verify(permissionsManager, times(2)).get(eq("user123"), anyString(), anyString());
+  }
+
+  private static AbstractPermissions permissions(String user, List<String> actions) {
+    AbstractPermissions permissions = mock(AbstractPermissions.class);
+    when(permissions.getUserId()).thenReturn(user);
+    when(permissions.getDomainId()).thenReturn("domain123");
+    when(permissions.getInstanceId()).thenReturn("instance123");
+    when(permissions.getActions()).thenReturn(actions);
+    return permissions;
   }
 }
@@ -33,6 +33,7 @@ import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.multiuser.organization.api.event.BeforeOrganizationRemovedEvent;
+import org.eclipse.che.multiuser.organization.api.event.OrganizationMemberRemovedEvent;
 import org.eclipse.che.multiuser.organization.api.event.OrganizationPersistedEvent;
 import org.eclipse.che.multiuser.organization.api.event.OrganizationRemovedEvent;
 import org.eclipse.che.multiuser.organization.api.event.OrganizationRenamedEvent;
@@ -151,20 +152,40 @@ public class OrganizationManager {
    * @throws NullPointerException when {@code organizationId} is null
    * @throws ServerException when any other error occurs during organization removing
    */
-  @Transactional(rollbackOn = {RuntimeException.class, ApiException.class})
   public void remove(String organizationId) throws ServerException {
     requireNonNull(organizationId, "Required non-null organization id");
+    final List<OrganizationRemovedEvent> removed = new ArrayList<>();
+    doRemove(organizationId, removed);
+    // events are published after the removal is committed, so the cached permission checks
+    // can't be populated again with the permissions of the removed members
+    for (OrganizationRemovedEvent event : removed) {
+      final String removedId = event.getOrganization().getId();
+      for (String member : event.getMembers()) {
+        eventService.publish(
+            new OrganizationMemberRemovedEvent(event.getInitiator(), member, removedId));
+      }
+      eventService.publish(asDto(event));
+    }
+  }
+
+  /**
+   * Removes organization with given id and its suborganizations, adds events about removed
+   * organizations to the given list, suborganizations go first.
+   */
+  @Transactional(rollbackOn = {RuntimeException.class, ApiException.class})
+  protected void doRemove(String organizationId, List<OrganizationRemovedEvent> removed)
+      throws ServerException {
     try {
       OrganizationImpl organization = organizationDao.getById(organizationId);
       eventService
           .publish(new BeforeAccountRemovedEvent(organization.getAccount()))
           .propagateException();
       eventService.publish(new BeforeOrganizationRemovedEvent(organization)).propagateException();
-      removeSuborganizations(organizationId);
+      removeSuborganizations(organizationId, removed);
       final List<String> members = removeMembers(organizationId);
       organizationDao.remove(organizationId);
       final String initiator = EnvironmentContext.getCurrent().getSubject().getUserName();
-      eventService.publish(asDto(new OrganizationRemovedEvent(initiator, organization, members)));
+      removed.add(new OrganizationRemovedEvent(initiator, organization, members));
     } catch (NotFoundException e) {
       // organization is already removed
     }
@@ -287,6 +308,8 @@ public class OrganizationManager {
   }
 
   protected void addFirstMember(Organization organization) throws ServerException {
+    // the organization id is generated right before, so there are no checked permissions
+    // for this organization which would need to be invalidated
     memberDao.store(
         new MemberImpl(
             EnvironmentContext.getCurrent().getSubject().getUserId(),
@@ -298,16 +321,18 @@ public class OrganizationManager {
    * Removes suborganizations of given parent organization page by page
    *
    * @param organizationId parent organization id
+   * @param removed list to add events about removed suborganizations to
    */
   @VisibleForTesting
-  void removeSuborganizations(String organizationId) throws ServerException {
+  void removeSuborganizations(String organizationId, List<OrganizationRemovedEvent> removed)
+      throws ServerException {
     Page<? extends Organization> suborganizationsPage;
     do {
       // skip count always equals to 0 because elements will be shifted after removing previous
       // items
       suborganizationsPage = organizationDao.getByParent(organizationId, 100, 0);
       for (Organization suborganization : suborganizationsPage.getItems()) {
-        remove(suborganization.getId());
+        doRemove(suborganization.getId(), removed);
       }
     } while (suborganizationsPage.hasNextPage());
   }
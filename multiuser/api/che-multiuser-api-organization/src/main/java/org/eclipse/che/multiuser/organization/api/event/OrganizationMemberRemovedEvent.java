@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.organization.api.event;
+
+import org.eclipse.che.multiuser.api.permission.server.event.PermissionsRemovedEvent;
+import org.eclipse.che.multiuser.organization.spi.impl.MemberImpl;
+
+/**
+ * Published for each member of a removed organization after the removal is committed, so the cached
+ * permission checks of the member are invalidated.
+ *
+ * <p>Members are notified about the removal by {@link OrganizationRemovedEvent}, so this event is
+ * not mapped to {@link MemberRemovedEvent}.
+ */
+public class OrganizationMemberRemovedEvent extends PermissionsRemovedEvent {
+
+  public OrganizationMemberRemovedEvent(String initiator, String userId, String organizationId) {
+    super(initiator, new MemberImpl(userId, organizationId, null));
+  }
+}
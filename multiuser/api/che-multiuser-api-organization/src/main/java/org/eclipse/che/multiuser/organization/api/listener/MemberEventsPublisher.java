@@ -26,6 +26,7 @@ import org.eclipse.che.multiuser.api.permission.shared.model.Permissions;
 import org.eclipse.che.multiuser.organization.api.OrganizationManager;
 import org.eclipse.che.multiuser.organization.api.event.MemberAddedEvent;
 import org.eclipse.che.multiuser.organization.api.event.MemberRemovedEvent;
+import org.eclipse.che.multiuser.organization.api.event.OrganizationMemberRemovedEvent;
 import org.eclipse.che.multiuser.organization.api.permissions.OrganizationDomain;
 import org.eclipse.che.multiuser.organization.shared.model.Organization;
 
@@ -56,6 +57,10 @@ public class MemberEventsPublisher implements EventSubscriber<PermissionsEvent>
 
   @Override
   public void onEvent(PermissionsEvent event) {
+    if (event instanceof OrganizationMemberRemovedEvent) {
+      // members of removed organization are notified by organization removed event
+      return;
+    }
     final Permissions permissions = event.getPermissions();
     if (OrganizationDomain.DOMAIN_ID.equals(permissions.getDomainId())) {
       try {
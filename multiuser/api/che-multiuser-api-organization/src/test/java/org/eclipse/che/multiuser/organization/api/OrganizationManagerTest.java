@@ -29,6 +29,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import org.eclipse.che.account.event.BeforeAccountRemovedEvent;
@@ -40,10 +41,11 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.subject.SubjectImpl;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.multiuser.organization.api.event.BeforeOrganizationRemovedEvent;
+import org.eclipse.che.multiuser.organization.api.event.OrganizationMemberRemovedEvent;
 import org.eclipse.che.multiuser.organization.api.event.OrganizationPersistedEvent;
+import org.eclipse.che.multiuser.organization.api.event.OrganizationRemovedEvent;
 import org.eclipse.che.multiuser.organization.api.permissions.OrganizationDomain;
 import org.eclipse.che.multiuser.organization.shared.dto.OrganizationDto;
-import org.eclipse.che.multiuser.organization.shared.model.Member;
 import org.eclipse.che.multiuser.organization.shared.model.Organization;
 import org.eclipse.che.multiuser.organization.spi.MemberDao;
 import org.eclipse.che.multiuser.organization.spi.OrganizationDao;
@@ -219,8 +221,8 @@ public class OrganizationManagerTest {
 
   @Test
   public void shouldRemoveOrganization() throws Exception {
-    doNothing().when(manager).removeSuborganizations(anyString());
-    final List<Member> members = Collections.singletonList(mock(Member.class));
+    doNothing().when(manager).removeSuborganizations(anyString(), any());
+    final List<String> members = Collections.singletonList("user123");
     doReturn(members).when(manager).removeMembers(anyString());
     OrganizationImpl toRemove = new OrganizationImpl("org123", "toRemove", null);
     when(organizationDao.getById(anyString())).thenReturn(toRemove);
@@ -236,8 +238,9 @@ public class OrganizationManagerTest {
 
     verify(organizationDao).remove(toRemove.getId());
     verify(manager).removeMembers(eq(toRemove.getId()));
-    verify(manager).removeSuborganizations(eq(toRemove.getId()));
-    verify(eventService, times(3)).publish(anyObject());
+    verify(manager).removeSuborganizations(eq(toRemove.getId()), any());
+    verify(eventService, times(4)).publish(anyObject());
+    verify(eventService).publish(any(OrganizationMemberRemovedEvent.class));
     verify(beforeAccountRemovedEvent).propagateException();
     verify(beforeOrganizationRemovedEvent).propagateException();
   }
@@ -260,7 +263,7 @@ public class OrganizationManagerTest {
 
   @Test
   public void shouldRemoveSuborganizationsByParentOrganizationId() throws Exception {
-    doNothing().when(manager).remove(any());
+    doNothing().when(manager).doRemove(any(), any());
     OrganizationImpl subOrg1 = new OrganizationImpl("subOrg1", "subOrg1", "org1");
     OrganizationImpl subOrg2 = new OrganizationImpl("subOrg2", "subOrg2", "org1");
     doReturn(new Page<>(singletonList(subOrg1), 0, 1, 2))
@@ -268,11 +271,12 @@ public class OrganizationManagerTest {
         .when(organizationDao)
         .getByParent(anyString(), anyInt(), anyLong());
 
-    manager.removeSuborganizations("org1");
+    final List<OrganizationRemovedEvent> removed = new ArrayList<>();
+    manager.removeSuborganizations("org1", removed);
 
     verify(organizationDao, times(2)).getByParent("org1", 100, 0);
-    verify(manager).remove("subOrg1");
-    verify(manager).remove("subOrg2");
+    verify(manager).doRemove("subOrg1", removed);
+    verify(manager).doRemove("subOrg2", removed);
   }
 
   @Test
@@ -37,6 +37,7 @@ import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.eclipse.che.commons.subject.Subject;
 import org.eclipse.che.multiuser.api.permission.server.event.PermissionsCreatedEvent;
 import org.eclipse.che.multiuser.api.permission.server.event.PermissionsRemovedEvent;
+import org.eclipse.che.multiuser.api.permission.server.event.PermissionsUpdatedEvent;
 import org.eclipse.che.multiuser.api.permission.server.model.impl.AbstractPermissions;
 import org.eclipse.che.multiuser.api.permission.server.spi.PermissionsDao;
 import org.eclipse.che.multiuser.api.permission.shared.model.Permissions;
@@ -232,10 +233,12 @@ public class PermissionsManager {
         permissionsDomain.newInstance(userId, instanceId, permissions.getActions());
     checkActionsSupporting(permissionsDomain, permission.getActions());
     final Optional<T> existing = dao.store(permission);
+    Subject subject = EnvironmentContext.getCurrent().getSubject();
+    final String initiator = subject.isAnonymous() ? null : subject.getUserName();
     if (!existing.isPresent()) {
-      Subject subject = EnvironmentContext.getCurrent().getSubject();
-      final String initiator = subject.isAnonymous() ? null : subject.getUserName();
       eventService.publish(new PermissionsCreatedEvent(initiator, permissions));
+    } else {
+      eventService.publish(new PermissionsUpdatedEvent(initiator, permissions));
     }
   }
 
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.resource.api.usage.tracker;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import org.eclipse.che.account.api.AccountManager;
+import org.eclipse.che.account.shared.model.Account;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Pages;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.workspace.server.WorkspaceManager;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.lang.concurrent.Unlocker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps track of active (not stopped) workspaces of accounts and RAM used by them.
+ *
+ * <p>Usage of an account is calculated from its workspaces on the first request and then is updated
+ * on {@link WorkspaceStatusEvent workspace status events}: RAM of environment is reserved when
+ * workspace is starting, it is replaced with RAM of runtime when workspace is running and it is
+ * released when workspace is stopped. So the usage is read without fetching all the workspaces of
+ * account. To fix possible divergence, usage of account is calculated from its workspaces again
+ * when the reconciliation period is passed.
+ *
+ * <p>The tracked usage is updated only by the events of this che server, so it is not trusted by
+ * the checks of resources availability performed on workspace start. Such checks are performed in
+ * the scope of {@link #recountUsages()}, where usage of each account is calculated from its
+ * workspaces again.
+ */
+@Singleton
+public class ActiveWorkspacesLedger implements EventSubscriber<WorkspaceStatusEvent> {
+  private static final Logger LOG = LoggerFactory.getLogger(ActiveWorkspacesLedger.class);
+
+  private final Provider<WorkspaceManager> workspaceManagerProvider;
+  private final AccountManager accountManager;
+  private final EnvironmentRamCalculator environmentRamCalculator;
+  private final EventService eventService;
+  private final long reconcilePeriodMs;
+  private final ConcurrentMap<String, AccountUsage> usages;
+  private final ConcurrentMap<String, String> workspacesAccounts;
+  private final ThreadLocal<Set<String>> recountedAccounts;
+
+  @Inject
+  public ActiveWorkspacesLedger(
+      Provider<WorkspaceManager> workspaceManagerProvider,
+      AccountManager accountManager,
+      EnvironmentRamCalculator environmentRamCalculator,
+      EventService eventService,
+      @Named("che.limits.workspace.usage_reconcile_period_sec") long reconcilePeriodSec) {
+    this.workspaceManagerProvider = workspaceManagerProvider;
+    this.accountManager = accountManager;
+    this.environmentRamCalculator = environmentRamCalculator;
+    this.eventService = eventService;
+    this.reconcilePeriodMs = SECONDS.toMillis(reconcilePeriodSec);
+    this.usages = new ConcurrentHashMap<>();
+    this.workspacesAccounts = new ConcurrentHashMap<>();
+    this.recountedAccounts = new ThreadLocal<>();
+  }
+
+  @PostConstruct
+  void subscribe() {
+    eventService.subscribe(this, WorkspaceStatusEvent.class);
+  }
+
+  @PreDestroy
+  void unsubscribe() {
+    eventService.unsubscribe(this, WorkspaceStatusEvent.class);
+  }
+
+  /**
+   * Returns RAM in megabytes used by active workspaces of account with given id.
+   *
+   * @throws NotFoundException when account with given id was not found
+   * @throws ServerException when any other error occurs
+   */
+  public long getUsedRam(String accountId) throws NotFoundException, ServerException {
+    AccountUsage usage = usages.computeIfAbsent(accountId, id -> new AccountUsage());
+    synchronized (usage) {
+      reconcileIfNeeded(accountId, usage);
+      return usage.ram;
+    }
+  }
+
+  /**
+   * Returns count of active workspaces of account with given id.
+   *
+   * @throws NotFoundException when account with given id was not found
+   * @throws ServerException when any other error occurs
+   */
+  public long getActiveWorkspacesCount(String accountId) throws NotFoundException, ServerException {
+    AccountUsage usage = usages.computeIfAbsent(accountId, id -> new AccountUsage());
+    synchronized (usage) {
+      reconcileIfNeeded(accountId, usage);
+      return usage.workspacesRam.size();
+    }
+  }
+
+  /**
+   * Makes usage of accounts read by the current thread be calculated from their workspaces, once
+   * per account, until the returned unlocker is called.
+   *
+   * <p>It must be used by the checks of resources availability which are performed under {@link
+   * org.eclipse.che.multiuser.resource.api.usage.ResourcesLocks resources lock}. The lock does not
+   * guard workspaces started on other che servers, so only the usage calculated under the lock can
+   * be trusted.
+   *
+   * <pre>
+   * try (Unlocker u = resourcesLocks.lock(accountId);
+   *     Unlocker r = activeWorkspacesLedger.recountUsages()) {
+   *    // check resources availability and start workspace here
+   * }
+   * </pre>
+   */
+  public Unlocker recountUsages() {
+    if (recountedAccounts.get() != null) {
+      // usages are already recounted by the enclosing scope
+      return () -> {};
+    }
+    recountedAccounts.set(new HashSet<>());
+    return recountedAccounts::remove;
+  }
+
+  @Override
+  public void onEvent(WorkspaceStatusEvent event) {
+    final WorkspaceStatus status = event.getStatus();
+    if (status != STARTING && status != RUNNING && status != STOPPED) {
+      return;
+    }
+    String workspaceId = event.getWorkspaceId();
+    String accountId = workspacesAccounts.get(workspaceId);
+    try {
+      WorkspaceImpl workspace = null;
+      if (status != STOPPED || accountId == null) {
+        workspace = workspaceManagerProvider.get().getWorkspace(workspaceId);
+        accountId = workspace.getAccount().getId();
+      }
+      AccountUsage usage = usages.get(accountId);
+      if (usage == null) {
+        // usage of the account is not requested yet, it will be calculated on request
+        return;
+      }
+      synchronized (usage) {
+        if (!usage.isCalculated()) {
+          return;
+        }
+        if (status == STOPPED) {
+          usage.remove(workspaceId);
+          workspacesAccounts.remove(workspaceId);
+        } else {
+          usage.put(workspaceId, calculateRam(workspace));
+          workspacesAccounts.put(workspaceId, accountId);
+        }
+      }
+    } catch (NotFoundException e) {
+      // workspace which is not tracked is already removed, e.g. stopped temporary workspace
+      LOG.debug("Workspace '{}' is not found on status change: {}", workspaceId, e.getMessage());
+    } catch (ServerException | RuntimeException e) {
+      LOG.warn(
+          "Failed to update usage of workspace '{}' on status change: {}",
+          workspaceId,
+          e.getMessage());
+      if (accountId != null) {
+        usages.remove(accountId);
+      } else {
+        usages.clear();
+      }
+    }
+  }
+
+  private void reconcileIfNeeded(String accountId, AccountUsage usage)
+      throws NotFoundException, ServerException {
+    final Set<String> recounted = recountedAccounts.get();
+    if (isUpToDate(accountId, usage, recounted)) {
+      return;
+    }
+    final Account account = accountManager.getById(accountId);
+    Map<String, Long> workspacesRam = new HashMap<>();
+    for (WorkspaceImpl workspace :
+        Pages.iterate(
+            (maxItems, skipCount) ->
+                workspaceManagerProvider
+                    .get()
+                    .getByNamespace(account.getName(), true, maxItems, skipCount))) {
+      if (STOPPED != workspace.getStatus()) {
+        workspacesRam.put(workspace.getId(), calculateRam(workspace));
+      }
+    }
+    usage.workspacesRam.keySet().forEach(workspacesAccounts::remove);
+    usage.reset(workspacesRam);
+    workspacesRam.keySet().forEach(workspaceId -> workspacesAccounts.put(workspaceId, accountId));
+    if (recounted != null) {
+      recounted.add(accountId);
+    }
+  }
+
+  private boolean isUpToDate(
+      String accountId, AccountUsage usage, @Nullable Set<String> recountedAccounts) {
+    if (!usage.isCalculated()) {
+      return false;
+    }
+    if (recountedAccounts != null) {
+      return recountedAccounts.contains(accountId);
+    }
+    return System.currentTimeMillis() - usage.calculationTime < reconcilePeriodMs;
+  }
+
+  private long calculateRam(WorkspaceImpl workspace) throws ServerException {
+    if (STARTING == workspace.getStatus()) {
+      // starting workspace may not have all machine in runtime
+      // it is need to calculate ram from environment config
+      final EnvironmentImpl startingEnvironment =
+          workspace.getConfig().getEnvironments().get(workspace.getRuntime().getActiveEnv());
+      return environmentRamCalculator.calculate(startingEnvironment);
+    } else {
+      return environmentRamCalculator.calculate(workspace.getRuntime());
+    }
+  }
+
+  /** Active workspaces of an account with RAM used by them. Guarded by the instance lock. */
+  private static class AccountUsage {
+    private final Map<String, Long> workspacesRam = new HashMap<>();
+    private long ram;
+    private long calculationTime = -1;
+
+    private boolean isCalculated() {
+      return calculationTime != -1;
+    }
+
+    private void reset(Map<String, Long> workspacesRam) {
+      this.workspacesRam.clear();
+      this.ram = 0;
+      workspacesRam.forEach(this::put);
+      this.calculationTime = System.currentTimeMillis();
+    }
+
+    private void put(String workspaceId, long workspaceRam) {
+      Long previous = workspacesRam.put(workspaceId, workspaceRam);
+      ram += workspaceRam - (previous == null ? 0 : previous);
+    }
+
+    private void remove(String workspaceId) {
+      Long previous = workspacesRam.remove(workspaceId);
+      if (previous != null) {
+        ram -= previous;
+      }
+    }
+  }
+}
@@ -45,6 +45,7 @@ import org.eclipse.che.multiuser.resource.api.type.RuntimeResourceType;
 import org.eclipse.che.multiuser.resource.api.type.WorkspaceResourceType;
 import org.eclipse.che.multiuser.resource.api.usage.ResourceManager;
 import org.eclipse.che.multiuser.resource.api.usage.ResourcesLocks;
+import org.eclipse.che.multiuser.resource.api.usage.tracker.ActiveWorkspacesLedger;
 import org.eclipse.che.multiuser.resource.api.usage.tracker.EnvironmentRamCalculator;
 import org.eclipse.che.multiuser.resource.model.Resource;
 import org.eclipse.che.multiuser.resource.spi.impl.ResourceImpl;
@@ -64,6 +65,7 @@ public class LimitsCheckingWorkspaceManager extends WorkspaceManager {
   private final EnvironmentRamCalculator environmentRamCalculator;
   private final ResourceManager resourceManager;
   private final ResourcesLocks resourcesLocks;
+  private final ActiveWorkspacesLedger activeWorkspacesLedger;
   private final AccountManager accountManager;
 
   private final long maxRamPerEnvMB;
@@ -79,12 +81,14 @@ public class LimitsCheckingWorkspaceManager extends WorkspaceManager {
       @Named("che.limits.workspace.env.ram") String maxRamPerEnv,
       EnvironmentRamCalculator environmentRamCalculator,
       ResourceManager resourceManager,
-      ResourcesLocks resourcesLocks) {
+      ResourcesLocks resourcesLocks,
+      ActiveWorkspacesLedger activeWorkspacesLedger) {
     super(workspaceDao, runtimes, eventService, accountManager, workspaceValidator);
     this.environmentRamCalculator = environmentRamCalculator;
     this.maxRamPerEnvMB = "-1".equals(maxRamPerEnv) ? -1 : Size.parseSizeToMegabytes(maxRamPerEnv);
     this.resourceManager = resourceManager;
     this.resourcesLocks = resourcesLocks;
+    this.activeWorkspacesLedger = activeWorkspacesLedger;
     this.accountManager = accountManager;
   }
 
@@ -110,7 +114,9 @@ public class LimitsCheckingWorkspaceManager extends WorkspaceManager {
     String accountId = workspace.getAccount().getId();
 
     try (@SuppressWarnings("unused")
-        Unlocker u = resourcesLocks.lock(accountId)) {
+            Unlocker u = resourcesLocks.lock(accountId);
+        @SuppressWarnings("unused")
+            Unlocker r = activeWorkspacesLedger.recountUsages()) {
       checkRuntimeResourceAvailability(accountId);
       checkRamResourcesAvailability(
           accountId, workspace.getNamespace(), workspace.getConfig(), envName);
@@ -127,7 +133,9 @@ public class LimitsCheckingWorkspaceManager extends WorkspaceManager {
 
     String accountId = accountManager.getByName(namespace).getId();
     try (@SuppressWarnings("unused")
-        Unlocker u = resourcesLocks.lock(accountId)) {
+            Unlocker u = resourcesLocks.lock(accountId);
+        @SuppressWarnings("unused")
+            Unlocker r = activeWorkspacesLedger.recountUsages()) {
       checkWorkspaceResourceAvailability(accountId);
       checkRuntimeResourceAvailability(accountId);
       checkRamResourcesAvailability(accountId, namespace, config, null);
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.resource.api.usage.tracker;
+
+import static java.util.Arrays.asList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableBiMap;
+import java.util.HashMap;
+import javax.inject.Provider;
+import org.eclipse.che.account.api.AccountManager;
+import org.eclipse.che.account.shared.model.Account;
+import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.model.workspace.Runtime;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.model.workspace.config.Environment;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.WorkspaceManager;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.RuntimeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.eclipse.che.commons.lang.concurrent.Unlocker;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link ActiveWorkspacesLedger} */
+@Listeners(MockitoTestNGListener.class)
+public class ActiveWorkspacesLedgerTest {
+
+  private static final String ACCOUNT_ID = "account_119";
+  private static final String ACCOUNT_NAME = "testAccount";
+  private static final String ACTIVE_ENV_NAME = "default";
+
+  @Mock private Account account;
+  @Mock private Provider<WorkspaceManager> workspaceManagerProvider;
+  @Mock private WorkspaceManager workspaceManager;
+  @Mock private AccountManager accountManager;
+  @Mock private EnvironmentRamCalculator envRamCalculator;
+  @Mock private EventService eventService;
+
+  private ActiveWorkspacesLedger ledger;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    when(workspaceManagerProvider.get()).thenReturn(workspaceManager);
+    when(accountManager.getById(ACCOUNT_ID)).thenReturn(account);
+    when(account.getName()).thenReturn(ACCOUNT_NAME);
+
+    ledger =
+        new ActiveWorkspacesLedger(
+            workspaceManagerProvider, accountManager, envRamCalculator, eventService, 600);
+  }
+
+  @Test(
+      expectedExceptions = NotFoundException.class,
+      expectedExceptionsMessageRegExp = "Account was not found")
+  public void shouldThrowNotFoundExceptionWhenAccountDoesNotExist() throws Exception {
+    when(accountManager.getById(any())).thenThrow(new NotFoundException("Account was not found"));
+
+    ledger.getUsedRam(ACCOUNT_ID);
+  }
+
+  @Test
+  public void shouldCalculateUsageOfActiveWorkspacesOfAccount() throws Exception {
+    WorkspaceImpl stopped = createWorkspace("ws1", WorkspaceStatus.STOPPED);
+    WorkspaceImpl running = createWorkspace("ws2", WorkspaceStatus.RUNNING);
+    WorkspaceImpl starting = createWorkspace("ws3", WorkspaceStatus.STARTING);
+    mockWorkspaces(stopped, running, starting);
+    when(envRamCalculator.calculate(running.getRuntime())).thenReturn(2500L);
+    when(envRamCalculator.calculate(any(Environment.class))).thenReturn(1000L);
+
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 3500L);
+    assertEquals(ledger.getActiveWorkspacesCount(ACCOUNT_ID), 2);
+    verify(workspaceManager).getByNamespace(anyString(), anyBoolean(), anyInt(), anyLong());
+  }
+
+  @Test
+  public void shouldUpdateUsageOnWorkspaceStatusChangesWithoutFetchingAllWorkspaces()
+      throws Exception {
+    mockWorkspaces();
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 0L);
+
+    WorkspaceImpl workspace = createWorkspace("ws1", WorkspaceStatus.STARTING);
+    when(workspaceManager.getWorkspace("ws1")).thenReturn(workspace);
+    when(envRamCalculator.calculate(any(Environment.class))).thenReturn(2000L);
+    ledger.onEvent(statusEvent("ws1", WorkspaceStatus.STARTING));
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 2000L);
+    assertEquals(ledger.getActiveWorkspacesCount(ACCOUNT_ID), 1);
+
+    workspace.setStatus(WorkspaceStatus.RUNNING);
+    when(envRamCalculator.calculate(any(Runtime.class))).thenReturn(1500L);
+    ledger.onEvent(statusEvent("ws1", WorkspaceStatus.RUNNING));
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 1500L);
+
+    ledger.onEvent(statusEvent("ws1", WorkspaceStatus.STOPPED));
+    assertEquals(ledger.getUsedRam(ACCOUNT_ID), 0L);
+    assertEquals(ledger.getActiveWorkspacesCount(ACCOUNT_ID), 0);
+
+    verify(workspaceManager).getByNamespace(anyString(), anyBoolean(), anyInt(), anyLong());
+  }
+
+  @Test
+  public void shouldRecalculateUsageWhenReconciliationPeriodIsPassed() throws Exception {
+    ledger =
+        new ActiveWorkspacesLedger(
+            workspaceManagerProvider, accountManager, envRamCalculator, eventService, 0);
+    mockWorkspaces();
+
+    ledger.getUsedRam(ACCOUNT_ID);
+    ledger.getUsedRam(ACCOUNT_ID);
+
+    verify(workspaceManager, times(2))
+        .getByNamespace(anyString(), anyBoolean(), anyInt(), anyLong());
+  }
+
+  @Test
+  public void shouldRecalculateUsageWhenItCanNotBeUpdatedOnStatusChange() throws Exception {
+    mockWorkspaces();
+    ledger.getUsedRam(ACCOUNT_ID);
+    when(workspaceManager.getWorkspace("ws1"))
+        .thenReturn(createWorkspace("ws1", WorkspaceStatus.STARTING));
+    when(envRamCalculator.calculate(any(Environment.class)))
+        .thenThrow(new ServerException("error"));
+
+    ledger.onEvent(statusEvent("ws1", WorkspaceStatus.STARTING));
+    ledger.getUsedRam(ACCOUNT_ID);
+
+    verify(workspaceManager, times(2))
+        .getByNamespace(anyString(), anyBoolean(), anyInt(), anyLong());
+  }
+
+  @Test
+  public void shouldRecalculateUsageOnceInRecountScope() throws Exception {
+    mockWorkspaces();
+    ledger.getUsedRam(ACCOUNT_ID);
+
+    WorkspaceImpl startedByOtherServer = createWorkspace("ws1", WorkspaceStatus.RUNNING);
+    mockWorkspaces(startedByOtherServer);
+    when(envRamCalculator.calculate(startedByOtherServer.getRuntime())).thenReturn(1000L);
+    try (Unlocker u = ledger.recountUsages()) {
+      assertEquals(ledger.getUsedRam(ACCOUNT_ID), 1000L);
+      assertEquals(ledger.getActiveWorkspacesCount(ACCOUNT_ID), 1);
+    }
+    ledger.getUsedRam(ACCOUNT_ID);
+
+    verify(workspaceManager, times(2))
+        .getByNamespace(anyString(), anyBoolean(), anyInt(), anyLong());
+  }
+
+  @Test
+  public void shouldNotRecalculateUsageAgainInNestedRecountScope() throws Exception {
+    mockWorkspaces();
+
+    try (Unlocker u = ledger.recountUsages()) {
+      ledger.getUsedRam(ACCOUNT_ID);
+      try (Unlocker nested = ledger.recountUsages()) {
+        ledger.getUsedRam(ACCOUNT_ID);
+      }
+      ledger.getUsedRam(ACCOUNT_ID);
+    }
+
+    verify(workspaceManager).getByNamespace(anyString(), anyBoolean(), anyInt(), anyLong());
+  }
+
+  private void mockWorkspaces(WorkspaceImpl... workspaces) throws ServerException {
+    when(workspaceManager.getByNamespace(anyString(), anyBoolean(), anyInt(), anyLong()))
+        .thenReturn(
+            new Page<>(asList(workspaces), 0, Math.max(1, workspaces.length), workspaces.length));
+  }
+
+  private static WorkspaceStatusEvent statusEvent(String workspaceId, WorkspaceStatus status) {
+    return DtoFactory.newDto(WorkspaceStatusEvent.class)
+        .withWorkspaceId(workspaceId)
+        .withStatus(status);
+  }
+
+  private static WorkspaceImpl createWorkspace(String id, WorkspaceStatus status) {
+    return WorkspaceImpl.builder()
+        .setId(id)
+        .setAccount(new AccountImpl(ACCOUNT_ID, ACCOUNT_NAME, "test"))
+        .setConfig(
+            WorkspaceConfigImpl.builder()
+                .setEnvironments(
+                    ImmutableBiMap.of(ACTIVE_ENV_NAME, new EnvironmentImpl(null, new HashMap<>())))
+                .build())
+        .setRuntime(new RuntimeImpl(ACTIVE_ENV_NAME, new HashMap<>(), null))
+        .setStatus(status)
+        .build();
+  }
+}
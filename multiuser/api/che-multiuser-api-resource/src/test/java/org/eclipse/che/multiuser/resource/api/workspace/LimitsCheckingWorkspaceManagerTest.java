@@ -272,6 +272,7 @@ public class LimitsCheckingWorkspaceManagerTest {
               maxRamPerEnv,
               environmentRamCalculator,
               resourceManager,
+              null,
               null));
     }
 
@@ -49,16 +49,19 @@ public class KeycloakAuthenticationFilter extends AbstractKeycloakFilter {
   private long allowedClockSkewSec;
   private RequestTokenExtractor tokenExtractor;
   private JwkProvider jwkProvider;
+  private KeycloakTokenCache tokenCache;
 
   @Inject
   public KeycloakAuthenticationFilter(
       KeycloakSettings keycloakSettings,
       @Named(KeycloakConstants.ALLOWED_CLOCK_SKEW_SEC) long allowedClockSkewSec,
-      RequestTokenExtractor tokenExtractor)
+      RequestTokenExtractor tokenExtractor,
+      KeycloakTokenCache tokenCache)
       throws MalformedURLException {
     this.jwksUrl = keycloakSettings.get().get(KeycloakConstants.JWKS_ENDPOINT_SETTING);
     this.allowedClockSkewSec = allowedClockSkewSec;
     this.tokenExtractor = tokenExtractor;
+    this.tokenCache = tokenCache;
     if (jwksUrl != null) {
       this.jwkProvider = new GuavaCachedJwkProvider(new UrlJwkProvider(new URL(jwksUrl)));
     }
@@ -70,6 +73,13 @@ public class KeycloakAuthenticationFilter extends AbstractKeycloakFilter {
     HttpServletRequest request = (HttpServletRequest) req;
 
     final String token = tokenExtractor.getToken(request);
+    Jws<Claims> jwt = token == null ? null : tokenCache.getJwt(token);
+    if (jwt != null) {
+      // token is already verified, so it is neither missing nor a machine token
+      request.setAttribute("token", jwt);
+      chain.doFilter(req, res);
+      return;
+    }
     if (shouldSkipAuthentication(request, token)) {
       chain.doFilter(req, res);
       return;
@@ -82,7 +92,7 @@ public class KeycloakAuthenticationFilter extends AbstractKeycloakFilter {
       return;
     }
 
-    Jws<Claims> jwt;
+    final long verificationStart = System.nanoTime();
     try {
       jwt =
           Jwts.parser()
@@ -109,7 +119,10 @@ public class KeycloakAuthenticationFilter extends AbstractKeycloakFilter {
       LOG.error("Failed verifying the JWT token", e);
       send403(res);
       return;
+    } finally {
+      tokenCache.recordVerification(System.nanoTime() - verificationStart);
     }
+    tokenCache.putJwt(token, jwt);
     request.setAttribute("token", jwt);
     chain.doFilter(req, res);
   }
@@ -22,7 +22,6 @@ import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
-import javax.servlet.http.HttpSession;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.user.User;
@@ -34,7 +33,10 @@ import org.eclipse.che.multiuser.api.permission.server.AuthorizedSubject;
 import org.eclipse.che.multiuser.api.permission.server.PermissionChecker;
 
 /**
- * Sets subject attribute into session based on keycloak authentication data.
+ * Sets subject into environment context based on keycloak authentication data.
+ *
+ * <p>Subjects are cached by {@link KeycloakTokenCache} for the tokens identifying them, so the user
+ * is fetched from the database on the first request with a new token only.
  *
  * @author Max Shaposhnik (mshaposhnik@redhat.com)
  */
@@ -44,15 +46,18 @@ public class KeycloakEnvironmentInitalizationFilter extends AbstractKeycloakFilt
   private final KeycloakUserManager userManager;
   private final RequestTokenExtractor tokenExtractor;
   private final PermissionChecker permissionChecker;
+  private final KeycloakTokenCache tokenCache;
 
   @Inject
   public KeycloakEnvironmentInitalizationFilter(
       KeycloakUserManager userManager,
       RequestTokenExtractor tokenExtractor,
-      PermissionChecker permissionChecker) {
+      PermissionChecker permissionChecker,
+      KeycloakTokenCache tokenCache) {
     this.userManager = userManager;
     this.tokenExtractor = tokenExtractor;
     this.permissionChecker = permissionChecker;
+    this.tokenCache = tokenCache;
   }
 
   @Override
@@ -61,14 +66,13 @@ public class KeycloakEnvironmentInitalizationFilter extends AbstractKeycloakFilt
 
     final HttpServletRequest httpRequest = (HttpServletRequest) request;
     final String token = tokenExtractor.getToken(httpRequest);
-    if (shouldSkipAuthentication(httpRequest, token)) {
+    Subject subject = token == null ? null : tokenCache.getSubject(token);
+    if (subject == null && shouldSkipAuthentication(httpRequest, token)) {
       filterChain.doFilter(request, response);
       return;
     }
 
-    final HttpSession session = httpRequest.getSession();
-    Subject subject = (Subject) session.getAttribute("che_subject");
-    if (subject == null || !subject.getToken().equals(token)) {
+    if (subject == null) {
       Jwt jwtToken = (Jwt) httpRequest.getAttribute("token");
       if (jwtToken == null) {
         throw new ServletException("Cannot detect or instantiate user.");
@@ -84,7 +88,7 @@ public class KeycloakEnvironmentInitalizationFilter extends AbstractKeycloakFilt
         subject =
             new AuthorizedSubject(
                 new SubjectImpl(user.getName(), user.getId(), token, false), permissionChecker);
-        session.setAttribute("che_subject", subject);
+        tokenCache.putSubject(token, claims, subject);
       } catch (ServerException | ConflictException e) {
         throw new ServletException(
             "Unable to identify user " + claims.getSubject() + " in Che database", e);
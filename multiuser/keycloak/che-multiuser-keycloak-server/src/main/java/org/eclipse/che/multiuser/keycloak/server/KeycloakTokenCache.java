@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.keycloak.server;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.Hashing;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.subject.Subject;
+import org.eclipse.che.multiuser.keycloak.shared.KeycloakConstants;
+
+/**
+ * Caches verified tokens and the subjects identified by them, so the token signature is verified
+ * and the user is fetched from the database once per token instead of once per request.
+ *
+ * <p>Entries are keyed by the hash of the token and live until the token expiration time but not
+ * longer than the configured time. The cache doesn't depend on the HTTP session, so the requests
+ * with the same token may be served by any che server.
+ */
+@Singleton
+public class KeycloakTokenCache {
+  private static final long CACHE_MAX_SIZE = 10_000;
+
+  private final Cache<String, Entry> cache;
+  private final long ttlMs;
+  private final AtomicLong verificationsCount;
+  private final AtomicLong verificationsTimeNanos;
+
+  @Inject
+  public KeycloakTokenCache(@Named(KeycloakConstants.TOKEN_CACHE_TTL_SEC) long ttlSec) {
+    this.ttlMs = SECONDS.toMillis(ttlSec);
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(CACHE_MAX_SIZE)
+            .expireAfterWrite(ttlSec, SECONDS)
+            .recordStats()
+            .build();
+    this.verificationsCount = new AtomicLong();
+    this.verificationsTimeNanos = new AtomicLong();
+  }
+
+  /** Returns verified JWT of the given token or null if it is not cached or already expired. */
+  @Nullable
+  public Jws<Claims> getJwt(String token) {
+    Entry entry = getEntry(token);
+    return entry == null ? null : entry.jwt;
+  }
+
+  /** Caches verified JWT of the given token. */
+  public void putJwt(String token, Jws<Claims> jwt) {
+    getOrCreateEntry(token, jwt.getBody()).jwt = jwt;
+  }
+
+  /** Returns subject identified by the given token or null if it is not cached or expired. */
+  @Nullable
+  public Subject getSubject(String token) {
+    Entry entry = getEntry(token);
+    return entry == null ? null : entry.subject;
+  }
+
+  /** Caches subject identified by the given token with the given claims. */
+  public void putSubject(String token, Claims claims, Subject subject) {
+    getOrCreateEntry(token, claims).subject = subject;
+  }
+
+  /** Records the time spent on verification of a token which is not cached. */
+  public void recordVerification(long timeNanos) {
+    verificationsCount.incrementAndGet();
+    verificationsTimeNanos.addAndGet(timeNanos);
+  }
+
+  /** Returns count of tokens verified since the server start. */
+  public long getVerificationsCount() {
+    return verificationsCount.get();
+  }
+
+  /** Returns average time of token verification in milliseconds. */
+  public double getAverageVerificationTimeMs() {
+    long count = verificationsCount.get();
+    return count == 0 ? 0 : verificationsTimeNanos.get() / 1_000_000D / count;
+  }
+
+  /** Returns statistics of the cache, such as hit and miss counts. */
+  public CacheStats getCacheStats() {
+    return cache.stats();
+  }
+
+  @Nullable
+  private Entry getEntry(String token) {
+    String key = hash(token);
+    Entry entry = cache.getIfPresent(key);
+    if (entry != null && entry.isExpired()) {
+      cache.invalidate(key);
+      return null;
+    }
+    return entry;
+  }
+
+  private Entry getOrCreateEntry(String token, Claims claims) {
+    return cache
+        .asMap()
+        .compute(
+            hash(token),
+            (key, entry) ->
+                entry == null || entry.isExpired() ? new Entry(expirationTime(claims)) : entry);
+  }
+
+  private long expirationTime(Claims claims) {
+    long maxExpirationTime = System.currentTimeMillis() + ttlMs;
+    Date expiration = claims.getExpiration();
+    return expiration == null
+        ? maxExpirationTime
+        : Math.min(expiration.getTime(), maxExpirationTime);
+  }
+
+  private static String hash(String token) {
+    return Hashing.sha256().hashString(token, UTF_8).toString();
+  }
+
+  private static final class Entry {
+    private final long expirationTime;
+    private volatile Jws<Claims> jwt;
+    private volatile Subject subject;
+
+    private Entry(long expirationTime) {
+      this.expirationTime = expirationTime;
+    }
+
+    private boolean isExpired() {
+      return System.currentTimeMillis() >= expirationTime;
+    }
+  }
+}
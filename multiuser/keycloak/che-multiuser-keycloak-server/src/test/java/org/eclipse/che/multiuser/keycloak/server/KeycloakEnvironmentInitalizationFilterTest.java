@@ -15,7 +15,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -35,7 +37,6 @@ import java.util.Map;
 import javax.servlet.FilterChain;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import javax.servlet.http.HttpSession;
 import org.eclipse.che.api.user.server.model.impl.UserImpl;
 import org.eclipse.che.commons.auth.token.RequestTokenExtractor;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -63,19 +64,20 @@ public class KeycloakEnvironmentInitalizationFilterTest {
   @Mock private FilterChain chain;
   @Mock private HttpServletRequest request;
   @Mock private HttpServletResponse response;
-  @Mock private HttpSession session;
 
+  private KeycloakTokenCache tokenCache;
   private KeycloakEnvironmentInitalizationFilter filter;
 
   @BeforeMethod
   public void setUp() throws Exception {
     MockitoAnnotations.initMocks(this);
     when(request.getScheme()).thenReturn("http");
-    when(request.getSession()).thenReturn(session);
     EnvironmentContext context = spy(EnvironmentContext.getCurrent());
     EnvironmentContext.setCurrent(context);
+    tokenCache = new KeycloakTokenCache(300);
     filter =
-        new KeycloakEnvironmentInitalizationFilter(userManager, tokenExtractor, permissionChecker);
+        new KeycloakEnvironmentInitalizationFilter(
+            userManager, tokenExtractor, permissionChecker, tokenCache);
     filter.signatureKeyManager = keyManager;
     final KeyPair kp = new KeyPair(mock(PublicKey.class), mock(PrivateKey.class));
     when(keyManager.getKeyPair()).thenReturn(kp);
@@ -109,6 +111,7 @@ public class KeycloakEnvironmentInitalizationFilterTest {
   public void shouldRefreshSubjectWhenTokensNotMatch() throws Exception {
 
     Subject existingSubject = new SubjectImpl("name", "id1", "token", false);
+    tokenCache.putSubject("token", new DefaultClaims(), existingSubject);
     UserImpl user = new UserImpl("id2", "test2@test.com", "username2");
     Subject expectedSubject = new SubjectImpl(user.getName(), user.getId(), "token2", false);
 
@@ -117,7 +120,6 @@ public class KeycloakEnvironmentInitalizationFilterTest {
     // given
     when(tokenExtractor.getToken(any(HttpServletRequest.class))).thenReturn("token2");
     when(request.getAttribute("token")).thenReturn(createJwt());
-    when(session.getAttribute(eq("che_subject"))).thenReturn(existingSubject);
     when(userManager.getOrCreateUser(anyString(), anyString(), anyString())).thenReturn(user);
     EnvironmentContext context = spy(EnvironmentContext.getCurrent());
     EnvironmentContext.setCurrent(context);
@@ -126,14 +128,30 @@ public class KeycloakEnvironmentInitalizationFilterTest {
     filter.doFilter(request, response, chain);
 
     // then
-    verify(session).setAttribute(eq("che_subject"), captor.capture());
     verify(context).setSubject(captor.capture());
-    assertEquals(expectedSubject.getToken(), captor.getAllValues().get(0).getToken());
-    assertEquals(expectedSubject.getToken(), captor.getAllValues().get(1).getToken());
-    assertEquals(expectedSubject.getUserId(), captor.getAllValues().get(0).getUserId());
-    assertEquals(expectedSubject.getUserId(), captor.getAllValues().get(1).getUserId());
-    assertEquals(expectedSubject.getUserName(), captor.getAllValues().get(0).getUserName());
-    assertEquals(expectedSubject.getUserName(), captor.getAllValues().get(1).getUserName());
+    assertEquals(expectedSubject.getToken(), captor.getValue().getToken());
+    assertEquals(expectedSubject.getUserId(), captor.getValue().getUserId());
+    assertEquals(expectedSubject.getUserName(), captor.getValue().getUserName());
+    assertEquals(expectedSubject.getToken(), tokenCache.getSubject("token2").getToken());
+    verify(request, never()).getSession();
+  }
+
+  @Test
+  public void shouldReuseCachedSubjectForSameToken() throws Exception {
+    UserImpl user = new UserImpl("id2", "test2@test.com", "username2");
+
+    // given
+    when(tokenExtractor.getToken(any(HttpServletRequest.class))).thenReturn("token2");
+    when(request.getAttribute("token")).thenReturn(createJwt());
+    when(userManager.getOrCreateUser(anyString(), anyString(), anyString())).thenReturn(user);
+
+    // when
+    filter.doFilter(request, response, chain);
+    filter.doFilter(request, response, chain);
+
+    // then
+    verify(userManager, times(1)).getOrCreateUser(anyString(), anyString(), anyString());
+    verify(chain, times(2)).doFilter(any(HttpServletRequest.class), eq(response));
   }
 
   private DefaultJwt<Claims> createJwt() {
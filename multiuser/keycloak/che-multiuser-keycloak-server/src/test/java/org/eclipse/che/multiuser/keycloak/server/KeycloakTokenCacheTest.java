@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.keycloak.server;
+
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.impl.DefaultClaims;
+import java.util.Date;
+import org.eclipse.che.commons.subject.Subject;
+import org.eclipse.che.commons.subject.SubjectImpl;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link KeycloakTokenCache} */
+@Listeners(MockitoTestNGListener.class)
+public class KeycloakTokenCacheTest {
+
+  @Mock private Jws<Claims> jwt;
+
+  private KeycloakTokenCache tokenCache;
+
+  @BeforeMethod
+  public void setUp() {
+    tokenCache = new KeycloakTokenCache(300);
+  }
+
+  @Test
+  public void shouldReturnCachedJwtAndSubjectOfToken() {
+    Claims claims =
+        new DefaultClaims().setExpiration(new Date(System.currentTimeMillis() + 60_000));
+    Subject subject = new SubjectImpl("name", "id", "token", false);
+    when(jwt.getBody()).thenReturn(claims);
+
+    tokenCache.putJwt("token", jwt);
+    tokenCache.putSubject("token", claims, subject);
+
+    assertSame(tokenCache.getJwt("token"), jwt);
+    assertSame(tokenCache.getSubject("token"), subject);
+    assertNull(tokenCache.getJwt("token2"));
+    assertNull(tokenCache.getSubject("token2"));
+  }
+
+  @Test
+  public void shouldNotReturnExpiredToken() {
+    Claims claims = new DefaultClaims().setExpiration(new Date(System.currentTimeMillis() - 1000));
+    when(jwt.getBody()).thenReturn(claims);
+
+    tokenCache.putJwt("token", jwt);
+    tokenCache.putSubject("token", claims, new SubjectImpl("name", "id", "token", false));
+
+    assertNull(tokenCache.getJwt("token"));
+    assertNull(tokenCache.getSubject("token"));
+  }
+
+  @Test
+  public void shouldNotKeepTokenLongerThanConfiguredTime() {
+    tokenCache = new KeycloakTokenCache(0);
+
+    tokenCache.putSubject(
+        "token", new DefaultClaims(), new SubjectImpl("name", "id", "token", false));
+
+    assertNull(tokenCache.getSubject("token"));
+  }
+
+  @Test
+  public void shouldRecordVerificationTime() {
+    tokenCache.recordVerification(1_000_000);
+    tokenCache.recordVerification(3_000_000);
+
+    assertEquals(tokenCache.getVerificationsCount(), 2);
+    assertEquals(tokenCache.getAverageVerificationTimeMs(), 2D);
+  }
+}
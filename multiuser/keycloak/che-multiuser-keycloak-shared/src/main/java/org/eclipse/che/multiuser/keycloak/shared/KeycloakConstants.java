@@ -24,6 +24,7 @@ public class KeycloakConstants {
   public static final String JS_ADAPTER_URL_SETTING = KEYCLOAK_SETTING_PREFIX + "js_adapter_url";
   public static final String ALLOWED_CLOCK_SKEW_SEC =
       KEYCLOAK_SETTING_PREFIX + "allowed_clock_skew_sec";
+  public static final String TOKEN_CACHE_TTL_SEC = KEYCLOAK_SETTING_PREFIX + "token_cache_ttl_sec";
 
   public static final String OSO_ENDPOINT_SETTING = KEYCLOAK_SETTING_PREFIX + "oso.endpoint";
   public static final String PROFILE_ENDPOINT_SETTING =
@@ -15,13 +15,15 @@ import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.workspace.shared.event.WorkspaceCreatedEvent;
 import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.multiuser.api.permission.server.PermissionsManager;
 import org.eclipse.che.multiuser.permission.workspace.server.model.impl.WorkerImpl;
-import org.eclipse.che.multiuser.permission.workspace.server.spi.WorkerDao;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,12 +37,13 @@ public class WorkspaceCreatorPermissionsProvider implements EventSubscriber<Work
   private static final Logger LOG =
       LoggerFactory.getLogger(WorkspaceCreatorPermissionsProvider.class);
 
-  private final WorkerDao workerDao;
+  private final PermissionsManager permissionsManager;
   private final EventService eventService;
 
   @Inject
-  public WorkspaceCreatorPermissionsProvider(EventService eventService, WorkerDao workerDao) {
-    this.workerDao = workerDao;
+  public WorkspaceCreatorPermissionsProvider(
+      EventService eventService, PermissionsManager permissionsManager) {
+    this.permissionsManager = permissionsManager;
     this.eventService = eventService;
   }
 
@@ -57,12 +60,12 @@ public class WorkspaceCreatorPermissionsProvider implements EventSubscriber<Work
   @Override
   public void onEvent(WorkspaceCreatedEvent event) {
     try {
-      workerDao.store(
+      permissionsManager.storePermission(
           new WorkerImpl(
               event.getWorkspace().getId(),
               EnvironmentContext.getCurrent().getSubject().getUserId(),
               new ArrayList<>(new WorkspaceDomain().getAllowedActions())));
-    } catch (ServerException e) {
+    } catch (ServerException | ConflictException | NotFoundException e) {
       LOG.error(
           "Can't add creator's permissions for workspace with id '"
               + event.getWorkspace().getId()
@@ -136,6 +136,7 @@ public class WorkspacePermissionsFilter extends CheMethodInvokerFilter {
       case "addProject":
       case "deleteProject":
       case "updateProject":
+      case "syncProjects":
       case "addEnvironment":
       case "deleteEnvironment":
       case "updateEnvironment":
@@ -17,7 +17,10 @@ import static java.util.stream.Collectors.toList;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.persist.Transactional;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
@@ -28,11 +31,17 @@ import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.user.server.event.BeforeUserRemovedEvent;
+import org.eclipse.che.api.user.server.event.UserRemovedEvent;
 import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
+import org.eclipse.che.api.workspace.shared.event.WorkspaceRemovedEvent;
 import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.subject.Subject;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.eclipse.che.multiuser.api.permission.server.AbstractPermissionsDomain;
+import org.eclipse.che.multiuser.api.permission.server.event.PermissionsRemovedEvent;
 import org.eclipse.che.multiuser.api.permission.server.jpa.AbstractJpaPermissionsDao;
 import org.eclipse.che.multiuser.permission.workspace.server.model.impl.WorkerImpl;
 import org.eclipse.che.multiuser.permission.workspace.server.spi.WorkerDao;
@@ -159,6 +168,14 @@ public class JpaWorkerDao extends AbstractJpaPermissionsDao<WorkerImpl> implemen
     }
   }
 
+  /**
+   * Removes workers of the workspace which is going to be removed.
+   *
+   * <p>Events about removed workers are published once {@link WorkspaceRemovedEvent} is received,
+   * i.e. after the workspace removal is committed, so the cached permission checks can't be
+   * populated again with the removed workers. Workers captured by a removal which is rolled back
+   * are kept until the next removal of the same workspace.
+   */
   @Singleton
   public static class RemoveWorkersBeforeWorkspaceRemovedEventSubscriber
       extends CascadeEventSubscriber<BeforeWorkspaceRemovedEvent> {
@@ -167,14 +184,21 @@ public class JpaWorkerDao extends AbstractJpaPermissionsDao<WorkerImpl> implemen
     @Inject private EventService eventService;
     @Inject private WorkerDao workerDao;
 
+    private final Map<String, List<WorkerImpl>> removedWorkers = new ConcurrentHashMap<>();
+    private final EventSubscriber<WorkspaceRemovedEvent> removedEventsPublisher =
+        event ->
+            publishRemovedEvents(eventService, removedWorkers.remove(event.getWorkspace().getId()));
+
     @PostConstruct
     public void subscribe() {
       eventService.subscribe(this, BeforeWorkspaceRemovedEvent.class);
+      eventService.subscribe(removedEventsPublisher, WorkspaceRemovedEvent.class);
     }
 
     @PreDestroy
     public void unsubscribe() {
       eventService.unsubscribe(this, BeforeWorkspaceRemovedEvent.class);
+      eventService.unsubscribe(removedEventsPublisher, WorkspaceRemovedEvent.class);
     }
 
     @Override
@@ -184,6 +208,7 @@ public class JpaWorkerDao extends AbstractJpaPermissionsDao<WorkerImpl> implemen
 
     @VisibleForTesting
     void removeWorkers(String workspaceId, int pageSize) throws ServerException {
+      final List<WorkerImpl> removed = new ArrayList<>();
       Page<WorkerImpl> workersPage;
       do {
         // skip count always equals to 0 because elements will be shifted after removing previous
@@ -191,32 +216,63 @@ public class JpaWorkerDao extends AbstractJpaPermissionsDao<WorkerImpl> implemen
         workersPage = workerDao.getWorkers(workspaceId, pageSize, 0);
         for (WorkerImpl worker : workersPage.getItems()) {
           workerDao.removeWorker(worker.getInstanceId(), worker.getUserId());
+          removed.add(worker);
         }
       } while (workersPage.hasNextPage());
+      removedWorkers.put(workspaceId, removed);
     }
   }
 
+  /**
+   * Removes workers of the user who is going to be removed.
+   *
+   * <p>Events about removed workers are published once {@link UserRemovedEvent} is received, i.e.
+   * after the user removal is committed.
+   */
   @Singleton
   public static class RemoveWorkersBeforeUserRemovedEventSubscriber
       extends CascadeEventSubscriber<BeforeUserRemovedEvent> {
+
     @Inject private EventService eventService;
     @Inject private WorkerDao dao;
 
+    private final Map<String, List<WorkerImpl>> removedWorkers = new ConcurrentHashMap<>();
+    private final EventSubscriber<UserRemovedEvent> removedEventsPublisher =
+        event -> publishRemovedEvents(eventService, removedWorkers.remove(event.getUserId()));
+
     @PostConstruct
     public void subscribe() {
       eventService.subscribe(this, BeforeUserRemovedEvent.class);
+      eventService.subscribe(removedEventsPublisher, UserRemovedEvent.class);
     }
 
     @PreDestroy
     public void unsubscribe() {
       eventService.unsubscribe(this, BeforeUserRemovedEvent.class);
+      eventService.unsubscribe(removedEventsPublisher, UserRemovedEvent.class);
     }
 
     @Override
     public void onCascadeEvent(BeforeUserRemovedEvent event) throws Exception {
+      final List<WorkerImpl> removed = new ArrayList<>();
       for (WorkerImpl worker : dao.getWorkersByUser(event.getUser().getId())) {
         dao.removeWorker(worker.getInstanceId(), worker.getUserId());
+        removed.add(worker);
       }
+      removedWorkers.put(event.getUser().getId(), removed);
+    }
+  }
+
+  /** Publishes events about removed workers, so the cached permission checks are invalidated. */
+  private static void publishRemovedEvents(
+      EventService eventService, @Nullable List<WorkerImpl> removed) {
+    if (removed == null) {
+      return;
+    }
+    final Subject subject = EnvironmentContext.getCurrent().getSubject();
+    final String initiator = subject.isAnonymous() ? null : subject.getUserName();
+    for (WorkerImpl worker : removed) {
+      eventService.publish(new PermissionsRemovedEvent(initiator, worker));
     }
   }
 }
@@ -27,7 +27,7 @@ import org.eclipse.che.api.workspace.server.stack.StackLoader;
 import org.eclipse.che.api.workspace.server.stack.image.StackIcon;
 import org.eclipse.che.api.workspace.shared.stack.Stack;
 import org.eclipse.che.core.db.DBInitializer;
-import org.eclipse.che.multiuser.permission.workspace.server.spi.jpa.JpaStackPermissionsDao;
+import org.eclipse.che.multiuser.api.permission.server.PermissionsManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,7 +46,7 @@ public class MultiuserStackLoader extends StackLoader {
 
   private static final Logger LOG = LoggerFactory.getLogger(MultiuserStackLoader.class);
 
-  private final JpaStackPermissionsDao permissionsDao;
+  private final PermissionsManager permissionsManager;
 
   @Inject
   @SuppressWarnings("unused")
@@ -54,10 +54,10 @@ public class MultiuserStackLoader extends StackLoader {
       @Named("che.predefined.stacks.reload_on_start") boolean reloadStacksOnStart,
       @Named(CHE_PREDEFINED_STACKS) Map<String, String> stacks2images,
       StackDao stackDao,
-      JpaStackPermissionsDao permissionsDao,
+      PermissionsManager permissionsManager,
       DBInitializer dbInitializer) {
     super(reloadStacksOnStart, stacks2images, stackDao, dbInitializer);
-    this.permissionsDao = permissionsDao;
+    this.permissionsManager = permissionsManager;
   }
 
   protected void loadStack(StackImpl stack, Path imagePath) {
@@ -68,9 +68,9 @@ public class MultiuserStackLoader extends StackLoader {
       } catch (NotFoundException ignored) {
         stackDao.create(stack);
       }
-      permissionsDao.store(
+      permissionsManager.storePermission(
           new StackPermissionsImpl("*", stack.getId(), singletonList(StackDomain.SEARCH)));
-    } catch (ServerException | ConflictException ex) {
+    } catch (ServerException | ConflictException | NotFoundException ex) {
       LOG.warn(format("Failed to load stack with id '%s' ", stack.getId()), ex.getMessage());
     }
   }
@@ -373,6 +373,24 @@ public class WorkspacePermissionsFilterTest {
     verify(subject).hasPermission(eq("workspace"), eq("workspace123"), eq("configure"));
   }
 
+  @Test
+  public void shouldCheckPermissionsOnProjectsSyncing() throws Exception {
+    when(subject.hasPermission("workspace", "workspace123", "configure")).thenReturn(true);
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .pathParam("id", "workspace123")
+            .contentType("application/json")
+            .when()
+            .post(SECURE_PATH + "/workspace/{id}/project/sync");
+
+    assertEquals(response.getStatusCode(), 204);
+    verify(workspaceService).syncProjects(eq("workspace123"), any());
+    verify(subject).hasPermission(eq("workspace"), eq("workspace123"), eq("configure"));
+  }
+
   @Test
   public void shouldCheckPermissionsOnProjectRemoving() throws Exception {
     when(subject.hasPermission("workspace", "workspace123", "configure")).thenReturn(true);
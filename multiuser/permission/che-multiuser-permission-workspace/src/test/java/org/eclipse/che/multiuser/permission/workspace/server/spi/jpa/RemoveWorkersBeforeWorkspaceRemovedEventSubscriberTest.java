@@ -10,20 +10,26 @@
  */
 package org.eclipse.che.multiuser.permission.workspace.server.spi.jpa;
 
+import static java.util.Arrays.asList;
 import static org.testng.AssertJUnit.assertEquals;
 
 import com.google.inject.Guice;
 import com.google.inject.Injector;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Stream;
 import javax.persistence.EntityManager;
 import org.eclipse.che.account.shared.model.Account;
 import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.user.server.model.impl.UserImpl;
 import org.eclipse.che.api.workspace.server.jpa.JpaWorkspaceDao;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.commons.test.tck.TckResourcesCleaner;
+import org.eclipse.che.multiuser.api.permission.server.event.PermissionsRemovedEvent;
 import org.eclipse.che.multiuser.permission.workspace.server.model.impl.WorkerImpl;
 import org.eclipse.che.multiuser.permission.workspace.server.spi.jpa.JpaWorkerDao.RemoveWorkersBeforeWorkspaceRemovedEventSubscriber;
 import org.testng.annotations.AfterClass;
@@ -42,6 +48,7 @@ public class RemoveWorkersBeforeWorkspaceRemovedEventSubscriberTest {
   private EntityManager manager;
   private JpaWorkerDao workerDao;
   private JpaWorkspaceDao workspaceDao;
+  private EventService eventService;
 
   private RemoveWorkersBeforeWorkspaceRemovedEventSubscriber subscriber;
 
@@ -75,6 +82,7 @@ public class RemoveWorkersBeforeWorkspaceRemovedEventSubscriberTest {
     manager = injector.getInstance(EntityManager.class);
     workerDao = injector.getInstance(JpaWorkerDao.class);
     workspaceDao = injector.getInstance(JpaWorkspaceDao.class);
+    eventService = injector.getInstance(EventService.class);
     subscriber = injector.getInstance(RemoveWorkersBeforeWorkspaceRemovedEventSubscriber.class);
     subscriber.subscribe();
     tckResourcesCleaner = injector.getInstance(TckResourcesCleaner.class);
@@ -130,6 +138,22 @@ public class RemoveWorkersBeforeWorkspaceRemovedEventSubscriberTest {
     assertEquals(workerDao.getWorkers(workspace.getId(), 1, 0).getTotalItemsCount(), 0);
   }
 
+  @Test
+  public void shouldPublishRemovedWorkersAfterWorkspaceRemovalIsCommitted() throws Exception {
+    final List<Boolean> publishedInTransaction = new ArrayList<>();
+    final EventSubscriber<PermissionsRemovedEvent> recorder =
+        event -> publishedInTransaction.add(manager.getTransaction().isActive());
+    eventService.subscribe(recorder, PermissionsRemovedEvent.class);
+
+    try {
+      workspaceDao.remove(workspace.getId());
+    } finally {
+      eventService.unsubscribe(recorder, PermissionsRemovedEvent.class);
+    }
+
+    assertEquals(publishedInTransaction, asList(false, false));
+  }
+
   @Test
   public void shouldRemoveAllWorkersWhenPageSizeEqualsToOne() throws Exception {
     subscriber.removeWorkers(workspace.getId(), 1);
@@ -40,6 +40,7 @@ import org.eclipse.che.maven.server.ProfileApplicationResult;
 import org.eclipse.che.plugin.maven.server.rmi.RmiClient;
 import org.eclipse.che.plugin.maven.server.rmi.RmiObjectWrapper;
 import org.eclipse.che.rmi.RmiObject;
+import org.eclipse.che.rmi.RmiServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -163,13 +164,13 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
       throw new RemoteException("Can't start maven server", e);
     }
     if (!loggerExported) {
-      Remote loggerRemote = UnicastRemoteObject.exportObject(rmiLogger, 0);
+      Remote loggerRemote = RmiServer.export(rmiLogger);
       if (!(loggerExported = loggerRemote != null)) {
         throw new RemoteException("Can't export logger");
       }
     }
     if (!listenerExported) {
-      Remote listenerRemote = UnicastRemoteObject.exportObject(rmiDownloadListener, 0);
+      Remote listenerRemote = RmiServer.export(rmiDownloadListener);
       if (!(listenerExported = listenerRemote != null)) {
         throw new RemoteException("Can't export download listener");
       }
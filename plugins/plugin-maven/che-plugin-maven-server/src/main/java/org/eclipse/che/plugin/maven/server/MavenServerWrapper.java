@@ -25,6 +25,7 @@ import org.eclipse.che.maven.server.MavenServerResult;
 import org.eclipse.che.maven.server.MavenTerminal;
 import org.eclipse.che.plugin.maven.server.core.MavenProgressNotifier;
 import org.eclipse.che.plugin.maven.server.rmi.RmiObjectWrapper;
+import org.eclipse.che.rmi.RmiServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -63,7 +64,7 @@ public abstract class MavenServerWrapper extends RmiObjectWrapper<MavenServer> {
     MavenTerminal mavenTerminalWrapper;
     try {
       mavenTerminalWrapper = new MavenTerminalWrapper(mavenTerminal);
-      UnicastRemoteObject.exportObject(mavenTerminalWrapper, 0);
+      RmiServer.export(mavenTerminalWrapper);
     } catch (RemoteException e) {
       throw new RuntimeException(e);
     }
@@ -71,7 +72,7 @@ public abstract class MavenServerWrapper extends RmiObjectWrapper<MavenServer> {
     MavenServerProgressNotifier wrapper;
     try {
       wrapper = new MavenServerProgressNotifierWrapper(notifier);
-      UnicastRemoteObject.exportObject(wrapper, 0);
+      RmiServer.export(wrapper);
     } catch (RemoteException e) {
       throw new RuntimeException(e);
     }
@@ -82,6 +83,11 @@ public abstract class MavenServerWrapper extends RmiObjectWrapper<MavenServer> {
     perform(this::customizeMaven);
   }
 
+  /** Returns the workspace cache the server is customized with, or null if not customized. */
+  public MavenWorkspaceCache getWorkspaceCache() {
+    return customization != null ? customization.cache : null;
+  }
+
   private void uncustomize() {
     if (customization == null) {
       return;
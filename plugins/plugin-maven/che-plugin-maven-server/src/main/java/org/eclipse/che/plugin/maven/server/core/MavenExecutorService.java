@@ -17,6 +17,8 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,14 +30,26 @@ public class MavenExecutorService {
   private static final Logger LOG = LoggerFactory.getLogger(MavenExecutorService.class);
 
   private final ExecutorService service;
+  private final int parallelism;
 
-  public MavenExecutorService() {
+  /**
+   * @param parallelism maximum number of Maven tasks which are performed concurrently, a non
+   *     positive value means one task per available processor
+   */
+  @Inject
+  public MavenExecutorService(@Named("che.maven.resolve.parallelism") int parallelism) {
+    this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
     ThreadFactory threadFactory =
         new ThreadFactoryBuilder()
             .setNameFormat("Maven Executor - %d")
             .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
             .build();
-    service = Executors.newFixedThreadPool(1, threadFactory);
+    service = Executors.newFixedThreadPool(this.parallelism, threadFactory);
+  }
+
+  /** Returns maximum number of tasks which are performed concurrently. */
+  public int getParallelism() {
+    return parallelism;
   }
 
   public void submit(Runnable task) {
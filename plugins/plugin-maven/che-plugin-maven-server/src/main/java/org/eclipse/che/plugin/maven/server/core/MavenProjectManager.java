@@ -37,6 +37,7 @@ import org.eclipse.che.plugin.maven.server.MavenServerWrapper;
 import org.eclipse.che.plugin.maven.server.MavenWrapperManager;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProjectModifications;
+import org.eclipse.che.plugin.maven.server.core.project.MavenResolutionCache;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
 
@@ -64,6 +65,7 @@ public class MavenProjectManager {
   private final MavenTerminal terminal;
   private final MavenProgressNotifier mavenNotifier;
   private final Provider<IWorkspace> workspaceProvider;
+  private final MavenResolutionCache resolutionCache;
 
   private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
   private final Lock readLock = readWriteLock.readLock();
@@ -77,12 +79,14 @@ public class MavenProjectManager {
       MavenServerManager serverManager,
       MavenTerminal terminal,
       MavenProgressNotifier mavenNotifier,
-      EclipseWorkspaceProvider workspaceProvider) {
+      EclipseWorkspaceProvider workspaceProvider,
+      MavenResolutionCache resolutionCache) {
     this.wrapperManager = wrapperManager;
     this.serverManager = serverManager;
     this.terminal = terminal;
     this.mavenNotifier = mavenNotifier;
     this.workspaceProvider = workspaceProvider;
+    this.resolutionCache = resolutionCache;
     mavenWorkspaceCache = new MavenWorkspaceCache();
     keyToProjectMap = new HashMap<>();
     projectToMavenProjectMap = new HashMap<>();
@@ -121,7 +125,7 @@ public class MavenProjectManager {
       mavenNotifier.setText("Resolving project: " + mavenProject.getName());
       mavenServer.customize(copyWorkspaceCache(), terminal, mavenNotifier, false, true);
       MavenProjectModifications modifications =
-          mavenProject.resolve(project, mavenServer, serverManager);
+          mavenProject.resolve(project, mavenServer, serverManager, resolutionCache);
       dispatcher.projectResolved(mavenProject, modifications);
 
     } finally {
@@ -485,6 +489,34 @@ public class MavenProjectManager {
     }
   }
 
+  /**
+   * Returns workspace projects which the given project depends on, they are the parent project and
+   * projects of the dependencies.
+   */
+  public Set<MavenProject> findDependencies(MavenProject mavenProject) {
+    readLock.lock();
+    try {
+      Set<MavenProject> result = new HashSet<>();
+      MavenProject parent = keyToProjectMap.get(mavenProject.getParentKey());
+      if (parent != null) {
+        result.add(parent);
+      }
+      for (MavenArtifact artifact : mavenProject.getDependencies()) {
+        MavenProject dependency =
+            keyToProjectMap.get(
+                new MavenKey(
+                    artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion()));
+        if (dependency != null) {
+          result.add(dependency);
+        }
+      }
+      result.remove(mavenProject);
+      return result;
+    } finally {
+      readLock.unlock();
+    }
+  }
+
   private boolean contains(
       Set<MavenKey> mavenKeys, String artifactId, String groupId, String version) {
     return mavenKeys
@@ -10,21 +10,28 @@
  */
 package org.eclipse.che.plugin.maven.server.core;
 
+import java.util.Set;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.eclipse.core.resources.IProject;
 
-/** @author Evgen Vidolob */
+/**
+ * Resolves Maven project, the task is equal to any other resolve task of the same project.
+ *
+ * @author Evgen Vidolob
+ */
 public class MavenProjectResolveTask implements MavenProjectTask {
 
   private final MavenProject mavenProject;
   private final MavenProjectManager projectManager;
   private final Runnable afterTask;
+  private final Set<MavenProject> dependencies;
 
   public MavenProjectResolveTask(
       MavenProject mavenProject, MavenProjectManager projectManager, Runnable afterTask) {
     this.mavenProject = mavenProject;
     this.projectManager = projectManager;
     this.afterTask = afterTask;
+    this.dependencies = projectManager.findDependencies(mavenProject);
   }
 
   @Override
@@ -38,4 +45,30 @@ public class MavenProjectResolveTask implements MavenProjectTask {
       afterTask.run();
     }
   }
+
+  @Override
+  public MavenProject getMavenProject() {
+    return mavenProject;
+  }
+
+  @Override
+  public Set<MavenProject> getDependencies() {
+    return dependencies;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MavenProjectResolveTask)) {
+      return false;
+    }
+    return mavenProject.equals(((MavenProjectResolveTask) obj).mavenProject);
+  }
+
+  @Override
+  public int hashCode() {
+    return mavenProject.hashCode();
+  }
 }
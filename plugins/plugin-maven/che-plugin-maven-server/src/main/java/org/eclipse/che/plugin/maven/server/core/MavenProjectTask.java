@@ -10,6 +10,11 @@
  */
 package org.eclipse.che.plugin.maven.server.core;
 
+import static java.util.Collections.emptySet;
+
+import java.util.Set;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+
 /**
  * General task that may be performed for MavenProject
  *
@@ -17,4 +22,17 @@ package org.eclipse.che.plugin.maven.server.core;
  */
 public interface MavenProjectTask {
   void perform();
+
+  /**
+   * Returns the project this task is performed for, tasks of the same project are never performed
+   * concurrently. Null if the task is not related to a project.
+   */
+  default MavenProject getMavenProject() {
+    return null;
+  }
+
+  /** Returns projects whose tasks must be finished before this task is started. */
+  default Set<MavenProject> getDependencies() {
+    return emptySet();
+  }
 }
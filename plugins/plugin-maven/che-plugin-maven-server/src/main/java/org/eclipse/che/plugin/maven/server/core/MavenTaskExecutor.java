@@ -10,16 +10,28 @@
  */
 package org.eclipse.che.plugin.maven.server.core;
 
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeUnit;
+import static java.util.Collections.singletonList;
+
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Multiset;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Executor for {@link MavenProjectTask}. Uses {@link MavenExecutorService} as executor service.
  *
+ * <p>Tasks are performed concurrently by at most {@link MavenExecutorService#getParallelism()}
+ * workers. A task is not started while a task of the same project is running or while a task of a
+ * project it depends on is pending or running, so independent modules are resolved concurrently and
+ * dependent modules are resolved after their dependencies. If there are tasks which can't be
+ * started because of cyclic dependencies they are started in submission order.
+ *
  * @author Evgen Vidolob
  */
 public class MavenTaskExecutor {
@@ -27,55 +39,84 @@ public class MavenTaskExecutor {
 
   private final MavenExecutorService service;
   private final MavenProgressNotifier notifier;
-  private final Queue<MavenProjectTask> queue = new LinkedList<>();
-  private boolean isWorking;
+  private final int parallelism;
+
+  // guarded by this
+  private final Set<MavenProjectTask> pending = new LinkedHashSet<>();
+  private final Set<MavenProject> runningProjects = new HashSet<>();
+  private final Multiset<MavenProject> scheduledProjects = HashMultiset.create();
+  private int running;
+  private int workers;
+  private int tasksDone;
 
   public MavenTaskExecutor(MavenExecutorService service, MavenProgressNotifier notifier) {
     this.service = service;
     this.notifier = notifier;
+    this.parallelism = service.getParallelism();
   }
 
   public void submitTask(MavenProjectTask task) {
-    synchronized (queue) {
-      // if no running tasks, start immediately
-      if (!isWorking) {
-        isWorking = true;
-        runTask(task);
-      } else {
-        if (!queue.contains(task)) {
-          queue.add(task);
-        }
+    submitTasks(singletonList(task));
+  }
+
+  /**
+   * Submits tasks at once, so the order of their execution depends only on dependencies between
+   * them and not on the order of submission. Tasks which are already pending are ignored.
+   */
+  public synchronized void submitTasks(Collection<? extends MavenProjectTask> tasks) {
+    for (MavenProjectTask task : tasks) {
+      if (pending.add(task) && task.getMavenProject() != null) {
+        scheduledProjects.add(task.getMavenProject());
       }
     }
+    if (pending.isEmpty()) {
+      return;
+    }
+    if (workers == 0) {
+      tasksDone = 0;
+      notifier.start();
+    }
+    startWorkers();
   }
 
-  public void removeTask(MavenProjectTask task) {
-    synchronized (queue) {
-      queue.remove(task);
+  public synchronized void removeTask(MavenProjectTask task) {
+    if (pending.remove(task) && task.getMavenProject() != null) {
+      scheduledProjects.remove(task.getMavenProject());
     }
   }
 
-  public void stop() {
-    synchronized (queue) {
-      queue.clear();
+  public synchronized void stop() {
+    for (MavenProjectTask task : pending) {
+      if (task.getMavenProject() != null) {
+        scheduledProjects.remove(task.getMavenProject());
+      }
     }
+    pending.clear();
   }
 
-  private void runTask(MavenProjectTask task) {
-    service.submit(() -> doRunTasks(task));
+  /** Waits until all the submitted tasks are performed. */
+  public synchronized void waitForEndAllTasks() {
+    try {
+      while (workers > 0) {
+        wait();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.debug(e.getMessage(), e);
+    }
   }
 
-  private void doRunTasks(MavenProjectTask task) {
-    int taskDone = 0;
-    notifier.start();
-    while (true) {
-      taskDone++;
-      int restTasks;
-      synchronized (queue) {
-        restTasks = queue.size();
-      }
+  private void startWorkers() {
+    while (workers < parallelism && workers < running + pending.size()) {
+      workers++;
+      service.submit(this::runTasks);
+    }
+  }
 
-      notifier.setPercent((double) taskDone / (double) (restTasks + taskDone));
+  private void runTasks() {
+    MavenProjectTask task = nextTask(null);
+    while (task != null) {
+      long start = System.currentTimeMillis();
       try {
         task.perform();
       } catch (Throwable throwable) {
@@ -83,34 +124,85 @@ public class MavenTaskExecutor {
         // TODO need to notify user some how
       }
 
-      synchronized (queue) {
-        task = queue.poll();
-        if (task == null) {
-          isWorking = false;
-          notifier.stop();
-          return;
-        }
+      MavenProject project = task.getMavenProject();
+      if (project != null) {
+        long time = System.currentTimeMillis() - start;
+        LOG.debug("Task of project '{}' is performed in {}ms", project.getName(), time);
+        notifier.setText("Finished project: " + project.getName() + " (" + time + "ms)");
       }
+      task = nextTask(task);
     }
   }
 
-  public void waitForEndAllTasks() {
-    if (!isWorking) {
-      return;
+  /**
+   * Marks the given task as performed and takes the next task which can be started, stops the
+   * worker if there is no such task.
+   */
+  private synchronized MavenProjectTask nextTask(MavenProjectTask performed) {
+    if (performed != null) {
+      running--;
+      tasksDone++;
+      MavenProject project = performed.getMavenProject();
+      if (project != null) {
+        runningProjects.remove(project);
+        scheduledProjects.remove(project);
+      }
     }
 
-    Semaphore semaphore = new Semaphore(1);
-    try {
-      semaphore.acquire();
-      submitTask(semaphore::release);
+    MavenProjectTask task = pollReadyTask();
+    if (task == null) {
+      workers--;
+      if (workers == 0) {
+        notifier.stop();
+        notifyAll();
+      }
+      return null;
+    }
 
-      while (true) {
-        if (!isWorking || semaphore.tryAcquire(1, TimeUnit.SECONDS)) {
-          return;
-        }
+    running++;
+    if (task.getMavenProject() != null) {
+      runningProjects.add(task.getMavenProject());
+    }
+    notifier.setPercent((double) tasksDone / (double) (tasksDone + running + pending.size()));
+    // the performed task may unblock several tasks
+    startWorkers();
+    return task;
+  }
+
+  private MavenProjectTask pollReadyTask() {
+    if (pending.isEmpty()) {
+      return null;
+    }
+    for (Iterator<MavenProjectTask> it = pending.iterator(); it.hasNext(); ) {
+      MavenProjectTask task = it.next();
+      if (isReady(task)) {
+        it.remove();
+        return task;
+      }
+    }
+    if (running == 0) {
+      // tasks depend on each other
+      Iterator<MavenProjectTask> it = pending.iterator();
+      MavenProjectTask task = it.next();
+      it.remove();
+      return task;
+    }
+    return null;
+  }
+
+  private boolean isReady(MavenProjectTask task) {
+    MavenProject project = task.getMavenProject();
+    if (project == null) {
+      return true;
+    }
+    if (runningProjects.contains(project)) {
+      return false;
+    }
+    for (MavenProject dependency : task.getDependencies()) {
+      if (scheduledProjects.contains(dependency)) {
+        return false;
       }
-    } catch (InterruptedException e) {
-      LOG.debug(e.getMessage(), e);
     }
+    return true;
   }
 }
@@ -185,9 +185,10 @@ public class MavenWorkspace {
     Set<MavenProject> needResolve = new HashSet<>(projectsToResolve);
     projectsToResolve.clear();
 
+    List<MavenProjectTask> tasks = new ArrayList<>(needResolve.size());
     for (MavenProject mavenProject : needResolve) {
 
-      resolveExecutor.submitTask(
+      tasks.add(
           new MavenProjectResolveTask(
               mavenProject,
               manager,
@@ -196,6 +197,7 @@ public class MavenWorkspace {
                 classpathManager.updateClasspath(mavenProject);
               }));
     }
+    resolveExecutor.submitTasks(tasks);
   }
 
   private void updateJavaProject(MavenProject project) {
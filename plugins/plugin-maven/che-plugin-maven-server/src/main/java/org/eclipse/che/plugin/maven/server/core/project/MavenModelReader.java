@@ -76,10 +76,11 @@ public class MavenModelReader {
       MavenServerWrapper mavenServer,
       List<String> activeProfiles,
       List<String> inactiveProfiles,
-      MavenServerManager serverManager) {
+      MavenServerManager serverManager,
+      MavenResolutionCache resolutionCache) {
     try {
       MavenServerResult resolveProject =
-          mavenServer.resolveProject(pom, activeProfiles, inactiveProfiles);
+          resolutionCache.resolveProject(mavenServer, pom, activeProfiles, inactiveProfiles);
       MavenProjectInfo projectInfo = resolveProject.getProjectInfo();
       if (projectInfo != null) {
         return new MavenModelReaderResult(
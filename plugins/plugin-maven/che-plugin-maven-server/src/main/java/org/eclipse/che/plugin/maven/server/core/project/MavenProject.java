@@ -188,10 +188,14 @@ public class MavenProject {
    *
    * @param project to resolve
    * @param mavenServer the maven server
+   * @param resolutionCache cache of the results of previous resolutions
    * @return the modification types that applied to this project
    */
   public MavenProjectModifications resolve(
-      IProject project, MavenServerWrapper mavenServer, MavenServerManager serverManager) {
+      IProject project,
+      MavenServerWrapper mavenServer,
+      MavenServerManager serverManager,
+      MavenResolutionCache resolutionCache) {
     MavenModelReader reader = new MavenModelReader();
 
     MavenModelReaderResult modelReaderResult =
@@ -200,7 +204,8 @@ public class MavenProject {
             mavenServer,
             info.activeProfiles,
             info.inactiveProfiles,
-            serverManager);
+            serverManager,
+            resolutionCache);
 
     return setModel(modelReaderResult, modelReaderResult.getProblems().isEmpty(), false);
   }
@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.maven.server.core.project;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.File;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenConstants;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.maven.data.MavenModel;
+import org.eclipse.che.maven.data.MavenParent;
+import org.eclipse.che.maven.data.MavenWorkspaceCache;
+import org.eclipse.che.maven.server.MavenServerResult;
+import org.eclipse.che.plugin.maven.server.MavenServerWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent cache of the results of Maven project resolution, so projects whose POM inputs are not
+ * changed are not resolved again after restart of the workspace agent.
+ *
+ * <p>The results are stored in a directory per project under the workspace metadata directory and
+ * are keyed by a hash of the inputs of the resolution: the project POM and POMs of its parent
+ * directories, active and inactive profiles, Maven settings and the POMs of the projects of the
+ * workspace. Only the result of the latest resolution of a project is kept. Results with problems
+ * or unresolved artifacts are not cached, as well as results of projects whose parent is a snapshot
+ * which is not a project of the workspace, since the parent and its ancestors may change in the
+ * local repository.
+ *
+ * <p>A cached result is ignored when the files of its dependencies don't exist anymore or were
+ * changed after the result was cached, e.g. snapshots were updated, when new versions of its
+ * dependencies appeared in the local repository, which may change resolution of version ranges, or
+ * when the parent POM referenced with a relative path outside of the project was changed.
+ */
+@Singleton
+public class MavenResolutionCache {
+  private static final Logger LOG = LoggerFactory.getLogger(MavenResolutionCache.class);
+
+  private static final String FORMAT_VERSION = "2";
+
+  private final Path cacheDir;
+
+  @Inject
+  public MavenResolutionCache(@Named("che.workspace.metadata") String wsMetadata) {
+    this(Paths.get(System.getProperty("user.home"), wsMetadata, "maven", "resolution"));
+  }
+
+  public MavenResolutionCache(Path cacheDir) {
+    this.cacheDir = cacheDir;
+  }
+
+  /**
+   * Returns the cached result of the project resolution if inputs of the resolution are not
+   * changed, otherwise resolves the project with the given server and caches the result.
+   */
+  public MavenServerResult resolveProject(
+      MavenServerWrapper mavenServer,
+      File pom,
+      List<String> activeProfiles,
+      List<String> inactiveProfiles) {
+    MavenWorkspaceCache workspaceCache = mavenServer.getWorkspaceCache();
+    String key = null;
+    try {
+      key = computeKey(pom, activeProfiles, inactiveProfiles, workspaceCache);
+      MavenServerResult cached = read(pom, key, workspaceCache);
+      if (cached != null) {
+        LOG.debug("Resolution of '{}' is taken from cache", pom);
+        return cached;
+      }
+    } catch (IOException e) {
+      LOG.warn("Can't read resolution cache of '{}': {}", pom, e.getMessage());
+    }
+
+    MavenServerResult result = mavenServer.resolveProject(pom, activeProfiles, inactiveProfiles);
+    if (key != null && isCacheable(result, workspaceCache)) {
+      try {
+        write(pom, key, result);
+      } catch (IOException e) {
+        LOG.warn("Can't write resolution cache of '{}': {}", pom, e.getMessage());
+      }
+    }
+    return result;
+  }
+
+  /** Removes the cached resolution result of the project with the given POM. */
+  public void invalidate(File pom) {
+    Path projectDir = getProjectDir(pom);
+    if (Files.exists(projectDir)) {
+      try {
+        deleteEntries(projectDir, null);
+        Files.deleteIfExists(projectDir);
+      } catch (IOException e) {
+        LOG.warn("Can't invalidate resolution cache of '{}': {}", pom, e.getMessage());
+      }
+    }
+  }
+
+  private MavenServerResult read(File pom, String key, MavenWorkspaceCache workspaceCache)
+      throws IOException {
+    Path entry = getProjectDir(pom).resolve(key);
+    if (!Files.exists(entry)) {
+      return null;
+    }
+    MavenServerResult result;
+    try (ObjectInputStream in = new ObjectInputStream(Files.newInputStream(entry))) {
+      result = (MavenServerResult) in.readObject();
+    } catch (ClassNotFoundException | ClassCastException | InvalidClassException e) {
+      LOG.debug("Can't deserialize resolution cache entry '{}'", entry, e);
+      Files.deleteIfExists(entry);
+      return null;
+    }
+    long cachedAt = Files.getLastModifiedTime(entry).toMillis();
+    if (result.getProjectInfo() == null
+        || !isLocalRepositoryUpToDate(
+            result.getProjectInfo().getMavenModel(), workspaceCache, cachedAt)
+        || !isRelativeParentUpToDate(pom, result.getProjectInfo().getMavenModel(), cachedAt)) {
+      Files.deleteIfExists(entry);
+      return null;
+    }
+    return result;
+  }
+
+  private void write(File pom, String key, MavenServerResult result) throws IOException {
+    Path projectDir = getProjectDir(pom);
+    Files.createDirectories(projectDir);
+    Path tmp = Files.createTempFile(projectDir, key, ".tmp");
+    try {
+      try (ObjectOutputStream out = new ObjectOutputStream(Files.newOutputStream(tmp))) {
+        out.writeObject(result);
+      }
+      Files.move(tmp, projectDir.resolve(key), REPLACE_EXISTING, ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+    deleteEntries(projectDir, key);
+  }
+
+  /** Deletes cached entries of the project except the one with the given key. */
+  private void deleteEntries(Path projectDir, String keep) throws IOException {
+    try (DirectoryStream<Path> entries = Files.newDirectoryStream(projectDir)) {
+      for (Path entry : entries) {
+        if (!entry.getFileName().toString().equals(keep)) {
+          Files.deleteIfExists(entry);
+        }
+      }
+    }
+  }
+
+  private Path getProjectDir(File pom) {
+    return cacheDir.resolve(Hashing.sha1().hashString(pom.getAbsolutePath(), UTF_8).toString());
+  }
+
+  private static boolean isCacheable(MavenServerResult result, MavenWorkspaceCache workspaceCache) {
+    if (result.getProjectInfo() == null
+        || !result.getProblems().isEmpty()
+        || !result.getUnresolvedArtifacts().isEmpty()) {
+      return false;
+    }
+    MavenParent parent = result.getProjectInfo().getMavenModel().getParent();
+    if (parent == null || isWorkspaceProject(parent.getMavenKey(), workspaceCache)) {
+      return true;
+    }
+    String version = parent.getMavenKey().getVersion();
+    return version == null || !version.endsWith(MavenConstants.SNAPSHOT);
+  }
+
+  /**
+   * Checks that the files of the resolved dependencies are still in the local repository and that
+   * neither the files nor the sets of available versions of the dependencies were changed since the
+   * given time. Dependencies on the projects of the workspace are not checked, their POMs are part
+   * of the key.
+   */
+  private static boolean isLocalRepositoryUpToDate(
+      MavenModel model, MavenWorkspaceCache workspaceCache, long since) {
+    for (MavenArtifact dependency : model.getDependencies()) {
+      File file = dependency.getFile();
+      if (file == null
+          || isWorkspaceProject(
+              new MavenKey(
+                  dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion()),
+              workspaceCache)) {
+        continue;
+      }
+      if (!file.exists() || file.lastModified() > since) {
+        return false;
+      }
+      // directory of the artifact versions is changed when a new version is installed
+      File versionDir = file.getParentFile();
+      File versionsDir = versionDir == null ? null : versionDir.getParentFile();
+      if (versionsDir != null && versionsDir.lastModified() > since) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks that the parent POM referenced with a relative path was not changed since the given
+   * time. Parents from the parent directories and the projects of the workspace are part of the
+   * key.
+   */
+  private static boolean isRelativeParentUpToDate(File pom, MavenModel model, long since) {
+    MavenParent parent = model.getParent();
+    if (parent == null || parent.getRelativePath() == null) {
+      return true;
+    }
+    File parentPom = new File(pom.getAbsoluteFile().getParentFile(), parent.getRelativePath());
+    if (parentPom.isDirectory()) {
+      parentPom = new File(parentPom, MavenConstants.POM_FILE_NAME);
+    }
+    return !parentPom.isFile() || parentPom.lastModified() <= since;
+  }
+
+  private static boolean isWorkspaceProject(MavenKey key, MavenWorkspaceCache workspaceCache) {
+    return workspaceCache != null && workspaceCache.findEntry(key) != null;
+  }
+
+  private static String computeKey(
+      File pom,
+      List<String> activeProfiles,
+      List<String> inactiveProfiles,
+      MavenWorkspaceCache workspaceCache)
+      throws IOException {
+    Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putString(FORMAT_VERSION, UTF_8);
+
+    // the project POM and POMs of the parent directories, they are usually parents of the project
+    putFile(hasher, pom);
+    File dir = pom.getAbsoluteFile().getParentFile().getParentFile();
+    while (dir != null && new File(dir, MavenConstants.POM_FILE_NAME).isFile()) {
+      putFile(hasher, new File(dir, MavenConstants.POM_FILE_NAME));
+      dir = dir.getParentFile();
+    }
+
+    hasher.putString(String.valueOf(activeProfiles), UTF_8);
+    hasher.putString(String.valueOf(inactiveProfiles), UTF_8);
+
+    // the same settings as used by Maven server
+    putFile(hasher, new File(System.getProperty("user.home"), ".m2/settings.xml"));
+    String mavenHome = System.getenv("M2_HOME");
+    if (mavenHome != null) {
+      putFile(hasher, new File(mavenHome, "conf/settings.xml"));
+    }
+
+    // projects of the workspace may be dependencies or parents of the project
+    if (workspaceCache != null) {
+      Set<String> projects = new TreeSet<>();
+      Set<File> projectPoms = new TreeSet<>();
+      for (MavenKey mavenKey : workspaceCache.getAllKeys()) {
+        File file = workspaceCache.findEntry(mavenKey).getFile(MavenConstants.POM_EXTENSION);
+        projects.add(mavenKey + "=" + file);
+        if (file != null) {
+          projectPoms.add(file.getAbsoluteFile());
+        }
+      }
+      projects.forEach(project -> hasher.putString(project, UTF_8));
+      for (File projectPom : projectPoms) {
+        putFile(hasher, projectPom);
+      }
+    }
+    return hasher.hash().toString();
+  }
+
+  private static void putFile(Hasher hasher, File file) throws IOException {
+    hasher.putString(file.getAbsolutePath(), UTF_8);
+    if (file.isFile()) {
+      hasher.putBytes(Files.readAllBytes(file.toPath()));
+    } else {
+      hasher.putBoolean(false);
+    }
+  }
+}
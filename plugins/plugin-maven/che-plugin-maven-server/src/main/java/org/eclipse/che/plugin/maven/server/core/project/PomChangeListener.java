@@ -42,6 +42,7 @@ public class PomChangeListener {
   private final MavenWorkspace mavenWorkspace;
   private final EclipseWorkspaceProvider eclipseWorkspaceProvider;
   private final EditorWorkingCopyManager editorWorkingCopyManager;
+  private final MavenResolutionCache resolutionCache;
   private final String workspacePath;
   private CopyOnWriteArraySet<String> projectToUpdate = new CopyOnWriteArraySet<>();
 
@@ -52,10 +53,12 @@ public class PomChangeListener {
       EclipseWorkspaceProvider eclipseWorkspaceProvider,
       EditorWorkingCopyManager editorWorkingCopyManager,
       ThreadPullLauncher launcher,
+      MavenResolutionCache resolutionCache,
       @Named("che.user.workspaces.storage") String workspacePath) {
     this.mavenWorkspace = mavenWorkspace;
     this.eclipseWorkspaceProvider = eclipseWorkspaceProvider;
     this.editorWorkingCopyManager = editorWorkingCopyManager;
+    this.resolutionCache = resolutionCache;
     this.workspacePath = workspacePath;
 
     launcher.scheduleWithFixedDelay(this::updateProms, 20, 3, TimeUnit.SECONDS);
@@ -66,6 +69,7 @@ public class PomChangeListener {
           public void onEvent(ProjectItemModifiedEvent event) {
             String eventPath = event.getPath();
             if (!event.isFolder() && eventPath.endsWith("pom.xml")) {
+              resolutionCache.invalidate(new File(workspacePath, eventPath));
               // TODO update only pom file that in root of project
               //                    if(event.getProject().equals(eventPath.substring(0,
               // eventPath.lastIndexOf("pom.xml") - 1))) {
@@ -82,6 +86,7 @@ public class PomChangeListener {
           @Override
           public void onEvent(PomModifiedEventDto event) {
             String eventPath = event.getPath();
+            resolutionCache.invalidate(new File(workspacePath, eventPath));
             if (pomIsValid(eventPath)) {
               projectToUpdate.add(new Path(eventPath).removeLastSegments(1).toOSString());
             }
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.maven.server.core;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link MavenTaskExecutor} */
+@Listeners(MockitoTestNGListener.class)
+public class MavenTaskExecutorTest {
+
+  @Mock private MavenProgressNotifier notifier;
+
+  private MavenExecutorService executorService;
+  private MavenTaskExecutor taskExecutor;
+
+  @BeforeMethod
+  public void setUp() {
+    executorService = new MavenExecutorService(4);
+    taskExecutor = new MavenTaskExecutor(executorService, notifier);
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    executorService.shutdown();
+  }
+
+  @Test
+  public void shouldPerformIndependentTasksConcurrently() throws Exception {
+    CountDownLatch started = new CountDownLatch(2);
+    List<Boolean> results = new CopyOnWriteArrayList<>();
+    Runnable action =
+        () -> {
+          started.countDown();
+          try {
+            results.add(started.await(10, TimeUnit.SECONDS));
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        };
+
+    taskExecutor.submitTasks(
+        asList(
+            new TestTask(mock(MavenProject.class), emptySet(), action),
+            new TestTask(mock(MavenProject.class), emptySet(), action)));
+    taskExecutor.waitForEndAllTasks();
+
+    assertEquals(results, asList(true, true));
+    verify(notifier).start();
+    verify(notifier).stop();
+  }
+
+  @Test
+  public void shouldPerformTaskAfterTasksOfItsDependencies() throws Exception {
+    MavenProject parent = mock(MavenProject.class);
+    MavenProject module = mock(MavenProject.class);
+    MavenProject dependent = mock(MavenProject.class);
+    List<MavenProject> performed = new CopyOnWriteArrayList<>();
+
+    taskExecutor.submitTasks(
+        asList(
+            new TestTask(dependent, singleton(module), () -> performed.add(dependent)),
+            new TestTask(module, singleton(parent), () -> performed.add(module)),
+            new TestTask(parent, emptySet(), () -> performed.add(parent))));
+    taskExecutor.waitForEndAllTasks();
+
+    assertEquals(performed, asList(parent, module, dependent));
+  }
+
+  @Test
+  public void shouldPerformTasksWithCyclicDependencies() throws Exception {
+    MavenProject first = mock(MavenProject.class);
+    MavenProject second = mock(MavenProject.class);
+    List<MavenProject> performed = new CopyOnWriteArrayList<>();
+
+    taskExecutor.submitTasks(
+        asList(
+            new TestTask(first, singleton(second), () -> performed.add(first)),
+            new TestTask(second, singleton(first), () -> performed.add(second))));
+    taskExecutor.waitForEndAllTasks();
+
+    assertEquals(performed, asList(first, second));
+  }
+
+  @Test
+  public void shouldIgnoreTaskWhichIsAlreadyPending() throws Exception {
+    MavenProject project = mock(MavenProject.class);
+    MavenProject blocker = mock(MavenProject.class);
+    CountDownLatch blockerStarted = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger performed = new AtomicInteger();
+
+    taskExecutor.submitTask(
+        new TestTask(
+            blocker,
+            emptySet(),
+            () -> {
+              blockerStarted.countDown();
+              try {
+                release.await(10, TimeUnit.SECONDS);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            }));
+    assertTrue(blockerStarted.await(10, TimeUnit.SECONDS));
+    taskExecutor.submitTask(new TestTask(project, singleton(blocker), performed::incrementAndGet));
+    taskExecutor.submitTask(new TestTask(project, singleton(blocker), performed::incrementAndGet));
+    release.countDown();
+    taskExecutor.waitForEndAllTasks();
+
+    assertEquals(performed.get(), 1);
+  }
+
+  private static class TestTask implements MavenProjectTask {
+    private final MavenProject project;
+    private final Set<MavenProject> dependencies;
+    private final Runnable action;
+
+    private TestTask(MavenProject project, Set<MavenProject> dependencies, Runnable action) {
+      this.project = project;
+      this.dependencies = dependencies;
+      this.action = action;
+    }
+
+    @Override
+    public void perform() {
+      action.run();
+    }
+
+    @Override
+    public MavenProject getMavenProject() {
+      return project;
+    }
+
+    @Override
+    public Set<MavenProject> getDependencies() {
+      return dependencies;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof TestTask && project.equals(((TestTask) obj).project);
+    }
+
+    @Override
+    public int hashCode() {
+      return project.hashCode();
+    }
+  }
+}
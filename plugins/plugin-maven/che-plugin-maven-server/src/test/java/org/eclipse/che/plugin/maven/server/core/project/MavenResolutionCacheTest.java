@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.maven.server.core.project;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import com.google.common.io.Files;
+import java.io.File;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.maven.data.MavenModel;
+import org.eclipse.che.maven.data.MavenParent;
+import org.eclipse.che.maven.data.MavenProjectProblem;
+import org.eclipse.che.maven.data.MavenWorkspaceCache;
+import org.eclipse.che.maven.server.MavenProjectInfo;
+import org.eclipse.che.maven.server.MavenServerResult;
+import org.eclipse.che.plugin.maven.server.MavenServerWrapper;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link MavenResolutionCache} */
+@Listeners(MockitoTestNGListener.class)
+public class MavenResolutionCacheTest {
+
+  private static final List<String> PROFILES = singletonList("profile");
+
+  @Mock private MavenServerWrapper mavenServer;
+
+  private File workspaceDir;
+  private File cacheDir;
+  private File pom;
+  private MavenResolutionCache resolutionCache;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    workspaceDir = Files.createTempDir();
+    cacheDir = Files.createTempDir();
+    pom = new File(workspaceDir, "pom.xml");
+    FileUtils.write(pom, "<project/>");
+    resolutionCache = new MavenResolutionCache(cacheDir.toPath());
+
+    when(mavenServer.resolveProject(pom, PROFILES, emptyList())).thenReturn(result(emptyList()));
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    FileUtils.deleteDirectory(workspaceDir);
+    FileUtils.deleteDirectory(cacheDir);
+  }
+
+  @Test
+  public void shouldReturnCachedResultIfInputsAreNotChanged() throws Exception {
+    resolutionCache.resolveProject(mavenServer, pom, PROFILES, emptyList());
+    MavenServerResult result =
+        new MavenResolutionCache(cacheDir.toPath())
+            .resolveProject(mavenServer, pom, PROFILES, emptyList());
+
+    assertEquals(result.getProjectInfo().getMavenModel().getMavenKey(), mavenKey());
+    verify(mavenServer).resolveProject(pom, PROFILES, emptyList());
+  }
+
+  @Test
+  public void shouldResolveProjectAgainIfPomIsChanged() throws Exception {
+    resolutionCache.resolveProject(mavenServer, pom, PROFILES, emptyList());
+    FileUtils.write(pom, "<project><packaging>pom</packaging></project>");
+    resolutionCache.resolveProject(mavenServer, pom, PROFILES, emptyList());
+
+    verify(mavenServer, times(2)).resolveProject(pom, PROFILES, emptyList());
+  }
+
+  @Test
+  public void shouldResolveProjectAgainIfParentPomIsChanged() throws Exception {
+    File parentPom = new File(workspaceDir, "pom.xml");
+    File modulePom = new File(workspaceDir, "module/pom.xml");
+    FileUtils.write(modulePom, "<project/>");
+    when(mavenServer.resolveProject(modulePom, PROFILES, emptyList()))
+        .thenReturn(result(emptyList()));
+
+    resolutionCache.resolveProject(mavenServer, modulePom, PROFILES, emptyList());
+    FileUtils.write(parentPom, "<project><packaging>pom</packaging></project>");
+    resolutionCache.resolveProject(mavenServer, modulePom, PROFILES, emptyList());
+
+    verify(mavenServer, times(2)).resolveProject(modulePom, PROFILES, emptyList());
+  }
+
+  @Test
+  public void shouldResolveProjectAgainIfPomOfWorkspaceProjectIsChanged() throws Exception {
+    File projectPom = new File(workspaceDir, "project/pom.xml");
+    FileUtils.write(projectPom, "<project/>");
+    MavenWorkspaceCache workspaceCache = new MavenWorkspaceCache();
+    workspaceCache.put(new MavenKey("org.eclipse.che", "project", "1.0"), projectPom);
+    when(mavenServer.getWorkspaceCache()).thenReturn(workspaceCache);
+
+    resolutionCache.resolveProject(mavenServer, pom, PROFILES, emptyList());
+    FileUtils.write(projectPom, "<project><packaging>pom</packaging></project>");
+    resolutionCache.resolveProject(mavenServer, pom, PROFILES, emptyList());
+
+    verify(mavenServer, times(2)).resolveProject(pom, PROFILES, emptyList());
+  }
+
+  @Test
+  public void shouldResolveProjectAgainIfDependencyIsChangedInLocalRepository() throws Exception {
+    File jar = new File(workspaceDir, "repository/org/lib/1.0-SNAPSHOT/lib-1.0-SNAPSHOT.jar");
+    FileUtils.write(jar, "jar");
+    MavenModel model = model();
+    model.setDependencies(singletonList(dependency(jar)));
+    when(mavenServer.resolveProject(pom, PROFILES, emptyList())).thenReturn(result(model));
+
+    resolutionCache.resolveProject(mavenServer, pom, PROFILES, emptyList());
+    jar.setLastModified(System.currentTimeMillis() + 10_000);
+    resolutionCache.resolveProject(mavenServer, pom, PROFILES, emptyList());
+
+    verify(mavenServer, times(2)).resolveProject(pom, PROFILES, emptyList());
+  }
+
+  @Test
+  public void shouldResolveProjectAgainIfNewVersionOfDependencyIsInstalled() throws Exception {
+    File jar = new File(workspaceDir, "repository/org/lib/1.0/lib-1.0.jar");
+    FileUtils.write(jar, "jar");
+    MavenModel model = model();
+    model.setDependencies(singletonList(dependency(jar)));
+    when(mavenServer.resolveProject(pom, PROFILES, emptyList())).thenReturn(result(model));
+
+    resolutionCache.resolveProject(mavenServer, pom, PROFILES, emptyList());
+    File versionsDir = jar.getParentFile().getParentFile();
+    versionsDir.setLastModified(System.currentTimeMillis() + 10_000);
+    resolutionCache.resolveProject(mavenServer, pom, PROFILES, emptyList());
+
+    verify(mavenServer, times(2)).resolveProject(pom, PROFILES, emptyList());
+  }
+
+  @Test
+  public void shouldNotCacheResultOfProjectWithSnapshotParentFromRepository() throws Exception {
+    MavenModel model = model();
+    model.setParent(
+        new MavenParent(new MavenKey("org.eclipse.che", "parent", "1.0-SNAPSHOT"), null));
+    when(mavenServer.resolveProject(pom, PROFILES, emptyList())).thenReturn(result(model));
+
+    resolutionCache.resolveProject(mavenServer, pom, PROFILES, emptyList());
+    resolutionCache.resolveProject(mavenServer, pom, PROFILES, emptyList());
+
+    verify(mavenServer, times(2)).resolveProject(pom, PROFILES, emptyList());
+  }
+
+  @Test
+  public void shouldResolveProjectAgainIfCacheIsInvalidated() throws Exception {
+    resolutionCache.resolveProject(mavenServer, pom, PROFILES, emptyList());
+    resolutionCache.invalidate(pom);
+    resolutionCache.resolveProject(mavenServer, pom, PROFILES, emptyList());
+
+    verify(mavenServer, times(2)).resolveProject(pom, PROFILES, emptyList());
+  }
+
+  @Test
+  public void shouldNotCacheResultWithProblems() throws Exception {
+    when(mavenServer.resolveProject(pom, PROFILES, emptyList()))
+        .thenReturn(
+            result(singletonList(MavenProjectProblem.newStructureProblem(pom.getPath(), "error"))));
+
+    resolutionCache.resolveProject(mavenServer, pom, PROFILES, emptyList());
+    resolutionCache.resolveProject(mavenServer, pom, PROFILES, emptyList());
+
+    verify(mavenServer, times(2)).resolveProject(pom, PROFILES, emptyList());
+  }
+
+  private static MavenServerResult result(List<MavenProjectProblem> problems) {
+    return new MavenServerResult(
+        new MavenProjectInfo(model(), emptyMap(), emptyList()), problems, emptySet());
+  }
+
+  private static MavenServerResult result(MavenModel model) {
+    return new MavenServerResult(
+        new MavenProjectInfo(model, emptyMap(), emptyList()), emptyList(), emptySet());
+  }
+
+  private static MavenModel model() {
+    MavenModel model = new MavenModel();
+    model.setMavenKey(mavenKey());
+    return model;
+  }
+
+  private static MavenArtifact dependency(File file) {
+    String version = file.getParentFile().getName();
+    return new MavenArtifact(
+        "org", "lib", version, version, "jar", null, "compile", false, "jar", file, null, true,
+        false);
+  }
+
+  private static MavenKey mavenKey() {
+    return new MavenKey("org.eclipse.che", "test", "1.0");
+  }
+}
@@ -16,8 +16,11 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.io.Files;
+import java.io.File;
 import java.util.Collections;
 import java.util.Map;
+import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.maven.data.MavenConstants;
 import org.eclipse.che.maven.data.MavenKey;
 import org.eclipse.che.plugin.maven.server.MavenServerManager;
@@ -28,6 +31,7 @@ import org.eclipse.che.plugin.maven.server.core.MavenProjectManager;
 import org.eclipse.che.plugin.maven.server.core.MavenTerminalImpl;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProjectModifications;
+import org.eclipse.che.plugin.maven.server.core.project.MavenResolutionCache;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
@@ -55,6 +59,8 @@ public class MavenProjectManagerTest {
 
   private MavenProjectManager projectManager;
 
+  private File resolutionCacheDir;
+
   @Mock private IProject project;
 
   @Mock private IFile pom;
@@ -71,6 +77,7 @@ public class MavenProjectManagerTest {
 
   @BeforeMethod
   public void setUp() throws Exception {
+    resolutionCacheDir = Files.createTempDir();
     MavenWrapperManager wrapperManager = new MavenWrapperManager(manager);
     projectManager =
         new MavenProjectManager(
@@ -78,7 +85,8 @@ public class MavenProjectManagerTest {
             manager,
             new MavenTerminalImpl(),
             new MavenServerManagerTest.MyMavenServerProgressNotifier(),
-            workspaceProvider);
+            workspaceProvider,
+            new MavenResolutionCache(resolutionCacheDir.toPath()));
     when(workspaceProvider.get()).thenReturn(workspace);
     when(workspace.getRoot()).thenReturn(workspaceRoot);
   }
@@ -86,6 +94,7 @@ public class MavenProjectManagerTest {
   @AfterMethod
   public void tearDown() throws Exception {
     manager.shutdown();
+    IoUtil.deleteRecursive(resolutionCacheDir);
   }
 
   @Test
@@ -11,7 +11,14 @@
 package org.eclipse.che.maven.data;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.StringJoiner;
 
@@ -24,6 +31,11 @@ public class MavenArtifact implements Serializable {
 
   public static final long serialVersionUID = 1L;
 
+  private static final int OPTIONAL = 1;
+  private static final int RESOLVED = 1 << 1;
+  private static final int STUBBED = 1 << 2;
+  private static final int FILE_IN_LOCAL_REPO = 1 << 3;
+
   private final String groupId;
   private final String artifactId;
   private final String version;
@@ -143,4 +155,121 @@ public class MavenArtifact implements Serializable {
     joiner.add(groupId).add(artifactId).add(version);
     return joiner.toString();
   }
+
+  /**
+   * Writes the artifacts in a compact form which is read by {@link #readAll(ObjectInput)}.
+   * Artifacts of a project share most of their strings, e.g. group ids, versions, scopes and the
+   * local repository, so each distinct string is written once and is referred by its index
+   * afterwards. Files located in the local repository are written relative to it.
+   */
+  static void writeAll(ObjectOutput out, List<MavenArtifact> artifacts) throws IOException {
+    if (artifacts == null) {
+      out.writeInt(-1);
+      return;
+    }
+    out.writeInt(artifacts.size());
+    Map<String, Integer> strings = new HashMap<>();
+    for (MavenArtifact artifact : artifacts) {
+      writeString(out, strings, artifact.groupId);
+      writeString(out, strings, artifact.artifactId);
+      writeString(out, strings, artifact.version);
+      writeString(out, strings, artifact.baseVersion);
+      writeString(out, strings, artifact.type);
+      writeString(out, strings, artifact.classifier);
+      writeString(out, strings, artifact.scope);
+      writeString(out, strings, artifact.extension);
+
+      String localRepo = artifact.localRepo == null ? null : artifact.localRepo.getPath();
+      String file = artifact.file == null ? null : artifact.file.getPath();
+      boolean inLocalRepo =
+          localRepo != null && file != null && file.startsWith(localRepo + File.separator);
+      writeString(out, strings, localRepo);
+      writeString(out, strings, inLocalRepo ? file.substring(localRepo.length() + 1) : file);
+
+      int flags = 0;
+      if (artifact.optional) {
+        flags |= OPTIONAL;
+      }
+      if (artifact.resolved) {
+        flags |= RESOLVED;
+      }
+      if (artifact.stubbed) {
+        flags |= STUBBED;
+      }
+      if (inLocalRepo) {
+        flags |= FILE_IN_LOCAL_REPO;
+      }
+      out.writeByte(flags);
+    }
+  }
+
+  /** Reads the artifacts written by {@link #writeAll(ObjectOutput, List)}. */
+  static List<MavenArtifact> readAll(ObjectInput in) throws IOException {
+    int size = in.readInt();
+    if (size < 0) {
+      return null;
+    }
+    List<MavenArtifact> artifacts = new ArrayList<>(size);
+    List<String> strings = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      String groupId = readString(in, strings);
+      String artifactId = readString(in, strings);
+      String version = readString(in, strings);
+      String baseVersion = readString(in, strings);
+      String type = readString(in, strings);
+      String classifier = readString(in, strings);
+      String scope = readString(in, strings);
+      String extension = readString(in, strings);
+      String localRepo = readString(in, strings);
+      String file = readString(in, strings);
+      int flags = in.readByte();
+
+      if ((flags & FILE_IN_LOCAL_REPO) != 0) {
+        file = localRepo + File.separator + file;
+      }
+      artifacts.add(
+          new MavenArtifact(
+              groupId,
+              artifactId,
+              version,
+              baseVersion,
+              type,
+              classifier,
+              scope,
+              (flags & OPTIONAL) != 0,
+              extension,
+              file == null ? null : new File(file),
+              localRepo == null ? null : new File(localRepo),
+              (flags & RESOLVED) != 0,
+              (flags & STUBBED) != 0));
+    }
+    return artifacts;
+  }
+
+  private static void writeString(ObjectOutput out, Map<String, Integer> strings, String value)
+      throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    Integer index = strings.get(value);
+    if (index != null) {
+      out.writeInt(index);
+    } else {
+      out.writeInt(strings.size());
+      strings.put(value, strings.size());
+      out.writeUTF(value);
+    }
+  }
+
+  private static String readString(ObjectInput in, List<String> strings) throws IOException {
+    int index = in.readInt();
+    if (index < 0) {
+      return null;
+    }
+    if (index == strings.size()) {
+      strings.add(in.readUTF());
+    }
+    return strings.get(index);
+  }
 }
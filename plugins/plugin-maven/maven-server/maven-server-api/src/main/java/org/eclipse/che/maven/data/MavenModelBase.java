@@ -10,6 +10,9 @@
  */
 package org.eclipse.che.maven.data;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.List;
@@ -21,13 +24,14 @@ import java.util.Properties;
  * @author Evgen Vidolob
  */
 public class MavenModelBase implements Serializable {
-  private static final long serialVersionUID = 1L;
+  private static final long serialVersionUID = 2L;
 
   private Properties properties;
 
   private List<MavenPlugin> plugins = Collections.emptyList();
-  private List<MavenArtifact> extensions = Collections.emptyList();
-  private List<MavenArtifact> dependencies = Collections.emptyList();
+  // written with MavenArtifact#writeAll, resolved projects may have hundreds of dependencies
+  private transient List<MavenArtifact> extensions = Collections.emptyList();
+  private transient List<MavenArtifact> dependencies = Collections.emptyList();
   private List<MavenRemoteRepository> remoteRepositories = Collections.emptyList();
 
   private List<String> modules;
@@ -82,4 +86,16 @@ public class MavenModelBase implements Serializable {
   public void setModules(List<String> modules) {
     this.modules = modules;
   }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    MavenArtifact.writeAll(out, extensions);
+    MavenArtifact.writeAll(out, dependencies);
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    extensions = MavenArtifact.readAll(in);
+    dependencies = MavenArtifact.readAll(in);
+  }
 }
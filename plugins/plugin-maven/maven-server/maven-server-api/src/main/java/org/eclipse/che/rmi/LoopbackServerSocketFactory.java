@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.rmi;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.rmi.server.RMIServerSocketFactory;
+
+/**
+ * Creates server sockets which accept connections only from the local host, so the registry and the
+ * objects of the rmi server are not reachable from the network.
+ */
+public class LoopbackServerSocketFactory implements RMIServerSocketFactory {
+
+  @Override
+  public ServerSocket createServerSocket(int port) throws IOException {
+    return new ServerSocket(port, 0, InetAddress.getByName("localhost"));
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return obj instanceof LoopbackServerSocketFactory;
+  }
+
+  @Override
+  public int hashCode() {
+    return LoopbackServerSocketFactory.class.hashCode();
+  }
+}
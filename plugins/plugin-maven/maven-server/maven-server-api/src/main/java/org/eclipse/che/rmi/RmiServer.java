@@ -16,14 +16,26 @@ import java.rmi.RemoteException;
 import java.rmi.registry.LocateRegistry;
 import java.rmi.registry.Registry;
 import java.rmi.server.ExportException;
+import java.rmi.server.RMIServerSocketFactory;
 import java.rmi.server.UnicastRemoteObject;
 import java.util.Random;
 import javax.naming.Context;
 
 /** @author Evgen Vidolob */
 public class RmiServer {
+  private static final RMIServerSocketFactory SERVER_SOCKET_FACTORY =
+      new LoopbackServerSocketFactory();
+
   private static Remote remote;
 
+  /**
+   * Exports the given object on an anonymous port which accepts connections only from the local
+   * host.
+   */
+  public static Remote export(Remote remote) throws RemoteException {
+    return UnicastRemoteObject.exportObject(remote, 0, null, SERVER_SOCKET_FACTORY);
+  }
+
   protected static void start(Remote remote) throws RemoteException {
     System.setProperty("java.rmi.server.hostname", "localhost");
     System.setProperty("java.rmi.server.disableHttp", "true");
@@ -43,13 +55,14 @@ public class RmiServer {
         continue;
       }
       try {
-        registry = LocateRegistry.createRegistry(tmpPort);
+        registry = LocateRegistry.createRegistry(tmpPort, null, SERVER_SOCKET_FACTORY);
         port = tmpPort;
       } catch (ExportException ignored) {
       }
     }
 
-    Remote exportObject = UnicastRemoteObject.exportObject(remote, port);
+    Remote exportObject =
+        UnicastRemoteObject.exportObject(remote, port, null, SERVER_SOCKET_FACTORY);
     String exportName =
         remote.getClass().getSimpleName() + Integer.toHexString(exportObject.hashCode());
     try {
@@ -20,7 +20,11 @@ import org.eclipse.che.commons.lang.Size;
 
 /** @author Evgen Vidolob */
 public class ArtifactTransferListener implements TransferListener {
+  /** Minimal interval between the notifications about progress of the transfers. */
+  private static final long PROGRESS_INTERVAL_MS = 200;
+
   private MavenServerProgressNotifierImpl notifier;
+  private volatile long lastProgressTime;
 
   public ArtifactTransferListener(MavenServerProgressNotifierImpl notifier) {
     this.notifier = notifier;
@@ -54,6 +58,14 @@ public class ArtifactTransferListener implements TransferListener {
 
   @Override
   public void transferProgressed(TransferEvent transferEvent) throws TransferCancelledException {
+    // each notification is a remote call, so notify only from time to time
+    long now = System.currentTimeMillis();
+    if (transferEvent.getType() == TransferEvent.EventType.PROGRESSED
+        && now - lastProgressTime < PROGRESS_INTERVAL_MS) {
+      return;
+    }
+    lastProgressTime = now;
+
     TransferResource resource = transferEvent.getResource();
 
     long contentLength = resource.getContentLength();
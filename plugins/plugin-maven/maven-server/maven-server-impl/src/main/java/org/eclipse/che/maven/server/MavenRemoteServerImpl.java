@@ -12,10 +12,10 @@ package org.eclipse.che.maven.server;
 
 import java.io.File;
 import java.rmi.RemoteException;
-import java.rmi.server.UnicastRemoteObject;
 import java.util.Collection;
 import org.eclipse.che.maven.data.MavenExplicitProfiles;
 import org.eclipse.che.maven.data.MavenModel;
+import org.eclipse.che.rmi.RmiServer;
 
 /**
  * Implementation of {@link MavenRemoteServer} which use Maven 3.2.*
@@ -33,7 +33,7 @@ public class MavenRemoteServerImpl extends MavenRmiObject implements MavenRemote
   public MavenServer createServer(MavenSettings settings) throws RemoteException {
     try {
       MavenServerImpl mavenServer = new MavenServerImpl(settings);
-      UnicastRemoteObject.exportObject(mavenServer, 0);
+      RmiServer.export(mavenServer);
       return mavenServer;
     } catch (RemoteException e) {
       e.printStackTrace();
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.maven.server;
+
+import java.rmi.RemoteException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Implementation of {@link MavenTerminal} which sends messages to the remote terminal from a
+ * separate thread, so maven doesn't wait for a remote call for each logged line. Consecutive
+ * messages of the same level without throwable are sent to the remote terminal with one call.
+ */
+public class MavenServerAsyncTerminal implements MavenTerminal {
+  private static final int MAX_PENDING_MESSAGES = 10_000;
+  private static final int MAX_BATCH_LENGTH = 64 * 1024;
+
+  private final MavenTerminal delegate;
+  private final Deque<Message> messages = new ArrayDeque<>();
+  private final Thread sender;
+
+  private boolean sending;
+  private boolean closed;
+
+  public MavenServerAsyncTerminal(MavenTerminal delegate) {
+    this.delegate = delegate;
+    this.sender = new Thread(this::sendMessages, "MavenServerAsyncTerminal");
+    sender.setDaemon(true);
+    sender.start();
+  }
+
+  @Override
+  public synchronized void print(int level, String message, Throwable throwable) {
+    if (closed) {
+      return;
+    }
+    while (messages.size() >= MAX_PENDING_MESSAGES && sender.isAlive()) {
+      if (!waitForSender()) {
+        return;
+      }
+    }
+    messages.add(new Message(level, message, throwable));
+    notifyAll();
+  }
+
+  /** Waits until all the printed messages are sent to the remote terminal. */
+  public synchronized void flush() {
+    while ((sending || !messages.isEmpty()) && sender.isAlive()) {
+      if (!waitForSender()) {
+        return;
+      }
+    }
+  }
+
+  /** Sends the printed messages and stops the sending thread. */
+  public void close() {
+    flush();
+    synchronized (this) {
+      closed = true;
+      notifyAll();
+    }
+  }
+
+  private boolean waitForSender() {
+    try {
+      wait();
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private void sendMessages() {
+    while (true) {
+      List<Message> batch;
+      synchronized (this) {
+        while (messages.isEmpty() && !closed) {
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            return;
+          }
+        }
+        if (messages.isEmpty()) {
+          return;
+        }
+        batch = new ArrayList<>(messages);
+        messages.clear();
+        sending = true;
+        notifyAll();
+      }
+
+      try {
+        send(batch);
+      } finally {
+        synchronized (this) {
+          sending = false;
+          notifyAll();
+        }
+      }
+    }
+  }
+
+  private void send(List<Message> batch) {
+    StringBuilder text = new StringBuilder();
+    int level = -1;
+    for (Message message : batch) {
+      if (message.throwable != null) {
+        sendText(level, text);
+        try {
+          delegate.print(message.level, message.text, message.throwable);
+        } catch (RemoteException ignore) {
+        }
+        continue;
+      }
+      if (message.level != level || text.length() + message.text.length() > MAX_BATCH_LENGTH) {
+        sendText(level, text);
+        level = message.level;
+      }
+      text.append(message.text);
+    }
+    sendText(level, text);
+  }
+
+  private void sendText(int level, StringBuilder text) {
+    if (text.length() == 0) {
+      return;
+    }
+    try {
+      delegate.print(level, text.toString(), null);
+    } catch (RemoteException ignore) {
+    }
+    text.setLength(0);
+  }
+
+  private static class Message {
+    private final int level;
+    private final String text;
+    private final Throwable throwable;
+
+    private Message(int level, String text, Throwable throwable) {
+      this.level = level;
+      this.text = text;
+      this.throwable = throwable;
+    }
+  }
+}
@@ -535,11 +535,15 @@ public class MavenServerImpl extends MavenRmiObject implements MavenServer {
       File pom, List<String> activeProfiles, List<String> inactiveProfiles) throws RemoteException {
     DependencyTreeResolutionListener listener =
         new DependencyTreeResolutionListener(terminalLogger);
-    MavenResult mavenResult =
-        internalResolveProject(
-            pom, activeProfiles, inactiveProfiles, Collections.singletonList(listener));
+    try {
+      MavenResult mavenResult =
+          internalResolveProject(
+              pom, activeProfiles, inactiveProfiles, Collections.singletonList(listener));
 
-    return createResult(pom, mavenResult);
+      return createResult(pom, mavenResult);
+    } finally {
+      terminalLogger.flush();
+    }
   }
 
   @Override
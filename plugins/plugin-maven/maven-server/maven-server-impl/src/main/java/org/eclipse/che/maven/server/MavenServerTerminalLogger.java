@@ -10,19 +10,18 @@
  */
 package org.eclipse.che.maven.server;
 
-import java.rmi.RemoteException;
 import org.codehaus.plexus.logging.Logger;
 
 /**
  * Implementation of {@link Logger}. This implementation delegates all log call to {@link
- * MavenTerminal} interface.
+ * MavenTerminal} interface, messages are sent to the terminal asynchronously.
  *
  * @author Evgen Vidolob
  */
 public class MavenServerTerminalLogger implements Logger {
 
   private int logLevel;
-  private MavenTerminal terminal;
+  private volatile MavenServerAsyncTerminal terminal;
 
   @Override
   public void debug(String s) {
@@ -120,7 +119,19 @@ public class MavenServerTerminalLogger implements Logger {
   }
 
   public void setTerminal(MavenTerminal terminal) {
-    this.terminal = terminal;
+    MavenServerAsyncTerminal previous = this.terminal;
+    this.terminal = terminal != null ? new MavenServerAsyncTerminal(terminal) : null;
+    if (previous != null) {
+      previous.close();
+    }
+  }
+
+  /** Waits until the logged messages are sent to the terminal. */
+  public void flush() {
+    MavenServerAsyncTerminal terminal = this.terminal;
+    if (terminal != null) {
+      terminal.flush();
+    }
   }
 
   private void print(int level, String message, Throwable t) {
@@ -128,14 +139,12 @@ public class MavenServerTerminalLogger implements Logger {
       return;
     }
 
+    MavenServerAsyncTerminal terminal = this.terminal;
     if (terminal != null) {
       if (!message.endsWith("\n")) {
         message += "\n";
       }
-      try {
-        terminal.print(level, message, t);
-      } catch (RemoteException ignore) {
-      }
+      terminal.print(level, message, t);
     }
   }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.maven.data;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import org.testng.annotations.Test;
+
+/** Tests serialized form of {@link MavenModel} dependencies. */
+public class MavenModelSerializationTest {
+
+  private static final File LOCAL_REPO = new File("/home/user/.m2/repository");
+
+  @Test
+  public void shouldRestoreDependenciesAndExtensions() throws Exception {
+    MavenArtifact junit =
+        artifact(
+            "junit", "junit", "4.12", "test", true, new File(LOCAL_REPO, "junit/junit-4.12.jar"));
+    MavenArtifact module =
+        artifact(
+            "org.test", "module", "1.0", "compile", false, new File("/projects/module/target"));
+    MavenArtifact extension = artifact("org.test", "extension", "1.0", null, false, null);
+    MavenModel model = new MavenModel();
+    model.setDependencies(asList(junit, module));
+    model.setExtensions(singletonList(extension));
+
+    MavenModel restored = serializeAndRead(model);
+
+    List<MavenArtifact> dependencies = restored.getDependencies();
+    assertEquals(dependencies, asList(junit, module));
+    assertEquals(dependencies.get(0).getFile(), junit.getFile());
+    assertTrue(dependencies.get(0).isOptional());
+    assertEquals(dependencies.get(1).getFile(), module.getFile());
+    assertFalse(dependencies.get(1).isOptional());
+    assertEquals(restored.getExtensions(), singletonList(extension));
+    assertNull(restored.getExtensions().get(0).getFile());
+    assertNull(restored.getExtensions().get(0).getScope());
+  }
+
+  @Test
+  public void shouldRestoreNullDependencies() throws Exception {
+    MavenModel model = new MavenModel();
+    model.setDependencies(null);
+
+    MavenModel restored = serializeAndRead(model);
+
+    assertNull(restored.getDependencies());
+    assertTrue(restored.getExtensions().isEmpty());
+  }
+
+  private static MavenModel serializeAndRead(MavenModel model) throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(model);
+    }
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      return (MavenModel) in.readObject();
+    }
+  }
+
+  private static MavenArtifact artifact(
+      String groupId,
+      String artifactId,
+      String version,
+      String scope,
+      boolean optional,
+      File file) {
+    return new MavenArtifact(
+        groupId,
+        artifactId,
+        version,
+        version,
+        "jar",
+        null,
+        scope,
+        optional,
+        "jar",
+        file,
+        LOCAL_REPO,
+        file != null,
+        false);
+  }
+}
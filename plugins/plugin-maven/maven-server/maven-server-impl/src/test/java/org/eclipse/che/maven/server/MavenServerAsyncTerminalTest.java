@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.maven.server;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.testng.annotations.Test;
+
+/** Tests for {@link MavenServerAsyncTerminal} */
+public class MavenServerAsyncTerminalTest {
+
+  @Test
+  public void shouldSendConsecutiveMessagesOfSameLevelInOneCall() throws Exception {
+    List<String> printed = new CopyOnWriteArrayList<>();
+    MavenServerAsyncTerminal terminal =
+        new MavenServerAsyncTerminal(
+            (level, message, throwable) -> printed.add(level + ":" + message));
+
+    terminal.print(MavenTerminal.LEVEL_INFO, "first\n", null);
+    terminal.print(MavenTerminal.LEVEL_INFO, "second\n", null);
+    terminal.print(MavenTerminal.LEVEL_WARN, "third\n", null);
+    terminal.close();
+
+    assertEquals(
+        String.join("", printed),
+        MavenTerminal.LEVEL_INFO + ":first\nsecond\n" + MavenTerminal.LEVEL_WARN + ":third\n");
+  }
+
+  @Test
+  public void shouldSendMessageWithThrowableSeparately() throws Exception {
+    List<String> printed = new CopyOnWriteArrayList<>();
+    List<Throwable> throwables = new CopyOnWriteArrayList<>();
+    RuntimeException exception = new RuntimeException();
+    MavenServerAsyncTerminal terminal =
+        new MavenServerAsyncTerminal(
+            (level, message, throwable) -> {
+              printed.add(message);
+              throwables.add(throwable);
+            });
+
+    terminal.print(MavenTerminal.LEVEL_ERROR, "first\n", null);
+    terminal.print(MavenTerminal.LEVEL_ERROR, "second\n", exception);
+    terminal.print(MavenTerminal.LEVEL_ERROR, "third\n", null);
+    terminal.close();
+
+    assertEquals(printed, asList("first\n", "second\n", "third\n"));
+    assertEquals(throwables, asList(null, exception, null));
+  }
+
+  @Test
+  public void shouldNotSendMessagesAfterClose() throws Exception {
+    List<String> printed = new CopyOnWriteArrayList<>();
+    MavenServerAsyncTerminal terminal =
+        new MavenServerAsyncTerminal((level, message, throwable) -> printed.add(message));
+
+    terminal.print(MavenTerminal.LEVEL_INFO, "first\n", null);
+    terminal.close();
+    terminal.print(MavenTerminal.LEVEL_INFO, "second\n", null);
+    terminal.flush();
+
+    assertEquals(printed, asList("first\n"));
+  }
+}
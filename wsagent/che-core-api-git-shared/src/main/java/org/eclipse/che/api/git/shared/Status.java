@@ -68,6 +68,14 @@ public interface Status {
 
   void setConflicting(List<String> added);
 
+  /**
+   * Files and folders that are ignored and are not staged in index. Content of folders that are
+   * ignored as a whole is not listed.
+   */
+  List<String> getIgnored();
+
+  void setIgnored(List<String> ignored);
+
   String getRepositoryState();
 
   void setRepositoryState(String repositoryState);
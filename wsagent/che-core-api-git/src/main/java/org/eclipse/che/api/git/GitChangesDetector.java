@@ -13,10 +13,6 @@ package org.eclipse.che.api.git;
 import static java.util.Collections.singletonList;
 import static org.eclipse.che.api.fs.server.WsPathUtils.absolutize;
 import static org.eclipse.che.api.git.shared.Constants.EVENT_GIT_FILE_CHANGED;
-import static org.eclipse.che.api.git.shared.FileChangedEventDto.Status.ADDED;
-import static org.eclipse.che.api.git.shared.FileChangedEventDto.Status.MODIFIED;
-import static org.eclipse.che.api.git.shared.FileChangedEventDto.Status.NOT_MODIFIED;
-import static org.eclipse.che.api.git.shared.FileChangedEventDto.Status.UNTRACKED;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -35,7 +31,6 @@ import org.eclipse.che.api.fs.server.PathTransformer;
 import org.eclipse.che.api.git.exception.GitCommitInProgressException;
 import org.eclipse.che.api.git.exception.GitInvalidRepositoryException;
 import org.eclipse.che.api.git.shared.FileChangedEventDto;
-import org.eclipse.che.api.git.shared.Status;
 import org.eclipse.che.api.project.server.ProjectManager;
 import org.eclipse.che.api.project.shared.dto.event.FileTrackingOperationDto;
 import org.eclipse.che.api.watcher.server.FileWatcherManager;
@@ -57,6 +52,7 @@ public class GitChangesDetector {
   private final ProjectManager projectManager;
   private final PathTransformer pathTransformer;
   private final GitConnectionFactory gitConnectionFactory;
+  private final GitStatusCache statusCache;
   private final EventService eventService;
   private final EventSubscriber<FileTrackingOperationEvent> eventSubscriber;
 
@@ -69,12 +65,14 @@ public class GitChangesDetector {
       ProjectManager projectManager,
       PathTransformer pathTransformer,
       GitConnectionFactory gitConnectionFactory,
+      GitStatusCache statusCache,
       EventService eventService) {
     this.transmitter = transmitter;
     this.manager = manager;
     this.projectManager = projectManager;
     this.pathTransformer = pathTransformer;
     this.gitConnectionFactory = gitConnectionFactory;
+    this.statusCache = statusCache;
     this.eventService = eventService;
 
     eventSubscriber =
@@ -168,20 +166,14 @@ public class GitChangesDetector {
         if (!projectManager.isRegistered(absolutize(projectName))) {
           throw new NotFoundException("Project '" + projectName + "' is not found");
         }
+        String projectPath = absolutize(projectName);
         String projectFsPath = pathTransformer.transform(projectName).toString();
         GitConnection gitConnection = gitConnectionFactory.getConnection(projectFsPath);
-        Status status = gitConnection.status(singletonList(itemPath));
-        FileChangedEventDto.Status fileStatus;
-        if (status.getAdded().contains(itemPath)) {
-          fileStatus = ADDED;
-        } else if (status.getUntracked().contains(itemPath)) {
-          fileStatus = UNTRACKED;
-        } else if (status.getModified().contains(itemPath)
-            || status.getChanged().contains(itemPath)) {
-          fileStatus = MODIFIED;
-        } else {
-          fileStatus = NOT_MODIFIED;
-        }
+        // the event may come before the cache is notified about the change
+        statusCache.invalidate(projectPath, itemPath);
+        FileChangedEventDto.Status fileStatus =
+            FileChangedEventDto.Status.valueOf(
+                statusCache.getStatus(projectPath, singletonList(itemPath)).get(itemPath).name());
 
         transmitter
             .newRequest()
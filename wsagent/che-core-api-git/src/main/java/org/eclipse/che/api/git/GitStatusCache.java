@@ -0,0 +1,427 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.git;
+
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.isDirectory;
+import static java.util.Collections.emptyList;
+import static org.eclipse.che.api.fs.server.WsPathUtils.absolutize;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.ADDED;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.MODIFIED;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.NOT_MODIFIED;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.UNTRACKED;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.fs.server.PathTransformer;
+import org.eclipse.che.api.git.exception.GitException;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus;
+import org.eclipse.che.api.watcher.server.FileWatcherManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caches git status of projects.
+ *
+ * <p>The status of a project is computed with a full status walk when it is requested for the first
+ * time. After that the cache is updated incrementally, changes found by the file tree walker mark
+ * the changed paths as dirty and the next status request recomputes the status only for the dirty
+ * paths, JGit then walks only these paths and reuses the index entries of unchanged files. Changes
+ * of paths ignored by the repository or excluded from file watching are skipped. Any change of the
+ * git metadata, e.g. index, HEAD or references, invalidates the whole status of the repository, as
+ * do changes of ignore files and a large number of dirty paths.
+ *
+ * <p>Projects are identified by their workspace paths and item paths are relative to the project.
+ *
+ * @see GitStatusProvider
+ */
+@Singleton
+public class GitStatusCache implements Consumer<Path> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(GitStatusCache.class);
+
+  private static final String GIT_DIR = ".git";
+  private static final String GIT_OBJECTS_DIR = "objects";
+  private static final String GIT_LOGS_DIR = "logs";
+  private static final String GIT_IGNORE_FILE = ".gitignore";
+
+  /** Number of dirty paths after which the whole status is recomputed. */
+  static final int MAX_DIRTY_PATHS = 100;
+
+  private final GitConnectionFactory gitConnectionFactory;
+  private final FileWatcherManager manager;
+  private final PathTransformer pathTransformer;
+  private final Map<String, RepositoryStatus> repositories;
+
+  private int metadataWatchId;
+
+  @Inject
+  public GitStatusCache(
+      GitConnectionFactory gitConnectionFactory,
+      FileWatcherManager manager,
+      PathTransformer pathTransformer) {
+    this.gitConnectionFactory = gitConnectionFactory;
+    this.manager = manager;
+    this.pathTransformer = pathTransformer;
+    this.repositories = new ConcurrentHashMap<>();
+  }
+
+  @PostConstruct
+  public void startWatchers() {
+    metadataWatchId =
+        manager.registerByMatcher(
+            metadataMatcher(), this::onMetadataEvent, this::onMetadataEvent, this::onMetadataEvent);
+  }
+
+  @PreDestroy
+  public void stopWatchers() {
+    manager.unRegisterByMatcher(metadataWatchId);
+  }
+
+  /**
+   * Returns full git status of the project. The returned object is a copy and may be modified.
+   *
+   * @param projectPath workspace path of the project
+   * @throws GitException when status can't be computed
+   */
+  public Status getStatus(String projectPath) throws GitException {
+    RepositoryStatus repository = getRepository(projectPath);
+    synchronized (repository) {
+      refresh(repository);
+      return repository.toDto();
+    }
+  }
+
+  /**
+   * Returns VCS statuses of the given project items with a single cache read.
+   *
+   * @param projectPath workspace path of the project
+   * @param itemPaths item paths relative to the project
+   * @return item path to status map
+   * @throws GitException when status can't be computed
+   */
+  public Map<String, VcsStatus> getStatus(String projectPath, Collection<String> itemPaths)
+      throws GitException {
+    RepositoryStatus repository = getRepository(projectPath);
+    Map<String, VcsStatus> statuses = new HashMap<>();
+    synchronized (repository) {
+      refresh(repository);
+      for (String itemPath : itemPaths) {
+        statuses.put(itemPath, repository.getVcsStatus(itemPath));
+      }
+    }
+    return statuses;
+  }
+
+  /**
+   * Marks the project item as changed, so its status is recomputed on the next request.
+   *
+   * @param projectPath workspace path of the project
+   * @param itemPath item path relative to the project
+   */
+  public void invalidate(String projectPath, String itemPath) {
+    RepositoryStatus repository = repositories.get(absolutize(projectPath));
+    if (repository != null) {
+      synchronized (repository) {
+        repository.markDirty(itemPath);
+      }
+    }
+  }
+
+  /**
+   * Drops the cached status of the project, so it is recomputed completely on the next request.
+   *
+   * @param projectPath workspace path of the project
+   */
+  public void invalidate(String projectPath) {
+    RepositoryStatus repository = repositories.get(absolutize(projectPath));
+    if (repository != null) {
+      synchronized (repository) {
+        repository.invalidate();
+      }
+    }
+  }
+
+  /**
+   * Consumes changes of the work tree items found by the file tree walker, the same instance is
+   * registered for creation, modification and deletion of files and directories.
+   */
+  @Override
+  public void accept(Path fsPath) {
+    if (isGitMetadata(fsPath) || manager.isExcluded(fsPath)) {
+      return;
+    }
+    String wsPath = pathTransformer.transform(fsPath);
+    if (!exists(fsPath)) {
+      onWorkTreeDelete(wsPath);
+    }
+    onWorkTreeEvent(wsPath);
+  }
+
+  @VisibleForTesting
+  void onWorkTreeEvent(String wsPath) {
+    for (RepositoryStatus repository : repositories.values()) {
+      String itemPath = relativize(repository.projectPath, wsPath);
+      if (itemPath != null) {
+        synchronized (repository) {
+          repository.markDirty(itemPath);
+        }
+      }
+    }
+  }
+
+  /** Drops cached statuses of the projects which were removed with the deleted item. */
+  @VisibleForTesting
+  void onWorkTreeDelete(String wsPath) {
+    repositories
+        .keySet()
+        .removeIf(
+            projectPath -> projectPath.equals(wsPath) || relativize(wsPath, projectPath) != null);
+  }
+
+  @VisibleForTesting
+  void onMetadataEvent(String wsPath) {
+    int gitDirIndex = wsPath.indexOf('/' + GIT_DIR + '/');
+    if (gitDirIndex < 0) {
+      return;
+    }
+    String repositoryRoot = wsPath.substring(0, gitDirIndex);
+    for (RepositoryStatus repository : repositories.values()) {
+      if (repository.projectPath.equals(repositoryRoot)
+          || relativize(repositoryRoot, repository.projectPath) != null) {
+        synchronized (repository) {
+          repository.invalidate();
+        }
+      }
+    }
+  }
+
+  private RepositoryStatus getRepository(String projectPath) {
+    return repositories.computeIfAbsent(absolutize(projectPath), RepositoryStatus::new);
+  }
+
+  /** Brings the repository status up to date, must be called under the repository lock. */
+  private void refresh(RepositoryStatus repository) throws GitException {
+    if (repository.valid && repository.dirty.isEmpty()) {
+      return;
+    }
+    GitConnection connection =
+        gitConnectionFactory.getConnection(
+            pathTransformer.transform(repository.projectPath).toString());
+    if (!repository.valid) {
+      repository.dirty.clear();
+      repository.update(connection.status(emptyList()));
+      LOG.debug("Computed full git status of project '{}'", repository.projectPath);
+    } else {
+      List<String> dirty = new ArrayList<>(repository.dirty);
+      repository.dirty.clear();
+      try {
+        repository.merge(dirty, connection.status(dirty));
+      } catch (GitException e) {
+        repository.dirty.addAll(dirty);
+        throw e;
+      }
+      LOG.debug(
+          "Updated git status of {} paths of project '{}'", dirty.size(), repository.projectPath);
+    }
+  }
+
+  /**
+   * Returns path relative to the parent or {@code null} if the path is not a descendant of the
+   * parent or is the parent itself.
+   */
+  private static String relativize(String parent, String path) {
+    if (path.length() > parent.length() + 1
+        && path.startsWith(parent)
+        && path.charAt(parent.length()) == '/') {
+      return path.substring(parent.length() + 1);
+    }
+    return null;
+  }
+
+  /** Matches git metadata directories except objects and logs, e.g. .git and .git/refs/heads. */
+  private static PathMatcher metadataMatcher() {
+    return it -> {
+      if (!isDirectory(it)) {
+        return false;
+      }
+      for (Path dir = it; dir != null && dir.getFileName() != null; dir = dir.getParent()) {
+        String name = dir.getFileName().toString();
+        if (GIT_DIR.equals(name)) {
+          return true;
+        }
+        if ((GIT_OBJECTS_DIR.equals(name) || GIT_LOGS_DIR.equals(name))
+            && dir.getParent() != null
+            && dir.getParent().getFileName() != null
+            && GIT_DIR.equals(dir.getParent().getFileName().toString())) {
+          return false;
+        }
+      }
+      return false;
+    };
+  }
+
+  private static boolean isGitMetadata(Path path) {
+    for (Path part : path) {
+      if (GIT_DIR.equals(part.toString())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Cached status of a single project. */
+  private static class RepositoryStatus {
+    private final String projectPath;
+    private final Set<String> dirty = new HashSet<>();
+
+    private final Set<String> added = new HashSet<>();
+    private final Set<String> changed = new HashSet<>();
+    private final Set<String> removed = new HashSet<>();
+    private final Set<String> missing = new HashSet<>();
+    private final Set<String> modified = new HashSet<>();
+    private final Set<String> untracked = new HashSet<>();
+    private final Set<String> untrackedFolders = new HashSet<>();
+    private final Set<String> conflicting = new HashSet<>();
+    private final Set<String> ignored = new HashSet<>();
+
+    private boolean valid;
+    private String branchName;
+    private String repositoryState;
+
+    private RepositoryStatus(String projectPath) {
+      this.projectPath = projectPath;
+    }
+
+    private void markDirty(String itemPath) {
+      if (!valid || isCovered(itemPath, ignored)) {
+        return;
+      }
+      if (itemPath.isEmpty() || isIgnoreFile(itemPath) || dirty.size() >= MAX_DIRTY_PATHS) {
+        invalidate();
+      } else {
+        dirty.add(itemPath);
+      }
+    }
+
+    private void invalidate() {
+      valid = false;
+      dirty.clear();
+    }
+
+    private void update(Status status) {
+      for (Set<String> set : categories()) {
+        set.clear();
+      }
+      ignored.clear();
+      merge(emptyList(), status);
+      branchName = status.getBranchName();
+      repositoryState = status.getRepositoryState();
+      valid = true;
+    }
+
+    /** Replaces statuses of the given paths and their descendants with the given status. */
+    private void merge(List<String> paths, Status status) {
+      if (!paths.isEmpty()) {
+        for (Set<String> set : categories()) {
+          set.removeIf(item -> isCovered(item, paths));
+        }
+        ignored.removeIf(item -> isCovered(item, paths));
+      }
+      addAll(added, status.getAdded());
+      addAll(changed, status.getChanged());
+      addAll(removed, status.getRemoved());
+      addAll(missing, status.getMissing());
+      addAll(modified, status.getModified());
+      addAll(untracked, status.getUntracked());
+      addAll(untrackedFolders, status.getUntrackedFolders());
+      addAll(conflicting, status.getConflicting());
+      addAll(ignored, status.getIgnored());
+    }
+
+    private VcsStatus getVcsStatus(String itemPath) {
+      if (untracked.contains(itemPath)) {
+        return UNTRACKED;
+      } else if (added.contains(itemPath)) {
+        return ADDED;
+      } else if (modified.contains(itemPath) || changed.contains(itemPath)) {
+        return MODIFIED;
+      } else {
+        return NOT_MODIFIED;
+      }
+    }
+
+    private Status toDto() {
+      Status status = newDto(Status.class);
+      status.setBranchName(branchName);
+      status.setRepositoryState(repositoryState);
+      status.setAdded(new ArrayList<>(added));
+      status.setChanged(new ArrayList<>(changed));
+      status.setRemoved(new ArrayList<>(removed));
+      status.setMissing(new ArrayList<>(missing));
+      status.setModified(new ArrayList<>(modified));
+      status.setUntracked(new ArrayList<>(untracked));
+      status.setUntrackedFolders(new ArrayList<>(untrackedFolders));
+      status.setConflicting(new ArrayList<>(conflicting));
+      status.setIgnored(new ArrayList<>(ignored));
+      status.setClean(categories().stream().allMatch(Set::isEmpty));
+      return status;
+    }
+
+    private List<Set<String>> categories() {
+      List<Set<String>> categories = new ArrayList<>(8);
+      categories.add(added);
+      categories.add(changed);
+      categories.add(removed);
+      categories.add(missing);
+      categories.add(modified);
+      categories.add(untracked);
+      categories.add(untrackedFolders);
+      categories.add(conflicting);
+      return categories;
+    }
+
+    private static boolean isIgnoreFile(String itemPath) {
+      return itemPath.equals(GIT_IGNORE_FILE) || itemPath.endsWith('/' + GIT_IGNORE_FILE);
+    }
+
+    private static boolean isCovered(String item, Collection<String> paths) {
+      for (String path : paths) {
+        if (item.equals(path) || relativize(path, item) != null) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private static void addAll(Set<String> target, List<String> items) {
+      if (items != null) {
+        target.addAll(items);
+      }
+    }
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.git;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.MODIFIED;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.NOT_MODIFIED;
+import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.UNTRACKED;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.che.api.fs.server.PathTransformer;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus;
+import org.eclipse.che.api.watcher.server.FileWatcherManager;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link GitStatusCache}. */
+@Listeners(MockitoTestNGListener.class)
+public class GitStatusCacheTest {
+
+  private static final String PROJECT = "/project";
+
+  @Mock private GitConnectionFactory gitConnectionFactory;
+  @Mock private GitConnection gitConnection;
+  @Mock private FileWatcherManager fileWatcherManager;
+  @Mock private PathTransformer pathTransformer;
+
+  private GitStatusCache cache;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    Path fsPath = mock(Path.class);
+    when(fsPath.toString()).thenReturn("/fsPath/project");
+    when(pathTransformer.transform(PROJECT)).thenReturn(fsPath);
+    when(gitConnectionFactory.getConnection("/fsPath/project")).thenReturn(gitConnection);
+
+    cache = new GitStatusCache(gitConnectionFactory, fileWatcherManager, pathTransformer);
+  }
+
+  @Test
+  public void shouldComputeFullStatusOnlyOnce() throws Exception {
+    Status full = status(singletonList("a.txt"), emptyList());
+    when(gitConnection.status(emptyList())).thenReturn(full);
+
+    Map<String, VcsStatus> first = cache.getStatus(PROJECT, asList("a.txt", "b.txt"));
+    Map<String, VcsStatus> second = cache.getStatus(PROJECT, singletonList("a.txt"));
+
+    assertEquals(first.get("a.txt"), UNTRACKED);
+    assertEquals(first.get("b.txt"), NOT_MODIFIED);
+    assertEquals(second.get("a.txt"), UNTRACKED);
+    verify(gitConnection, times(1)).status(anyList());
+  }
+
+  @Test
+  public void shouldRecomputeStatusOnlyOfChangedPaths() throws Exception {
+    Status full = status(singletonList("a.txt"), emptyList());
+    when(gitConnection.status(emptyList())).thenReturn(full);
+    cache.getStatus(PROJECT, singletonList("a.txt"));
+    Status partial = status(emptyList(), singletonList("b.txt"));
+    when(gitConnection.status(singletonList("b.txt"))).thenReturn(partial);
+
+    cache.onWorkTreeEvent(PROJECT + "/b.txt");
+    Map<String, VcsStatus> statuses = cache.getStatus(PROJECT, asList("a.txt", "b.txt"));
+
+    assertEquals(statuses.get("a.txt"), UNTRACKED);
+    assertEquals(statuses.get("b.txt"), MODIFIED);
+    verify(gitConnection, times(1)).status(emptyList());
+    verify(gitConnection).status(singletonList("b.txt"));
+  }
+
+  @Test
+  public void shouldDropStatusesOfChangedDirectoryEntries() throws Exception {
+    Status full = status(asList("dir/a.txt", "dir/b.txt", "c.txt"), emptyList());
+    when(gitConnection.status(emptyList())).thenReturn(full);
+    cache.getStatus(PROJECT, singletonList("c.txt"));
+    Status partial = status(emptyList(), emptyList());
+    when(gitConnection.status(singletonList("dir"))).thenReturn(partial);
+
+    cache.onWorkTreeEvent(PROJECT + "/dir");
+    Map<String, VcsStatus> statuses =
+        cache.getStatus(PROJECT, asList("dir/a.txt", "dir/b.txt", "c.txt"));
+
+    assertEquals(statuses.get("dir/a.txt"), NOT_MODIFIED);
+    assertEquals(statuses.get("dir/b.txt"), NOT_MODIFIED);
+    assertEquals(statuses.get("c.txt"), UNTRACKED);
+  }
+
+  @Test
+  public void shouldRecomputeFullStatusWhenGitMetadataChanged() throws Exception {
+    Status full = status(singletonList("a.txt"), emptyList());
+    when(gitConnection.status(emptyList())).thenReturn(full);
+    cache.getStatus(PROJECT, singletonList("a.txt"));
+
+    cache.onMetadataEvent(PROJECT + "/.git/index");
+    cache.getStatus(PROJECT, singletonList("a.txt"));
+
+    verify(gitConnection, times(2)).status(emptyList());
+  }
+
+  @Test
+  public void shouldRecomputeFullStatusWhenTooManyPathsChanged() throws Exception {
+    Status full = status(emptyList(), emptyList());
+    when(gitConnection.status(emptyList())).thenReturn(full);
+    cache.getStatus(PROJECT, singletonList("a.txt"));
+
+    for (int i = 0; i <= GitStatusCache.MAX_DIRTY_PATHS; i++) {
+      cache.onWorkTreeEvent(PROJECT + "/file" + i);
+    }
+    cache.getStatus(PROJECT, singletonList("a.txt"));
+
+    verify(gitConnection, times(2)).status(emptyList());
+    verify(gitConnection, never()).status(singletonList("file0"));
+  }
+
+  @Test
+  public void shouldIgnoreEventsOfOtherProjects() throws Exception {
+    Status full = status(emptyList(), emptyList());
+    when(gitConnection.status(emptyList())).thenReturn(full);
+    cache.getStatus(PROJECT, singletonList("a.txt"));
+
+    cache.onWorkTreeEvent("/project2/a.txt");
+    cache.onMetadataEvent("/project2/.git/index");
+    cache.getStatus(PROJECT, singletonList("a.txt"));
+
+    verify(gitConnection, times(1)).status(anyList());
+  }
+
+  @Test
+  public void shouldSkipEventsOfIgnoredPaths() throws Exception {
+    Status full = status(emptyList(), emptyList());
+    when(full.getIgnored()).thenReturn(singletonList("node_modules"));
+    when(gitConnection.status(emptyList())).thenReturn(full);
+    cache.getStatus(PROJECT, singletonList("a.txt"));
+
+    for (int i = 0; i <= GitStatusCache.MAX_DIRTY_PATHS; i++) {
+      cache.onWorkTreeEvent(PROJECT + "/node_modules/module" + i + "/index.js");
+    }
+    cache.getStatus(PROJECT, singletonList("a.txt"));
+
+    verify(gitConnection, times(1)).status(anyList());
+  }
+
+  @Test
+  public void shouldRecomputeFullStatusWhenIgnoreFileChanged() throws Exception {
+    Status full = status(emptyList(), emptyList());
+    when(gitConnection.status(emptyList())).thenReturn(full);
+    cache.getStatus(PROJECT, singletonList("a.txt"));
+
+    cache.onWorkTreeEvent(PROJECT + "/dir/.gitignore");
+    cache.getStatus(PROJECT, singletonList("a.txt"));
+
+    verify(gitConnection, times(2)).status(emptyList());
+    verify(gitConnection, never()).status(singletonList("dir/.gitignore"));
+  }
+
+  @Test
+  public void shouldDropStatusOfDeletedProject() throws Exception {
+    Status full = status(emptyList(), emptyList());
+    when(gitConnection.status(emptyList())).thenReturn(full);
+    cache.getStatus(PROJECT, singletonList("a.txt"));
+
+    cache.onWorkTreeDelete("/project2");
+    cache.getStatus(PROJECT, singletonList("a.txt"));
+    cache.onWorkTreeDelete(PROJECT);
+    cache.getStatus(PROJECT, singletonList("a.txt"));
+
+    verify(gitConnection, times(2)).status(emptyList());
+  }
+
+  private static Status status(List<String> untracked, List<String> modified) {
+    Status status = mock(Status.class);
+    when(status.getUntracked()).thenReturn(new ArrayList<>(untracked));
+    when(status.getModified()).thenReturn(new ArrayList<>(modified));
+    return status;
+  }
+}
@@ -10,9 +10,9 @@
  */
 package org.eclipse.che.api.git;
 
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.*;
-import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -29,7 +29,7 @@ import org.eclipse.che.api.git.shared.Status;
 import org.eclipse.che.api.project.server.ProjectManager;
 import org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus;
 import org.eclipse.che.api.project.server.impl.RegisteredProject;
-import org.mockito.InjectMocks;
+import org.eclipse.che.api.watcher.server.FileWatcherManager;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -47,8 +47,9 @@ public class GitStatusProviderTest {
   private @Mock GitConnectionFactory gitConnectionFactory;
   private @Mock PathTransformer pathTransformer;
   private @Mock ProjectManager projectManager;
+  private @Mock FileWatcherManager fileWatcherManager;
   private @Mock Status statusDto;
-  private @InjectMocks GitStatusProvider gitStatusProvider;
+  private GitStatusProvider gitStatusProvider;
 
   @BeforeMethod
   public void setup() throws Exception {
@@ -58,7 +59,11 @@ public class GitStatusProviderTest {
     when(path.toString()).thenReturn("/fsPath/project");
     when(pathTransformer.transform("/project")).thenReturn(path);
     when(gitConnectionFactory.getConnection("/fsPath/project")).thenReturn(gitConnection);
-    when(gitConnection.status(singletonList(NORMALIZED_PATH))).thenReturn(statusDto);
+    when(gitConnection.status(emptyList())).thenReturn(statusDto);
+    gitStatusProvider =
+        new GitStatusProvider(
+            new GitStatusCache(gitConnectionFactory, fileWatcherManager, pathTransformer),
+            projectManager);
   }
 
   @Test
@@ -130,7 +135,6 @@ public class GitStatusProviderTest {
     when(statusDto.getAdded()).thenReturn(singletonList(NORMALIZED_PATH + "2"));
     when(statusDto.getModified()).thenReturn(singletonList(NORMALIZED_PATH + "3"));
     when(statusDto.getChanged()).thenReturn(singletonList(NORMALIZED_PATH + "4"));
-    when(gitConnection.status(anyList())).thenReturn(statusDto);
 
     List<String> paths = new ArrayList<>();
     paths.add(NORMALIZED_PATH + "1");
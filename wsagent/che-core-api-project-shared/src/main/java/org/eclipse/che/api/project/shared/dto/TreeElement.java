@@ -27,4 +27,14 @@ public interface TreeElement {
   void setChildren(List<TreeElement> children);
 
   TreeElement withChildren(List<TreeElement> children);
+
+  /**
+   * Returns true when children of the node are not loaded because the tree reached its maximum
+   * number of nodes, they may be loaded with the tree link of the node.
+   */
+  boolean isTruncated();
+
+  void setTruncated(boolean truncated);
+
+  TreeElement withTruncated(boolean truncated);
 }
@@ -25,12 +25,20 @@ import org.eclipse.che.api.project.shared.dto.EditorChangesDto;
 /**
  * In-memory implementation of working copy for opened editor on client.
  *
+ * <p>Content is kept as bytes until the first editor change is applied, then it is kept as a {@link
+ * TextRope}, so applying a change costs O(log n) instead of copying the whole content. The byte
+ * snapshot is encoded lazily when it is requested and reused until the next change.
+ *
  * @author Roman Nikitenko
  */
 public class EditorWorkingCopy {
   private String path;
   private String projectPath;
+
+  /** Content snapshot, {@code null} if it is outdated by changes applied to the text. */
   private byte[] content;
+  /** Editable content, {@code null} until the first change is applied. */
+  private TextRope text;
 
   /**
    * Creates a working copy for opened editor on client.
@@ -51,10 +59,8 @@ public class EditorWorkingCopy {
    * @return content ot the working copy
    */
   public byte[] getContentAsBytes() {
-    if (content == null) {
-      content = new byte[0];
-    }
-    return Arrays.copyOf(content, content.length);
+    byte[] snapshot = snapshot();
+    return Arrays.copyOf(snapshot, snapshot.length);
   }
 
   /**
@@ -62,8 +68,8 @@ public class EditorWorkingCopy {
    *
    * @return content ot the working copy
    */
-  public String getContentAsString() {
-    return new String(getContentAsBytes());
+  public synchronized String getContentAsString() {
+    return text != null ? text.toString() : new String(snapshot());
   }
 
   /**
@@ -72,7 +78,15 @@ public class EditorWorkingCopy {
    * @return content ot the working copy
    */
   public InputStream getContent() {
-    return new ByteArrayInputStream(getContentAsBytes());
+    // snapshot is never modified, so it is safe to read it without copying
+    return new ByteArrayInputStream(snapshot());
+  }
+
+  private synchronized byte[] snapshot() {
+    if (content == null) {
+      content = text != null ? text.toString().getBytes() : new byte[0];
+    }
+    return content;
   }
 
   /**
@@ -81,8 +95,9 @@ public class EditorWorkingCopy {
    * @param content content
    * @return current working copy after updating content
    */
-  EditorWorkingCopy updateContent(byte[] content) {
+  synchronized EditorWorkingCopy updateContent(byte[] content) {
     this.content = content;
+    this.text = null;
     return this;
   }
 
@@ -122,26 +137,29 @@ public class EditorWorkingCopy {
    */
   void applyChanges(EditorChangesDto changes) {
     synchronized (this) {
-      String text = changes.getText();
+      String changeText = changes.getText();
       int offset = changes.getOffset();
       int removedCharCount = changes.getRemovedCharCount();
 
-      String newContent = null;
-      String oldContent = getContentAsString();
       EditorChangesDto.Type type = changes.getType();
       if (type == INSERT) {
-        newContent = new StringBuilder(oldContent).insert(offset, text).toString();
+        text().insert(offset, changeText);
+        content = null;
       }
 
       if (type == REMOVE && removedCharCount > 0) {
-        newContent =
-            new StringBuilder(oldContent).delete(offset, offset + removedCharCount).toString();
+        TextRope text = text();
+        text.remove(offset, Math.min(offset + removedCharCount, text.length()));
+        content = null;
       }
+    }
+  }
 
-      if (newContent != null) {
-        updateContent(newContent);
-      }
+  private TextRope text() {
+    if (text == null) {
+      text = new TextRope(new String(snapshot()));
     }
+    return text;
   }
 
   /** Returns the path to the persistent working copy */
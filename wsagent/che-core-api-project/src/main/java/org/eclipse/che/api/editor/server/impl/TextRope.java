@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.editor.server.impl;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mutable text represented as a rope: a randomized balanced tree (treap) of text chunks ordered by
+ * their position in the text, each node keeps the length of its subtree. Insertion and removal
+ * locate affected chunks in O(log n) and copy at most a chunk of characters, so editing a large
+ * text doesn't require copying the whole content.
+ *
+ * <p>The class is not thread safe.
+ */
+class TextRope implements CharSequence {
+  /** Chunks are not grown in place above this size. */
+  static final int MAX_CHUNK = 2048;
+
+  private Node root;
+
+  TextRope(CharSequence text) {
+    this.root = build(text, 0, text.length());
+  }
+
+  @Override
+  public int length() {
+    return total(root);
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (index < 0 || index >= length()) {
+      throw new IndexOutOfBoundsException("index: " + index + ", length: " + length());
+    }
+    Node node = root;
+    while (true) {
+      int left = total(node.left);
+      if (index < left) {
+        node = node.left;
+      } else if (index < left + node.length) {
+        return node.chars[index - left];
+      } else {
+        index -= left + node.length;
+        node = node.right;
+      }
+    }
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    checkRange(start, end);
+    StringBuilder builder = new StringBuilder(end - start);
+    append(root, start, end, builder);
+    return builder;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder(length());
+    append(root, 0, length(), builder);
+    return builder.toString();
+  }
+
+  /**
+   * Inserts text at the given offset.
+   *
+   * @param offset offset in range [0, length]
+   * @param text text to insert
+   */
+  void insert(int offset, CharSequence text) {
+    checkRange(offset, offset);
+    if (text.length() == 0) {
+      return;
+    }
+    if (root != null && insertInPlace(root, offset, text)) {
+      return;
+    }
+    Node[] parts = split(root, offset);
+    root = merge(merge(parts[0], build(text, 0, text.length())), parts[1]);
+  }
+
+  /**
+   * Removes characters in range [start, end).
+   *
+   * @param start start offset, inclusive
+   * @param end end offset, exclusive
+   */
+  void remove(int start, int end) {
+    checkRange(start, end);
+    if (start == end) {
+      return;
+    }
+    if (removeInPlace(root, start, end)) {
+      return;
+    }
+    Node[] head = split(root, start);
+    Node[] tail = split(head[1], end - start);
+    root = merge(head[0], tail[1]);
+  }
+
+  private void checkRange(int start, int end) {
+    if (start < 0 || end > length() || start > end) {
+      throw new IndexOutOfBoundsException(
+          "start: " + start + ", end: " + end + ", length: " + length());
+    }
+  }
+
+  /** Inserts text into a single chunk if it has enough room, updates subtree lengths. */
+  private static boolean insertInPlace(Node node, int offset, CharSequence text) {
+    int left = total(node.left);
+    boolean inserted;
+    if (offset < left) {
+      inserted = insertInPlace(node.left, offset, text);
+    } else if (offset <= left + node.length) {
+      if (node.length + text.length() > MAX_CHUNK) {
+        return false;
+      }
+      node.insert(offset - left, text);
+      inserted = true;
+    } else {
+      inserted = insertInPlace(node.right, offset - left - node.length, text);
+    }
+    if (inserted) {
+      node.total += text.length();
+    }
+    return inserted;
+  }
+
+  /** Removes range from a single chunk if it contains the whole range, keeps chunks non empty. */
+  private static boolean removeInPlace(Node node, int start, int end) {
+    int left = total(node.left);
+    boolean removed;
+    if (start < left) {
+      removed = end <= left && removeInPlace(node.left, start, end);
+    } else if (start < left + node.length) {
+      if (end > left + node.length || end - start == node.length) {
+        return false;
+      }
+      node.remove(start - left, end - left);
+      removed = true;
+    } else {
+      removed = removeInPlace(node.right, start - left - node.length, end - left - node.length);
+    }
+    if (removed) {
+      node.total -= end - start;
+    }
+    return removed;
+  }
+
+  /** Splits tree into two trees, the first one contains exactly {@code offset} characters. */
+  private static Node[] split(Node node, int offset) {
+    if (node == null) {
+      return new Node[2];
+    }
+    int left = total(node.left);
+    if (offset <= left) {
+      Node[] parts = split(node.left, offset);
+      node.left = parts[1];
+      node.update();
+      return new Node[] {parts[0], node};
+    }
+    if (offset >= left + node.length) {
+      Node[] parts = split(node.right, offset - left - node.length);
+      node.right = parts[0];
+      node.update();
+      return new Node[] {node, parts[1]};
+    }
+
+    // split the chunk itself
+    int local = offset - left;
+    Node tail = new Node(node.chars, local, node.length - local);
+    node.length = local;
+    Node rightTail = node.right;
+    node.right = null;
+    node.update();
+    return new Node[] {node, merge(tail, rightTail)};
+  }
+
+  private static Node merge(Node left, Node right) {
+    if (left == null) {
+      return right;
+    }
+    if (right == null) {
+      return left;
+    }
+    if (left.priority > right.priority) {
+      left.right = merge(left.right, right);
+      left.update();
+      return left;
+    }
+    right.left = merge(left, right.left);
+    right.update();
+    return right;
+  }
+
+  private static Node build(CharSequence text, int start, int end) {
+    Node result = null;
+    for (int i = start; i < end; i += MAX_CHUNK / 2) {
+      int chunkEnd = Math.min(end, i + MAX_CHUNK / 2);
+      char[] chars = new char[chunkEnd - i];
+      for (int j = i; j < chunkEnd; j++) {
+        chars[j - i] = text.charAt(j);
+      }
+      result = merge(result, new Node(chars, 0, chars.length));
+    }
+    return result;
+  }
+
+  private static void append(Node node, int start, int end, StringBuilder builder) {
+    if (node == null || start >= end) {
+      return;
+    }
+    int left = total(node.left);
+    if (start < left) {
+      append(node.left, start, Math.min(end, left), builder);
+    }
+    int chunkStart = Math.max(start - left, 0);
+    int chunkEnd = Math.min(end - left, node.length);
+    if (chunkStart < chunkEnd) {
+      builder.append(node.chars, chunkStart, chunkEnd - chunkStart);
+    }
+    if (end > left + node.length) {
+      append(
+          node.right, Math.max(start - left - node.length, 0), end - left - node.length, builder);
+    }
+  }
+
+  private static int total(Node node) {
+    return node == null ? 0 : node.total;
+  }
+
+  private static final class Node {
+    private final int priority = ThreadLocalRandom.current().nextInt();
+
+    private char[] chars;
+    private int length;
+    private int total;
+    private Node left;
+    private Node right;
+
+    private Node(char[] source, int from, int length) {
+      this.chars = new char[Math.max(length, 16)];
+      System.arraycopy(source, from, this.chars, 0, length);
+      this.length = length;
+      this.total = length;
+    }
+
+    private void insert(int offset, CharSequence text) {
+      int count = text.length();
+      if (length + count > chars.length) {
+        char[] grown = new char[Math.min(MAX_CHUNK, Math.max(length + count, chars.length * 2))];
+        System.arraycopy(chars, 0, grown, 0, length);
+        chars = grown;
+      }
+      System.arraycopy(chars, offset, chars, offset + count, length - offset);
+      for (int i = 0; i < count; i++) {
+        chars[offset + i] = text.charAt(i);
+      }
+      length += count;
+    }
+
+    private void remove(int start, int end) {
+      System.arraycopy(chars, end, chars, start, length - end);
+      length -= end - start;
+    }
+
+    private void update() {
+      total = total(left) + length + total(right);
+    }
+  }
+}
@@ -13,6 +13,7 @@ package org.eclipse.che.api.fs.server;
 import java.util.List;
 import java.util.Set;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 
 /** Converts file system items to DTOs */
@@ -23,4 +24,14 @@ public interface FsDtoConverter {
   List<ItemReference> asDto(List<String> wsPaths) throws NotFoundException;
 
   Set<ItemReference> asDto(Set<String> wsPaths) throws NotFoundException;
+
+  /**
+   * Converts children of the directory to DTOs, the directory is listed once and attributes of each
+   * child are read at once.
+   *
+   * @param wsPath absolute workspace path of a directory
+   * @param includeFiles whether files are included or only directories are converted
+   */
+  List<ItemReference> asChildrenDto(String wsPath, boolean includeFiles)
+      throws NotFoundException, ServerException;
 }
@@ -11,8 +11,15 @@
 package org.eclipse.che.api.fs.server.impl;
 
 import static org.eclipse.che.api.fs.server.WsPathUtils.nameOf;
+import static org.eclipse.che.api.fs.server.WsPathUtils.resolve;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -20,6 +27,7 @@ import java.util.Set;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.fs.server.FsDtoConverter;
 import org.eclipse.che.api.fs.server.FsManager;
 import org.eclipse.che.api.project.server.ProjectManager;
@@ -99,4 +107,66 @@ public class SimpleFsDtoConverter implements FsDtoConverter {
     }
     return result;
   }
+
+  @Override
+  public List<ItemReference> asChildrenDto(String wsPath, boolean includeFiles)
+      throws NotFoundException, ServerException {
+    Path fsPath = fsManager.toIoFile(wsPath).toPath();
+    if (!Files.isDirectory(fsPath)) {
+      throw new NotFoundException("Can't find directory " + wsPath);
+    }
+
+    RegisteredProject closest = projectManager.getClosest(wsPath).orElse(null);
+
+    List<ItemReference> result = new ArrayList<>();
+    try (DirectoryStream<Path> children = Files.newDirectoryStream(fsPath)) {
+      for (Path child : children) {
+        BasicFileAttributes attributes;
+        try {
+          attributes = Files.readAttributes(child, BasicFileAttributes.class);
+        } catch (IOException e) {
+          // broken link or removed concurrently, not listed as neither file nor directory
+          continue;
+        }
+        if (!attributes.isDirectory() && !(includeFiles && attributes.isRegularFile())) {
+          continue;
+        }
+
+        String name = child.getFileName().toString();
+        String childWsPath = resolve(wsPath, name);
+
+        RegisteredProject project = closest;
+        String type;
+        if (attributes.isDirectory()) {
+          if (projectManager.isRegistered(childWsPath)) {
+            project = projectManager.get(childWsPath).orElse(closest);
+            type = "project";
+          } else {
+            type = "folder";
+          }
+        } else {
+          type = "file";
+        }
+
+        ItemReference itemReference =
+            newDto(ItemReference.class).withName(name).withPath(childWsPath).withType(type);
+
+        if (project != null) {
+          itemReference.withProject(project.getPath());
+          if (childWsPath.equals(project.getPath())) {
+            itemReference.setProjectConfig(ProjectDtoConverter.asDto(project));
+          }
+        }
+
+        if (attributes.isRegularFile()) {
+          itemReference.withContentLength(attributes.size());
+        }
+
+        result.add(itemReference);
+      }
+    } catch (IOException e) {
+      throw new ServerException("Can't list directory " + wsPath, e);
+    }
+    return result;
+  }
 }
@@ -612,10 +612,18 @@ public class ProjectService {
           )
           @DefaultValue("false")
           @QueryParam("includeFiles")
-          boolean includeFiles)
+          boolean includeFiles,
+      @ApiParam(
+            value =
+                "Maximum number of nodes in the tree, folders which don't fit are not expanded"
+                    + ". If not specified the tree is not limited"
+          )
+          @DefaultValue("0")
+          @QueryParam("maxNodes")
+          int maxNodes)
       throws NotFoundException, ForbiddenException, ServerException {
 
-    return getProjectServiceApi().getTree(wsPath, depth, includeFiles);
+    return getProjectServiceApi().getTree(wsPath, depth, includeFiles, maxNodes);
   }
 
   @GET
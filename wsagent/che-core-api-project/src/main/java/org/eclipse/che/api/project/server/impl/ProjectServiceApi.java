@@ -11,6 +11,7 @@
 package org.eclipse.che.api.project.server.impl;
 
 import static java.io.File.separator;
+import static java.util.Collections.singletonList;
 import static java.util.Collections.unmodifiableSet;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
@@ -64,6 +65,7 @@ import org.eclipse.che.api.fs.server.FsDtoConverter;
 import org.eclipse.che.api.fs.server.FsManager;
 import org.eclipse.che.api.project.server.ProjectManager;
 import org.eclipse.che.api.project.server.ProjectService;
+import org.eclipse.che.api.project.server.impl.ProjectServiceLinksInjector.LinksTemplate;
 import org.eclipse.che.api.project.server.notification.ProjectCreatedEvent;
 import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
 import org.eclipse.che.api.project.server.type.ProjectTypeResolution;
@@ -571,19 +573,37 @@ public class ProjectServiceApi {
     return vcsStatusInjector.injectVcsStatus(result);
   }
 
-  /** Get file system tree under specified location and depth */
-  public TreeElement getTree(String wsPath, int depth, boolean includeFiles)
+  /**
+   * Get file system tree under specified location and depth. Directories are expanded level by
+   * level, if {@code maxNodes} is positive and children of a directory don't fit into the remaining
+   * budget the directory is left not expanded and marked as {@link TreeElement#isTruncated()
+   * truncated}, its tree link is used to continue loading.
+   *
+   * @param wsPath tree root
+   * @param depth tree depth
+   * @param includeFiles whether files are included in addition to folders
+   * @param maxNodes maximum number of nodes in the tree, not limited if 0 or negative, children of
+   *     the root are always included
+   */
+  public TreeElement getTree(String wsPath, int depth, boolean includeFiles, int maxNodes)
       throws NotFoundException, ForbiddenException, ServerException {
     wsPath = absolutize(wsPath);
 
     ItemReference asDto = fsDtoConverter.asDto(wsPath);
+    boolean isFile = fsManager.isFile(wsPath);
     ItemReference asLinkedDto =
-        fsManager.isFile(wsPath)
+        isFile
             ? injectFileLinks(vcsStatusInjector.injectVcsStatus(asDto))
             : injectFolderLinks(asDto);
-    return newDto(TreeElement.class)
-        .withNode(asLinkedDto)
-        .withChildren(getTreeRecursively(wsPath, depth, includeFiles));
+    TreeElement root = newDto(TreeElement.class).withNode(asLinkedDto);
+    if (depth != 0) {
+      if (isFile) {
+        root.setChildren(new ArrayList<>());
+      } else {
+        expandTree(root, depth, includeFiles, maxNodes);
+      }
+    }
+    return root;
   }
 
   /** Get file system item defined by specific location */
@@ -713,34 +733,56 @@ public class ProjectServiceApi {
     };
   }
 
-  private List<TreeElement> getTreeRecursively(String wsPath, int depth, boolean includeFiles)
+  private void expandTree(TreeElement root, int depth, boolean includeFiles, int maxNodes)
       throws ServerException, NotFoundException {
-    if (depth == 0) {
-      return null;
-    }
+    LinksTemplate links = linksInjector.newLinksTemplate(serviceContext);
+    List<ItemReference> nodes = new ArrayList<>();
+
+    List<TreeElement> level = singletonList(root);
+    for (int remaining = depth; remaining != 0 && !level.isEmpty(); remaining--) {
+      List<TreeElement> nextLevel = new ArrayList<>();
+      for (TreeElement parent : level) {
+        if (maxNodes > 0 && parent != root && nodes.size() >= maxNodes) {
+          parent.setTruncated(true);
+          continue;
+        }
 
-    Set<String> childrenWsPaths =
-        includeFiles
-            ? applyTreeFilter(wsPath, fsManager.getAllChildrenWsPaths(wsPath))
-            : applyTreeFilter(wsPath, fsManager.getDirWsPaths(wsPath));
-
-    List<TreeElement> nodes = new ArrayList<>(childrenWsPaths.size());
-    for (String childWsPath : childrenWsPaths) {
-      ItemReference asDto = fsDtoConverter.asDto(childWsPath);
-      ItemReference asLinkedDto =
-          fsManager.isDir(childWsPath) ? injectFolderLinks(asDto) : injectFileLinks(asDto);
-      TreeElement treeElement = newDto(TreeElement.class).withNode(asLinkedDto);
-      nodes.add(treeElement);
-
-      if (fsManager.isDir(childWsPath)) {
-        List<TreeElement> treeElements = getTreeRecursively(childWsPath, depth - 1, includeFiles);
-        if (treeElements != null) {
-          treeElement.setChildren(treeElements);
+        String parentWsPath = parent.getNode().getPath();
+        List<ItemReference> children =
+            applyTreeFilter(parentWsPath, fsDtoConverter.asChildrenDto(parentWsPath, includeFiles));
+        if (maxNodes > 0 && parent != root && nodes.size() + children.size() > maxNodes) {
+          parent.setTruncated(true);
+          continue;
         }
+
+        List<TreeElement> elements = new ArrayList<>(children.size());
+        for (ItemReference child : children) {
+          boolean isFile = "file".equals(child.getType());
+          TreeElement element =
+              newDto(TreeElement.class)
+                  .withNode(isFile ? links.injectFileLinks(child) : links.injectFolderLinks(child));
+          elements.add(element);
+          nodes.add(child);
+          if (!isFile) {
+            nextLevel.add(element);
+          }
+        }
+        parent.setChildren(elements);
       }
+      level = nextLevel;
     }
 
-    return vcsStatusInjector.injectVcsStatusTreeElements(nodes);
+    vcsStatusInjector.injectVcsStatusOfProjects(nodes);
+  }
+
+  private List<ItemReference> applyTreeFilter(
+      String parentWsPath, List<ItemReference> itemReferences) {
+    if (!isRoot(parentWsPath)) {
+      return itemReferences;
+    }
+
+    String rootCheDir = absolutize(CHE_DIR);
+    return itemReferences.stream().filter(it -> !rootCheDir.equals(it.getPath())).collect(toList());
   }
 
   private Set<String> applyTreeFilter(String parentWsPath, Set<String> childrenWsPaths) {
@@ -25,7 +25,10 @@ import static org.eclipse.che.api.project.shared.Constants.LINK_REL_UPDATE_PROJE
 import com.google.inject.Inject;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import javax.inject.Singleton;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.UriBuilder;
@@ -56,44 +59,9 @@ public class ProjectServiceLinksInjector {
    */
   public ItemReference injectFileLinks(ItemReference itemReference, ServiceContext serviceContext) {
     final UriBuilder uriBuilder = getUriBuilder(serviceContext);
-    final List<Link> links = new ArrayList<>();
     final String relPath = itemReference.getPath().substring(1);
 
-    links.add(
-        createLink(
-            GET,
-            tuneUrl(
-                uriBuilder
-                    .clone()
-                    .path(ProjectService.class)
-                    .path(ProjectService.class, "getFile")
-                    .build(new String[] {relPath}, false)),
-            APPLICATION_JSON,
-            LINK_REL_GET_CONTENT));
-    links.add(
-        createLink(
-            PUT,
-            tuneUrl(
-                uriBuilder
-                    .clone()
-                    .path(ProjectService.class)
-                    .path(ProjectService.class, "updateFile")
-                    .build(new String[] {relPath}, false)),
-            MediaType.WILDCARD,
-            null,
-            LINK_REL_UPDATE_CONTENT));
-    links.add(
-        createLink(
-            DELETE,
-            tuneUrl(
-                uriBuilder
-                    .clone()
-                    .path(ProjectService.class)
-                    .path(ProjectService.class, "delete")
-                    .build(new String[] {relPath}, false)),
-            LINK_REL_DELETE));
-
-    return itemReference.withLinks(links);
+    return itemReference.withLinks(fileLinks(method -> buildUrl(uriBuilder, method, relPath)));
   }
 
   /**
@@ -112,43 +80,20 @@ public class ProjectServiceLinksInjector {
   public ItemReference injectFolderLinks(
       ItemReference itemReference, ServiceContext serviceContext) {
     final UriBuilder uriBuilder = getUriBuilder(serviceContext);
-    final List<Link> links = new ArrayList<>();
     final String relPath = itemReference.getPath().substring(1);
 
-    links.add(
-        createLink(
-            GET,
-            tuneUrl(
-                uriBuilder
-                    .clone()
-                    .path(ProjectService.class)
-                    .path(ProjectService.class, "getChildren")
-                    .build(new String[] {relPath}, false)),
-            APPLICATION_JSON,
-            LINK_REL_CHILDREN));
-    links.add(
-        createLink(
-            GET,
-            tuneUrl(
-                uriBuilder
-                    .clone()
-                    .path(ProjectService.class)
-                    .path(ProjectService.class, "getTree")
-                    .build(new String[] {relPath}, false)),
-            APPLICATION_JSON,
-            LINK_REL_TREE));
-    links.add(
-        createLink(
-            DELETE,
-            tuneUrl(
-                uriBuilder
-                    .clone()
-                    .path(ProjectService.class)
-                    .path(ProjectService.class, "delete")
-                    .build(new String[] {relPath}, false)),
-            LINK_REL_DELETE));
+    return itemReference.withLinks(folderLinks(method -> buildUrl(uriBuilder, method, relPath)));
+  }
 
-    return itemReference.withLinks(links);
+  /**
+   * Creates links injector for the items of a single response. Links are built once as templates
+   * and then the path of each item is substituted into them, instead of building every link with
+   * {@link UriBuilder}.
+   *
+   * @param serviceContext context of {@link ProjectService}
+   */
+  public LinksTemplate newLinksTemplate(ServiceContext serviceContext) {
+    return new LinksTemplate(getUriBuilder(serviceContext));
   }
 
   /**
@@ -220,6 +165,103 @@ public class ProjectServiceLinksInjector {
     return projectConfig.withLinks(links);
   }
 
+  private List<Link> fileLinks(Function<String, String> urls) {
+    final List<Link> links = new ArrayList<>(3);
+    links.add(createLink(GET, urls.apply("getFile"), APPLICATION_JSON, LINK_REL_GET_CONTENT));
+    links.add(
+        createLink(
+            PUT, urls.apply("updateFile"), MediaType.WILDCARD, null, LINK_REL_UPDATE_CONTENT));
+    links.add(createLink(DELETE, urls.apply("delete"), LINK_REL_DELETE));
+    return links;
+  }
+
+  private List<Link> folderLinks(Function<String, String> urls) {
+    final List<Link> links = new ArrayList<>(3);
+    links.add(createLink(GET, urls.apply("getChildren"), APPLICATION_JSON, LINK_REL_CHILDREN));
+    links.add(createLink(GET, urls.apply("getTree"), APPLICATION_JSON, LINK_REL_TREE));
+    links.add(createLink(DELETE, urls.apply("delete"), LINK_REL_DELETE));
+    return links;
+  }
+
+  private String buildUrl(UriBuilder uriBuilder, String method, String relPath) {
+    return tuneUrl(
+        uriBuilder
+            .clone()
+            .path(ProjectService.class)
+            .path(ProjectService.class, method)
+            .build(new String[] {relPath}, false));
+  }
+
+  /**
+   * Links of files and folders built from templates. Paths which contain only characters that are
+   * never encoded are substituted into the template, links of other paths are built as usual.
+   */
+  public class LinksTemplate {
+    private static final String PATH_PLACEHOLDER = "che-item-path-placeholder";
+
+    private final UriBuilder uriBuilder;
+    private final Map<String, String[]> templates = new HashMap<>();
+
+    private LinksTemplate(UriBuilder uriBuilder) {
+      this.uriBuilder = uriBuilder;
+    }
+
+    /**
+     * Adds links for working with a file, see {@link #injectFileLinks(ItemReference,
+     * ServiceContext)}.
+     */
+    public ItemReference injectFileLinks(ItemReference itemReference) {
+      final String relPath = itemReference.getPath().substring(1);
+      return itemReference.withLinks(fileLinks(method -> url(method, relPath)));
+    }
+
+    /**
+     * Adds links for working with a folder, see {@link #injectFolderLinks(ItemReference,
+     * ServiceContext)}.
+     */
+    public ItemReference injectFolderLinks(ItemReference itemReference) {
+      final String relPath = itemReference.getPath().substring(1);
+      return itemReference.withLinks(folderLinks(method -> url(method, relPath)));
+    }
+
+    private String url(String method, String relPath) {
+      String[] template = templates.computeIfAbsent(method, this::template);
+      if (template.length == 0 || !isSafePath(relPath)) {
+        return buildUrl(uriBuilder, method, relPath);
+      }
+      return template[0] + relPath + template[1];
+    }
+
+    /** Returns url parts before and after the path, or empty array if url can't be templated. */
+    private String[] template(String method) {
+      String url = buildUrl(uriBuilder, method, PATH_PLACEHOLDER);
+      int index = url.indexOf(PATH_PLACEHOLDER);
+      if (index < 0 || url.indexOf(PATH_PLACEHOLDER, index + 1) >= 0) {
+        return new String[0];
+      }
+      return new String[] {
+        url.substring(0, index), url.substring(index + PATH_PLACEHOLDER.length())
+      };
+    }
+
+    private boolean isSafePath(String path) {
+      for (int i = 0; i < path.length(); i++) {
+        char c = path.charAt(i);
+        if (!((c >= 'a' && c <= 'z')
+            || (c >= 'A' && c <= 'Z')
+            || (c >= '0' && c <= '9')
+            || c == '/'
+            || c == '-'
+            || c == '.'
+            || c == '_'
+            || c == '~')) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
   /** @return base URI of context of {@link ProjectService} */
   protected UriBuilder getUriBuilder(ServiceContext serviceContext) {
     return serviceContext.getBaseUriBuilder();
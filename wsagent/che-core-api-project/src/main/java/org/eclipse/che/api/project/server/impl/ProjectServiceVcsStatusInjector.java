@@ -114,39 +114,50 @@ public class ProjectServiceVcsStatusInjector {
    */
   public List<TreeElement> injectVcsStatusTreeElements(List<TreeElement> treeElements)
       throws ServerException, NotFoundException {
-    Optional<TreeElement> treeElementOptional =
-        treeElements
-            .stream()
-            .filter(treeElement -> "file".equals(treeElement.getNode().getType()))
-            .findAny();
-    if (treeElementOptional.isPresent()) {
-      ItemReference node = treeElementOptional.get().getNode();
-      Optional<VcsStatusProvider> vcsStatusProviderOptional = getVcsStatusProvider(node);
-      if (vcsStatusProviderOptional.isPresent()) {
-        List<String> paths =
-            treeElements
-                .stream()
-                .filter(treeElement -> "file".equals(treeElement.getNode().getType()))
-                .map(treeElement -> getFilePathWithoutProject(treeElement.getNode()))
-                .collect(Collectors.toList());
-        Map<String, VcsStatusProvider.VcsStatus> status =
-            vcsStatusProviderOptional.get().getStatus(node.getProject(), paths);
+    injectVcsStatusOfProjects(
+        treeElements.stream().map(TreeElement::getNode).collect(Collectors.toList()));
+    return treeElements;
+  }
 
-        treeElements
+  /**
+   * Find related VCS providers and set VCS status of {@link ItemReference} files to their
+   * attributes. Unlike {@link #injectVcsStatus(List)} the items may belong to different projects,
+   * statuses are requested once per project.
+   *
+   * @param itemReferences items of any projects to update
+   */
+  public void injectVcsStatusOfProjects(List<ItemReference> itemReferences)
+      throws ServerException, NotFoundException {
+    Map<String, List<ItemReference>> filesByProject =
+        itemReferences
             .stream()
-            .filter(itemReference -> "file".equals(itemReference.getNode().getType()))
-            .forEach(
-                itemReference -> {
-                  Map<String, String> attributes =
-                      new HashMap<>(itemReference.getNode().getAttributes());
-                  attributes.put(
-                      "vcs.status", status.get(itemReference.getNode().getPath()).toString());
-                  itemReference.getNode().setAttributes(attributes);
-                });
+            .filter(itemReference -> "file".equals(itemReference.getType()))
+            .filter(itemReference -> !isNullOrEmpty(itemReference.getProject()))
+            .collect(Collectors.groupingBy(ItemReference::getProject));
+
+    for (Map.Entry<String, List<ItemReference>> entry : filesByProject.entrySet()) {
+      Optional<VcsStatusProvider> vcsStatusProviderOptional = getVcsStatusProvider(entry.getKey());
+      if (!vcsStatusProviderOptional.isPresent()) {
+        continue;
       }
-    }
+      List<String> paths =
+          entry
+              .getValue()
+              .stream()
+              .map(this::getFilePathWithoutProject)
+              .collect(Collectors.toList());
+      Map<String, VcsStatusProvider.VcsStatus> status =
+          vcsStatusProviderOptional.get().getStatus(entry.getKey(), paths);
 
-    return treeElements;
+      for (ItemReference itemReference : entry.getValue()) {
+        VcsStatusProvider.VcsStatus vcsStatus = status.get(itemReference.getPath());
+        if (vcsStatus != null) {
+          Map<String, String> attributes = new HashMap<>(itemReference.getAttributes());
+          attributes.put("vcs.status", vcsStatus.toString());
+          itemReference.setAttributes(attributes);
+        }
+      }
+    }
   }
 
   private String getFilePathWithoutProject(ItemReference itemReference) {
@@ -10,25 +10,37 @@
  */
 package org.eclipse.che.api.project.server.impl;
 
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
 import static java.util.Collections.unmodifiableSet;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static org.eclipse.che.api.project.server.impl.ProjectDtoConverter.asDto;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
+import com.google.common.annotations.VisibleForTesting;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.ws.rs.core.UriBuilder;
 import org.eclipse.che.api.core.ApiException;
+import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
 import org.eclipse.che.api.core.model.workspace.config.ProjectConfig;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
 import org.eclipse.che.api.workspace.server.WorkspaceService;
+import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsDiffDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -45,6 +57,14 @@ public class WorkspaceProjectSynchronizer implements ProjectSynchronizer {
   private final String apiEndpoint;
   private final String workspaceId;
 
+  private final Lock syncLock = new ReentrantLock();
+  private final AtomicLong requested = new AtomicLong();
+
+  // guarded by syncLock
+  private long synchronizedGeneration;
+  private String revision;
+  private Set<String> remotePaths = emptySet();
+
   @Inject
   public WorkspaceProjectSynchronizer(
       @Named("che.api") String apiEndpoint,
@@ -52,75 +72,170 @@ public class WorkspaceProjectSynchronizer implements ProjectSynchronizer {
       WorkspaceSyncCommunication workspaceSyncCommunication,
       ProjectConfigRegistry projectConfigRegistry)
       throws ServerException {
+    this(
+        apiEndpoint,
+        System.getenv("CHE_WORKSPACE_ID"),
+        httpJsonRequestFactory,
+        workspaceSyncCommunication,
+        projectConfigRegistry);
+  }
+
+  @VisibleForTesting
+  WorkspaceProjectSynchronizer(
+      String apiEndpoint,
+      String workspaceId,
+      HttpJsonRequestFactory httpJsonRequestFactory,
+      WorkspaceSyncCommunication workspaceSyncCommunication,
+      ProjectConfigRegistry projectConfigRegistry)
+      throws ServerException {
     this.apiEndpoint = apiEndpoint;
     this.httpJsonRequestFactory = httpJsonRequestFactory;
     this.workspaceSyncCommunication = workspaceSyncCommunication;
     this.projectConfigRegistry = projectConfigRegistry;
-
-    this.workspaceId = System.getenv("CHE_WORKSPACE_ID");
+    this.workspaceId = workspaceId;
 
     LOG.info("Workspace ID: " + workspaceId);
     LOG.info("API Endpoint: " + apiEndpoint);
 
-    // check connection
+    // check connection and get the current state of the projects
     try {
-      workspaceDto();
-    } catch (ServerException e) {
+      syncLock.lock();
+      try {
+        applyDiff(null, emptyList(), emptyList());
+      } finally {
+        syncLock.unlock();
+      }
+    } catch (ServerException | ConflictException e) {
       LOG.error(e.getLocalizedMessage());
       System.exit(1);
     }
   }
 
+  /**
+   * Sends changes of the registered projects to the workspace master in a single request. Calls
+   * which are made while synchronization is in progress are coalesced, a single synchronization
+   * started after them covers all their changes.
+   */
   @Override
   public void synchronize() throws ServerException {
+    long requestedGeneration = requested.incrementAndGet();
+    boolean changed;
 
-    Set<ProjectConfig> remote = getAll();
-
-    // check on removed
-    List<ProjectConfig> removed = new ArrayList<>();
-    for (ProjectConfig r : remote) {
-      if (!projectConfigRegistry.get(r.getPath()).isPresent()) {
-        removed.add(r);
+    syncLock.lock();
+    try {
+      if (synchronizedGeneration >= requestedGeneration) {
+        return;
       }
+      long generation = requested.get();
+      changed = sendChanges();
+      synchronizedGeneration = generation;
+    } finally {
+      syncLock.unlock();
     }
 
-    for (ProjectConfig r : removed) {
-      remove(r);
+    if (changed) {
+      workspaceSyncCommunication.synchronizeWorkspace();
     }
+  }
 
-    // update or add
+  /**
+   * Sends projects which are not synchronized and removed projects to the workspace master.
+   *
+   * @return false if there are no changes to send
+   */
+  private boolean sendChanges() throws ServerException {
+    List<RegisteredProject> notSynced = new ArrayList<>();
+    List<ProjectConfigDto> updated = new ArrayList<>();
     for (RegisteredProject project : projectConfigRegistry.getAll()) {
-
       if (!project.isSynced() && !project.isDetected()) {
-
-        final ProjectConfig config =
-            new NewProjectConfigImpl(
-                project.getPath(),
-                project.getType(),
-                project.getMixins(),
-                project.getName(),
-                project.getDescription(),
-                project.getPersistableAttributes(),
-                null,
-                project.getSource());
-
-        boolean found = false;
-        for (ProjectConfig r : remote) {
-          if (r.getPath().equals(project.getPath())) {
-            update(config);
-            found = true;
-          }
-        }
-
-        if (!found) {
-          add(config);
-        }
-
-        project.setSync();
+        notSynced.add(project);
+        updated.add(
+            asDto(
+                new NewProjectConfigImpl(
+                    project.getPath(),
+                    project.getType(),
+                    project.getMixins(),
+                    project.getName(),
+                    project.getDescription(),
+                    project.getPersistableAttributes(),
+                    null,
+                    project.getSource())));
       }
     }
 
-    workspaceSyncCommunication.synchronizeWorkspace();
+    List<String> removed = getRemovedPaths();
+    if (updated.isEmpty() && removed.isEmpty()) {
+      return false;
+    }
+
+    try {
+      applyDiff(revision, updated, removed);
+    } catch (ConflictException e) {
+      LOG.debug("Projects of workspace were changed since revision '{}', retrying", revision);
+      retryDiff(updated);
+    }
+
+    notSynced.forEach(RegisteredProject::setSync);
+    return true;
+  }
+
+  /**
+   * Refreshes the revision and paths of the workspace master projects and applies the diff once
+   * again. Conflict on the second attempt is reported as server error.
+   */
+  private void retryDiff(List<ProjectConfigDto> updated) throws ServerException {
+    try {
+      applyDiff(null, emptyList(), emptyList());
+      applyDiff(revision, updated, getRemovedPaths());
+    } catch (ConflictException e) {
+      throw new ServerException(
+          "Unable to synchronize projects of workspace '"
+              + workspaceId
+              + "' because they are concurrently modified: "
+              + e.getMessage());
+    }
+  }
+
+  /** Returns paths of the workspace master projects which are not registered any more. */
+  private List<String> getRemovedPaths() {
+    return remotePaths
+        .stream()
+        .filter(path -> !projectConfigRegistry.get(path).isPresent())
+        .collect(toList());
+  }
+
+  /**
+   * Applies the diff to the projects of the workspace master and remembers the new revision and
+   * paths of the projects.
+   */
+  private void applyDiff(String baseRevision, List<ProjectConfigDto> updated, List<String> removed)
+      throws ServerException, ConflictException {
+    final UriBuilder builder =
+        UriBuilder.fromUri(apiEndpoint)
+            .path(WorkspaceService.class)
+            .path(WorkspaceService.class, "syncProjects");
+    final String href = builder.build(workspaceId).toString();
+    final ProjectsDiffDto diff =
+        newDto(ProjectsDiffDto.class)
+            .withRevision(baseRevision)
+            .withUpdated(updated)
+            .withRemoved(removed);
+    final ProjectsDiffDto result;
+    try {
+      result =
+          httpJsonRequestFactory
+              .fromUrl(href)
+              .usePostMethod()
+              .setBody(diff)
+              .request()
+              .asDto(ProjectsDiffDto.class);
+    } catch (ConflictException e) {
+      throw e;
+    } catch (IOException | ApiException e) {
+      throw new ServerException(e.getMessage());
+    }
+    revision = result.getRevision();
+    remotePaths = result.getUpdated().stream().map(ProjectConfig::getPath).collect(toSet());
   }
 
   @Override
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.search.server.impl;
+
+import java.util.Arrays;
+
+/**
+ * Table of line start offsets of a text. It is built with a single pass over the text, afterwards
+ * line of any offset is found with a binary search. Lines are separated by {@code \n}, {@code \r\n}
+ * or {@code \r}, separators are not included into line text.
+ */
+class LineOffsets {
+  private final String text;
+  private final int[] starts;
+  private final int count;
+
+  LineOffsets(String text) {
+    this.text = text;
+
+    int[] starts = new int[16];
+    int count = 1;
+    int length = text.length();
+    for (int i = 0; i < length; i++) {
+      char c = text.charAt(i);
+      if (c == '\r' && i + 1 < length && text.charAt(i + 1) == '\n') {
+        i++;
+      } else if (c != '\n' && c != '\r') {
+        continue;
+      }
+      if (count == starts.length) {
+        starts = Arrays.copyOf(starts, count * 2);
+      }
+      starts[count++] = i + 1;
+    }
+
+    this.starts = starts;
+    this.count = count;
+  }
+
+  /**
+   * Returns number of the line that contains the offset.
+   *
+   * @param offset offset in the text
+   * @return line number starting from 1
+   */
+  int lineNumber(int offset) {
+    int index = Arrays.binarySearch(starts, 0, count, offset);
+    return index >= 0 ? index + 1 : -index - 1;
+  }
+
+  /**
+   * Returns text of the line without line separator.
+   *
+   * @param lineNumber line number starting from 1
+   */
+  String lineText(int lineNumber) {
+    int start = starts[lineNumber - 1];
+    int end = lineNumber < count ? starts[lineNumber] : text.length();
+    while (end > start && (text.charAt(end - 1) == '\n' || text.charAt(end - 1) == '\r')) {
+      end--;
+    }
+    return text.substring(start, end);
+  }
+}
@@ -15,6 +15,7 @@ import static org.eclipse.che.api.fs.server.WsPathUtils.nameOf;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.io.CharStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
@@ -30,11 +31,21 @@ import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Scanner;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -81,6 +92,7 @@ import org.eclipse.che.api.search.server.QueryExecutionException;
 import org.eclipse.che.api.search.server.QueryExpression;
 import org.eclipse.che.api.search.server.SearchResult;
 import org.eclipse.che.api.search.server.Searcher;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.schedule.ScheduleRate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -88,6 +100,11 @@ import org.slf4j.LoggerFactory;
 /**
  * Lucene based searcher.
  *
+ * <p>Files are indexed asynchronously: {@link #add(Path)} and {@link #update(Path)} put files into
+ * a bounded queue that coalesces duplicate paths, the queue is drained in batches by a pool of
+ * indexing threads which read and tokenize files in parallel. Index searcher is refreshed when a
+ * batch is completed, so searches don't need to refresh it.
+ *
  * @author andrew00x
  * @author Sergii Kabashniuk
  */
@@ -97,6 +114,9 @@ public class LuceneSearcher implements Searcher {
   private static final Logger LOG = LoggerFactory.getLogger(LuceneSearcher.class);
 
   private static final int RESULT_LIMIT = 1000;
+  /** Max amount of highlighted positions returned for a single document. */
+  private static final int MAX_OFFSETS_PER_DOCUMENT = 100;
+
   private static final String PATH_FIELD = "path";
   private static final String NAME_FIELD = "name";
   private static final String TEXT_FIELD = "text";
@@ -112,12 +132,34 @@ public class LuceneSearcher implements Searcher {
   private final CountDownLatch initialIndexingLatch = new CountDownLatch(1);
   private final Sort sort;
 
+  private final int batchSize;
+  private final int queueSize;
+  private final ExecutorService indexingExecutor;
+
+  /** Files waiting for indexing, duplicates are coalesced. */
+  private final Set<Path> pendingFiles = new LinkedHashSet<>();
+  /** Files that are being indexed at the moment. */
+  private final Set<Path> indexingFiles = new HashSet<>();
+
+  private final Lock queueLock = new ReentrantLock();
+  private final Condition queueNotEmpty = queueLock.newCondition();
+  private final Condition queueNotFull = queueLock.newCondition();
+  private final Condition queueIdle = queueLock.newCondition();
+  /**
+   * Batches are read and written under the read lock, deletions are performed under the write lock,
+   * so documents of a file that is being indexed can't outlive the deletion of the file.
+   */
+  private final ReadWriteLock writeLock = new ReentrantReadWriteLock();
+
   @Inject
   public LuceneSearcher(
       @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns,
       @Named("vfs.local.fs_index_root_dir") File indexDirectory,
       @Named("che.user.workspaces.storage") File root,
-      PathTransformer pathTransformer)
+      PathTransformer pathTransformer,
+      @Named("che.search.indexing.threads") int indexingThreads,
+      @Named("che.search.indexing.batch_size") int batchSize,
+      @Named("che.search.indexing.queue_size") int queueSize)
       throws IOException {
 
     if (indexDirectory.exists()) {
@@ -144,6 +186,22 @@ public class LuceneSearcher implements Searcher {
     this.searcherManager =
         new SearcherManager(luceneIndexWriter, true, true, new SearcherFactory());
     this.sort = new Sort(SortField.FIELD_SCORE, new SortField(PATH_FIELD, SortField.Type.STRING));
+
+    int threads =
+        indexingThreads > 0 ? indexingThreads : Runtime.getRuntime().availableProcessors();
+    this.batchSize = Math.max(1, batchSize);
+    this.queueSize = Math.max(this.batchSize, queueSize);
+    this.indexingExecutor =
+        Executors.newFixedThreadPool(
+            threads,
+            new ThreadFactoryBuilder()
+                .setNameFormat("LuceneSearcherIndexer-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+    for (int i = 0; i < threads; i++) {
+      indexingExecutor.execute(this::indexPendingFiles);
+    }
   }
 
   @PostConstruct
@@ -155,6 +213,7 @@ public class LuceneSearcher implements Searcher {
               try {
                 long start = System.currentTimeMillis();
                 add(root.toPath());
+                awaitIndexing();
                 LOG.info(
                     "Initial indexing complete after {} msec ", System.currentTimeMillis() - start);
               } finally {
@@ -166,11 +225,34 @@ public class LuceneSearcher implements Searcher {
     initializer.start();
   }
 
+  @PreDestroy
+  void stop() {
+    indexingExecutor.shutdownNow();
+  }
+
   @VisibleForTesting
   CountDownLatch getInitialIndexingLatch() {
     return initialIndexingLatch;
   }
 
+  /**
+   * Waits until the indexing queue is drained, i.e. all files that are scheduled for indexing at
+   * the moment of the call are taken and processed by indexing threads. It doesn't guarantee that
+   * the files are visible for search: files that can't be read or batches that fail are skipped.
+   */
+  public void awaitIndexing() {
+    queueLock.lock();
+    try {
+      while (!pendingFiles.isEmpty() || !indexingFiles.isEmpty()) {
+        queueIdle.await();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      queueLock.unlock();
+    }
+  }
+
   @ScheduleRate(period = 30, initialDelay = 30)
   private void commitIndex() throws IOException {
     luceneIndexWriter.commit();
@@ -182,7 +264,6 @@ public class LuceneSearcher implements Searcher {
     IndexSearcher luceneSearcher = null;
     try {
       final long startTime = System.currentTimeMillis();
-      searcherManager.maybeRefresh();
       luceneSearcher = searcherManager.acquire();
 
       Query luceneQuery = createLuceneQuery(query);
@@ -233,9 +314,12 @@ public class LuceneSearcher implements Searcher {
             tokenStream.reset();
 
             int startOffset, endOffset;
+            LineOffsets lineOffsets = null;
             // TODO think about this constant
             for (boolean next = tokenStream.incrementToken();
-                next && (offsetAtt.startOffset() < 1_000_000);
+                next
+                    && (offsetAtt.startOffset() < 1_000_000)
+                    && offsetData.size() < MAX_OFFSETS_PER_DOCUMENT;
                 next = tokenStream.incrementToken()) {
               startOffset = offsetAtt.startOffset();
               endOffset = offsetAtt.endOffset();
@@ -250,20 +334,12 @@ public class LuceneSearcher implements Searcher {
 
               float res = queryScorer.getTokenScore();
               if (res > 0.0F && startOffset <= endOffset) {
-                String tokenText = txt.substring(startOffset, endOffset);
-                Scanner sc = new Scanner(txt);
-                int lineNum = 1;
-                long len = 0;
-                String foundLine = "";
-                while (sc.hasNextLine()) {
-                  foundLine = sc.nextLine();
-
-                  len += foundLine.length();
-                  if (len > startOffset) {
-                    break;
-                  }
-                  lineNum++;
+                if (lineOffsets == null) {
+                  lineOffsets = new LineOffsets(txt);
                 }
+                String tokenText = txt.substring(startOffset, endOffset);
+                int lineNum = lineOffsets.lineNumber(startOffset);
+                String foundLine = lineOffsets.lineText(lineNum);
                 offsetData.add(
                     new OffsetData(tokenText, startOffset, endOffset, res, lineNum, foundLine));
               }
@@ -358,43 +434,132 @@ public class LuceneSearcher implements Searcher {
 
   @Override
   public final void add(Path fsPath) {
+    if (fsPath.toFile().isDirectory()) {
+      try {
+        Files.walkFileTree(
+            fsPath,
+            new SimpleFileVisitor<Path>() {
+              @Override
+              public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                enqueue(file);
+                return FileVisitResult.CONTINUE;
+              }
+            });
+      } catch (IOException ignore) {
+        LOG.warn("Not able to index {} because {} ", fsPath.toString(), ignore.getMessage());
+      }
+    } else {
+      enqueue(fsPath);
+    }
+  }
 
+  /** Puts the file into indexing queue, blocks while the queue is full. */
+  private void enqueue(Path fsPath) {
+    queueLock.lock();
     try {
-      if (fsPath.toFile().isDirectory()) {
-        try {
-          Files.walkFileTree(
-              fsPath,
-              new SimpleFileVisitor<Path>() {
-                @Override
-                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-                  addFile(file);
-                  return FileVisitResult.CONTINUE;
-                }
-              });
-        } catch (IOException ignore) {
-          LOG.warn("Not able to index {} because {} ", fsPath.toString(), ignore.getMessage());
+      while (pendingFiles.size() >= queueSize && !pendingFiles.contains(fsPath)) {
+        queueNotFull.await();
+      }
+      if (pendingFiles.add(fsPath)) {
+        queueNotEmpty.signal();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.warn("Interrupted while scheduling indexing of {}", fsPath);
+    } finally {
+      queueLock.unlock();
+    }
+  }
+
+  /** Takes the next batch of files, blocks until there are files that are not being indexed. */
+  private List<Path> takeBatch() throws InterruptedException {
+    queueLock.lock();
+    try {
+      List<Path> batch = new ArrayList<>(batchSize);
+      while (batch.isEmpty()) {
+        Iterator<Path> it = pendingFiles.iterator();
+        while (it.hasNext() && batch.size() < batchSize) {
+          Path file = it.next();
+          // the same file may be indexed by only one thread at a time
+          if (indexingFiles.add(file)) {
+            it.remove();
+            batch.add(file);
+          }
+        }
+        if (batch.isEmpty()) {
+          queueNotEmpty.await();
         }
-      } else {
-        addFile(fsPath);
       }
-      printStatistic();
-    } catch (IOException e) {
-      LOG.warn(
-          "Can't commit changes to index for: {} because {} ",
-          fsPath.toAbsolutePath().toString(),
-          e.getMessage());
+      queueNotFull.signalAll();
+      return batch;
+    } finally {
+      queueLock.unlock();
     }
   }
 
-  private void addFile(Path fsPath) {
-    if (!fsPath.toFile().exists()) {
-      return;
+  private void completeBatch(List<Path> batch) {
+    queueLock.lock();
+    try {
+      indexingFiles.removeAll(batch);
+      // files that were scheduled again while being indexed may be taken now
+      queueNotEmpty.signalAll();
+      if (pendingFiles.isEmpty() && indexingFiles.isEmpty()) {
+        queueIdle.signalAll();
+      }
+    } finally {
+      queueLock.unlock();
     }
+  }
 
-    if (!isNotExcluded(fsPath)) {
+  private void indexPendingFiles() {
+    while (!Thread.currentThread().isInterrupted()) {
+      List<Path> batch;
+      try {
+        batch = takeBatch();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+
+      try {
+        indexBatch(batch);
+      } catch (Exception e) {
+        LOG.error("Can't index files: {}", e.getMessage(), e);
+      } finally {
+        completeBatch(batch);
+      }
+    }
+  }
+
+  private void indexBatch(List<Path> batch) throws IOException {
+    int indexed = 0;
+
+    writeLock.readLock().lock();
+    try {
+      for (Path file : batch) {
+        if (!file.toFile().exists() || !isNotExcluded(file)) {
+          continue;
+        }
+        String wsPath = pathTransformer.transform(file);
+        Document doc = createDocument(file, wsPath);
+        if (doc != null) {
+          // atomically replaces previous document of the file
+          luceneIndexWriter.updateDocument(new Term(PATH_FIELD, wsPath), doc);
+          indexed++;
+        }
+      }
+    } finally {
+      writeLock.readLock().unlock();
+    }
+    if (indexed == 0) {
       return;
     }
-    String wsPath = pathTransformer.transform(fsPath);
+    searcherManager.maybeRefreshBlocking();
+    LOG.debug("Indexed batch of {} files", indexed);
+    printStatistic();
+  }
+
+  private Document createDocument(Path fsPath, String wsPath) {
     LOG.debug("Adding file {} ", wsPath);
 
     try (Reader reader =
@@ -409,10 +574,10 @@ public class LuceneSearcher implements Searcher {
       } catch (MalformedInputException e) {
         LOG.warn("Can't index file: {}", wsPath);
       }
-      luceneIndexWriter.updateDocument(new Term(PATH_FIELD, wsPath), doc);
-
+      return doc;
     } catch (IOException oome) {
       LOG.warn("Can't index file: {}", wsPath);
+      return null;
     }
   }
 
@@ -428,7 +593,13 @@ public class LuceneSearcher implements Searcher {
       deleteFileOrFolder.setMinimumNumberShouldMatch(1);
       deleteFileOrFolder.add(new TermQuery(new Term(PATH_FIELD, wsPath)), Occur.SHOULD);
       deleteFileOrFolder.add(new PrefixQuery(new Term(PATH_FIELD, wsPath + "/")), Occur.SHOULD);
-      luceneIndexWriter.deleteDocuments(deleteFileOrFolder.build());
+      writeLock.writeLock().lock();
+      try {
+        luceneIndexWriter.deleteDocuments(deleteFileOrFolder.build());
+      } finally {
+        writeLock.writeLock().unlock();
+      }
+      searcherManager.maybeRefreshBlocking();
       printStatistic();
     } catch (IOException e) {
       LOG.warn("Can't delete index for file: {}", wsPath);
@@ -439,7 +610,6 @@ public class LuceneSearcher implements Searcher {
     if (LOG.isDebugEnabled()) {
       IndexSearcher luceneSearcher = null;
       try {
-        searcherManager.maybeRefresh();
         luceneSearcher = searcherManager.acquire();
         IndexReader reader = luceneSearcher.getIndexReader();
         LOG.debug(
@@ -461,7 +631,7 @@ public class LuceneSearcher implements Searcher {
 
   @Override
   public final void update(Path fsPath) {
-    addFile(fsPath);
+    enqueue(fsPath);
   }
 
   private boolean isNotExcluded(Path fsPath) {
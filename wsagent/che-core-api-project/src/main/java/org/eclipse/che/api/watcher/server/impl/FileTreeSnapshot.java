@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.watcher.server.impl;
+
+import static java.util.Collections.emptyList;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact snapshot of a file system tree that is used by {@link FileTreeWalker} to detect
+ * modifications. Items are stored in a trie of path segments, so each entry keeps only its own name
+ * (interned, as names like {@code index.js} or {@code package.json} are repeated all over the tree)
+ * and a primitive last modification time instead of a full {@link Path} and a boxed value.
+ *
+ * <p>The class is not thread safe, access must be synchronized by the caller.
+ */
+class FileTreeSnapshot {
+  private static final Interner<String> NAMES = Interners.newWeakInterner();
+
+  private final Node root;
+
+  private int size;
+
+  FileTreeSnapshot() {
+    this.root = new Node(null, "", true);
+  }
+
+  /** Returns the node that corresponds to the tree root directory. */
+  Node root() {
+    return root;
+  }
+
+  /** Returns amount of items tracked by the snapshot, including root directory if it is known. */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Finds a node by path relative to the tree root.
+   *
+   * @param relative relative path, empty path denotes the root
+   * @return node or {@code null} if there is no such item in the snapshot
+   */
+  Node find(Path relative) {
+    Node node = root;
+    for (Path segment : relative) {
+      String name = segment.toString();
+      if (name.isEmpty()) {
+        continue;
+      }
+      node = node.child(name);
+      if (node == null) {
+        return null;
+      }
+    }
+    return node;
+  }
+
+  /** Adds a child item to the directory node, replacing the existing one with the same name. */
+  Node add(Node parent, String name, boolean directory, long lastModified) {
+    Node child = new Node(parent, NAMES.intern(name), directory);
+    child.lastModified = lastModified;
+    if (parent.children == null) {
+      parent.children = new HashMap<>(4);
+    }
+    Node previous = parent.children.put(child.name, child);
+    size += 1 - (previous == null ? 0 : previous.count());
+    return child;
+  }
+
+  /** Removes the node together with its subtree from the snapshot. */
+  void remove(Node node) {
+    if (node.parent == null || node.parent.children == null) {
+      return;
+    }
+    if (node.parent.children.remove(node.name) != null) {
+      size -= node.count();
+      if (node.parent.children.isEmpty()) {
+        node.parent.children = null;
+      }
+    }
+  }
+
+  /** Marks the root directory as known, it is counted like any other item. */
+  void markRootKnown(long lastModified) {
+    if (!root.known) {
+      root.known = true;
+      size++;
+    }
+    root.lastModified = lastModified;
+  }
+
+  /** Single item of the snapshot. */
+  static final class Node {
+    private final Node parent;
+    private final String name;
+    private final boolean directory;
+
+    private Map<String, Node> children;
+    private long lastModified;
+    private boolean known;
+
+    private Node(Node parent, String name, boolean directory) {
+      this.parent = parent;
+      this.name = name;
+      this.directory = directory;
+      this.known = parent != null;
+    }
+
+    String name() {
+      return name;
+    }
+
+    boolean isDirectory() {
+      return directory;
+    }
+
+    boolean isKnown() {
+      return known;
+    }
+
+    long lastModified() {
+      return lastModified;
+    }
+
+    void lastModified(long lastModified) {
+      this.lastModified = lastModified;
+    }
+
+    Node child(String name) {
+      return children == null ? null : children.get(name);
+    }
+
+    Collection<Node> children() {
+      return children == null ? emptyList() : new ArrayList<>(children.values());
+    }
+
+    private int count() {
+      int count = 1;
+      if (children != null) {
+        for (Node child : children.values()) {
+          count += child.count();
+        }
+      }
+      return count;
+    }
+  }
+}
@@ -10,40 +10,61 @@
  */
 package org.eclipse.che.api.watcher.server.impl;
 
-import static java.nio.file.FileVisitResult.CONTINUE;
-import static java.nio.file.FileVisitResult.SKIP_SUBTREE;
-import static java.nio.file.Files.exists;
-import static java.nio.file.Files.walkFileTree;
-import static java.util.stream.Collectors.toSet;
+import static java.nio.file.Files.newDirectoryStream;
+import static java.nio.file.Files.readAttributes;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 import com.google.inject.Inject;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.FileVisitResult;
+import java.nio.file.DirectoryStream;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
-import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent.Kind;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import javax.annotation.PostConstruct;
 import javax.inject.Named;
 import javax.inject.Singleton;
+import org.eclipse.che.api.watcher.server.impl.FileTreeSnapshot.Node;
 import org.eclipse.che.commons.schedule.ScheduleRate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Walks a file system tree, register addition, update and removal of file system items. On events
+ * Tracks a file system tree, register addition, update and removal of file system items. On events
  * runs corresponding consumers that can be registered in DI configuration modules.
+ *
+ * <p>Tracking is event driven: every tracked directory is registered in {@link FileWatcherService}
+ * and directories reported by the watcher are marked as dirty, only dirty directories are
+ * reconciled against the snapshot on the next {@link #walkDirty()} run. If the watcher reports an
+ * {@link java.nio.file.StandardWatchEventKinds#OVERFLOW} the whole subtree of the corresponding
+ * directory is reconciled.
+ *
+ * <p>Directories excluded from file watching are not registered in the watcher, their subtrees are
+ * polled by {@link #walk()}. Once the watcher fails to register a directory, e.g. the limit of
+ * watches is reached, the walker stops registering directories and polls the whole tree. The whole
+ * tree, including watched directories, is still reconciled with a much lower rate to catch changes
+ * that can't be reported by the watcher.
  */
 @Singleton
 public class FileTreeWalker {
   private static final Logger LOG = LoggerFactory.getLogger(FileTreeWalker.class);
 
-  private final File root;
+  private final Path rootPath;
+  private final FileWatcherService watcherService;
+  private final FileWatcherExcludePatternsRegistry excludePatternsRegistry;
+  private final long fullWalkPeriodMs;
 
   private final Set<Consumer<Path>> directoryUpdateConsumers;
   private final Set<Consumer<Path>> directoryCreateConsumers;
@@ -55,12 +76,34 @@ public class FileTreeWalker {
   private final Set<Consumer<Path>> fileDeleteConsumers;
   private final Set<PathMatcher> fileExcludes;
 
-  private final Map<Path, Long> files = new HashMap<>();
-  private final Map<Path, Long> directories = new HashMap<>();
+  private final FileTreeSnapshot snapshot = new FileTreeSnapshot();
+
+  /** Directories to be reconciled, value shows whether whole subtree must be reconciled. */
+  private final Map<Path, Boolean> dirty = new ConcurrentHashMap<>();
+
+  /** Roots of tracked subtrees which are not registered in the watcher. */
+  private final Set<Path> unwatched = new HashSet<>();
+
+  /** Directories registered in the watcher by this walker. */
+  private final Set<Path> registered = new HashSet<>();
+
+  /** Whether directories are not registered in the watcher and the whole tree is polled. */
+  private boolean polling;
+
+  private long lastFullWalk;
+
+  private final AtomicLong fullWalks = new AtomicLong();
+  private final AtomicLong partialWalks = new AtomicLong();
+  private final AtomicLong visitedItems = new AtomicLong();
+  private final AtomicLong walkTimeMs = new AtomicLong();
 
   @Inject
   public FileTreeWalker(
       @Named("che.user.workspaces.storage") File root,
+      FileWatcherService watcherService,
+      FileWatcherExcludePatternsRegistry excludePatternsRegistry,
+      @Named("che.fs.tree_walker.watch_directories") boolean watchDirectories,
+      @Named("che.fs.tree_walker.full_walk_period_s") long fullWalkPeriodSec,
       @Named("che.fs.directory.update") Set<Consumer<Path>> directoryUpdateConsumers,
       @Named("che.fs.directory.create") Set<Consumer<Path>> directoryCreateConsumers,
       @Named("che.fs.directory.delete") Set<Consumer<Path>> directoryDeleteConsumers,
@@ -69,7 +112,11 @@ public class FileTreeWalker {
       @Named("che.fs.file.create") Set<Consumer<Path>> fileCreateConsumers,
       @Named("che.fs.file.delete") Set<Consumer<Path>> fileDeleteConsumers,
       @Named("che.fs.file.excludes") Set<PathMatcher> fileExcludes) {
-    this.root = root;
+    this.rootPath = root.toPath().toAbsolutePath();
+    this.watcherService = watcherService;
+    this.excludePatternsRegistry = excludePatternsRegistry;
+    this.polling = !watchDirectories;
+    this.fullWalkPeriodMs = SECONDS.toMillis(fullWalkPeriodSec);
 
     this.directoryUpdateConsumers = directoryUpdateConsumers;
     this.directoryCreateConsumers = directoryCreateConsumers;
@@ -83,79 +130,319 @@ public class FileTreeWalker {
     this.fileExcludes = fileExcludes;
   }
 
-  @ScheduleRate(period = 10)
-  void walk() {
+  @PostConstruct
+  void subscribe() {
+    watcherService.addEventListener(this::onEvent);
+  }
+
+  /** Returns amount of full tree walks performed since start. */
+  public long getFullWalks() {
+    return fullWalks.get();
+  }
+
+  /** Returns amount of partial (dirty directories only) walks performed since start. */
+  public long getPartialWalks() {
+    return partialWalks.get();
+  }
+
+  /** Returns amount of file system items that were read during all walks. */
+  public long getVisitedItems() {
+    return visitedItems.get();
+  }
+
+  /** Returns total time spent in all walks in milliseconds. */
+  public long getWalkTimeMs() {
+    return walkTimeMs.get();
+  }
+
+  /** Returns amount of file system items currently tracked. */
+  public synchronized int getTrackedItems() {
+    return snapshot.size();
+  }
+
+  /**
+   * Handles an event reported by {@link FileWatcherService}.
+   *
+   * @param path path of an item that is the subject of the event, or path of the watched directory
+   *     in case of overflow
+   * @param kind event kind
+   */
+  void onEvent(Path path, Kind<?> kind) {
+    Path absolute = path.toAbsolutePath();
+    if (!absolute.startsWith(rootPath)) {
+      return;
+    }
+
+    if (kind == OVERFLOW) {
+      dirty.put(absolute, true);
+    } else if (!absolute.equals(rootPath)) {
+      dirty.putIfAbsent(absolute.getParent(), false);
+    }
+  }
+
+  /**
+   * Reconciles subtrees which are not watched against the snapshot. The whole tree is reconciled if
+   * directories are polled or the period of full reconciliation has elapsed.
+   */
+  @ScheduleRate(periodParameterName = "che.fs.tree_walker.poll_period_s")
+  synchronized void walk() {
+    long start = System.currentTimeMillis();
+    if (snapshot.root().isKnown() && !polling && start - lastFullWalk < fullWalkPeriodMs) {
+      walkUnwatched();
+      return;
+    }
+
+    LOG.debug("Tree walk started");
+    long visited = visitedItems.get();
+    lastFullWalk = start;
+
+    dirty.clear();
+    reconcileRoot();
+
+    long time = System.currentTimeMillis() - start;
+    walkTimeMs.addAndGet(time);
+    fullWalks.incrementAndGet();
+    LOG.debug(
+        "Tree walk finished in {}ms, visited {} items, tracking {} items",
+        time,
+        visitedItems.get() - visited,
+        snapshot.size());
+  }
+
+  /**
+   * Reconciles directories that were reported by the file watcher since the previous run, performs
+   * the initial tree walk if the tree is not tracked yet.
+   */
+  @ScheduleRate(period = 500, unit = MILLISECONDS)
+  synchronized void walkDirty() {
+    if (!snapshot.root().isKnown()) {
+      // initial walk is not performed yet, it will take care of everything
+      walk();
+      return;
+    }
+    if (dirty.isEmpty()) {
+      return;
+    }
+
+    long start = System.currentTimeMillis();
+    long visited = visitedItems.get();
+
+    Set<Path> paths = new HashSet<>(dirty.keySet());
+    for (Path dir : paths) {
+      Boolean recursive = dirty.remove(dir);
+      if (recursive == null) {
+        continue;
+      }
+      if (dir.equals(rootPath)) {
+        if (recursive) {
+          reconcileRoot();
+        } else {
+          reconcile(rootPath, snapshot.root(), false);
+        }
+        continue;
+      }
+
+      Node node = snapshot.find(rootPath.relativize(dir));
+      if (node == null) {
+        // directory is not tracked yet, reconcile its parent to discover it
+        Path parent = dir.getParent();
+        if (parent != null && parent.startsWith(rootPath)) {
+          dirty.putIfAbsent(parent, false);
+        }
+      } else if (node.isDirectory()) {
+        reconcile(dir, node, recursive);
+      }
+    }
+
+    long time = System.currentTimeMillis() - start;
+    walkTimeMs.addAndGet(time);
+    partialWalks.incrementAndGet();
+    LOG.debug(
+        "Partial tree walk of {} directories finished in {}ms, visited {} items",
+        paths.size(),
+        time,
+        visitedItems.get() - visited);
+  }
+
+  private void walkUnwatched() {
+    if (unwatched.isEmpty()) {
+      return;
+    }
+
+    long start = System.currentTimeMillis();
+    long visited = visitedItems.get();
+
+    for (Path dir : new ArrayList<>(unwatched)) {
+      Node node = snapshot.find(rootPath.relativize(dir));
+      if (node != null && node.isDirectory()) {
+        reconcile(dir, node, true);
+      }
+    }
+
+    long time = System.currentTimeMillis() - start;
+    walkTimeMs.addAndGet(time);
+    partialWalks.incrementAndGet();
+    LOG.debug(
+        "Walk of {} not watched subtrees finished in {}ms, visited {} items",
+        unwatched.size(),
+        time,
+        visitedItems.get() - visited);
+  }
+
+  private void reconcileRoot() {
+    Node rootNode = snapshot.root();
     try {
-      LOG.debug("Tree walk started");
-
-      Set<Path> deletedFiles = files.keySet().stream().filter(it -> !exists(it)).collect(toSet());
-      fileDeleteConsumers.forEach(deletedFiles::forEach);
-      files.keySet().removeAll(deletedFiles);
-
-      Set<Path> deletedDirectories =
-          directories.keySet().stream().filter(it -> !exists(it)).collect(toSet());
-      directoryDeleteConsumers.forEach(deletedDirectories::forEach);
-      directories.keySet().removeAll(deletedDirectories);
-
-      walkFileTree(
-          root.toPath(),
-          new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
-                throws IOException {
-              for (PathMatcher matcher : directoryExcludes) {
-                if (matcher.matches(dir)) {
-                  return SKIP_SUBTREE;
-                }
-              }
-
-              updateFsTreeAndAcceptConsumables(
-                  directories, directoryUpdateConsumers, directoryCreateConsumers, dir, attrs);
-
-              return CONTINUE;
-            }
-
-            @Override
-            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-              for (PathMatcher matcher : fileExcludes) {
-                if (matcher.matches(file)) {
-                  return CONTINUE;
-                }
-              }
-
-              updateFsTreeAndAcceptConsumables(
-                  files, fileUpdateConsumers, fileCreateConsumers, file, attrs);
-
-              return CONTINUE;
-            }
-          });
-      LOG.debug("Tree walk finished");
+      BasicFileAttributes attrs = readAttributes(rootPath, BasicFileAttributes.class);
+      visitedItems.incrementAndGet();
+      long lastModified = attrs.lastModifiedTime().toMillis();
+      if (!rootNode.isKnown()) {
+        snapshot.markRootKnown(lastModified);
+        register(rootPath);
+        accept(directoryCreateConsumers, rootPath);
+      } else if (rootNode.lastModified() != lastModified) {
+        rootNode.lastModified(lastModified);
+        accept(directoryUpdateConsumers, rootPath);
+      }
+    } catch (NoSuchFileException e) {
+      LOG.debug("Tree root '{}' is not present", rootPath);
+      return;
+    } catch (IOException e) {
+      LOG.error("Error while reading tree root '{}'", rootPath, e);
+      return;
+    }
+    reconcile(rootPath, rootNode, true);
+  }
+
+  /**
+   * Compares directory entries with the snapshot and runs corresponding consumers. New directories
+   * are always reconciled recursively, existing ones only if {@code recursive} is set.
+   */
+  private void reconcile(Path dir, Node node, boolean recursive) {
+    Set<String> present = new HashSet<>();
+    try (DirectoryStream<Path> entries = newDirectoryStream(dir)) {
+      for (Path entry : entries) {
+        String name = entry.getFileName().toString();
+
+        BasicFileAttributes attrs;
+        try {
+          attrs = readAttributes(entry, BasicFileAttributes.class, NOFOLLOW_LINKS);
+        } catch (NoSuchFileException e) {
+          LOG.debug("Item '{}' is already not present", entry);
+          continue;
+        }
+        visitedItems.incrementAndGet();
+
+        boolean directory = attrs.isDirectory();
+        if (directory ? isExcluded(directoryExcludes, entry) : isExcluded(fileExcludes, entry)) {
+          continue;
+        }
+        present.add(name);
+
+        long lastModified = attrs.lastModifiedTime().toMillis();
+        Node child = node.child(name);
+        if (child != null && child.isDirectory() != directory) {
+          removeSubtree(dir, child);
+          child = null;
+        }
+
+        if (child == null) {
+          child = snapshot.add(node, name, directory, lastModified);
+          if (directory) {
+            register(entry);
+            accept(directoryCreateConsumers, entry);
+            reconcile(entry, child, true);
+          } else {
+            accept(fileCreateConsumers, entry);
+          }
+        } else {
+          if (child.lastModified() != lastModified) {
+            child.lastModified(lastModified);
+            accept(directory ? directoryUpdateConsumers : fileUpdateConsumers, entry);
+          }
+          if (directory && recursive) {
+            reconcile(entry, child, true);
+          }
+        }
+      }
     } catch (NoSuchFileException e) {
       LOG.debug(
           "Trying to process a file, however seems like it is already not present: {}",
           e.getMessage());
-    } catch (Exception e) {
-      LOG.error("Error while walking file tree", e);
+      return;
+    } catch (IOException e) {
+      LOG.error("Error while walking directory '{}'", dir, e);
+      return;
+    }
+
+    for (Node child : node.children()) {
+      if (!present.contains(child.name())) {
+        removeSubtree(dir, child);
+      }
     }
   }
 
-  private void updateFsTreeAndAcceptConsumables(
-      Map<Path, Long> items,
-      Set<Consumer<Path>> updateConsumer,
-      Set<Consumer<Path>> createConsumer,
-      Path path,
-      BasicFileAttributes attrs) {
-    Long lastModifiedActual = attrs.lastModifiedTime().toMillis();
+  private void removeSubtree(Path parent, Node node) {
+    Path path = parent.resolve(node.name());
+    for (Node child : node.children()) {
+      removeSubtree(path, child);
+    }
+    snapshot.remove(node);
+    dirty.remove(path);
+    unwatched.remove(path);
+    if (node.isDirectory()) {
+      unregister(path);
+      accept(directoryDeleteConsumers, path);
+    } else {
+      accept(fileDeleteConsumers, path);
+    }
+  }
 
-    if (items.containsKey(path)) {
-      Long lastModifiedStored = items.get(path);
-      if (!lastModifiedActual.equals(lastModifiedStored)) {
-        items.put(path, lastModifiedActual);
-        updateConsumer.forEach(it -> it.accept(path));
-      }
+  private void register(Path dir) {
+    if (polling || isUnwatched(dir)) {
+      return;
+    }
+    if (excludePatternsRegistry.isExcluded(dir)) {
+      unwatched.add(dir);
+    } else if (watcherService.register(dir)) {
+      registered.add(dir);
     } else {
-      items.put(path, lastModifiedActual);
-      createConsumer.forEach(it -> it.accept(path));
+      polling = true;
+      LOG.info("Directory '{}' can't be watched, switching file tree tracking to polling", dir);
+    }
+  }
+
+  private void unregister(Path dir) {
+    if (registered.remove(dir)) {
+      watcherService.unRegister(dir);
+    }
+  }
+
+  /** Checks whether the directory belongs to one of the subtrees which are not watched. */
+  private boolean isUnwatched(Path dir) {
+    for (Path it = dir; it != null && it.startsWith(rootPath); it = it.getParent()) {
+      if (unwatched.contains(it)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isExcluded(Set<PathMatcher> excludes, Path path) {
+    for (PathMatcher matcher : excludes) {
+      if (matcher.matches(path)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void accept(Set<Consumer<Path>> consumers, Path path) {
+    for (Consumer<Path> consumer : consumers) {
+      try {
+        consumer.accept(path);
+      } catch (Exception e) {
+        LOG.error("Error while processing file tree change of '{}'", path, e);
+      }
     }
   }
 }
@@ -33,10 +33,13 @@ import java.nio.file.WatchService;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -60,9 +63,11 @@ public class FileWatcherService {
 
   private final AtomicBoolean suspended = new AtomicBoolean(true);
   private final AtomicBoolean running = new AtomicBoolean();
+  private final AtomicBoolean registrationFailureReported = new AtomicBoolean();
 
   private final Map<WatchKey, Path> keys = new ConcurrentHashMap<>();
   private final Map<Path, Integer> registrations = new ConcurrentHashMap<>();
+  private final Set<BiConsumer<Path, Kind<?>>> listeners = new CopyOnWriteArraySet<>();
 
   private final FileWatcherExcludePatternsRegistry excludePatternsRegistry;
   private final FileWatcherEventHandler handler;
@@ -167,6 +172,19 @@ public class FileWatcherService {
     return executor.isShutdown();
   }
 
+  /**
+   * Adds a listener that is notified about all events reported by underlying watch service for
+   * registered directories, regardless of exclude patterns and registered operations. In case of
+   * events overflow the listener is called with the path of the watched directory and {@link
+   * java.nio.file.StandardWatchEventKinds#OVERFLOW} kind. Listeners are called on the watcher
+   * thread so they are expected to be fast.
+   *
+   * @param listener events listener
+   */
+  public void addEventListener(BiConsumer<Path, Kind<?>> listener) {
+    listeners.add(listener);
+  }
+
   /**
    * Registers a directory for tracking of corresponding entry creation, modification or deletion
    * events. Each call of this method increase by one registration counter that corresponds to each
@@ -174,16 +192,20 @@ public class FileWatcherService {
    * specific handler only if registration counter related to the directory is above zero, otherwise
    * registration watch key is canceled and no further directory watching is being performed.
    *
+   * <p>Only the first failure of registration is reported as a warning, the following ones are
+   * expected to have the same reason, usually the limit of watches of the operating system.
+   *
    * @param dir directory
+   * @return {@code true} if the directory is watched, {@code false} otherwise
    */
-  public void register(Path dir) {
+  public boolean register(Path dir) {
     if (!Files.exists(dir)) {
       LOG.debug("Trying to register directory '{}' but it does not exist", dir);
-      return;
+      return false;
     }
     LOG.debug("Registering directory '{}'", dir);
-    if (keys.values().contains(dir)) {
-      int previous = registrations.get(dir);
+    Integer previous = registrations.get(dir);
+    if (previous != null) {
       LOG.debug(
           "Directory is already being watched, increasing watch counter, previous value: {}",
           previous);
@@ -197,9 +219,19 @@ public class FileWatcherService {
           registrations.put(dir, 1);
         }
       } catch (IOException e) {
-        LOG.error("Can't register dir {} in file watch service", dir, e);
+        if (registrationFailureReported.compareAndSet(false, true)) {
+          LOG.warn(
+              "Can't register dir {} in file watch service, the limit of watches may be "
+                  + "reached: {}. Further registration failures are not reported",
+              dir,
+              e.getMessage());
+        } else {
+          LOG.debug("Can't register dir {} in file watch service", dir, e);
+        }
+        return false;
       }
     }
+    return true;
   }
 
   /**
@@ -282,6 +314,7 @@ public class FileWatcherService {
 
           if (kind == OVERFLOW) {
             LOG.warn("Detected file system events overflowing");
+            notifyListeners(dir, kind);
             continue;
           }
 
@@ -289,6 +322,8 @@ public class FileWatcherService {
           Path item = ev.context();
           Path path = dir.resolve(item).toAbsolutePath();
 
+          notifyListeners(path, kind);
+
           if (excludePatternsRegistry.isExcluded(path)) {
             LOG.debug("Path is within exclude list, skipping...");
             continue;
@@ -309,6 +344,16 @@ public class FileWatcherService {
     }
   }
 
+  private void notifyListeners(Path path, Kind<?> kind) {
+    for (BiConsumer<Path, Kind<?>> listener : listeners) {
+      try {
+        listener.accept(path, kind);
+      } catch (RuntimeException e) {
+        LOG.error("Error while notifying listener about event on '{}'", path, e);
+      }
+    }
+  }
+
   private void resetAndRemove(WatchKey watchKey, Path dir) {
     if (!watchKey.reset()) {
       if (dir != null) {
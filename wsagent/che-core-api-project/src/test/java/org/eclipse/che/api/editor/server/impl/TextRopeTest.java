@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.editor.server.impl;
+
+import static org.testng.Assert.assertEquals;
+
+import java.util.Random;
+import org.testng.annotations.Test;
+
+/** Tests for {@link TextRope}. */
+public class TextRopeTest {
+
+  @Test
+  public void shouldInsertText() {
+    TextRope rope = new TextRope("hello world");
+
+    rope.insert(5, ",");
+    rope.insert(0, ">");
+    rope.insert(rope.length(), "!");
+
+    assertEquals(rope.toString(), ">hello, world!");
+  }
+
+  @Test
+  public void shouldRemoveText() {
+    TextRope rope = new TextRope("hello, world!");
+
+    rope.remove(5, 6);
+    rope.remove(0, 1);
+    rope.remove(rope.length() - 1, rope.length());
+
+    assertEquals(rope.toString(), "ello world");
+  }
+
+  @Test
+  public void shouldProvideCharactersAndSubSequences() {
+    TextRope rope = new TextRope(text(TextRope.MAX_CHUNK * 3));
+
+    String expected = rope.toString();
+    assertEquals(rope.charAt(TextRope.MAX_CHUNK + 7), expected.charAt(TextRope.MAX_CHUNK + 7));
+    assertEquals(
+        rope.subSequence(10, TextRope.MAX_CHUNK * 2).toString(),
+        expected.substring(10, TextRope.MAX_CHUNK * 2));
+  }
+
+  @Test
+  public void shouldRemoveRangesSpanningSeveralChunks() {
+    String text = text(TextRope.MAX_CHUNK * 5);
+    TextRope rope = new TextRope(text);
+
+    rope.remove(100, TextRope.MAX_CHUNK * 4);
+
+    assertEquals(rope.toString(), text.substring(0, 100) + text.substring(TextRope.MAX_CHUNK * 4));
+  }
+
+  @Test
+  public void shouldBeConsistentWithStringBuilderOnRandomEdits() {
+    Random random = new Random(42);
+    String text = text(20_000);
+    TextRope rope = new TextRope(text);
+    StringBuilder expected = new StringBuilder(text);
+
+    for (int i = 0; i < 5_000; i++) {
+      if (random.nextBoolean() || expected.length() == 0) {
+        int offset = random.nextInt(expected.length() + 1);
+        String insert = text(random.nextInt(random.nextInt(10) == 0 ? 5_000 : 10) + 1);
+        rope.insert(offset, insert);
+        expected.insert(offset, insert);
+      } else {
+        int start = random.nextInt(expected.length());
+        int end =
+            Math.min(
+                expected.length(), start + random.nextInt(random.nextInt(10) == 0 ? 5_000 : 10));
+        rope.remove(start, end);
+        expected.delete(start, end);
+      }
+      assertEquals(rope.length(), expected.length());
+    }
+
+    assertEquals(rope.toString(), expected.toString());
+  }
+
+  private static String text(int length) {
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      builder.append((char) ('a' + i % 26));
+    }
+    return builder.toString();
+  }
+}
@@ -164,4 +164,30 @@ public class ProjectServiceVcsStatusInjectorTest {
     assertTrue(argumentCaptor.getValue().size() == 1);
     assertEquals(argumentCaptor.getValue().get("vcs.status"), MODIFIED.toString());
   }
+
+  @Test
+  public void shouldInjectVcsStatusIntoItemsOfDifferentProjects() throws Exception {
+    // given
+    when(itemReference1.getProject()).thenReturn("/project2");
+    when(itemReference1.getPath()).thenReturn("/project2/file1");
+    when(projectManager.get("/project2")).thenReturn(Optional.of(project));
+    when(vcsStatusProvider.getStatus("project", singletonList("file")))
+        .thenReturn(singletonMap("/project/file", ADDED));
+    when(vcsStatusProvider.getStatus("/project2", singletonList("file1")))
+        .thenReturn(singletonMap("/project2/file1", MODIFIED));
+
+    List<ItemReference> itemReferences = new ArrayList<>();
+    itemReferences.add(itemReference);
+    itemReferences.add(itemReference1);
+
+    // when
+    vcsStatusInjector.injectVcsStatusOfProjects(itemReferences);
+
+    // then
+    verify(itemReference).setAttributes(argumentCaptor.capture());
+    assertEquals(argumentCaptor.getValue().get("vcs.status"), ADDED.toString());
+
+    verify(itemReference1).setAttributes(argumentCaptor.capture());
+    assertEquals(argumentCaptor.getValue().get("vcs.status"), MODIFIED.toString());
+  }
 }
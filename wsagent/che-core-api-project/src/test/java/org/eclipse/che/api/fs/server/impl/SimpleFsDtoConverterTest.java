@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.fs.server.impl;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.stream.Collectors.toMap;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+import com.google.common.io.Files;
+import java.io.File;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import org.apache.commons.io.FileUtils;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.fs.server.FsManager;
+import org.eclipse.che.api.project.server.ProjectManager;
+import org.eclipse.che.api.project.server.impl.RegisteredProject;
+import org.eclipse.che.api.project.server.type.ProjectTypeDef;
+import org.eclipse.che.api.project.shared.dto.ItemReference;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link SimpleFsDtoConverter} */
+@Listeners(MockitoTestNGListener.class)
+public class SimpleFsDtoConverterTest {
+
+  private static final String PROJECT_WS_PATH = "/project";
+  private static final String NESTED_WS_PATH = "/project/nested";
+
+  @Mock private ProjectManager projectManager;
+  @Mock private FsManager fsManager;
+  @Mock private RegisteredProject project;
+  @Mock private RegisteredProject nestedProject;
+  @Mock private ProjectTypeDef projectType;
+
+  private SimpleFsDtoConverter fsDtoConverter;
+
+  private File projectDir;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    projectDir = Files.createTempDir();
+    new File(projectDir, "folder").mkdir();
+    new File(projectDir, "nested").mkdir();
+    FileUtils.write(new File(projectDir, "file"), "content");
+
+    when(fsManager.toIoFile(PROJECT_WS_PATH)).thenReturn(projectDir);
+    when(projectManager.getClosest(PROJECT_WS_PATH)).thenReturn(Optional.of(project));
+    when(projectManager.isRegistered(NESTED_WS_PATH)).thenReturn(true);
+    when(projectManager.get(NESTED_WS_PATH)).thenReturn(Optional.of(nestedProject));
+    when(project.getPath()).thenReturn(PROJECT_WS_PATH);
+    when(nestedProject.getPath()).thenReturn(NESTED_WS_PATH);
+    when(nestedProject.getProjectType()).thenReturn(projectType);
+    when(nestedProject.getMixinTypes()).thenReturn(emptyMap());
+    when(nestedProject.getProblems()).thenReturn(emptyList());
+
+    fsDtoConverter = new SimpleFsDtoConverter(projectManager, fsManager);
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    FileUtils.deleteDirectory(projectDir);
+  }
+
+  @Test
+  public void shouldConvertAllChildren() throws Exception {
+    Map<String, ItemReference> children =
+        fsDtoConverter
+            .asChildrenDto(PROJECT_WS_PATH, true)
+            .stream()
+            .collect(toMap(ItemReference::getName, Function.identity()));
+
+    assertEquals(children.size(), 3);
+
+    ItemReference file = children.get("file");
+    assertEquals(file.getPath(), "/project/file");
+    assertEquals(file.getType(), "file");
+    assertEquals(file.getProject(), PROJECT_WS_PATH);
+    assertEquals(file.getContentLength(), 7);
+
+    ItemReference folder = children.get("folder");
+    assertEquals(folder.getType(), "folder");
+    assertEquals(folder.getProject(), PROJECT_WS_PATH);
+    assertNull(folder.getProjectConfig());
+
+    ItemReference nested = children.get("nested");
+    assertEquals(nested.getType(), "project");
+    assertEquals(nested.getProject(), NESTED_WS_PATH);
+    assertNotNull(nested.getProjectConfig());
+  }
+
+  @Test
+  public void shouldConvertOnlyDirectories() throws Exception {
+    Map<String, ItemReference> children =
+        fsDtoConverter
+            .asChildrenDto(PROJECT_WS_PATH, false)
+            .stream()
+            .collect(toMap(ItemReference::getName, Function.identity()));
+
+    assertEquals(children.size(), 2);
+    assertFalse(children.containsKey("file"));
+  }
+
+  @Test(expectedExceptions = NotFoundException.class)
+  public void shouldThrowNotFoundExceptionIfDirectoryDoesNotExist() throws Exception {
+    FileUtils.deleteDirectory(projectDir);
+
+    fsDtoConverter.asChildrenDto(PROJECT_WS_PATH, true);
+  }
+}
@@ -158,4 +158,30 @@ public class ProjectServiceLinksInjectorTest {
     assertEquals(HttpMethod.DELETE, deleteLink.getMethod());
     assertEquals(LINK_REL_DELETE, deleteLink.getRel());
   }
+
+  @Test
+  public void shouldInjectSameLinksFromTemplate() throws Exception {
+    ProjectServiceLinksInjector.LinksTemplate linksTemplate =
+        projectServiceLinksInjector.newLinksTemplate(serviceContext);
+
+    for (String path : new String[] {FILE_PATH, "/project1/folder/file with spaces"}) {
+      ItemReference expected =
+          projectServiceLinksInjector.injectFileLinks(
+              DtoFactory.newDto(ItemReference.class).withPath(path), serviceContext);
+      ItemReference actual =
+          linksTemplate.injectFileLinks(DtoFactory.newDto(ItemReference.class).withPath(path));
+
+      assertEquals(actual.getLinks(), expected.getLinks());
+    }
+
+    ItemReference expected =
+        projectServiceLinksInjector.injectFolderLinks(
+            DtoFactory.newDto(ItemReference.class).withPath(FOLDER_PATH), serviceContext);
+    ItemReference actual =
+        linksTemplate.injectFolderLinks(
+            DtoFactory.newDto(ItemReference.class).withPath(FOLDER_PATH));
+
+    assertEquals(actual.getLinks(), expected.getLinks());
+    assertEquals(actual.getLink("tree").getHref(), "localhost:8080/project/tree/project1/folder");
+  }
 }
@@ -50,6 +50,7 @@ public class ProjectServiceTest {
   private static final int MAX_ITEMS = 0;
   private static final int SKIP_COUNT = 0;
   private static final int DEPTH = 0;
+  private static final int MAX_NODES = 0;
 
   private static final boolean INCLUDE_FILES = false;
   private static final boolean SKIP_FIRST_LEVEL = false;
@@ -235,9 +236,9 @@ public class ProjectServiceTest {
 
   @Test
   public void shouldCallGetTree() throws Exception {
-    projectService.getTree(WS_PATH, DEPTH, INCLUDE_FILES);
+    projectService.getTree(WS_PATH, DEPTH, INCLUDE_FILES, MAX_NODES);
 
-    verify(projectServiceApi).getTree(WS_PATH, DEPTH, INCLUDE_FILES);
+    verify(projectServiceApi).getTree(WS_PATH, DEPTH, INCLUDE_FILES, MAX_NODES);
   }
 
   @Test
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server.impl;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.rest.ServiceContext;
+import org.eclipse.che.api.fs.server.FsDtoConverter;
+import org.eclipse.che.api.fs.server.FsManager;
+import org.eclipse.che.api.project.server.ProjectManager;
+import org.eclipse.che.api.project.server.impl.ProjectServiceLinksInjector.LinksTemplate;
+import org.eclipse.che.api.project.shared.dto.ItemReference;
+import org.eclipse.che.api.project.shared.dto.TreeElement;
+import org.eclipse.che.api.search.server.Searcher;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link ProjectServiceApi} */
+@Listeners(MockitoTestNGListener.class)
+public class ProjectServiceApiTest {
+
+  @Mock private ServiceContext serviceContext;
+  @Mock private Searcher searcher;
+  @Mock private ProjectManager projectManager;
+  @Mock private FsManager fsManager;
+  @Mock private FsDtoConverter fsDtoConverter;
+  @Mock private EventService eventService;
+  @Mock private ProjectServiceLinksInjector linksInjector;
+  @Mock private LinksTemplate linksTemplate;
+  @Mock private ProjectServiceVcsStatusInjector vcsStatusInjector;
+  @Mock private RequestTransmitter transmitter;
+
+  private ProjectServiceApi projectServiceApi;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    when(fsDtoConverter.asDto("/project")).thenReturn(folder("/project"));
+    when(fsManager.isFile("/project")).thenReturn(false);
+    when(linksInjector.injectFolderLinks(any(ItemReference.class), any(ServiceContext.class)))
+        .then(returnsFirstArg());
+    when(linksInjector.newLinksTemplate(serviceContext)).thenReturn(linksTemplate);
+    when(linksTemplate.injectFolderLinks(any(ItemReference.class))).then(returnsFirstArg());
+
+    projectServiceApi =
+        new ProjectServiceApi(
+            serviceContext,
+            searcher,
+            projectManager,
+            fsManager,
+            fsDtoConverter,
+            eventService,
+            linksInjector,
+            vcsStatusInjector,
+            transmitter);
+  }
+
+  @Test
+  public void shouldMarkFoldersWhichDoNotFitIntoTreeAsTruncated() throws Exception {
+    children(
+        "/project",
+        folder("/project/a"),
+        folder("/project/b"),
+        folder("/project/c"),
+        folder("/project/d"));
+    children("/project/a", folder("/project/a/a1"));
+    children("/project/b", folder("/project/b/b1"), folder("/project/b/b2"));
+    children("/project/c", folder("/project/c/c1"));
+
+    TreeElement tree = projectServiceApi.getTree("/project", 2, false, 6);
+
+    List<TreeElement> children = tree.getChildren();
+    assertEquals(children.size(), 4);
+    assertFalse(tree.isTruncated());
+    // children of b don't fit into the rest of the limit
+    assertTrue(children.get(1).getChildren().isEmpty());
+    assertTrue(children.get(1).isTruncated());
+    // children of a and c fit into the limit
+    assertEquals(children.get(0).getChildren().size(), 1);
+    assertFalse(children.get(0).isTruncated());
+    assertEquals(children.get(2).getChildren().size(), 1);
+    assertFalse(children.get(2).isTruncated());
+    // the limit is reached before d
+    assertTrue(children.get(3).getChildren().isEmpty());
+    assertTrue(children.get(3).isTruncated());
+  }
+
+  @Test
+  public void shouldNotMarkFoldersWhichAreNotExpandedBecauseOfDepthAsTruncated() throws Exception {
+    children("/project", folder("/project/a"));
+    children("/project/a", folder("/project/a/a1"));
+
+    TreeElement tree = projectServiceApi.getTree("/project", 2, false, 10);
+
+    TreeElement a1 = tree.getChildren().get(0).getChildren().get(0);
+    assertTrue(a1.getChildren().isEmpty());
+    assertFalse(a1.isTruncated());
+  }
+
+  private void children(String path, ItemReference... children) throws Exception {
+    when(fsDtoConverter.asChildrenDto(path, false))
+        .thenReturn(children.length == 0 ? emptyList() : asList(children));
+  }
+
+  private static ItemReference folder(String path) {
+    return newDto(ItemReference.class)
+        .withPath(path)
+        .withName(path.substring(path.lastIndexOf('/') + 1))
+        .withType("folder");
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server.impl;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.rest.HttpJsonRequest;
+import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
+import org.eclipse.che.api.core.rest.HttpJsonResponse;
+import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsDiffDto;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link WorkspaceProjectSynchronizer} */
+@Listeners(MockitoTestNGListener.class)
+public class WorkspaceProjectSynchronizerTest {
+
+  private static final String API_ENDPOINT = "http://localhost/api";
+  private static final String WORKSPACE_ID = "workspace123";
+  private static final String PROJECT_PATH = "/project";
+
+  @Mock private HttpJsonRequestFactory requestFactory;
+  @Mock private HttpJsonRequest request;
+  @Mock private HttpJsonResponse response;
+  @Mock private WorkspaceSyncCommunication workspaceSyncCommunication;
+  @Mock private ProjectConfigRegistry projectConfigRegistry;
+
+  private List<ProjectsDiffDto> sentDiffs;
+  private WorkspaceProjectSynchronizer synchronizer;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    sentDiffs = Collections.synchronizedList(new ArrayList<>());
+    when(requestFactory.fromUrl(anyString())).thenReturn(request);
+    when(request.usePostMethod()).thenReturn(request);
+    when(request.setBody(any(Object.class)))
+        .thenAnswer(
+            invocation -> {
+              sentDiffs.add(invocation.getArgument(0));
+              return request;
+            });
+    when(request.request()).thenReturn(response);
+    when(response.asDto(ProjectsDiffDto.class)).thenReturn(masterState("rev1", PROJECT_PATH));
+    when(projectConfigRegistry.getAll()).thenReturn(emptySet());
+    when(projectConfigRegistry.get(anyString())).thenReturn(Optional.empty());
+
+    synchronizer =
+        new WorkspaceProjectSynchronizer(
+            API_ENDPOINT,
+            WORKSPACE_ID,
+            requestFactory,
+            workspaceSyncCommunication,
+            projectConfigRegistry);
+  }
+
+  @Test
+  public void shouldFetchStateOfMasterProjectsOnStart() throws Exception {
+    assertEquals(sentDiffs.size(), 1);
+    assertNull(sentDiffs.get(0).getRevision());
+    assertTrue(sentDiffs.get(0).getUpdated().isEmpty());
+    assertTrue(sentDiffs.get(0).getRemoved().isEmpty());
+  }
+
+  @Test
+  public void shouldSendRemovedProjectsBasedOnKnownRevision() throws Exception {
+    when(response.asDto(ProjectsDiffDto.class)).thenReturn(masterState("rev2"));
+
+    synchronizer.synchronize();
+
+    assertEquals(sentDiffs.size(), 2);
+    assertEquals(sentDiffs.get(1).getRevision(), "rev1");
+    assertEquals(sentDiffs.get(1).getRemoved(), singletonList(PROJECT_PATH));
+    verify(workspaceSyncCommunication).synchronizeWorkspace();
+  }
+
+  @Test
+  public void shouldNotSendAnythingWhenThereAreNoChanges() throws Exception {
+    when(projectConfigRegistry.get(PROJECT_PATH))
+        .thenReturn(Optional.of(mock(RegisteredProject.class)));
+
+    synchronizer.synchronize();
+
+    assertEquals(sentDiffs.size(), 1);
+    verify(workspaceSyncCommunication, never()).synchronizeWorkspace();
+  }
+
+  @Test
+  public void shouldRefreshRevisionAndRetryOnConflict() throws Exception {
+    when(request.request()).thenThrow(new ConflictException("conflict")).thenReturn(response);
+    when(response.asDto(ProjectsDiffDto.class))
+        .thenReturn(masterState("rev2", PROJECT_PATH))
+        .thenReturn(masterState("rev3"));
+
+    synchronizer.synchronize();
+
+    assertEquals(sentDiffs.size(), 4);
+    assertEquals(sentDiffs.get(1).getRevision(), "rev1");
+    assertNull(sentDiffs.get(2).getRevision());
+    assertEquals(sentDiffs.get(3).getRevision(), "rev2");
+    assertEquals(sentDiffs.get(3).getRemoved(), singletonList(PROJECT_PATH));
+    verify(workspaceSyncCommunication).synchronizeWorkspace();
+  }
+
+  @Test(expectedExceptions = ServerException.class)
+  public void shouldThrowServerExceptionWhenRetryConflicts() throws Exception {
+    when(request.request())
+        .thenThrow(new ConflictException("conflict"))
+        .thenReturn(response)
+        .thenThrow(new ConflictException("conflict"));
+    when(response.asDto(ProjectsDiffDto.class)).thenReturn(masterState("rev2", PROJECT_PATH));
+
+    synchronizer.synchronize();
+  }
+
+  @Test
+  public void shouldCoalesceSynchronizationsRequestedWhileSynchronizing() throws Exception {
+    CountDownLatch syncStarted = new CountDownLatch(1);
+    CountDownLatch releaseSync = new CountDownLatch(1);
+    when(response.asDto(ProjectsDiffDto.class))
+        .thenAnswer(
+            invocation -> {
+              syncStarted.countDown();
+              releaseSync.await(10, TimeUnit.SECONDS);
+              return masterState("rev2", PROJECT_PATH);
+            })
+        .thenReturn(masterState("rev3", PROJECT_PATH));
+
+    Thread first = startSynchronization();
+    assertTrue(syncStarted.await(10, TimeUnit.SECONDS));
+    Thread second = startSynchronization();
+    Thread third = startSynchronization();
+    waitUntilBlocked(second);
+    waitUntilBlocked(third);
+    releaseSync.countDown();
+
+    for (Thread thread : new Thread[] {first, second, third}) {
+      thread.join(10_000);
+    }
+
+    // initial state request, running synchronization and a single one for the waiting calls
+    assertEquals(sentDiffs.size(), 3);
+    verify(workspaceSyncCommunication, times(2)).synchronizeWorkspace();
+  }
+
+  private Thread startSynchronization() {
+    Thread thread =
+        new Thread(
+            () -> {
+              try {
+                synchronizer.synchronize();
+              } catch (ServerException e) {
+                throw new RuntimeException(e);
+              }
+            });
+    thread.start();
+    return thread;
+  }
+
+  private static void waitUntilBlocked(Thread thread) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10_000;
+    while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+  }
+
+  private static ProjectsDiffDto masterState(String revision, String... paths) {
+    List<ProjectConfigDto> projects = new ArrayList<>();
+    for (String path : paths) {
+      projects.add(newDto(ProjectConfigDto.class).withPath(path));
+    }
+    return newDto(ProjectsDiffDto.class)
+        .withRevision(revision)
+        .withUpdated(projects)
+        .withRemoved(emptyList());
+  }
+}
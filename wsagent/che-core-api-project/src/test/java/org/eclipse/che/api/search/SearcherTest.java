@@ -41,7 +41,6 @@ import org.eclipse.che.api.search.server.OffsetData;
 import org.eclipse.che.api.search.server.QueryExecutionException;
 import org.eclipse.che.api.search.server.QueryExpression;
 import org.eclipse.che.api.search.server.SearchResult;
-import org.eclipse.che.api.search.server.Searcher;
 import org.eclipse.che.api.search.server.impl.LuceneSearcher;
 import org.eclipse.che.api.search.server.impl.SearchResultEntry;
 import org.eclipse.che.commons.lang.IoUtil;
@@ -64,7 +63,7 @@ public class SearcherTest {
   File indexDirectory;
   File workspaceStorage;
   Set<PathMatcher> excludePatterns;
-  Searcher searcher;
+  LuceneSearcher searcher;
   RootAwarePathTransformer pathTransformer;
   ContentBuilder contentBuilder;
 
@@ -76,7 +75,8 @@ public class SearcherTest {
     excludePatterns = Collections.emptySet();
     pathTransformer = new RootAwarePathTransformer(workspaceStorage);
     searcher =
-        new LuceneSearcher(excludePatterns, indexDirectory, workspaceStorage, pathTransformer);
+        new LuceneSearcher(
+            excludePatterns, indexDirectory, workspaceStorage, pathTransformer, 2, 10, 100);
     contentBuilder = new ContentBuilder(workspaceStorage.toPath());
   }
 
@@ -94,6 +94,7 @@ public class SearcherTest {
     contentBuilder.createFolder("aaa").createFile("aaa.txt", TEST_CONTENT[1]);
     // when
     searcher.add(contentBuilder.getLastUpdatedFile());
+    searcher.awaitIndexing();
     // then
     assertFind("should", "/aaa/aaa.txt");
   }
@@ -108,6 +109,7 @@ public class SearcherTest {
         .createFile("zzz.txt", TEST_CONTENT[1]);
     // when
     searcher.add(contentBuilder.getCurrentFolder());
+    searcher.awaitIndexing();
     // then
     assertFind("be", "/folder/xxx.txt");
     assertFind("should", "/folder/zzz.txt");
@@ -119,10 +121,12 @@ public class SearcherTest {
     // given
     contentBuilder.createFolder("aaa").createFile("aaa.txt", TEST_CONTENT[2]);
     searcher.add(contentBuilder.getLastUpdatedFile());
+    searcher.awaitIndexing();
     assertEmptyResult("should");
     // when
     contentBuilder.createFile("aaa.txt", TEST_CONTENT[1]);
     searcher.add(contentBuilder.getLastUpdatedFile());
+    searcher.awaitIndexing();
     // then
     assertFind("should", "/aaa/aaa.txt");
   }
@@ -136,17 +140,20 @@ public class SearcherTest {
         .createFile("xxx.txt", TEST_CONTENT[2])
         .createFile("zzz.txt", TEST_CONTENT[1]);
     searcher.add(contentBuilder.getCurrentFolder());
+    searcher.awaitIndexing();
     contentBuilder
         .takeWorkspceRoot()
         .createFolder("aaa")
         .createFile("aaa.txt1", TEST_CONTENT[3])
         .createFile("aaa.txt", TEST_CONTENT[2]);
     searcher.add(contentBuilder.getCurrentFolder());
+    searcher.awaitIndexing();
     assertFind("be", "/aaa/aaa.txt", "/folder/xxx.txt");
 
     // when
     contentBuilder.deleteFileInCurrentFolder("aaa.txt");
     searcher.delete(contentBuilder.getLastUpdatedFile());
+    searcher.awaitIndexing();
     // then
     assertFind("be", "/folder/xxx.txt");
   }
@@ -160,6 +167,7 @@ public class SearcherTest {
         .createFile("aaa.txt1", TEST_CONTENT[3])
         .createFile("aaa.txt", TEST_CONTENT[2]);
     searcher.add(contentBuilder.getCurrentFolder());
+    searcher.awaitIndexing();
     // when
     // then
     assertFind("1961,", "/aaa/aaa.txt1");
@@ -174,6 +182,7 @@ public class SearcherTest {
         .createFile("aaa.txt1", TEST_CONTENT[3])
         .createFile("aaa.txt", TEST_CONTENT[2]);
     searcher.add(contentBuilder.getCurrentFolder());
+    searcher.awaitIndexing();
     // when
     // then
     assertFind("was generally", "/aaa/aaa.txt1");
@@ -188,17 +197,20 @@ public class SearcherTest {
         .createFile("xxx.txt", TEST_CONTENT[2])
         .createFile("zzz.txt", TEST_CONTENT[1]);
     searcher.add(contentBuilder.getCurrentFolder());
+    searcher.awaitIndexing();
     contentBuilder
         .takeWorkspceRoot()
         .createFolder("aaa")
         .createFile("aaa.txt1", TEST_CONTENT[3])
         .createFile("aaa.txt", TEST_CONTENT[2]);
     searcher.add(contentBuilder.getCurrentFolder());
+    searcher.awaitIndexing();
     assertFind("be", "/aaa/aaa.txt", "/folder/xxx.txt");
     assertFind("generally", "/aaa/aaa.txt1");
 
     // when
     searcher.delete(contentBuilder.getCurrentFolder());
+    searcher.awaitIndexing();
     contentBuilder.deleteCurrentFolder();
     // then
     assertFind("be", "/folder/xxx.txt");
@@ -215,6 +227,7 @@ public class SearcherTest {
         .createFile("yyy.txt", TEST_CONTENT[1])
         .createFile("zzz.txt", TEST_CONTENT[2]);
     searcher.add(contentBuilder.getCurrentFolder());
+    searcher.awaitIndexing();
     // when
     // then
     assertFind("*stone*", "/folder/xxx.txt");
@@ -230,6 +243,7 @@ public class SearcherTest {
         .createFile("yyy.txt", TEST_CONTENT[1])
         .createFile("zzz.txt", TEST_CONTENT[2]);
     searcher.add(contentBuilder.getCurrentFolder());
+    searcher.awaitIndexing();
     // when
     // then
     assertFind(new QueryExpression().setText("be").setName("xxx.txt"), "/folder/xxx.txt");
@@ -245,6 +259,7 @@ public class SearcherTest {
         .createFile("yyy.txt", TEST_CONTENT[1])
         .createFile("zzz.txt", TEST_CONTENT[2]);
     searcher.add(contentBuilder.getCurrentFolder());
+    searcher.awaitIndexing();
     // when
     // then
     assertFind(new QueryExpression().setText("*be*").setName("xxx.txt"), "/folder/xxx.txt");
@@ -260,6 +275,7 @@ public class SearcherTest {
         .createFile("yyy.txt", TEST_CONTENT[1])
         .createFile("zzz.txt", TEST_CONTENT[2]);
     searcher.add(contentBuilder.getCurrentFolder());
+    searcher.awaitIndexing();
     // when
     // then
     assertFind(new QueryExpression().setName("x??.txt"), "/folder/xxx.txt");
@@ -280,6 +296,7 @@ public class SearcherTest {
         .createFile("yyy.txt", TEST_CONTENT[1])
         .createFile("zzz.txt", TEST_CONTENT[4]);
     searcher.add(contentBuilder.getCurrentFolder());
+    searcher.awaitIndexing();
     // when
 
     // then
@@ -322,12 +339,14 @@ public class SearcherTest {
         .createFile(fileName, TEST_CONTENT[2])
         .createFile(NameGenerator.generate(null, 10), TEST_CONTENT[1]);
     searcher.add(contentBuilder.getCurrentFolder());
+    searcher.awaitIndexing();
     contentBuilder
         .takeWorkspceRoot()
         .createFolder("folder2")
         .createFile(NameGenerator.generate(null, 10), TEST_CONTENT[2])
         .createFile(NameGenerator.generate(null, 10), TEST_CONTENT[2]);
     searcher.add(contentBuilder.getCurrentFolder());
+    searcher.awaitIndexing();
     // when
     // then
     assertFind(new QueryExpression().setName(searchedFileName), "/parent/child/" + fileName);
@@ -339,6 +358,7 @@ public class SearcherTest {
     // given
     contentBuilder.createFolder("folder2").createFile("zzz.txt", TEST_CONTENT[2]);
     searcher.add(contentBuilder.getCurrentFolder());
+    searcher.awaitIndexing();
     contentBuilder
         .takeWorkspceRoot()
         .createFolder("folder1")
@@ -346,6 +366,7 @@ public class SearcherTest {
         .createFolder("B")
         .createFile("xxx.txt", TEST_CONTENT[2]);
     searcher.add(contentBuilder.getCurrentFolder());
+    searcher.awaitIndexing();
     // when
     // then
     assertFind(new QueryExpression().setText("be").setPath("/folder1"), "/folder1/a/B/xxx.txt");
@@ -361,6 +382,7 @@ public class SearcherTest {
         .createFile("yyy.txt", TEST_CONTENT[2])
         .createFile("xxx.txt", TEST_CONTENT[2]);
     searcher.add(contentBuilder.getCurrentFolder());
+    searcher.awaitIndexing();
 
     contentBuilder
         .takeWorkspceRoot()
@@ -369,6 +391,7 @@ public class SearcherTest {
         .createFolder("b")
         .createFile("zzz.txt", TEST_CONTENT[2]);
     searcher.add(contentBuilder.getCurrentFolder());
+    searcher.awaitIndexing();
     // when
     // then
     assertFind(
@@ -386,6 +409,7 @@ public class SearcherTest {
           String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
     }
     searcher.add(contentBuilder.getCurrentFolder());
+    searcher.awaitIndexing();
 
     // when
     SearchResult result = searcher.search(new QueryExpression().setText("mission").setMaxItems(5));
@@ -403,6 +427,7 @@ public class SearcherTest {
           String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
     }
     searcher.add(contentBuilder.getCurrentFolder());
+    searcher.awaitIndexing();
 
     SearchResult result =
         searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(7));
@@ -425,6 +450,7 @@ public class SearcherTest {
           String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
     }
     searcher.add(contentBuilder.getCurrentFolder());
+    searcher.awaitIndexing();
 
     SearchResult firstPage =
         searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(8));
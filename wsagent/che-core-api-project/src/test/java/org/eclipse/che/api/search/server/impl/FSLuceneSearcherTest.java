@@ -55,7 +55,8 @@ public class FSLuceneSearcherTest {
     excludePatterns = new HashSet<>();
     pathTransformer = new RootAwarePathTransformer(workspaceStorage);
     searcher =
-        new LuceneSearcher(excludePatterns, indexDirectory, workspaceStorage, pathTransformer);
+        new LuceneSearcher(
+            excludePatterns, indexDirectory, workspaceStorage, pathTransformer, 2, 10, 100);
     contentBuilder = new ContentBuilder(workspaceStorage.toPath());
   }
 
@@ -93,6 +94,7 @@ public class FSLuceneSearcherTest {
     excludePatterns.add(
         it -> it.toFile().isFile() && "yyy.txt".equals(it.getFileName().toString()));
     searcher.add(contentBuilder.getCurrentFolder());
+    searcher.awaitIndexing();
 
     // when
     List<String> paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.search.server.impl;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/** Tests for {@link LineOffsets}. */
+public class LineOffsetsTest {
+
+  @DataProvider(name = "offsets")
+  public Object[][] offsets() {
+    String text = "first\nsecond\r\nthird\rfourth\n\nsixth";
+    return new Object[][] {
+      {text, 0, 1, "first"},
+      {text, 5, 1, "first"},
+      {text, 6, 2, "second"},
+      {text, 13, 2, "second"},
+      {text, 14, 3, "third"},
+      {text, 20, 4, "fourth"},
+      {text, 27, 5, ""},
+      {text, 28, 6, "sixth"},
+      {"single line", 7, 1, "single line"},
+      {"", 0, 1, ""}
+    };
+  }
+
+  @Test(dataProvider = "offsets")
+  public void shouldFindLineByOffset(String text, int offset, int lineNumber, String lineText) {
+    LineOffsets lineOffsets = new LineOffsets(text);
+
+    assertEquals(lineOffsets.lineNumber(offset), lineNumber);
+    assertEquals(lineOffsets.lineText(lineNumber), lineText);
+  }
+
+  @Test
+  public void shouldGrowOffsetsTable() {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      text.append("line").append(i).append('\n');
+    }
+    LineOffsets lineOffsets = new LineOffsets(text.toString());
+
+    int offset = text.indexOf("line777");
+    assertEquals(lineOffsets.lineNumber(offset), 778);
+    assertEquals(lineOffsets.lineText(778), "line777");
+  }
+}
@@ -12,9 +12,14 @@ package org.eclipse.che.api.watcher.server.impl;
 
 import static java.io.File.createTempFile;
 import static java.lang.Thread.sleep;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
 import static org.apache.commons.io.FileUtils.write;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.nio.file.Path;
@@ -62,19 +67,13 @@ public class FileTreeWalkerTest {
 
   @Mock Consumer<Path> directoryDeleteConsumerMock;
 
+  @Mock FileWatcherService fileWatcherService;
+  @Mock FileWatcherExcludePatternsRegistry excludePatternsRegistry;
+
   @Before
   public void setUp() throws Exception {
-    fileTreeWalker =
-        new FileTreeWalker(
-            rootFolder.getRoot(),
-            directoryUpdateConsumers,
-            directoryCreateConsumers,
-            directoryDeleteConsumers,
-            directoryExcludes,
-            fileUpdateConsumers,
-            fileCreateConsumers,
-            fileDeleteConsumers,
-            fileExcludes);
+    when(fileWatcherService.register(any(Path.class))).thenReturn(true);
+    fileTreeWalker = newFileTreeWalker(0);
   }
 
   @After
@@ -190,4 +189,133 @@ public class FileTreeWalkerTest {
     fileTreeWalker.walk();
     verify(directoryCreatedConsumerMock, never()).accept(file.toPath());
   }
+
+  @Test
+  public void shouldRegisterTrackedDirectoriesInFileWatcher() throws Exception {
+    File file = rootFolder.newFolder(TEST_FOLDER_NAME);
+
+    fileTreeWalker.walk();
+
+    verify(fileWatcherService).register(rootFolder.getRoot().toPath());
+    verify(fileWatcherService).register(file.toPath());
+  }
+
+  @Test
+  public void shouldRunFileCreatedConsumerOnWatcherEvent() throws Exception {
+    fileCreateConsumers.add(fileCreatedConsumerMock);
+    fileTreeWalker.walk();
+
+    File file = rootFolder.newFile(TEST_FILE_NAME);
+    fileTreeWalker.onEvent(file.toPath(), ENTRY_CREATE);
+    fileTreeWalker.walkDirty();
+
+    verify(fileCreatedConsumerMock).accept(file.toPath());
+    assertEquals(1, fileTreeWalker.getFullWalks());
+    assertEquals(1, fileTreeWalker.getPartialWalks());
+  }
+
+  @Test
+  public void shouldNotWalkNotReportedDirectories() throws Exception {
+    fileCreateConsumers.add(fileCreatedConsumerMock);
+    rootFolder.newFolder(TEST_FOLDER_NAME);
+    fileTreeWalker.walk();
+
+    File file = rootFolder.newFile(TEST_FOLDER_NAME + "/" + TEST_FILE_NAME);
+    fileTreeWalker.onEvent(rootFolder.newFile(TEST_FILE_NAME).toPath(), ENTRY_CREATE);
+    fileTreeWalker.walkDirty();
+
+    verify(fileCreatedConsumerMock, never()).accept(file.toPath());
+  }
+
+  @Test
+  public void shouldReconcileWholeSubtreeOnOverflow() throws Exception {
+    fileCreateConsumers.add(fileCreatedConsumerMock);
+    rootFolder.newFolder(TEST_FOLDER_NAME);
+    fileTreeWalker.walk();
+
+    File file = rootFolder.newFile(TEST_FOLDER_NAME + "/" + TEST_FILE_NAME);
+    fileTreeWalker.onEvent(rootFolder.getRoot().toPath(), OVERFLOW);
+    fileTreeWalker.walkDirty();
+
+    verify(fileCreatedConsumerMock).accept(file.toPath());
+  }
+
+  @Test
+  public void shouldPerformInitialWalkOnFirstDirtyWalk() throws Exception {
+    fileCreateConsumers.add(fileCreatedConsumerMock);
+    File file = rootFolder.newFile(TEST_FILE_NAME);
+
+    fileTreeWalker.walkDirty();
+
+    verify(fileCreatedConsumerMock).accept(file.toPath());
+    assertEquals(1, fileTreeWalker.getFullWalks());
+  }
+
+  @Test
+  public void shouldNotRegisterExcludedDirectoriesAndPollThem() throws Exception {
+    fileTreeWalker = newFileTreeWalker(600);
+    fileCreateConsumers.add(fileCreatedConsumerMock);
+    File excluded = rootFolder.newFolder(TEST_FOLDER_NAME);
+    File nested = rootFolder.newFolder(TEST_FOLDER_NAME, "nested");
+    when(excludePatternsRegistry.isExcluded(excluded.toPath())).thenReturn(true);
+    fileTreeWalker.walk();
+
+    File file = rootFolder.newFile(TEST_FOLDER_NAME + "/" + TEST_FILE_NAME);
+    fileTreeWalker.walk();
+
+    verify(fileWatcherService, never()).register(excluded.toPath());
+    verify(fileWatcherService, never()).register(nested.toPath());
+    verify(fileCreatedConsumerMock).accept(file.toPath());
+    assertEquals(1, fileTreeWalker.getFullWalks());
+    assertEquals(1, fileTreeWalker.getPartialWalks());
+  }
+
+  @Test
+  public void shouldSwitchToPollingWhenDirectoryCanNotBeWatched() throws Exception {
+    fileTreeWalker = newFileTreeWalker(600);
+    fileCreateConsumers.add(fileCreatedConsumerMock);
+    File first = rootFolder.newFolder(TEST_FOLDER_NAME);
+    when(fileWatcherService.register(first.toPath())).thenReturn(false);
+    fileTreeWalker.walk();
+
+    File second = rootFolder.newFolder(TEST_FOLDER_NAME + "2");
+    File file = rootFolder.newFile(TEST_FILE_NAME);
+    fileTreeWalker.walk();
+
+    verify(fileWatcherService, never()).register(second.toPath());
+    verify(fileCreatedConsumerMock).accept(file.toPath());
+    assertEquals(2, fileTreeWalker.getFullWalks());
+  }
+
+  @Test
+  public void shouldUnregisterOnlyDirectoriesRegisteredByWalker() throws Exception {
+    File excluded = rootFolder.newFolder(TEST_FOLDER_NAME);
+    File watched = rootFolder.newFolder(TEST_FOLDER_NAME + "2");
+    when(excludePatternsRegistry.isExcluded(excluded.toPath())).thenReturn(true);
+    fileTreeWalker.walk();
+
+    excluded.delete();
+    watched.delete();
+    fileTreeWalker.walk();
+
+    verify(fileWatcherService, never()).unRegister(excluded.toPath());
+    verify(fileWatcherService).unRegister(watched.toPath());
+  }
+
+  private FileTreeWalker newFileTreeWalker(long fullWalkPeriodSec) {
+    return new FileTreeWalker(
+        rootFolder.getRoot(),
+        fileWatcherService,
+        excludePatternsRegistry,
+        true,
+        fullWalkPeriodSec,
+        directoryUpdateConsumers,
+        directoryCreateConsumers,
+        directoryDeleteConsumers,
+        directoryExcludes,
+        fileUpdateConsumers,
+        fileCreateConsumers,
+        fileDeleteConsumers,
+        fileExcludes);
+  }
 }
@@ -17,6 +17,9 @@ public class Constants {
   @Deprecated public static final String TESTING_OUTPUT_CHANNEL_NAME = "testing:output";
 
   public static final String TESTING_RPC_METHOD_NAME = "testing/message";
+  /** Name of the method for the batches of testing messages, params are list of messages */
+  public static final String TESTING_RPC_BATCH_METHOD_NAME = "testing/messages";
+
   public static final String TESTING_RPC_TEST_DETECTION_NAME = "testing/testDetection";
 
   public static final String RUN_TESTS_METHOD = "testing/runTest";
@@ -10,28 +10,82 @@
  */
 package org.eclipse.che.api.testing.server.framework;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.testing.server.messages.ServerTestingMessage;
 import org.eclipse.che.api.testing.server.messages.UncapturedOutputMessage;
 import org.eclipse.che.api.testing.shared.Constants;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.execution.ProcessEvent;
 import org.eclipse.che.commons.lang.execution.ProcessHandler;
 import org.eclipse.che.commons.lang.execution.ProcessListener;
 import org.eclipse.che.commons.lang.execution.ProcessOutputType;
 
-/** Process and send testing messages to the client */
+/**
+ * Process and send testing messages to the client.
+ *
+ * <p>Messages are sent in batches, a batch is sent when its size reaches {@link #MAX_BATCH_SIZE}
+ * characters or in {@link #FLUSH_PERIOD_MS} milliseconds after its first message, so a test run
+ * which produces a lot of output doesn't send a notification per line.
+ */
 public class TestMessagesOutputTransmitter {
 
+  static final long FLUSH_PERIOD_MS = 50;
+  static final int MAX_BATCH_SIZE = 64 * 1024;
+
+  private static final ScheduledExecutorService FLUSH_EXECUTOR =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("TestMessagesFlusher")
+              .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+              .setDaemon(true)
+              .build());
+
   private final RequestTransmitter requestTransmitter;
   private final String endpoint;
   private final LineSplitter lineSplitter;
+  private final ScheduledExecutorService flushExecutor;
+  private final long flushPeriodMs;
+  private final int maxBatchSize;
+  private final List<String> batch;
   private ProcessHandler processHandler;
+  private ScheduledFuture<?> scheduledFlush;
+  private int batchSize;
 
   public TestMessagesOutputTransmitter(
       ProcessHandler processHandler, RequestTransmitter requestTransmitter, String endpoint) {
+    this(
+        processHandler,
+        requestTransmitter,
+        endpoint,
+        FLUSH_EXECUTOR,
+        FLUSH_PERIOD_MS,
+        MAX_BATCH_SIZE);
+  }
+
+  @VisibleForTesting
+  TestMessagesOutputTransmitter(
+      ProcessHandler processHandler,
+      RequestTransmitter requestTransmitter,
+      String endpoint,
+      ScheduledExecutorService flushExecutor,
+      long flushPeriodMs,
+      int maxBatchSize) {
     this.processHandler = processHandler;
     this.requestTransmitter = requestTransmitter;
     this.endpoint = endpoint;
+    this.flushExecutor = flushExecutor;
+    this.flushPeriodMs = flushPeriodMs;
+    this.maxBatchSize = maxBatchSize;
+    this.batch = new ArrayList<>();
 
     lineSplitter = new LineSplitter(this::processLine);
 
@@ -69,23 +123,13 @@ public class TestMessagesOutputTransmitter {
 
   private void sendOutput(String text, ProcessOutputType outputType) {
     UncapturedOutputMessage message = new UncapturedOutputMessage(text, outputType);
-    requestTransmitter
-        .newRequest()
-        .endpointId(endpoint)
-        .methodName(Constants.TESTING_RPC_METHOD_NAME)
-        .paramsAsString(message.asJsonString())
-        .sendAndSkipResult();
+    send(message.asJsonString());
   }
 
   private boolean processTestingMessage(String line) {
     ServerTestingMessage message = ServerTestingMessage.parse(line.trim());
     if (message != null) {
-      requestTransmitter
-          .newRequest()
-          .endpointId(endpoint)
-          .methodName(Constants.TESTING_RPC_METHOD_NAME)
-          .paramsAsString(message.asJsonString())
-          .sendAndSkipResult();
+      send(message.asJsonString());
       return true;
     }
     return false;
@@ -93,12 +137,8 @@ public class TestMessagesOutputTransmitter {
 
   private void processTestingStopped() {
     lineSplitter.flush();
-    requestTransmitter
-        .newRequest()
-        .endpointId(endpoint)
-        .methodName(Constants.TESTING_RPC_METHOD_NAME)
-        .paramsAsString(ServerTestingMessage.FINISH_TESTING.asJsonString())
-        .sendAndSkipResult();
+    send(ServerTestingMessage.FINISH_TESTING.asJsonString());
+    flush();
   }
 
   private void process(String text, ProcessOutputType outputType) {
@@ -106,12 +146,38 @@ public class TestMessagesOutputTransmitter {
   }
 
   private void processStartTesting() {
+    send(ServerTestingMessage.TESTING_STARTED.asJsonString());
+  }
+
+  /** Adds the message to the current batch, sends the batch if it is full. */
+  private synchronized void send(String message) {
+    batch.add(message);
+    batchSize += message.length();
+    if (batchSize >= maxBatchSize) {
+      flush();
+    } else if (scheduledFlush == null) {
+      scheduledFlush = flushExecutor.schedule(this::flush, flushPeriodMs, MILLISECONDS);
+    }
+  }
+
+  /** Sends all the messages of the current batch in one notification. */
+  @VisibleForTesting
+  synchronized void flush() {
+    if (scheduledFlush != null) {
+      scheduledFlush.cancel(false);
+      scheduledFlush = null;
+    }
+    if (batch.isEmpty()) {
+      return;
+    }
     requestTransmitter
         .newRequest()
         .endpointId(endpoint)
-        .methodName(Constants.TESTING_RPC_METHOD_NAME)
-        .paramsAsString(ServerTestingMessage.TESTING_STARTED.asJsonString())
+        .methodName(Constants.TESTING_RPC_BATCH_METHOD_NAME)
+        .paramsAsListOfString(new ArrayList<>(batch))
         .sendAndSkipResult();
+    batch.clear();
+    batchSize = 0;
   }
 
   public void stop() {
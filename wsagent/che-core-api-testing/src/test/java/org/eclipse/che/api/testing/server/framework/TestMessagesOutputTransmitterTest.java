@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.testing.server.framework;
+
+import static org.eclipse.che.api.testing.shared.Constants.TESTING_RPC_BATCH_METHOD_NAME;
+import static org.eclipse.che.commons.lang.execution.ProcessOutputType.STDOUT;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.EndpointIdConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.MethodNameConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.ParamsConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.SendConfiguratorFromMany;
+import org.eclipse.che.api.testing.server.messages.ServerTestingMessage;
+import org.eclipse.che.commons.lang.execution.ProcessEvent;
+import org.eclipse.che.commons.lang.execution.ProcessHandler;
+import org.eclipse.che.commons.lang.execution.ProcessListener;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link TestMessagesOutputTransmitter} */
+@Listeners(MockitoTestNGListener.class)
+public class TestMessagesOutputTransmitterTest {
+
+  private static final String ENDPOINT = "endpoint";
+
+  @Mock private ProcessHandler processHandler;
+  @Mock private RequestTransmitter requestTransmitter;
+  @Mock private EndpointIdConfigurator endpointIdConfigurator;
+  @Mock private MethodNameConfigurator methodNameConfigurator;
+  @Mock private ParamsConfigurator paramsConfigurator;
+  @Mock private SendConfiguratorFromMany<String> sendConfigurator;
+  @Mock private ScheduledExecutorService flushExecutor;
+  @Mock private ScheduledFuture<?> scheduledFlush;
+
+  @Captor private ArgumentCaptor<ProcessListener> listenerCaptor;
+  @Captor private ArgumentCaptor<List<String>> batchCaptor;
+
+  private TestMessagesOutputTransmitter transmitter;
+  private ProcessListener processListener;
+
+  @BeforeMethod
+  public void setUp() {
+    when(requestTransmitter.newRequest()).thenReturn(endpointIdConfigurator);
+    when(endpointIdConfigurator.endpointId(anyString())).thenReturn(methodNameConfigurator);
+    when(methodNameConfigurator.methodName(anyString())).thenReturn(paramsConfigurator);
+    when(paramsConfigurator.paramsAsListOfString(anyList())).thenReturn(sendConfigurator);
+    doReturn(scheduledFlush)
+        .when(flushExecutor)
+        .schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+  }
+
+  @Test
+  public void shouldSendOutputInOneBatchWhenItIsFlushed() {
+    createTransmitter(Integer.MAX_VALUE);
+
+    processListener.onStart(new ProcessEvent(processHandler));
+    processListener.onText(new ProcessEvent(processHandler, "first\n"), STDOUT);
+    processListener.onText(new ProcessEvent(processHandler, "second\n"), STDOUT);
+
+    verify(requestTransmitter, never()).newRequest();
+    verify(flushExecutor).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+
+    transmitter.flush();
+
+    verify(endpointIdConfigurator).endpointId(ENDPOINT);
+    verify(methodNameConfigurator).methodName(TESTING_RPC_BATCH_METHOD_NAME);
+    verify(paramsConfigurator).paramsAsListOfString(batchCaptor.capture());
+    verify(sendConfigurator).sendAndSkipResult();
+    verify(scheduledFlush).cancel(false);
+    List<String> batch = batchCaptor.getValue();
+    assertEquals(batch.size(), 3);
+    assertEquals(batch.get(0), ServerTestingMessage.TESTING_STARTED.asJsonString());
+  }
+
+  @Test
+  public void shouldSendBatchWhenItReachesMaxSize() {
+    createTransmitter(ServerTestingMessage.TESTING_STARTED.asJsonString().length() + 1);
+
+    processListener.onStart(new ProcessEvent(processHandler));
+    verify(requestTransmitter, never()).newRequest();
+
+    processListener.onText(new ProcessEvent(processHandler, "output\n"), STDOUT);
+
+    verify(paramsConfigurator).paramsAsListOfString(batchCaptor.capture());
+    assertEquals(batchCaptor.getValue().size(), 2);
+  }
+
+  @Test
+  public void shouldSendPendingMessagesWhenTestingIsFinished() {
+    createTransmitter(Integer.MAX_VALUE);
+
+    processListener.onStart(new ProcessEvent(processHandler));
+    processListener.onText(new ProcessEvent(processHandler, "output\n"), STDOUT);
+    processListener.onProcessTerminated(new ProcessEvent(processHandler));
+
+    verify(sendConfigurator, times(1)).sendAndSkipResult();
+    verify(paramsConfigurator).paramsAsListOfString(batchCaptor.capture());
+    List<String> batch = batchCaptor.getValue();
+    assertEquals(batch.size(), 3);
+    assertEquals(batch.get(2), ServerTestingMessage.FINISH_TESTING.asJsonString());
+  }
+
+  private void createTransmitter(int maxBatchSize) {
+    transmitter =
+        new TestMessagesOutputTransmitter(
+            processHandler, requestTransmitter, ENDPOINT, flushExecutor, 50, maxBatchSize);
+    verify(processHandler).addProcessListener(listenerCaptor.capture());
+    processListener = listenerCaptor.getValue();
+  }
+}
@@ -40,6 +40,7 @@ public class JGitStatusImpl implements Status, InfoPage {
   private List<String> untracked;
   private List<String> untrackedFolders;
   private List<String> conflicting;
+  private List<String> ignored;
   private String repositoryState;
 
   /**
@@ -66,6 +67,7 @@ public class JGitStatusImpl implements Status, InfoPage {
     untracked = new ArrayList<>(gitStatus.getUntracked());
     untrackedFolders = new ArrayList<>(gitStatus.getUntrackedFolders());
     conflicting = new ArrayList<>(gitStatus.getConflicting());
+    ignored = new ArrayList<>(gitStatus.getIgnoredNotInIndex());
   }
 
   @Override
@@ -208,6 +210,16 @@ public class JGitStatusImpl implements Status, InfoPage {
     this.conflicting = conflicting;
   }
 
+  @Override
+  public List<String> getIgnored() {
+    return ignored;
+  }
+
+  @Override
+  public void setIgnored(List<String> ignored) {
+    this.ignored = ignored;
+  }
+
   @Override
   public String getRepositoryState() {
     return this.repositoryState;
@@ -13,21 +13,30 @@ package org.eclipse.che.api.installer.server.impl;
 import static org.eclipse.che.api.installer.server.DtoConverter.asDto;
 import static org.eclipse.che.api.installer.server.InstallerRegistryService.TOTAL_ITEMS_COUNT_HEADER;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.reflect.TypeToken;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
 import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.rest.HttpJsonRequest;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
 import org.eclipse.che.api.core.rest.HttpJsonResponse;
 import org.eclipse.che.api.installer.server.InstallerRegistry;
@@ -48,6 +57,11 @@ import org.slf4j.LoggerFactory;
  * <p>It is designed to fetch data from remote {@link InstallerRegistryService} which is configured
  * by registry.installer.remote property.
  *
+ * <p>Installers, their versions and ordered lists of installers are cached for the configured time.
+ * Expired installers and versions are revalidated with the ETag of the cached response. When the
+ * remote registry is not available, the expired entries are still used during the configured grace
+ * period. Modifications made through this registry invalidate the cache.
+ *
  * @author Sergii Leshchenko
  * @author Anatolii Bazko
  */
@@ -55,14 +69,31 @@ import org.slf4j.LoggerFactory;
 public class RemoteInstallerRegistry implements InstallerRegistry {
   private static final Logger LOG = LoggerFactory.getLogger(RemoteInstallerRegistry.class);
 
+  private static final long CACHE_MAX_SIZE = 1000;
+
   private String registryServiceUrl;
   private final HttpJsonRequestFactory requestFactory;
+  private final long cacheTtlMs;
+  private final long cacheStaleGraceMs;
+  private final Cache<String, CachedResponse<InstallerDto>> installersCache;
+  private final Cache<String, CachedResponse<List<String>>> versionsCache;
+  private final Cache<List<String>, CachedResponse<List<Installer>>> orderedInstallersCache;
+  private final AtomicLong cacheHits = new AtomicLong();
+  private final AtomicLong cacheMisses = new AtomicLong();
+  private final AtomicLong cacheStaleHits = new AtomicLong();
 
   @Inject
   public RemoteInstallerRegistry(
       @Nullable @Named("che.installer.registry.remote") String remoteInstallerUrl,
+      @Named("che.installer.registry.remote.cache.ttl_sec") long cacheTtlSec,
+      @Named("che.installer.registry.remote.cache.stale_grace_sec") long cacheStaleGraceSec,
       HttpJsonRequestFactory requestFactory) {
     this.requestFactory = requestFactory;
+    this.cacheTtlMs = TimeUnit.SECONDS.toMillis(cacheTtlSec);
+    this.cacheStaleGraceMs = TimeUnit.SECONDS.toMillis(cacheStaleGraceSec);
+    this.installersCache = newCache();
+    this.versionsCache = newCache();
+    this.orderedInstallersCache = newCache();
     if (remoteInstallerUrl != null) {
       try {
         new URL(remoteInstallerUrl);
@@ -92,6 +123,7 @@ public class RemoteInstallerRegistry implements InstallerRegistry {
           .setBody(asDto(installer))
           .usePostMethod()
           .request();
+      invalidateCache();
     } catch (ConflictException e) {
       throw new InstallerAlreadyExistsException(e.getMessage(), e);
     } catch (IOException | ApiException e) {
@@ -113,6 +145,7 @@ public class RemoteInstallerRegistry implements InstallerRegistry {
           .setBody(asDto(installer))
           .usePutMethod()
           .request();
+      invalidateCache();
     } catch (NotFoundException e) {
       throw new InstallerNotFoundException(e.getMessage(), e);
     } catch (IOException | ApiException e) {
@@ -133,6 +166,7 @@ public class RemoteInstallerRegistry implements InstallerRegistry {
                   .toString())
           .useDeleteMethod()
           .request();
+      invalidateCache();
     } catch (IOException | ApiException e) {
       throw new InstallerException(e.getMessage(), e);
     }
@@ -142,16 +176,16 @@ public class RemoteInstallerRegistry implements InstallerRegistry {
   public Installer getInstaller(String installerKey) throws InstallerException {
     checkConfiguration();
 
+    String url =
+        UriBuilder.fromUri(registryServiceUrl)
+            .path(InstallerRegistryService.class, "getInstaller")
+            .build(installerKey)
+            .toString();
     try {
-      return requestFactory
-          .fromUrl(
-              UriBuilder.fromUri(registryServiceUrl)
-                  .path(InstallerRegistryService.class, "getInstaller")
-                  .build(installerKey)
-                  .toString())
-          .useGetMethod()
-          .request()
-          .asDto(InstallerDto.class);
+      return getCached(
+          installersCache,
+          installerKey,
+          eTag -> fetch(requestFactory.fromUrl(url).useGetMethod(), eTag, InstallerDto.class));
     } catch (NotFoundException e) {
       throw new InstallerNotFoundException(e.getMessage(), e);
     } catch (BadRequestException e) {
@@ -165,19 +199,26 @@ public class RemoteInstallerRegistry implements InstallerRegistry {
   public List<String> getVersions(String id) throws InstallerException {
     checkConfiguration();
 
+    String url =
+        UriBuilder.fromUri(registryServiceUrl)
+            .path(InstallerRegistryService.class, "getVersions")
+            .build(id)
+            .toString();
     try {
-      @SuppressWarnings("unchecked")
-      List<String> result =
-          requestFactory
-              .fromUrl(
-                  UriBuilder.fromUri(registryServiceUrl)
-                      .path(InstallerRegistryService.class, "getVersions")
-                      .build(id)
-                      .toString())
-              .useGetMethod()
-              .request()
-              .as(List.class, new TypeToken<List<String>>() {}.getType());
-      return result;
+      return new ArrayList<>(
+          getCached(
+              versionsCache,
+              id,
+              eTag -> {
+                HttpJsonResponse response = fetch(requestFactory.fromUrl(url).useGetMethod(), eTag);
+                if (response == null) {
+                  return null;
+                }
+                @SuppressWarnings("unchecked")
+                List<String> versions =
+                    response.as(List.class, new TypeToken<List<String>>() {}.getType());
+                return new CachedResponse<>(versions, getETag(response));
+              }));
     } catch (NotFoundException e) {
       throw new InstallerNotFoundException(e.getMessage(), e);
     } catch (IOException | ApiException e) {
@@ -222,18 +263,27 @@ public class RemoteInstallerRegistry implements InstallerRegistry {
       throws InstallerException {
     checkConfiguration();
 
+    String url =
+        UriBuilder.fromUri(registryServiceUrl)
+            .path(InstallerRegistryService.class, "getOrderedInstallers")
+            .build()
+            .toString();
     try {
+      // ordered installers are fetched with POST request, so they are not revalidated
       return new ArrayList<>(
-          requestFactory
-              .fromUrl(
-                  UriBuilder.fromUri(registryServiceUrl)
-                      .path(InstallerRegistryService.class, "getOrderedInstallers")
-                      .build()
-                      .toString())
-              .usePostMethod()
-              .setBody(installerKeys)
-              .request()
-              .asList(InstallerDto.class));
+          getCached(
+              orderedInstallersCache,
+              new ArrayList<>(installerKeys),
+              eTag ->
+                  new CachedResponse<>(
+                      new ArrayList<>(
+                          requestFactory
+                              .fromUrl(url)
+                              .usePostMethod()
+                              .setBody(installerKeys)
+                              .request()
+                              .asList(InstallerDto.class)),
+                      null)));
     } catch (NotFoundException e) {
       throw new InstallerNotFoundException(e.getMessage(), e);
     } catch (BadRequestException e) {
@@ -247,9 +297,131 @@ public class RemoteInstallerRegistry implements InstallerRegistry {
     return registryServiceUrl != null;
   }
 
+  /** Returns the number of requests which were served from the cache without remote calls. */
+  public long getCacheHits() {
+    return cacheHits.get();
+  }
+
+  /** Returns the number of requests which required remote calls. */
+  public long getCacheMisses() {
+    return cacheMisses.get();
+  }
+
+  /** Returns the number of requests which were served by expired entries on remote failures. */
+  public long getCacheStaleHits() {
+    return cacheStaleHits.get();
+  }
+
+  /** Removes all the cached installers, versions and ordered lists of installers. */
+  public void invalidateCache() {
+    installersCache.invalidateAll();
+    versionsCache.invalidateAll();
+    orderedInstallersCache.invalidateAll();
+  }
+
+  /**
+   * Returns the cached value if it isn't expired, otherwise performs the remote call passing it the
+   * ETag of the expired value. Expired value is returned if the call fails due to remote registry
+   * unavailability within the grace period.
+   */
+  private <K, V> V getCached(Cache<K, CachedResponse<V>> cache, K key, RemoteCall<V> call)
+      throws ApiException, IOException {
+    CachedResponse<V> cached = cache.getIfPresent(key);
+    long now = System.currentTimeMillis();
+    if (cached != null && now - cached.time < cacheTtlMs) {
+      cacheHits.incrementAndGet();
+      return cached.value;
+    }
+    cacheMisses.incrementAndGet();
+
+    CachedResponse<V> response;
+    try {
+      response = call.call(cached != null ? cached.eTag : null);
+    } catch (IOException | ServerException e) {
+      if (cached != null && now - cached.time < cacheTtlMs + cacheStaleGraceMs) {
+        cacheStaleHits.incrementAndGet();
+        LOG.warn(
+            "Remote installer registry request failed, expired cached value of '{}' is used. "
+                + "Error: {}",
+            key,
+            e.getMessage());
+        return cached.value;
+      }
+      throw e;
+    }
+
+    if (response == null) {
+      // not modified
+      response = new CachedResponse<>(cached.value, cached.eTag);
+    }
+    cache.put(key, response);
+    return response.value;
+  }
+
+  private <T> CachedResponse<T> fetch(
+      HttpJsonRequest request, @Nullable String eTag, Class<T> dtoClass)
+      throws ApiException, IOException {
+    HttpJsonResponse response = fetch(request, eTag);
+    return response != null
+        ? new CachedResponse<>(response.asDto(dtoClass), getETag(response))
+        : null;
+  }
+
+  /** Performs the request and returns its response or null if the entity is not modified. */
+  private HttpJsonResponse fetch(HttpJsonRequest request, @Nullable String eTag)
+      throws ApiException, IOException {
+    if (eTag != null) {
+      request.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+    }
+    HttpJsonResponse response = request.request();
+    if (eTag != null
+        && response.getResponseCode() == Response.Status.NOT_MODIFIED.getStatusCode()) {
+      return null;
+    }
+    return response;
+  }
+
+  private static String getETag(HttpJsonResponse response) {
+    for (Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+      if (HttpHeaders.ETAG.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+        return header.getValue().get(0);
+      }
+    }
+    return null;
+  }
+
+  private <K, V> Cache<K, V> newCache() {
+    return CacheBuilder.newBuilder()
+        .maximumSize(CACHE_MAX_SIZE)
+        .expireAfterWrite(cacheTtlMs + cacheStaleGraceMs, TimeUnit.MILLISECONDS)
+        .build();
+  }
+
   private void checkConfiguration() {
     if (!isConfigured()) {
       throw new IllegalStateException("Remote installer registry is not configured.");
     }
   }
+
+  @FunctionalInterface
+  private interface RemoteCall<V> {
+    /**
+     * Performs the remote call, returns null if the value with the given ETag is not modified.
+     *
+     * @param eTag ETag of the expired cached value or null if the value is not cached
+     */
+    CachedResponse<V> call(@Nullable String eTag) throws ApiException, IOException;
+  }
+
+  private static class CachedResponse<V> {
+    private final V value;
+    private final String eTag;
+    private final long time;
+
+    private CachedResponse(V value, @Nullable String eTag) {
+      this.value = value;
+      this.eTag = eTag;
+      this.time = System.currentTimeMillis();
+    }
+  }
 }
@@ -10,11 +10,19 @@
  */
 package org.eclipse.che.api.installer.server.impl;
 
+import static org.eclipse.che.api.installer.server.DtoConverter.asDto;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -22,14 +30,20 @@ import java.util.Map.Entry;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.model.workspace.config.ServerConfig;
 import org.eclipse.che.api.core.rest.DefaultHttpJsonRequestFactory;
+import org.eclipse.che.api.core.rest.HttpJsonRequest;
+import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
+import org.eclipse.che.api.core.rest.HttpJsonResponse;
 import org.eclipse.che.api.installer.server.InstallerRegistryService;
 import org.eclipse.che.api.installer.server.exception.IllegalInstallerKeyException;
 import org.eclipse.che.api.installer.server.exception.InstallerAlreadyExistsException;
+import org.eclipse.che.api.installer.server.exception.InstallerException;
 import org.eclipse.che.api.installer.server.exception.InstallerExceptionMapper;
 import org.eclipse.che.api.installer.server.exception.InstallerNotFoundException;
 import org.eclipse.che.api.installer.server.model.impl.InstallerImpl;
+import org.eclipse.che.api.installer.shared.dto.InstallerDto;
 import org.eclipse.che.api.installer.shared.model.Installer;
 import org.everrest.assured.EverrestJetty;
+import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.ITestContext;
 import org.testng.annotations.BeforeMethod;
@@ -42,6 +56,11 @@ public class RemoteInstallerRegistryTest {
   @SuppressWarnings("unused")
   private static final InstallerExceptionMapper MAPPER = new InstallerExceptionMapper();
 
+  @Mock private HttpJsonRequestFactory requestFactory;
+  @Mock private HttpJsonRequest request;
+  @Mock private HttpJsonResponse response;
+
+  private LocalInstallerRegistry localInstallerRegistry;
   private RemoteInstallerRegistry registry;
 
   @SuppressWarnings("unused")
@@ -55,7 +74,7 @@ public class RemoteInstallerRegistryTest {
     installer = TestInstallerFactory.createInstaller("id_0", "1.0.0");
     installerKey = InstallerFqn.of(installer).toKey();
 
-    LocalInstallerRegistry localInstallerRegistry =
+    localInstallerRegistry =
         new LocalInstallerRegistry(
             Collections.singleton(installer), new MapBasedInstallerDao(), new InstallerValidator());
 
@@ -64,7 +83,11 @@ public class RemoteInstallerRegistryTest {
     Integer port = (Integer) context.getAttribute(EverrestJetty.JETTY_PORT);
     registry =
         new RemoteInstallerRegistry(
-            "http://localhost:" + port + "/rest", new DefaultHttpJsonRequestFactory());
+            "http://localhost:" + port + "/rest", 60, 600, new DefaultHttpJsonRequestFactory());
+
+    when(requestFactory.fromUrl(anyString())).thenReturn(request);
+    when(request.useGetMethod()).thenReturn(request);
+    when(request.addHeader(anyString(), anyString())).thenReturn(request);
   }
 
   @Test
@@ -260,6 +283,76 @@ public class RemoteInstallerRegistryTest {
     assertInstaller(orderedInstallers.get(2), installer2);
   }
 
+  @Test
+  public void shouldReturnCachedInstaller() throws Exception {
+    registry.getInstaller(installerKey);
+    localInstallerRegistry.remove(installerKey);
+
+    assertInstaller(registry.getInstaller(installerKey), installer);
+    assertEquals(registry.getCacheHits(), 1);
+    assertEquals(registry.getCacheMisses(), 1);
+  }
+
+  @Test
+  public void shouldInvalidateCacheOnModification() throws Exception {
+    registry.getInstaller(installerKey);
+    registry.remove(installerKey);
+
+    try {
+      registry.getInstaller(installerKey);
+      fail("Installer is removed");
+    } catch (InstallerNotFoundException expected) {
+    }
+  }
+
+  @Test
+  public void shouldRevalidateExpiredInstallerWithETag() throws Exception {
+    RemoteInstallerRegistry registry =
+        new RemoteInstallerRegistry("http://localhost/rest", 0, 600, requestFactory);
+    when(request.request()).thenReturn(response);
+    when(response.getResponseCode()).thenReturn(200, 304);
+    when(response.getHeaders())
+        .thenReturn(ImmutableMap.of("ETag", Collections.singletonList("\"tag\"")));
+    when(response.asDto(InstallerDto.class)).thenReturn(asDto(installer));
+
+    registry.getInstaller(installerKey);
+    Installer revalidated = registry.getInstaller(installerKey);
+
+    assertInstaller(revalidated, installer);
+    verify(request).addHeader("If-None-Match", "\"tag\"");
+  }
+
+  @Test
+  public void shouldReturnExpiredInstallerIfRemoteRegistryIsNotAvailable() throws Exception {
+    RemoteInstallerRegistry registry =
+        new RemoteInstallerRegistry("http://localhost/rest", 0, 600, requestFactory);
+    when(request.request()).thenReturn(response).thenThrow(new IOException("unavailable"));
+    when(response.getResponseCode()).thenReturn(200);
+    when(response.getHeaders()).thenReturn(Collections.emptyMap());
+    when(response.asDto(InstallerDto.class)).thenReturn(asDto(installer));
+
+    registry.getInstaller(installerKey);
+    Installer stale = registry.getInstaller(installerKey);
+
+    assertInstaller(stale, installer);
+    assertEquals(registry.getCacheStaleHits(), 1);
+    verify(request, never()).addHeader(anyString(), anyString());
+  }
+
+  @Test(expectedExceptions = InstallerException.class)
+  public void shouldThrowExceptionIfRemoteRegistryIsNotAvailableAfterGracePeriod()
+      throws Exception {
+    RemoteInstallerRegistry registry =
+        new RemoteInstallerRegistry("http://localhost/rest", 0, 0, requestFactory);
+    when(request.request()).thenReturn(response).thenThrow(new IOException("unavailable"));
+    when(response.getResponseCode()).thenReturn(200);
+    when(response.getHeaders()).thenReturn(Collections.emptyMap());
+    when(response.asDto(InstallerDto.class)).thenReturn(asDto(installer));
+
+    registry.getInstaller(installerKey);
+    registry.getInstaller(installerKey);
+  }
+
   private void assertInstaller(Installer actual, Installer expected) {
     assertEquals(actual.getId(), expected.getId());
     assertEquals(actual.getVersion(), expected.getVersion());
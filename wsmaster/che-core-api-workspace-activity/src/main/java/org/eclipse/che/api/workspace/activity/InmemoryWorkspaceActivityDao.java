@@ -46,4 +46,17 @@ public class InmemoryWorkspaceActivityDao implements WorkspaceActivityDao {
         .map(Entry::getKey)
         .collect(Collectors.toList());
   }
+
+  @Override
+  public void prolongExpiration(WorkspaceExpiration expiration) {
+    activeWorkspaces.merge(expiration.getWorkspaceId(), expiration.getExpiration(), Math::max);
+  }
+
+  @Override
+  public boolean removeExpired(String workspaceId, long timestamp) {
+    final Long expiration = activeWorkspaces.get(workspaceId);
+    return expiration != null
+        && expiration < timestamp
+        && activeWorkspaces.remove(workspaceId, expiration);
+  }
 }
@@ -60,6 +60,26 @@ public class JpaWorkspaceActivityDao implements WorkspaceActivityDao {
     }
   }
 
+  @Override
+  public void prolongExpiration(WorkspaceExpiration expiration) throws ServerException {
+    requireNonNull(expiration, "Required non-null expiration object");
+    try {
+      doProlong(expiration);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
+  @Override
+  public boolean removeExpired(String workspaceId, long timestamp) throws ServerException {
+    requireNonNull(workspaceId, "Required non-null id");
+    try {
+      return doRemoveExpired(workspaceId, timestamp);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Transactional
   protected List<String> doFindExpired(long timestamp) {
     return managerProvider
@@ -83,6 +103,33 @@ public class JpaWorkspaceActivityDao implements WorkspaceActivityDao {
     manager.flush();
   }
 
+  @Transactional
+  protected void doProlong(WorkspaceExpiration expiration) {
+    final EntityManager manager = managerProvider.get();
+    final int updated =
+        manager
+            .createNamedQuery("WorkspaceExpiration.prolong")
+            .setParameter("workspaceId", expiration.getWorkspaceId())
+            .setParameter("expiration", expiration.getExpiration())
+            .executeUpdate();
+    if (updated == 0
+        && manager.find(WorkspaceExpiration.class, expiration.getWorkspaceId()) == null) {
+      manager.persist(expiration);
+      manager.flush();
+    }
+  }
+
+  @Transactional
+  protected boolean doRemoveExpired(String workspaceId, long timestamp) {
+    return managerProvider
+            .get()
+            .createNamedQuery("WorkspaceExpiration.removeExpired")
+            .setParameter("workspaceId", workspaceId)
+            .setParameter("expiration", timestamp)
+            .executeUpdate()
+        > 0;
+  }
+
   @Transactional
   protected void doRemove(String workspaceId) {
     final EntityManager manager = managerProvider.get();
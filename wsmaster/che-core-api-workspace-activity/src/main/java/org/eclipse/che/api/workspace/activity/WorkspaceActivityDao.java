@@ -45,4 +45,24 @@ public interface WorkspaceActivityDao {
    * @throws ServerException when operation failed
    */
   List<String> findExpired(long timestamp) throws ServerException;
+
+  /**
+   * Sets workspace expiration time unless the stored one is later, so concurrent writers can not
+   * move the expiration time backwards.
+   *
+   * @param expiration expiration object to store
+   * @throws ServerException when operation failed
+   */
+  void prolongExpiration(WorkspaceExpiration expiration) throws ServerException;
+
+  /**
+   * Removes workspace expiration time if it is older than given timestamp. When several callers
+   * remove the same expiration concurrently, only one of them succeeds.
+   *
+   * @param workspaceId workspace id to remove expiration
+   * @param timestamp expiration time
+   * @return true if the expiration was removed by this call, false otherwise
+   * @throws ServerException when operation failed
+   */
+  boolean removeExpired(String workspaceId, long timestamp) throws ServerException;
 }
@@ -14,7 +14,13 @@ import static java.util.Collections.emptyMap;
 import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_STOPPED_BY;
 
 import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -27,6 +33,7 @@ import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.commons.schedule.ScheduleDelay;
+import org.eclipse.che.commons.schedule.ScheduleRate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,6 +46,14 @@ import org.slf4j.LoggerFactory;
  * one minute rate. If workspace idle timeout is negative, then workspace would not be stopped
  * automatically.
  *
+ * <p>Expiration times are stored in the {@link WorkspaceActivityDao}, which is shared by all the
+ * master replicas. To avoid a database write on each activity notification, expiration times are
+ * accumulated in memory and written to the storage periodically, on the idleness check and on
+ * shutdown, a stored expiration time is never moved backwards. Since other replicas may not have
+ * written their latest expiration times yet, a workspace is stopped only when its stored expiration
+ * time is older than one checkpoint period. The replica which removes the expired entry from the
+ * storage is the only one that stops the workspace.
+ *
  * @author Anton Korneta
  */
 @Singleton
@@ -49,10 +64,14 @@ public class WorkspaceActivityManager {
   private static final String ACTIVITY_CHECKER = "activity-checker";
 
   private final long timeout;
+  private final long checkpointPeriodMs;
   private final WorkspaceActivityDao activityDao;
   private final EventService eventService;
   private final EventSubscriber<?> workspaceEventsSubscriber;
 
+  /** Expiration times which are not written to the storage yet, guarded by itself. */
+  private final Map<String, Long> pending = new HashMap<>();
+
   protected final WorkspaceManager workspaceManager;
 
   @Inject
@@ -60,8 +79,10 @@ public class WorkspaceActivityManager {
       WorkspaceManager workspaceManager,
       WorkspaceActivityDao activityDao,
       EventService eventService,
-      @Named("che.workspace.agent.dev.inactive_stop_timeout_ms") long timeout) {
+      @Named("che.workspace.agent.dev.inactive_stop_timeout_ms") long timeout,
+      @Named("che.workspace.activity_checkpoint_period_s") long checkpointPeriodSec) {
     this.timeout = timeout > 0 ? timeout : -1;
+    this.checkpointPeriodMs = TimeUnit.SECONDS.toMillis(checkpointPeriodSec);
     this.workspaceManager = workspaceManager;
     this.eventService = eventService;
     this.activityDao = activityDao;
@@ -84,11 +105,7 @@ public class WorkspaceActivityManager {
                 update(event.getWorkspaceId(), System.currentTimeMillis());
                 break;
               case STOPPED:
-                try {
-                  activityDao.removeExpiration(event.getWorkspaceId());
-                } catch (ServerException e) {
-                  LOG.error(e.getLocalizedMessage(), e);
-                }
+                remove(event.getWorkspaceId());
                 break;
               default:
                 // do nothing
@@ -105,26 +122,76 @@ public class WorkspaceActivityManager {
    */
   public void update(String wsId, long activityTime) {
     if (timeout > 0) {
-      try {
-        activityDao.setExpiration(new WorkspaceExpiration(wsId, activityTime + timeout));
-      } catch (ServerException e) {
-        LOG.error(e.getLocalizedMessage(), e);
-      }
+      setExpiration(wsId, activityTime + timeout);
     }
   }
 
+  /** Returns expiration time of the workspace which is not stored yet or {@code null}. */
+  @VisibleForTesting
+  Long getPendingExpiration(String wsId) {
+    synchronized (pending) {
+      return pending.get(wsId);
+    }
+  }
+
+  private void setExpiration(String wsId, long expiration) {
+    synchronized (pending) {
+      pending.merge(wsId, expiration, Math::max);
+    }
+  }
+
+  private void remove(String wsId) {
+    synchronized (pending) {
+      pending.remove(wsId);
+    }
+    try {
+      activityDao.removeExpiration(wsId);
+    } catch (ServerException e) {
+      LOG.error(e.getLocalizedMessage(), e);
+    }
+  }
+
+  @VisibleForTesting
   @ScheduleDelay(
-    initialDelayParameterName = "che.workspace.activity_check_scheduler_delay_s",
-    delayParameterName = "che.workspace.activity_check_scheduler_period_s"
-  )
-  private void invalidate() {
+      initialDelayParameterName = "che.workspace.activity_check_scheduler_delay_s",
+      delayParameterName = "che.workspace.activity_check_scheduler_period_s")
+  void invalidate() {
+    checkpoint();
+    final long expiredBefore = System.currentTimeMillis() - checkpointPeriodMs;
     try {
-      activityDao.findExpired(System.currentTimeMillis()).forEach(this::stopExpired);
+      for (String wsId : activityDao.findExpired(expiredBefore)) {
+        if (getPendingExpiration(wsId) == null && activityDao.removeExpired(wsId, expiredBefore)) {
+          stopExpired(wsId);
+        }
+      }
     } catch (ServerException e) {
       LOG.error(e.getLocalizedMessage(), e);
     }
   }
 
+  /** Writes expiration times which were changed since the previous checkpoint to the storage. */
+  @VisibleForTesting
+  @ScheduleRate(
+      initialDelayParameterName = "che.workspace.activity_checkpoint_period_s",
+      periodParameterName = "che.workspace.activity_checkpoint_period_s")
+  @PreDestroy
+  void checkpoint() {
+    final List<WorkspaceExpiration> toStore = new ArrayList<>();
+    synchronized (pending) {
+      pending.forEach((wsId, expiration) -> toStore.add(new WorkspaceExpiration(wsId, expiration)));
+      pending.clear();
+    }
+    for (WorkspaceExpiration expiration : toStore) {
+      try {
+        activityDao.prolongExpiration(expiration);
+      } catch (ServerException e) {
+        LOG.error(e.getLocalizedMessage(), e);
+        setExpiration(expiration.getWorkspaceId(), expiration.getExpiration());
+      }
+    }
+    LOG.debug("Stored expiration times of {} workspaces", toStore.size());
+  }
+
   private void stopExpired(String workspaceId) {
     try {
       Workspace workspace = workspaceManager.getWorkspace(workspaceId);
@@ -138,12 +205,6 @@ public class WorkspaceActivityManager {
     } catch (Exception ex) {
       LOG.error(ex.getLocalizedMessage());
       LOG.debug(ex.getLocalizedMessage(), ex);
-    } finally {
-      try {
-        activityDao.removeExpiration(workspaceId);
-      } catch (ServerException e) {
-        LOG.error(e.getLocalizedMessage(), e);
-      }
     }
   }
 
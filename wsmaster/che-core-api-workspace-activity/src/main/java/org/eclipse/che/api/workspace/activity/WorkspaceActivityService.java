@@ -11,6 +11,8 @@
 package org.eclipse.che.api.workspace.activity;
 
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
+import static org.eclipse.che.api.core.websocket.impl.GuiceInjectorEndpointConfigurator.SUBJECT_PROPERTY;
+import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_ACTIVITY_METHOD;
 
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -24,15 +26,24 @@ import javax.ws.rs.PathParam;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.core.rest.Service;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.commons.subject.Subject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Service for accessing API for updating activity timestamp of running workspaces.
  *
+ * <p>Activity may be notified either with REST call or with JSON-RPC notification {@value
+ * org.eclipse.che.api.workspace.shared.Constants#WORKSPACE_ACTIVITY_METHOD} which has workspace id
+ * as parameter, so clients that are already connected to the master don't need to send a separate
+ * HTTP request. The notification is counted only when the subject which opened the connection owns
+ * the workspace or is permitted to use it, as the REST call requires.
+ *
  * @author Anton Korneta
  */
 @Singleton
@@ -41,14 +52,31 @@ public class WorkspaceActivityService extends Service {
 
   private static final Logger LOG = LoggerFactory.getLogger(WorkspaceActivityService.class);
 
+  private static final String WORKSPACE_DOMAIN = "workspace";
+  private static final String USE_ACTION = "use";
+
   private final WorkspaceActivityManager workspaceActivityManager;
   private final WorkspaceManager workspaceManager;
+  private final WebSocketSessionRegistry sessionRegistry;
 
   @Inject
   public WorkspaceActivityService(
-      WorkspaceActivityManager workspaceActivityManager, WorkspaceManager wsManager) {
+      WorkspaceActivityManager workspaceActivityManager,
+      WorkspaceManager wsManager,
+      WebSocketSessionRegistry sessionRegistry) {
     this.workspaceActivityManager = workspaceActivityManager;
     this.workspaceManager = wsManager;
+    this.sessionRegistry = sessionRegistry;
+  }
+
+  @Inject
+  public void configureMethods(RequestHandlerConfigurator requestHandler) {
+    requestHandler
+        .newConfiguration()
+        .methodName(WORKSPACE_ACTIVITY_METHOD)
+        .paramsAsString()
+        .noResult()
+        .withBiConsumer(this::handleActivity);
   }
 
   @PUT
@@ -60,7 +88,37 @@ public class WorkspaceActivityService extends Service {
   @ApiResponses(@ApiResponse(code = 204, message = "Activity counted"))
   public void active(@ApiParam(value = "Workspace id") @PathParam("wsId") String wsId)
       throws ForbiddenException, NotFoundException, ServerException {
-    final WorkspaceImpl workspace = workspaceManager.getWorkspace(wsId);
+    updateActivity(wsId, workspaceManager.getWorkspace(wsId));
+  }
+
+  private void handleActivity(String endpointId, String wsId) {
+    try {
+      final WorkspaceImpl workspace = workspaceManager.getWorkspace(wsId);
+      final Subject subject =
+          sessionRegistry
+              .get(endpointId)
+              .map(session -> (Subject) session.getUserProperties().get(SUBJECT_PROPERTY))
+              .orElse(null);
+      if (subject == null || !isPermitted(subject, wsId, workspace)) {
+        LOG.warn(
+            "Activity on workspace {} notified by endpoint {} is ignored, "
+                + "the connection is not permitted to use the workspace",
+            wsId,
+            endpointId);
+        return;
+      }
+      updateActivity(wsId, workspace);
+    } catch (NotFoundException | ServerException e) {
+      LOG.warn("Unable to update activity on workspace {}, cause: {}", wsId, e.getMessage());
+    }
+  }
+
+  private boolean isPermitted(Subject subject, String wsId, WorkspaceImpl workspace) {
+    return workspace.getNamespace().equals(subject.getUserName())
+        || subject.hasPermission(WORKSPACE_DOMAIN, wsId, USE_ACTION);
+  }
+
+  private void updateActivity(String wsId, WorkspaceImpl workspace) {
     if (workspace.getStatus() == RUNNING) {
       workspaceActivityManager.update(wsId, System.currentTimeMillis());
       LOG.debug("Updated activity on workspace {}", wsId);
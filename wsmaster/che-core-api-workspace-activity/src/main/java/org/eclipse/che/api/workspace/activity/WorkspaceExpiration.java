@@ -30,6 +30,18 @@ import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
   @NamedQuery(
     name = "WorkspaceExpiration.getExpired",
     query = "SELECT e FROM WorkspaceExpiration e WHERE e.expiration < :expiration"
+  ),
+  @NamedQuery(
+    name = "WorkspaceExpiration.prolong",
+    query =
+        "UPDATE WorkspaceExpiration e SET e.expiration = :expiration "
+            + "WHERE e.workspaceId = :workspaceId AND e.expiration < :expiration"
+  ),
+  @NamedQuery(
+    name = "WorkspaceExpiration.removeExpired",
+    query =
+        "DELETE FROM WorkspaceExpiration e "
+            + "WHERE e.workspaceId = :workspaceId AND e.expiration < :expiration"
   )
 })
 @Table(name = "che_workspace_expiration")
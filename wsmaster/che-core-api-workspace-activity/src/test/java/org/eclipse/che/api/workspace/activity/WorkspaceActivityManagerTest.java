@@ -10,15 +10,26 @@
  */
 package org.eclipse.che.api.workspace.activity;
 
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
 
 import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.shared.model.Account;
+import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
@@ -28,6 +39,7 @@ import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -38,6 +50,7 @@ import org.testng.annotations.Test;
 /** Tests for {@link WorkspaceActivityNotifier} */
 public class WorkspaceActivityManagerTest {
   private static final long EXPIRE_PERIOD_MS = 60_000L; // 1 minute
+  private static final long CHECKPOINT_PERIOD_SEC = 60L;
 
   @Mock private AccountManager accountManager;
 
@@ -57,7 +70,11 @@ public class WorkspaceActivityManagerTest {
   private void setUp() throws Exception {
     activityManager =
         new WorkspaceActivityManager(
-            workspaceManager, workspaceActivityDao, eventService, EXPIRE_PERIOD_MS);
+            workspaceManager,
+            workspaceActivityDao,
+            eventService,
+            EXPIRE_PERIOD_MS,
+            CHECKPOINT_PERIOD_SEC);
 
     when(account.getName()).thenReturn("accountName");
     when(account.getId()).thenReturn("account123");
@@ -73,9 +90,10 @@ public class WorkspaceActivityManagerTest {
     final long activityTime = 1000L;
 
     activityManager.update(wsId, activityTime);
+    activityManager.checkpoint();
 
     WorkspaceExpiration expected = new WorkspaceExpiration(wsId, activityTime + EXPIRE_PERIOD_MS);
-    verify(workspaceActivityDao, times(1)).setExpiration(eq(expected));
+    verify(workspaceActivityDao, times(1)).prolongExpiration(eq(expected));
   }
 
   @Test
@@ -88,8 +106,9 @@ public class WorkspaceActivityManagerTest {
         DtoFactory.newDto(WorkspaceStatusEvent.class)
             .withStatus(WorkspaceStatus.RUNNING)
             .withWorkspaceId(wsId));
+    activityManager.checkpoint();
     ArgumentCaptor<WorkspaceExpiration> captor = ArgumentCaptor.forClass(WorkspaceExpiration.class);
-    verify(workspaceActivityDao, times(1)).setExpiration(captor.capture());
+    verify(workspaceActivityDao, times(1)).prolongExpiration(captor.capture());
     assertEquals(captor.getValue().getWorkspaceId(), wsId);
   }
 
@@ -108,5 +127,95 @@ public class WorkspaceActivityManagerTest {
             .withWorkspaceId(wsId));
 
     verify(workspaceActivityDao, times(1)).removeExpiration(eq(wsId));
+    assertNull(activityManager.getPendingExpiration(wsId));
+  }
+
+  @Test
+  public void shouldNotWriteExpirationOnEachActivity() throws Exception {
+    final String wsId = "testWsId";
+
+    activityManager.update(wsId, 1000L);
+    activityManager.update(wsId, 2000L);
+    activityManager.update(wsId, 3000L);
+    verify(workspaceActivityDao, never()).prolongExpiration(any());
+
+    activityManager.checkpoint();
+    activityManager.checkpoint();
+
+    verify(workspaceActivityDao, times(1))
+        .prolongExpiration(new WorkspaceExpiration(wsId, 3000L + EXPIRE_PERIOD_MS));
+  }
+
+  @Test
+  public void shouldNotMoveExpirationBackwards() throws Exception {
+    final String wsId = "testWsId";
+
+    activityManager.update(wsId, 3000L);
+    activityManager.update(wsId, 1000L);
+
+    assertEquals(
+        activityManager.getPendingExpiration(wsId), Long.valueOf(3000L + EXPIRE_PERIOD_MS));
+  }
+
+  @Test
+  public void shouldStopExpiredWorkspace() throws Exception {
+    final String wsId = "testWsId";
+    when(workspaceActivityDao.findExpired(anyLong())).thenReturn(singletonList(wsId));
+    when(workspaceActivityDao.removeExpired(eq(wsId), anyLong())).thenReturn(true);
+
+    activityManager.invalidate();
+
+    verify(workspaceManager).stopWorkspace(eq(wsId), any());
+  }
+
+  @Test
+  public void shouldStoreExpirationsBeforeLookingForExpiredWorkspaces() throws Exception {
+    final String wsId = "testWsId";
+    final long now = System.currentTimeMillis();
+    activityManager.update(wsId, now);
+
+    activityManager.invalidate();
+
+    InOrder inOrder = inOrder(workspaceActivityDao);
+    inOrder
+        .verify(workspaceActivityDao)
+        .prolongExpiration(new WorkspaceExpiration(wsId, now + EXPIRE_PERIOD_MS));
+    inOrder.verify(workspaceActivityDao).findExpired(anyLong());
+  }
+
+  @Test
+  public void shouldLookForWorkspacesExpiredBeforeCheckpointPeriod() throws Exception {
+    final long before = System.currentTimeMillis();
+
+    activityManager.invalidate();
+
+    ArgumentCaptor<Long> captor = ArgumentCaptor.forClass(Long.class);
+    verify(workspaceActivityDao).findExpired(captor.capture());
+    assertTrue(captor.getValue() <= before - SECONDS.toMillis(CHECKPOINT_PERIOD_SEC) + 1000L);
+  }
+
+  @Test
+  public void shouldNotStopWorkspaceWhichIsRemovedFromStorageByAnotherReplica() throws Exception {
+    final String wsId = "testWsId";
+    when(workspaceActivityDao.findExpired(anyLong())).thenReturn(singletonList(wsId));
+    when(workspaceActivityDao.removeExpired(eq(wsId), anyLong())).thenReturn(false);
+
+    activityManager.invalidate();
+
+    verify(workspaceManager, never()).stopWorkspace(anyString(), any());
+  }
+
+  @Test
+  public void shouldNotStopWorkspaceWhichExpirationWasNotStored() throws Exception {
+    final String wsId = "testWsId";
+    when(workspaceActivityDao.findExpired(anyLong())).thenReturn(singletonList(wsId));
+    doThrow(ServerException.class).when(workspaceActivityDao).prolongExpiration(any());
+    activityManager.update(wsId, System.currentTimeMillis());
+
+    activityManager.invalidate();
+
+    verify(workspaceActivityDao, never()).removeExpired(anyString(), anyLong());
+    verify(workspaceManager, never()).stopWorkspace(anyString(), any());
+    assertNotNull(activityManager.getPendingExpiration(wsId));
   }
 }
@@ -11,19 +11,30 @@
 package org.eclipse.che.api.workspace.activity;
 
 import static com.jayway.restassured.RestAssured.given;
+import static org.eclipse.che.api.core.websocket.impl.GuiceInjectorEndpointConfigurator.SUBJECT_PROPERTY;
+import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_ACTIVITY_METHOD;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 
 import com.jayway.restassured.response.Response;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import javax.websocket.Session;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.rest.ApiExceptionMapper;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
 import org.eclipse.che.api.workspace.server.WorkspaceManager;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
@@ -34,6 +45,7 @@ import org.everrest.assured.EverrestJetty;
 import org.everrest.core.Filter;
 import org.everrest.core.GenericContainerRequest;
 import org.everrest.core.RequestFilter;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -58,17 +70,24 @@ public class WorkspaceActivityServiceTest {
   private static final String SERVICE_PATH = "/activity";
   private static final String USER_ID = "user123";
   private static final String WORKSPACE_ID = "workspace123";
+  private static final String ENDPOINT_ID = "endpoint123";
   private static final Subject TEST_USER = new SubjectImpl("name", USER_ID, "token", false);
   @Mock private WorkspaceActivityManager workspaceActivityManager;
 
   @Mock private WorkspaceManager workspaceManager;
+  @Mock private WebSocketSessionRegistry sessionRegistry;
+  @Mock private Session session;
+  @Mock private Subject subject;
+
+  @Mock(answer = RETURNS_DEEP_STUBS)
+  private RequestHandlerConfigurator requestHandler;
 
   private WorkspaceActivityService workspaceActivityService;
 
   @BeforeMethod
   public void setUp() {
     workspaceActivityService =
-        new WorkspaceActivityService(workspaceActivityManager, workspaceManager);
+        new WorkspaceActivityService(workspaceActivityManager, workspaceManager, sessionRegistry);
   }
 
   @Test
@@ -99,6 +118,54 @@ public class WorkspaceActivityServiceTest {
     verifyZeroInteractions(workspaceActivityManager);
   }
 
+  @Test
+  public void shouldUpdateActivityNotifiedByWorkspaceOwner() throws Exception {
+    when(workspaceManager.getWorkspace(WORKSPACE_ID))
+        .thenReturn(createWorkspace("owner", WorkspaceStatus.RUNNING));
+    when(subject.getUserName()).thenReturn("owner");
+    connect(subject);
+
+    activityHandler().accept(ENDPOINT_ID, WORKSPACE_ID);
+
+    verify(workspaceActivityManager).update(eq(WORKSPACE_ID), anyLong());
+  }
+
+  @Test
+  public void shouldUpdateActivityNotifiedBySubjectPermittedToUseWorkspace() throws Exception {
+    when(workspaceManager.getWorkspace(WORKSPACE_ID))
+        .thenReturn(createWorkspace("owner", WorkspaceStatus.RUNNING));
+    when(subject.getUserName()).thenReturn("name");
+    when(subject.hasPermission("workspace", WORKSPACE_ID, "use")).thenReturn(true);
+    connect(subject);
+
+    activityHandler().accept(ENDPOINT_ID, WORKSPACE_ID);
+
+    verify(workspaceActivityManager).update(eq(WORKSPACE_ID), anyLong());
+  }
+
+  @Test
+  public void shouldIgnoreActivityNotifiedBySubjectNotPermittedToUseWorkspace() throws Exception {
+    when(workspaceManager.getWorkspace(WORKSPACE_ID))
+        .thenReturn(createWorkspace("owner", WorkspaceStatus.RUNNING));
+    when(subject.getUserName()).thenReturn("name");
+    connect(subject);
+
+    activityHandler().accept(ENDPOINT_ID, WORKSPACE_ID);
+
+    verify(workspaceActivityManager, never()).update(anyString(), anyLong());
+  }
+
+  @Test
+  public void shouldIgnoreActivityNotifiedFromUnknownEndpoint() throws Exception {
+    when(workspaceManager.getWorkspace(WORKSPACE_ID))
+        .thenReturn(createWorkspace("owner", WorkspaceStatus.RUNNING));
+    when(sessionRegistry.get(ENDPOINT_ID)).thenReturn(Optional.empty());
+
+    activityHandler().accept(ENDPOINT_ID, WORKSPACE_ID);
+
+    verify(workspaceActivityManager, never()).update(anyString(), anyLong());
+  }
+
   @DataProvider(name = "wsStatus")
   public Object[][] getWorkspaceStatus() {
     return new Object[][] {
@@ -114,6 +181,27 @@ public class WorkspaceActivityServiceTest {
     }
   }
 
+  private void connect(Subject subject) {
+    when(session.getUserProperties())
+        .thenReturn(Collections.<String, Object>singletonMap(SUBJECT_PROPERTY, subject));
+    when(sessionRegistry.get(ENDPOINT_ID)).thenReturn(Optional.of(session));
+  }
+
+  @SuppressWarnings("unchecked")
+  private BiConsumer<String, String> activityHandler() {
+    workspaceActivityService.configureMethods(requestHandler);
+    final ArgumentCaptor<BiConsumer<String, String>> captor =
+        ArgumentCaptor.forClass(BiConsumer.class);
+    verify(
+            requestHandler
+                .newConfiguration()
+                .methodName(WORKSPACE_ACTIVITY_METHOD)
+                .paramsAsString()
+                .noResult())
+        .withBiConsumer(captor.capture());
+    return captor.getValue();
+  }
+
   private WorkspaceImpl createWorkspace(String namespace, WorkspaceStatus status) {
     final WorkspaceConfigImpl config =
         WorkspaceConfigImpl.builder().setName("dev-workspace").setDefaultEnv("dev-env").build();
@@ -13,6 +13,8 @@ package org.eclipse.che.api.workspace.activity.spi.tck;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonMap;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -97,6 +99,70 @@ public class WorkspaceActivityDaoTest {
     assertEquals(found, expected);
   }
 
+  @Test(dependsOnMethods = "shouldFindExpirationsByTimestamp")
+  public void shouldProlongExpirations() throws Exception {
+    List<String> expected = Collections.singletonList(expirations[0].getWorkspaceId());
+
+    workspaceActivityDao.prolongExpiration(
+        new WorkspaceExpiration(expirations[1].getWorkspaceId(), 2_750_000));
+
+    List<String> found = workspaceActivityDao.findExpired(2_500_000);
+    assertEquals(found, expected);
+  }
+
+  @Test(dependsOnMethods = "shouldFindExpirationsByTimestamp")
+  public void shouldNotMoveExpirationsBackwardsOnProlong() throws Exception {
+    List<String> expected =
+        Arrays.asList(expirations[0].getWorkspaceId(), expirations[1].getWorkspaceId());
+
+    workspaceActivityDao.prolongExpiration(
+        new WorkspaceExpiration(expirations[2].getWorkspaceId(), 1_750_000));
+
+    List<String> found = workspaceActivityDao.findExpired(2_500_000);
+    assertEquals(found, expected);
+  }
+
+  @Test(dependsOnMethods = {"shouldFindExpirationsByTimestamp", "shouldRemoveExpirationsByWsId"})
+  public void shouldAddExpirationsOnProlong() throws Exception {
+    List<String> expected =
+        Arrays.asList(expirations[0].getWorkspaceId(), expirations[1].getWorkspaceId());
+    workspaceActivityDao.removeExpiration(expirations[1].getWorkspaceId());
+
+    workspaceActivityDao.prolongExpiration(
+        new WorkspaceExpiration(expirations[1].getWorkspaceId(), 1_250_000));
+
+    List<String> found = workspaceActivityDao.findExpired(1_500_000);
+    assertEquals(found, expected);
+  }
+
+  @Test(dependsOnMethods = "shouldFindExpirationsByTimestamp")
+  public void shouldRemoveExpiredExpiration() throws Exception {
+    List<String> expected = Collections.singletonList(expirations[1].getWorkspaceId());
+
+    assertTrue(workspaceActivityDao.removeExpired(expirations[0].getWorkspaceId(), 2_500_000));
+
+    List<String> found = workspaceActivityDao.findExpired(2_500_000);
+    assertEquals(found, expected);
+  }
+
+  @Test(dependsOnMethods = "shouldFindExpirationsByTimestamp")
+  public void shouldNotRemoveExpirationWhichIsNotExpired() throws Exception {
+    List<String> expected =
+        Arrays.asList(expirations[0].getWorkspaceId(), expirations[1].getWorkspaceId());
+
+    assertFalse(workspaceActivityDao.removeExpired(expirations[1].getWorkspaceId(), 1_500_000));
+
+    List<String> found = workspaceActivityDao.findExpired(2_500_000);
+    assertEquals(found, expected);
+  }
+
+  @Test
+  public void shouldNotRemoveExpirationWhichIsAlreadyRemoved() throws Exception {
+    workspaceActivityDao.removeExpiration(expirations[0].getWorkspaceId());
+
+    assertFalse(workspaceActivityDao.removeExpired(expirations[0].getWorkspaceId(), 2_500_000));
+  }
+
   @Test(dependsOnMethods = "shouldFindExpirationsByTimestamp")
   public void shouldRemoveExpirationsByWsId() throws Exception {
     List<String> expected = Collections.singletonList(expirations[1].getWorkspaceId());
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.shared.dto;
+
+import java.util.List;
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Changes of the projects of a workspace which are applied at once.
+ *
+ * <p>When sent to the server the diff contains the revision of the projects it is based on, the
+ * projects to add or replace and the paths of the projects to remove. The server responds with the
+ * new revision and all the projects of the workspace.
+ */
+@DTO
+public interface ProjectsDiffDto {
+
+  /**
+   * Revision of the workspace projects. The diff is rejected if it is based on a revision which is
+   * not the current one, null revision means that the diff is applied to any revision.
+   */
+  String getRevision();
+
+  void setRevision(String revision);
+
+  ProjectsDiffDto withRevision(String revision);
+
+  /** Projects to add, or to replace the projects with the same paths. */
+  List<ProjectConfigDto> getUpdated();
+
+  void setUpdated(List<ProjectConfigDto> updated);
+
+  ProjectsDiffDto withUpdated(List<ProjectConfigDto> updated);
+
+  /** Paths of the projects to remove. */
+  List<String> getRemoved();
+
+  void setRemoved(List<String> removed);
+
+  ProjectsDiffDto withRemoved(List<String> removed);
+}
@@ -13,6 +13,8 @@ package org.eclipse.che.api.workspace.server;
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static java.lang.String.format;
 import static java.lang.System.currentTimeMillis;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Comparator.comparing;
 import static java.util.Objects.requireNonNull;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
@@ -23,10 +25,17 @@ import static org.eclipse.che.api.workspace.shared.Constants.STOPPED_ABNORMALLY_
 import static org.eclipse.che.api.workspace.shared.Constants.STOPPED_ATTRIBUTE_NAME;
 import static org.eclipse.che.api.workspace.shared.Constants.UPDATED_ATTRIBUTE_NAME;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.google.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import javax.inject.Singleton;
 import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.shared.model.Account;
@@ -38,13 +47,18 @@ import org.eclipse.che.api.core.ValidationException;
 import org.eclipse.che.api.core.model.workspace.Workspace;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.model.workspace.config.ProjectConfig;
+import org.eclipse.che.api.core.model.workspace.config.SourceStorage;
 import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.event.WorkspaceCreatedEvent;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.eclipse.che.commons.subject.Subject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -67,6 +81,9 @@ public class WorkspaceManager {
   private final AccountManager accountManager;
   private final EventService eventService;
   private final WorkspaceValidator validator;
+  // guards read-modify-write updates of workspaces, so concurrent updates don't overwrite each
+  // other
+  private final StripedLocks updateLocks = new StripedLocks(16);
 
   @Inject
   public WorkspaceManager(
@@ -237,13 +254,93 @@ public class WorkspaceManager {
     validator.validateConfig(update.getConfig());
     validator.validateAttributes(update.getAttributes());
 
-    WorkspaceImpl workspace = workspaceDao.get(id);
-    workspace.setConfig(new WorkspaceConfigImpl(update.getConfig()));
-    workspace.setAttributes(update.getAttributes());
-    workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
-    workspace.setTemporary(update.isTemporary());
+    try (Unlocker ignored = updateLocks.writeLock(id)) {
+      WorkspaceImpl workspace = workspaceDao.get(id);
+      workspace.setConfig(new WorkspaceConfigImpl(update.getConfig()));
+      workspace.setAttributes(update.getAttributes());
+      workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
+      workspace.setTemporary(update.isTemporary());
 
-    return normalizeState(workspaceDao.update(workspace), true);
+      return normalizeState(workspaceDao.update(workspace), true);
+    }
+  }
+
+  /**
+   * Applies changes of the workspace projects at once. Changes are applied only if the projects of
+   * the workspace are not changed since the given revision.
+   *
+   * @param id workspace id
+   * @param revision revision of the projects the changes are based on, see {@link
+   *     #getProjectsRevision(Workspace)}, changes are applied to any revision if null
+   * @param updated projects to add or to replace the projects with the same paths
+   * @param removed paths of the projects to remove
+   * @return updated instance of the workspace, or not changed one if there are no changes
+   * @throws NullPointerException when either {@code id}, {@code updated} or {@code removed} is null
+   * @throws NotFoundException when workspace with given id doesn't exist
+   * @throws ConflictException when projects were changed since the given revision
+   * @throws ValidationException when updated workspace configuration is not valid
+   * @throws ServerException when any other error occurs
+   */
+  public WorkspaceImpl updateProjects(
+      String id,
+      @Nullable String revision,
+      List<? extends ProjectConfig> updated,
+      List<String> removed)
+      throws ConflictException, ServerException, NotFoundException, ValidationException {
+    requireNonNull(id, "Required non-null workspace id");
+    requireNonNull(updated, "Required non-null updated projects");
+    requireNonNull(removed, "Required non-null removed projects");
+
+    try (Unlocker ignored = updateLocks.writeLock(id)) {
+      WorkspaceImpl workspace = workspaceDao.get(id);
+      if (revision != null && !revision.equals(getProjectsRevision(workspace))) {
+        throw new ConflictException(
+            format("Projects of workspace '%s' were changed since revision '%s'", id, revision));
+      }
+      if (updated.isEmpty() && removed.isEmpty()) {
+        return normalizeState(workspace, true);
+      }
+
+      Set<String> replaced = new HashSet<>();
+      removed.forEach(path -> replaced.add(path.startsWith("/") ? path : '/' + path));
+      updated.forEach(project -> replaced.add(project.getPath()));
+
+      List<ProjectConfigImpl> projects = workspace.getConfig().getProjects();
+      projects.removeIf(project -> replaced.contains(project.getPath()));
+      updated.forEach(project -> projects.add(new ProjectConfigImpl(project)));
+
+      validator.validateConfig(workspace.getConfig());
+      workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
+
+      return normalizeState(workspaceDao.update(workspace), true);
+    }
+  }
+
+  /**
+   * Returns revision of the workspace projects. Revision is computed from the content of the
+   * project configurations, so it changes whenever any project is added, removed or changed.
+   */
+  public String getProjectsRevision(Workspace workspace) {
+    List<ProjectConfig> projects = new ArrayList<>(workspace.getConfig().getProjects());
+    projects.sort(comparing(ProjectConfig::getPath));
+
+    Hasher hasher = Hashing.sha256().newHasher();
+    for (ProjectConfig project : projects) {
+      putString(hasher, project.getPath());
+      putString(hasher, project.getName());
+      putString(hasher, project.getType());
+      putString(hasher, project.getDescription());
+      putStrings(hasher, project.getMixins());
+      putAttributes(hasher, project.getAttributes());
+      SourceStorage source = project.getSource();
+      if (source != null) {
+        putString(hasher, source.getType());
+        putString(hasher, source.getLocation());
+        putAttributes(hasher, source.getParameters());
+      }
+      hasher.putInt(-1);
+    }
+    return hasher.hash().toString();
   }
 
   /**
@@ -285,7 +382,11 @@ public class WorkspaceManager {
       String workspaceId, @Nullable String envName, @Nullable Map<String, String> options)
       throws NotFoundException, ServerException, ConflictException {
     requireNonNull(workspaceId, "Required non-null workspace id");
-    final WorkspaceImpl workspace = workspaceDao.get(workspaceId);
+    final WorkspaceImpl workspace;
+    try (Unlocker ignored = updateLocks.writeLock(workspaceId)) {
+      workspace = workspaceDao.get(workspaceId);
+      prepareStart(workspace, envName);
+    }
     startAsync(workspace, envName, options);
     return normalizeState(workspace, true);
   }
@@ -309,6 +410,9 @@ public class WorkspaceManager {
     final WorkspaceImpl workspace =
         doCreateWorkspace(
             config, accountManager.getByName(namespace), Collections.emptyMap(), isTemporary);
+    try (Unlocker ignored = updateLocks.writeLock(workspace.getId())) {
+      prepareStart(workspace, workspace.getConfig().getDefaultEnv());
+    }
     startAsync(workspace, workspace.getConfig().getDefaultEnv(), options);
     return normalizeState(workspace, true);
   }
@@ -325,12 +429,15 @@ public class WorkspaceManager {
       throws ServerException, NotFoundException, ConflictException {
 
     requireNonNull(workspaceId, "Required non-null workspace id");
-    final WorkspaceImpl workspace = normalizeState(workspaceDao.get(workspaceId), true);
-    checkWorkspaceIsRunningOrStarting(workspace);
-    if (!workspace.isTemporary()) {
-      workspace.getAttributes().put(STOPPED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
-      workspace.getAttributes().put(STOPPED_ABNORMALLY_ATTRIBUTE_NAME, Boolean.toString(false));
-      workspaceDao.update(workspace);
+    final WorkspaceImpl workspace;
+    try (Unlocker ignored = updateLocks.writeLock(workspaceId)) {
+      workspace = normalizeState(workspaceDao.get(workspaceId), true);
+      checkWorkspaceIsRunningOrStarting(workspace);
+      if (!workspace.isTemporary()) {
+        workspace.getAttributes().put(STOPPED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
+        workspace.getAttributes().put(STOPPED_ABNORMALLY_ATTRIBUTE_NAME, Boolean.toString(false));
+        workspaceDao.update(workspace);
+      }
     }
 
     runtimes
@@ -347,8 +454,11 @@ public class WorkspaceManager {
     return runtimes.getSupportedRecipes();
   }
 
-  /** Asynchronously starts given workspace. */
-  private void startAsync(WorkspaceImpl workspace, String envName, Map<String, String> options)
+  /**
+   * Checks that the workspace contains the environment to start and marks the workspace as updated.
+   * Must be called under the update lock of the workspace.
+   */
+  private void prepareStart(WorkspaceImpl workspace, String envName)
       throws ConflictException, NotFoundException, ServerException {
     if (envName != null && !workspace.getConfig().getEnvironments().containsKey(envName)) {
       throw new NotFoundException(
@@ -358,6 +468,11 @@ public class WorkspaceManager {
     }
     workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
     workspaceDao.update(workspace);
+  }
+
+  /** Asynchronously starts given workspace, see {@link #prepareStart(WorkspaceImpl, String)}. */
+  private void startAsync(WorkspaceImpl workspace, String envName, Map<String, String> options)
+      throws ConflictException, NotFoundException, ServerException {
     final String env = firstNonNull(envName, workspace.getConfig().getDefaultEnv());
 
     runtimes
@@ -490,4 +605,40 @@ public class WorkspaceManager {
     }
     return workspaceDao.get(wsName, namespace);
   }
+
+  private static void putString(Hasher hasher, String value) {
+    if (value == null) {
+      hasher.putInt(-1);
+    } else {
+      hasher.putInt(value.length()).putString(value, UTF_8);
+    }
+  }
+
+  private static void putStrings(Hasher hasher, Collection<String> values) {
+    if (values == null) {
+      hasher.putInt(-1);
+    } else {
+      hasher.putInt(values.size());
+      values.forEach(value -> putString(hasher, value));
+    }
+  }
+
+  private static void putAttributes(Hasher hasher, Map<String, ?> attributes) {
+    if (attributes == null) {
+      hasher.putInt(-1);
+      return;
+    }
+    hasher.putInt(attributes.size());
+    for (Map.Entry<String, ?> entry : new TreeMap<>(attributes).entrySet()) {
+      putString(hasher, entry.getKey());
+      Object value = entry.getValue();
+      if (value instanceof Collection) {
+        @SuppressWarnings("unchecked")
+        Collection<String> values = (Collection<String>) value;
+        putStrings(hasher, values);
+      } else {
+        putString(hasher, (String) value);
+      }
+    }
+  }
 }
@@ -217,9 +217,14 @@ public class WorkspaceRuntimes {
     Subject subject = EnvironmentContext.getCurrent().getSubject();
     RuntimeIdentity runtimeId = new RuntimeIdentityImpl(workspaceId, envName, subject.getUserId());
     try {
+      long envCreationStart = currentTimeMillis();
       InternalEnvironment internalEnv = createInternalEnvironment(environment);
+      long preparationStart = currentTimeMillis();
       RuntimeContext runtimeContext = infrastructure.prepare(runtimeId, internalEnv);
       InternalRuntime runtime = runtimeContext.getRuntime();
+      StartTimings timings =
+          new StartTimings(
+              preparationStart - envCreationStart, currentTimeMillis() - preparationStart);
 
       RuntimeState state = new RuntimeState(runtime, STARTING);
       if (isStartRefused.get()) {
@@ -243,7 +248,8 @@ public class WorkspaceRuntimes {
       publishWorkspaceStatusEvent(workspaceId, STARTING, STOPPED, null);
 
       return CompletableFuture.runAsync(
-          ThreadLocalPropagateContext.wrap(new StartRuntimeTask(workspace, options, runtime)),
+          ThreadLocalPropagateContext.wrap(
+              new StartRuntimeTask(workspace, options, runtime, timings)),
           sharedPool.getExecutor());
     } catch (ValidationException e) {
       LOG.error(e.getLocalizedMessage(), e);
@@ -258,19 +264,26 @@ public class WorkspaceRuntimes {
     private final Workspace workspace;
     private final Map<String, String> options;
     private final InternalRuntime runtime;
+    private final StartTimings timings;
 
     public StartRuntimeTask(
-        Workspace workspace, Map<String, String> options, InternalRuntime runtime) {
+        Workspace workspace,
+        Map<String, String> options,
+        InternalRuntime runtime,
+        StartTimings timings) {
       this.workspace = workspace;
       this.options = options;
       this.runtime = runtime;
+      this.timings = timings;
     }
 
     @Override
     public void run() {
       String workspaceId = workspace.getId();
       try {
+        long runtimeStart = currentTimeMillis();
         runtime.start(options);
+        timings.runtimeStartMs = currentTimeMillis() - runtimeStart;
         runtimes.replace(workspaceId, new RuntimeState(runtime, RUNNING));
 
         LOG.info(
@@ -279,6 +292,7 @@ public class WorkspaceRuntimes {
             workspace.getConfig().getName(),
             workspaceId,
             sessionUserNameOr("undefined"));
+        LOG.info("Start of workspace '{}' took {}", workspaceId, timings);
         publishWorkspaceStatusEvent(workspaceId, RUNNING, STARTING, null);
       } catch (InfrastructureException e) {
         runtimes.remove(workspaceId);
@@ -594,6 +608,30 @@ public class WorkspaceRuntimes {
     return nameIfNoUser;
   }
 
+  /** Time spent in the phases of a workspace start, it is logged when the workspace is running. */
+  private static class StartTimings {
+    private final long envCreationMs;
+    private final long preparationMs;
+    private long runtimeStartMs;
+
+    private StartTimings(long envCreationMs, long preparationMs) {
+      this.envCreationMs = envCreationMs;
+      this.preparationMs = preparationMs;
+    }
+
+    @Override
+    public String toString() {
+      return (envCreationMs + preparationMs + runtimeStartMs)
+          + " ms (environment creation: "
+          + envCreationMs
+          + " ms, preparation: "
+          + preparationMs
+          + " ms, runtime start: "
+          + runtimeStartMs
+          + " ms)";
+    }
+  }
+
   private class AbnormalRuntimeStopListener implements EventSubscriber<RuntimeStatusEvent> {
     @Override
     public void onEvent(RuntimeStatusEvent event) {
@@ -17,6 +17,7 @@ import static java.util.stream.Collectors.toList;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static org.eclipse.che.api.workspace.server.DtoConverter.asDto;
 import static org.eclipse.che.api.workspace.shared.Constants.CHE_WORKSPACE_AUTO_START;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableMap;
@@ -65,6 +66,7 @@ import org.eclipse.che.api.workspace.shared.dto.CommandDto;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.MachineDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsDiffDto;
 import org.eclipse.che.api.workspace.shared.dto.RecipeDto;
 import org.eclipse.che.api.workspace.shared.dto.RuntimeDto;
 import org.eclipse.che.api.workspace.shared.dto.ServerDto;
@@ -654,6 +656,51 @@ public class WorkspaceService extends Service {
     return asDtoWithLinksAndToken(doUpdate(id, workspace));
   }
 
+  @POST
+  @Path("/{id}/project/sync")
+  @Consumes(APPLICATION_JSON)
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(
+    value = "Apply the changes of the workspace projects at once",
+    notes =
+        "Projects are added, replaced or removed in a single update. The changes are rejected if "
+            + "the projects were changed since the revision the changes are based on. "
+            + "This operation can be performed only by the workspace owner",
+    response = ProjectsDiffDto.class
+  )
+  @ApiResponses({
+    @ApiResponse(code = 200, message = "The response contains all the projects and their revision"),
+    @ApiResponse(code = 400, message = "Missed required parameters, parameters are not valid"),
+    @ApiResponse(code = 403, message = "The user does not have access to update the projects"),
+    @ApiResponse(code = 404, message = "The workspace not found"),
+    @ApiResponse(code = 409, message = "The projects were changed since the given revision"),
+    @ApiResponse(code = 500, message = "Internal server error occurred")
+  })
+  public ProjectsDiffDto syncProjects(
+      @ApiParam("The workspace id") @PathParam("id") String id,
+      @ApiParam(value = "The changes of the projects", required = true) ProjectsDiffDto diff)
+      throws ServerException, BadRequestException, NotFoundException, ConflictException,
+          ForbiddenException {
+    requiredNotNull(diff, "Projects diff");
+    final Workspace workspace;
+    try {
+      workspace =
+          workspaceManager.updateProjects(
+              id, diff.getRevision(), diff.getUpdated(), diff.getRemoved());
+    } catch (ValidationException x) {
+      throw new BadRequestException(x.getMessage());
+    }
+    return newDto(ProjectsDiffDto.class)
+        .withRevision(workspaceManager.getProjectsRevision(workspace))
+        .withUpdated(
+            workspace
+                .getConfig()
+                .getProjects()
+                .stream()
+                .map(DtoConverter::asDto)
+                .collect(toList()));
+  }
+
   @DELETE
   @Path("/{id}/project/{path:.*}")
   @ApiOperation(
@@ -37,7 +37,11 @@ public class InstallerLogJsonRpcMessenger {
 
   @PostConstruct
   private void postConstruct() {
-    subscriptionManager.register(INSTALLER_LOG_METHOD, InstallerLogEvent.class, this::predicate);
+    subscriptionManager.registerAsync(
+        INSTALLER_LOG_METHOD,
+        InstallerLogEvent.class,
+        this::predicate,
+        event -> event.getRuntimeId().getWorkspaceId());
   }
 
   private boolean predicate(InstallerLogEvent event, Map<String, String> scope) {
@@ -31,8 +31,11 @@ public class InstallerStatusJsonRpcMessenger {
 
   @PostConstruct
   private void postConstruct() {
-    remoteSubscriptionManager.register(
-        INSTALLER_STATUS_CHANGED_METHOD, InstallerStatusEvent.class, this::predicate);
+    remoteSubscriptionManager.registerAsync(
+        INSTALLER_STATUS_CHANGED_METHOD,
+        InstallerStatusEvent.class,
+        this::predicate,
+        event -> event.getRuntimeId().getWorkspaceId());
   }
 
   private boolean predicate(InstallerStatusEvent event, Map<String, String> scope) {
@@ -37,7 +37,11 @@ public class MachineLogJsonRpcMessenger {
 
   @PostConstruct
   private void postConstruct() {
-    subscriptionManager.register(MACHINE_LOG_METHOD, MachineLogEvent.class, this::predicate);
+    subscriptionManager.registerAsync(
+        MACHINE_LOG_METHOD,
+        MachineLogEvent.class,
+        this::predicate,
+        event -> event.getRuntimeId().getWorkspaceId());
   }
 
   private boolean predicate(MachineLogEvent event, Map<String, String> scope) {
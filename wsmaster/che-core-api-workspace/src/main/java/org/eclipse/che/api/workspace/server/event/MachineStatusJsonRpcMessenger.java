@@ -31,8 +31,11 @@ public class MachineStatusJsonRpcMessenger {
 
   @PostConstruct
   private void postConstruct() {
-    remoteSubscriptionManager.register(
-        MACHINE_STATUS_CHANGED_METHOD, MachineStatusEvent.class, this::predicate);
+    remoteSubscriptionManager.registerAsync(
+        MACHINE_STATUS_CHANGED_METHOD,
+        MachineStatusEvent.class,
+        this::predicate,
+        event -> event.getIdentity().getWorkspaceId());
   }
 
   private boolean predicate(MachineStatusEvent event, Map<String, String> scope) {
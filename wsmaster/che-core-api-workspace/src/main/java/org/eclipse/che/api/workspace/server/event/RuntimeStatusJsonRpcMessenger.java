@@ -29,8 +29,11 @@ public class RuntimeStatusJsonRpcMessenger {
 
   @PostConstruct
   private void postConstruct() {
-    remoteSubscriptionManager.register(
-        "runtime/statusChanged", RuntimeStatusEvent.class, this::predicate);
+    remoteSubscriptionManager.registerAsync(
+        "runtime/statusChanged",
+        RuntimeStatusEvent.class,
+        this::predicate,
+        event -> event.getIdentity().getWorkspaceId());
   }
 
   private boolean predicate(RuntimeStatusEvent event, Map<String, String> scope) {
@@ -31,8 +31,11 @@ public class ServerStatusJsonRpcMessenger {
 
   @PostConstruct
   private void postConstruct() {
-    remoteSubscriptionManager.register(
-        SERVER_STATUS_CHANGED_METHOD, ServerStatusEvent.class, this::predicate);
+    remoteSubscriptionManager.registerAsync(
+        SERVER_STATUS_CHANGED_METHOD,
+        ServerStatusEvent.class,
+        this::predicate,
+        event -> event.getIdentity().getWorkspaceId());
   }
 
   private boolean predicate(ServerStatusEvent event, Map<String, String> scope) {
@@ -31,8 +31,11 @@ public class WorkspaceJsonRpcMessenger {
 
   @PostConstruct
   private void postConstruct() {
-    remoteSubscriptionManager.register(
-        WORKSPACE_STATUS_CHANGED_METHOD, WorkspaceStatusEvent.class, this::predicate);
+    remoteSubscriptionManager.registerAsync(
+        WORKSPACE_STATUS_CHANGED_METHOD,
+        WorkspaceStatusEvent.class,
+        this::predicate,
+        WorkspaceStatusEvent::getWorkspaceId);
   }
 
   private boolean predicate(WorkspaceStatusEvent event, Map<String, String> scope) {
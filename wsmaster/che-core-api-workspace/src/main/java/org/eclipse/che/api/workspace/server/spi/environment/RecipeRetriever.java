@@ -10,18 +10,27 @@
  */
 package org.eclipse.che.api.workspace.server.spi.environment;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.slf4j.LoggerFactory.getLogger;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.URLConnection;
 import java.util.Objects;
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.UriBuilder;
 import org.eclipse.che.api.core.model.workspace.config.Recipe;
 import org.eclipse.che.api.core.util.FileCleaner;
@@ -34,16 +43,43 @@ import org.slf4j.Logger;
  * Handle how recipe is retrieved, either by downloading it with external location or by using the
  * provided content.
  *
+ * <p>Downloaded recipes may be cached for the configured time, so repeated starts of a workspace
+ * don't download its recipe again. A cached recipe is validated on each retrieval with a
+ * conditional request by its entity tag or modification time, so changes at the recipe location are
+ * visible immediately. Recipes whose location provides neither of them are not cached. Content is
+ * cached per user, as the recipe location may require authorization of the user.
+ *
  * @author Alexander Garagatyi
  */
+@Singleton
 public class RecipeRetriever {
   private static final Logger LOG = getLogger(RecipeRetriever.class);
 
+  private static final long CACHE_MAX_SIZE = 500;
+
   private final URI apiEndpoint;
+  private final Cache<String, DownloadedRecipe> downloadedRecipes;
 
   @Inject
-  public RecipeRetriever(@Named("che.api") URI apiEndpoint) {
+  public RecipeRetriever(
+      @Named("che.api") URI apiEndpoint,
+      @Named("che.workspace.recipe_cache_ttl_sec") long recipeCacheTtlSec) {
+    this(apiEndpoint, recipeCacheTtlSec, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  RecipeRetriever(URI apiEndpoint, long recipeCacheTtlSec, Ticker ticker) {
     this.apiEndpoint = apiEndpoint;
+    if (recipeCacheTtlSec > 0) {
+      this.downloadedRecipes =
+          CacheBuilder.newBuilder()
+              .maximumSize(CACHE_MAX_SIZE)
+              .expireAfterWrite(recipeCacheTtlSec, SECONDS)
+              .ticker(ticker)
+              .build();
+    } else {
+      this.downloadedRecipes = null;
+    }
   }
 
   /**
@@ -69,8 +105,21 @@ public class RecipeRetriever {
     if (recipe.getLocation() == null || recipe.getLocation().isEmpty()) {
       throw new IllegalArgumentException("Neither content nor location are present in recipe");
     }
-    URL url = prepareURL(recipe.getLocation());
-    return downloadContent(url);
+    if (downloadedRecipes == null) {
+      return downloadContent(prepareURL(recipe.getLocation()));
+    }
+    String cacheKey =
+        EnvironmentContext.getCurrent().getSubject().getUserId() + '@' + recipe.getLocation();
+    DownloadedRecipe cached = downloadedRecipes.getIfPresent(cacheKey);
+    DownloadedRecipe downloaded = downloadIfChanged(prepareURL(recipe.getLocation()), cached);
+    if (downloaded != cached) {
+      if (downloaded.isValidatable()) {
+        downloadedRecipes.put(cacheKey, downloaded);
+      } else {
+        downloadedRecipes.invalidate(cacheKey);
+      }
+    }
+    return downloaded.content;
   }
 
   private URL prepareURL(String location) throws InfrastructureException {
@@ -111,6 +160,52 @@ public class RecipeRetriever {
     }
   }
 
+  /**
+   * Returns the cached recipe if it is not changed at its location, otherwise downloads the recipe
+   * along with its validators.
+   */
+  private DownloadedRecipe downloadIfChanged(URL url, DownloadedRecipe cached)
+      throws InfrastructureException {
+    URLConnection conn = null;
+    try {
+      conn = url.openConnection();
+      if (cached != null) {
+        if (cached.eTag != null) {
+          conn.setRequestProperty(HttpHeaders.IF_NONE_MATCH, cached.eTag);
+        }
+        if (cached.lastModified != 0) {
+          conn.setIfModifiedSince(cached.lastModified);
+        }
+      }
+      if (conn instanceof HttpURLConnection) {
+        int status = ((HttpURLConnection) conn).getResponseCode();
+        if (status == HttpURLConnection.HTTP_NOT_MODIFIED && cached != null) {
+          return cached;
+        }
+        if (status == HttpURLConnection.HTTP_MOVED_TEMP
+            || status == HttpURLConnection.HTTP_MOVED_PERM
+            || status == HttpURLConnection.HTTP_SEE_OTHER) {
+          // redirects to another protocol are not followed by the connection
+          return new DownloadedRecipe(downloadContent(url), null, 0);
+        }
+      } else if (cached != null
+          && cached.lastModified != 0
+          && conn.getLastModified() == cached.lastModified) {
+        return cached;
+      }
+      String content = IoUtil.readAndCloseQuietly(conn.getInputStream());
+      return new DownloadedRecipe(
+          content, conn.getHeaderField(HttpHeaders.ETAG), conn.getLastModified());
+    } catch (IOException e) {
+      LOG.debug(e.getLocalizedMessage(), e);
+      throw new InfrastructureException("Failed to download recipe content");
+    } finally {
+      if (conn instanceof HttpURLConnection) {
+        ((HttpURLConnection) conn).disconnect();
+      }
+    }
+  }
+
   private UriBuilder makeURIAbsolute(URI uri) {
     UriBuilder uriBuilder = UriBuilder.fromUri(uri);
     if (!uri.isAbsolute() && uri.getHost() == null) {
@@ -134,4 +229,21 @@ public class RecipeRetriever {
       ub.queryParam("token", EnvironmentContext.getCurrent().getSubject().getToken());
     }
   }
+
+  /** Downloaded recipe content along with the validators provided by its location. */
+  private static class DownloadedRecipe {
+    private final String content;
+    private final String eTag;
+    private final long lastModified;
+
+    private DownloadedRecipe(String content, String eTag, long lastModified) {
+      this.content = content;
+      this.eTag = eTag;
+      this.lastModified = lastModified;
+    }
+
+    private boolean isValidatable() {
+      return eTag != null || lastModified != 0;
+    }
+  }
 }
@@ -15,6 +15,7 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.toSet;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
@@ -33,17 +34,20 @@ import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 import static org.testng.util.Strings.isNullOrEmpty;
 
+import com.google.common.collect.ImmutableSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -65,6 +69,7 @@ import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.MachineConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.MachineImpl;
+import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.RecipeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.RuntimeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
@@ -350,6 +355,52 @@ public class WorkspaceManagerTest {
     assertEquals(updated.getStatus(), STARTING);
   }
 
+  @Test
+  public void updatesProjects() throws Exception {
+    final WorkspaceImpl workspace = createAndMockWorkspace();
+    workspace.getConfig().getProjects().add(project("/project1", "blank"));
+    workspace.getConfig().getProjects().add(project("/project2", "blank"));
+    final String revision = workspaceManager.getProjectsRevision(workspace);
+    when(workspaceDao.update(any())).thenAnswer(inv -> inv.getArguments()[0]);
+
+    final WorkspaceImpl updated =
+        workspaceManager.updateProjects(
+            workspace.getId(),
+            revision,
+            asList(project("/project1", "maven"), project("/project3", "blank")),
+            singletonList("project2"));
+
+    verify(workspaceDao).update(workspace);
+    assertEquals(
+        updated
+            .getConfig()
+            .getProjects()
+            .stream()
+            .map(p -> p.getPath() + ':' + p.getType())
+            .collect(toSet()),
+        ImmutableSet.of("/project1:maven", "/project3:blank"));
+    assertNotEquals(workspaceManager.getProjectsRevision(updated), revision);
+  }
+
+  @Test(expectedExceptions = ConflictException.class)
+  public void throwsConflictExceptionWhenProjectsChangedSinceRevision() throws Exception {
+    final WorkspaceImpl workspace = createAndMockWorkspace();
+    final String revision = workspaceManager.getProjectsRevision(workspace);
+    workspace.getConfig().getProjects().add(project("/project1", "blank"));
+
+    workspaceManager.updateProjects(
+        workspace.getId(), revision, singletonList(project("/project2", "blank")), emptyList());
+  }
+
+  @Test
+  public void doesNotUpdateWorkspaceWhenProjectsNotChanged() throws Exception {
+    final WorkspaceImpl workspace = createAndMockWorkspace();
+
+    workspaceManager.updateProjects(workspace.getId(), null, emptyList(), emptyList());
+
+    verify(workspaceDao, never()).update(any());
+  }
+
   @Test
   public void removesWorkspace() throws Exception {
     final WorkspaceImpl workspace = createAndMockWorkspace();
@@ -647,4 +698,12 @@ public class WorkspaceManagerTest {
       return emptyList();
     }
   }
+
+  private static ProjectConfigImpl project(String path, String type) {
+    final ProjectConfigImpl project = new ProjectConfigImpl();
+    project.setPath(path);
+    project.setName(path.substring(1));
+    project.setType(type);
+    return project;
+  }
 }
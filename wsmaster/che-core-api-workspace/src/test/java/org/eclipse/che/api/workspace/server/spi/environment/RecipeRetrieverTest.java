@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.spi.environment;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+
+import com.google.common.base.Ticker;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.workspace.server.model.impl.RecipeImpl;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.subject.SubjectImpl;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link RecipeRetriever} */
+public class RecipeRetrieverTest {
+
+  private static final URI API_ENDPOINT = URI.create("http://localhost:8080/api");
+
+  private Path recipeFile;
+  private RecipeImpl recipe;
+  private long tickerNanos;
+  private Ticker ticker;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    recipeFile = Files.createTempFile("recipe", ".yaml");
+    writeRecipe("content1");
+    recipe = new RecipeImpl("compose", "application/x-yaml", null, recipeFile.toUri().toString());
+    ticker =
+        new Ticker() {
+          @Override
+          public long read() {
+            return tickerNanos;
+          }
+        };
+    setUser("user1");
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    EnvironmentContext.reset();
+    Files.deleteIfExists(recipeFile);
+  }
+
+  @Test
+  public void shouldDownloadRecipeOnEachRetrievalWhenCacheIsDisabled() throws Exception {
+    RecipeRetriever retriever = new RecipeRetriever(API_ENDPOINT, 0, ticker);
+    assertEquals(retriever.getRecipe(recipe).getContent(), "content1");
+
+    writeRecipe("content2");
+
+    assertEquals(retriever.getRecipe(recipe).getContent(), "content2");
+  }
+
+  @Test
+  public void shouldReuseRecipeWhichIsNotChangedAtLocation() throws Exception {
+    RecipeRetriever retriever = new RecipeRetriever(API_ENDPOINT, 60, ticker);
+    assertEquals(retriever.getRecipe(recipe).getContent(), "content1");
+
+    rewriteRecipeKeepingModificationTime("content2");
+
+    assertEquals(retriever.getRecipe(recipe).getContent(), "content1");
+  }
+
+  @Test
+  public void shouldDownloadRecipeAgainWhenItIsChangedAtLocation() throws Exception {
+    RecipeRetriever retriever = new RecipeRetriever(API_ENDPOINT, 60, ticker);
+    assertEquals(retriever.getRecipe(recipe).getContent(), "content1");
+
+    writeRecipe("content2");
+    recipeFile.toFile().setLastModified(recipeFile.toFile().lastModified() + 10_000);
+
+    assertEquals(retriever.getRecipe(recipe).getContent(), "content2");
+  }
+
+  @Test
+  public void shouldDownloadRecipeAgainWhenCachedOneExpires() throws Exception {
+    RecipeRetriever retriever = new RecipeRetriever(API_ENDPOINT, 60, ticker);
+    assertEquals(retriever.getRecipe(recipe).getContent(), "content1");
+
+    rewriteRecipeKeepingModificationTime("content2");
+    tickerNanos += TimeUnit.SECONDS.toNanos(61);
+
+    assertEquals(retriever.getRecipe(recipe).getContent(), "content2");
+  }
+
+  @Test
+  public void shouldNotShareDownloadedRecipeBetweenUsers() throws Exception {
+    RecipeRetriever retriever = new RecipeRetriever(API_ENDPOINT, 60, ticker);
+    assertEquals(retriever.getRecipe(recipe).getContent(), "content1");
+
+    rewriteRecipeKeepingModificationTime("content2");
+    setUser("user2");
+
+    assertEquals(retriever.getRecipe(recipe).getContent(), "content2");
+  }
+
+  private void rewriteRecipeKeepingModificationTime(String content) throws Exception {
+    long lastModified = recipeFile.toFile().lastModified();
+    writeRecipe(content);
+    recipeFile.toFile().setLastModified(lastModified);
+  }
+
+  private void writeRecipe(String content) throws Exception {
+    Files.write(recipeFile, content.getBytes(UTF_8));
+  }
+
+  private static void setUser(String userId) {
+    EnvironmentContext.getCurrent()
+        .setSubject(new SubjectImpl(userId + "name", userId, "token", false));
+  }
+}